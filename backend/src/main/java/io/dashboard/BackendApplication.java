@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.beans.factory.annotation.Autowired;
 import io.dashboard.model.Unit;
 import io.dashboard.repository.UnitRepository;
+import io.dashboard.service.ReferenceDataRegistry;
 import java.util.Arrays;
 import java.util.List;
 
@@ -18,7 +19,8 @@ public class BackendApplication {
 	}
 
 	@Bean
-	public CommandLineRunner unitDataGenerator(@Autowired UnitRepository unitRepository) {
+	public CommandLineRunner unitDataGenerator(@Autowired UnitRepository unitRepository,
+											   @Autowired ReferenceDataRegistry referenceDataRegistry) {
 		return args -> {
 			if (unitRepository.count() == 0) {
 				List<Unit> units = Arrays.asList(
@@ -56,6 +58,7 @@ public class BackendApplication {
 					Unit.builder().code("m³").description("Cubic Meter").group("Volume").build()
 				);
 				unitRepository.saveAll(units);
+				referenceDataRegistry.refresh();
 			}
 		};
 	}
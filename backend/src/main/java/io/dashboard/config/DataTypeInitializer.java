@@ -2,6 +2,7 @@ package io.dashboard.config;
 
 import io.dashboard.model.DataType;
 import io.dashboard.repository.DataTypeRepository;
+import io.dashboard.service.ReferenceDataRegistry;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,20 +11,21 @@ import org.springframework.context.annotation.Configuration;
 public class DataTypeInitializer {
     
     @Bean
-    public CommandLineRunner ensureDataTypes(DataTypeRepository dataTypeRepository) {
+    public CommandLineRunner ensureDataTypes(DataTypeRepository dataTypeRepository,
+                                             ReferenceDataRegistry referenceDataRegistry) {
         return args -> {
             // Define the required data types
             String[] requiredDataTypes = {"integer", "decimal", "percentage", "index"};
             
             for (String dataTypeName : requiredDataTypes) {
-                if (!dataTypeRepository.findAll().stream()
-                        .anyMatch(dt -> dt.getName().equalsIgnoreCase(dataTypeName))) {
+                if (referenceDataRegistry.findDataType(dataTypeName).isEmpty()) {
                     DataType dataType = new DataType();
                     dataType.setName(dataTypeName);
                     dataTypeRepository.save(dataType);
                     System.out.println("Data type created: " + dataTypeName);
                 }
             }
+            referenceDataRegistry.refresh();
         };
     }
 } 
\ No newline at end of file
@@ -0,0 +1,54 @@
+package io.dashboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pools of the import pipeline.
+ * <p>
+ * {@code importTaskExecutor} runs background import jobs, sized by data.processing.threads.*.
+ * Submissions beyond max-pool-size + queue-capacity are rejected instead of queued without limit.
+ * <p>
+ * {@code indicatorIngestExecutor} imports the indicators of one chunk concurrently when
+ * data.processing.parallel.enabled is set. Every worker holds a database connection while it runs,
+ * so data.processing.parallel.threads has to stay below the connection pool size. At most
+ * data.processing.parallel.queue-capacity indicators wait for a worker; beyond that the import thread
+ * writes the indicator itself, which holds back the reader instead of buffering the chunk.
+ */
+@Configuration
+public class ImportExecutorConfig {
+
+    @Bean(name = "importTaskExecutor")
+    public ThreadPoolTaskExecutor importTaskExecutor(
+            @Value("${data.processing.threads.core-pool-size:4}") int corePoolSize,
+            @Value("${data.processing.threads.max-pool-size:8}") int maxPoolSize,
+            @Value("${data.processing.threads.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = "indicatorIngestExecutor")
+    public ThreadPoolTaskExecutor indicatorIngestExecutor(
+            @Value("${data.processing.parallel.threads:4}") int threads,
+            @Value("${data.processing.parallel.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package io.dashboard.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * {@code subareaSectionExecutor} computes the sections of {@code GET /subareas/{id}/data}
+ * concurrently, sized by app.subarea-data.section-threads. Sections work on facts already loaded in
+ * memory, so the workers never hold a database connection. Submissions beyond the bounded queue are
+ * rejected and run on the request thread instead.
+ */
+@Configuration
+public class SubareaDataExecutorConfig {
+
+    @Bean(name = "subareaSectionExecutor")
+    public ThreadPoolTaskExecutor subareaSectionExecutor(
+            @Value("${app.subarea-data.section-threads:4}") int threads,
+            @Value("${app.subarea-data.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("subarea-section-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
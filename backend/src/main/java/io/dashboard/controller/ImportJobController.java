@@ -0,0 +1,51 @@
+package io.dashboard.controller;
+
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.ProcessingStatusResponse;
+import io.dashboard.model.Direction;
+import io.dashboard.service.ImportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/import-jobs")
+@RequiredArgsConstructor
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+    public ResponseEntity<ProcessingStatusResponse> submitCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Long subareaId,
+            @RequestParam(required = false) Direction direction) throws IOException {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submitCsv(file, subareaId, direction));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+    public ResponseEntity<ProcessingStatusResponse> submitBatch(@RequestBody @Valid IndicatorBatchRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.submitBatch(request));
+    }
+
+    @GetMapping("/{jobId}")
+    @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+    public ResponseEntity<ProcessingStatusResponse> getStatus(@PathVariable Long jobId) {
+        return ResponseEntity.ok(importJobService.getStatus(jobId));
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+    public ResponseEntity<ProcessingStatusResponse> cancel(@PathVariable Long jobId) {
+        return ResponseEntity.ok(importJobService.cancel(jobId));
+    }
+}
@@ -2,26 +2,54 @@ package io.dashboard.controller;
 
 import io.dashboard.dto.IndicatorBatchRequest;
 import io.dashboard.dto.IndicatorBatchResponse;
-import io.dashboard.service.IndicatorBatchService;
+import io.dashboard.exception.BadRequestException;
+import io.dashboard.model.Direction;
+import io.dashboard.service.ImportProgress;
+import io.dashboard.service.IndicatorCsvImportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.security.access.annotation.Secured;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/v1")
 @RequiredArgsConstructor
 public class IndicatorBatchController {
 
-    private final IndicatorBatchService indicatorBatchService;
+    private final IndicatorCsvImportService indicatorCsvImportService;
 
     @PostMapping("/indicators/create-from-csv")
     @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
     public ResponseEntity<IndicatorBatchResponse> createIndicatorsFromCsv(
             @RequestBody @Valid IndicatorBatchRequest request) {
         
-        IndicatorBatchResponse response = indicatorBatchService.createFromCsvData(request);
+        // Committed chunk by chunk instead of one transaction for the whole request
+        IndicatorBatchResponse response = indicatorCsvImportService.importBatch(request, ImportProgress.NONE);
         return ResponseEntity.ok(response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Import a long-format CSV file (one value per row) without materializing it as JSON first.
+     * subareaId and direction apply to rows that do not carry their own subarea_id/direction column.
+     */
+    @PostMapping(value = "/indicators/import-csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
+    public ResponseEntity<IndicatorBatchResponse> importIndicatorsCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Long subareaId,
+            @RequestParam(required = false) Direction direction) throws IOException {
+
+        if (file.isEmpty()) {
+            throw new BadRequestException("Uploaded CSV file is empty");
+        }
+        try (InputStream input = file.getInputStream()) {
+            return ResponseEntity.ok(indicatorCsvImportService.importCsv(input, subareaId, direction));
+        }
+    }
+}
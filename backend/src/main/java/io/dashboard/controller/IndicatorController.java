@@ -10,14 +10,19 @@ import io.dashboard.dto.IndicatorChartResponse;
 import io.dashboard.dto.IndicatorDimensionsResponse;
 import io.dashboard.dto.IndicatorSubareaDirectionResponse;
 import io.dashboard.dto.IndicatorDirectionUpdateRequest;
+import io.dashboard.dto.DeleteWithDataResponse;
 import io.dashboard.dto.HistoricalDataResponse;
 import io.dashboard.dto.DataValidationResponse;
+import io.dashboard.dto.IndicatorValuesPageRequest;
+import io.dashboard.exception.ResourceNotFoundException;
 import io.dashboard.service.IndicatorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.access.annotation.Secured;
 import jakarta.annotation.security.PermitAll;
 
@@ -29,6 +34,7 @@ import java.util.Map;
 @RequestMapping("/api/v1")
 public class IndicatorController {
     private final IndicatorService indicatorService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/indicators")
     @PermitAll
@@ -70,18 +76,29 @@ public class IndicatorController {
 
     @DeleteMapping("/indicators/{id}/with-data")
     @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
-    public ResponseEntity<Void> deleteIndicatorWithData(@PathVariable Long id) {
-        indicatorService.deleteWithData(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeleteWithDataResponse> deleteIndicatorWithData(@PathVariable Long id) {
+        return ResponseEntity.ok(indicatorService.deleteWithData(id));
     }
 
     @GetMapping("/indicators/{id}/values")
     @PermitAll
-    public ResponseEntity<IndicatorValuesResponse> getIndicatorValues(@PathVariable Long id) {
-        IndicatorValuesResponse response = indicatorService.getIndicatorValues(id);
+    public ResponseEntity<IndicatorValuesResponse> getIndicatorValues(@PathVariable Long id, IndicatorValuesPageRequest page) {
+        IndicatorValuesResponse response = page.isPaged()
+            ? indicatorService.getIndicatorValuesPage(id, null, page)
+            : indicatorService.getIndicatorValues(id);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(value = "/indicators/{id}/values/stream", produces = "application/x-ndjson")
+    @PermitAll
+    public ResponseEntity<StreamingResponseBody> streamIndicatorValues(@PathVariable Long id) {
+        if (!indicatorService.existsById(id)) {
+            throw new ResourceNotFoundException("Indicator", "id", id);
+        }
+        return ResponseEntity.ok(IndicatorValueStreams.ndjson(objectMapper,
+            sink -> indicatorService.streamIndicatorValues(id, null, sink)));
+    }
+
     @PostMapping("/indicators/{id}/values")
     @Secured({"ROLE_ADMIN", "ROLE_MANAGER"})
     public ResponseEntity<Void> createIndicatorValues(@PathVariable Long id, @RequestBody List<IndicatorValueCreate> newValues) {
@@ -118,6 +135,13 @@ public class IndicatorController {
         IndicatorDimensionsResponse response = indicatorService.getIndicatorDimensions(id);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/indicators/dimensions")
+    @PermitAll
+    public ResponseEntity<List<IndicatorDimensionsResponse>> getIndicatorDimensionsBatch(@RequestParam List<Long> ids) {
+        List<IndicatorDimensionsResponse> response = indicatorService.getIndicatorDimensions(ids);
+        return ResponseEntity.ok(response);
+    }
     
     @GetMapping("/indicators/{id}/subarea-directions")
     @PermitAll
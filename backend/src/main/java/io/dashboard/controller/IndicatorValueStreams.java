@@ -0,0 +1,41 @@
+package io.dashboard.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.dashboard.dto.IndicatorValueRow;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Newline-delimited JSON bodies for the streamed indicator value endpoints.
+ */
+final class IndicatorValueStreams {
+
+    private IndicatorValueStreams() {
+    }
+
+    /**
+     * Body writing each row handed out by {@code producer} as one JSON line as soon as it is produced.
+     * Output goes through Jackson's buffer rather than being flushed per row.
+     */
+    static StreamingResponseBody ndjson(ObjectMapper objectMapper, Consumer<Consumer<IndicatorValueRow>> producer) {
+        return out -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                producer.accept(row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+}
@@ -3,6 +3,8 @@ package io.dashboard.controller;
 import io.dashboard.dto.SubareaCreateRequest;
 import io.dashboard.dto.SubareaResponse;
 import io.dashboard.dto.SubareaUpdateRequest;
+import io.dashboard.dto.DeleteWithDataResponse;
+import io.dashboard.service.IndicatorService;
 import io.dashboard.service.SubareaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,12 +17,14 @@ import jakarta.annotation.security.PermitAll;
 
 import java.util.List;
 import java.util.Map;
+import io.dashboard.dto.IndicatorValuesPageRequest;
 import io.dashboard.dto.IndicatorValuesResponse;
 import io.dashboard.dto.SubareaDataResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dashboard.exception.ResourceNotFoundException;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -28,6 +32,7 @@ import java.util.ArrayList;
 @Slf4j
 public class SubareaController {
     private final SubareaService subareaService;
+    private final IndicatorService indicatorService;
     private final ObjectMapper objectMapper;
 
     @GetMapping("/subareas")
@@ -69,9 +74,8 @@ public class SubareaController {
     }
 
     @DeleteMapping("/subareas/{id}/with-data")
-    public ResponseEntity<Void> deleteSubareaWithData(@PathVariable Long id) {
-        subareaService.deleteWithData(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<DeleteWithDataResponse> deleteSubareaWithData(@PathVariable Long id) {
+        return ResponseEntity.ok(subareaService.deleteWithData(id));
     }
 
     @GetMapping("/subareas/{id}/aggregated-value")
@@ -169,7 +173,12 @@ public class SubareaController {
     @GetMapping("/subareas/{subareaId}/indicators/{indicatorId}/values")
     public ResponseEntity<IndicatorValuesResponse> getIndicatorValuesForSubarea(
             @PathVariable Long subareaId,
-            @PathVariable Long indicatorId) {
+            @PathVariable Long indicatorId,
+            IndicatorValuesPageRequest page) {
+        if (page.isPaged()) {
+            requireSubareaAndIndicator(subareaId, indicatorId);
+            return ResponseEntity.ok(subareaService.getIndicatorValuesPageForSubarea(indicatorId, subareaId, page));
+        }
         try {
             IndicatorValuesResponse response = subareaService.getIndicatorValuesResponseForSubarea(indicatorId, subareaId);
             return ResponseEntity.ok(response);
@@ -179,6 +188,28 @@ public class SubareaController {
         }
     }
 
+    /**
+     * Stream all values of an indicator in a subarea as newline-delimited JSON
+     */
+    @PermitAll
+    @GetMapping(value = "/subareas/{subareaId}/indicators/{indicatorId}/values/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamIndicatorValuesForSubarea(
+            @PathVariable Long subareaId,
+            @PathVariable Long indicatorId) {
+        requireSubareaAndIndicator(subareaId, indicatorId);
+        return ResponseEntity.ok(IndicatorValueStreams.ndjson(objectMapper,
+            sink -> subareaService.streamIndicatorValuesForSubarea(indicatorId, subareaId, sink)));
+    }
+
+    private void requireSubareaAndIndicator(Long subareaId, Long indicatorId) {
+        if (!subareaService.existsById(subareaId)) {
+            throw new ResourceNotFoundException("Subarea", "id", subareaId);
+        }
+        if (!indicatorService.existsById(indicatorId)) {
+            throw new ResourceNotFoundException("Indicator", "id", indicatorId);
+        }
+    }
+
     /**
      * Get indicator values for a specific subarea and indicator (alternative endpoint for tests)
      */
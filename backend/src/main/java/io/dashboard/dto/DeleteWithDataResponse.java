@@ -0,0 +1,18 @@
+package io.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteWithDataResponse {
+    private Long id;
+    private Long deletedFactValues;
+    private Long deletedGenericLinks;
+    private Integer chunks;
+    private Long durationMs;
+}
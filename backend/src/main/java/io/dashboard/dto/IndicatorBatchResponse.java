@@ -16,4 +16,6 @@ public class IndicatorBatchResponse {
     private Integer totalFactRecords;
     private String message;
     private List<String> warnings;
+    private Long durationMs;
+    private Double rowsPerSecond;
 } 
\ No newline at end of file
@@ -4,6 +4,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
@@ -17,5 +18,8 @@ public class IndicatorDimensionsResponse {
         private String type;         // "time", "location", "sector", etc.
         private String displayName;  // "Time", "Location", "Sector", etc.
         private List<String> values; // Available values for this dimension
+        // Only filled by the batched lookup
+        private Integer valueCount;  // Number of distinct values
+        private Map<String, Long> factCounts; // Number of facts carrying each value
     }
 } 
\ No newline at end of file
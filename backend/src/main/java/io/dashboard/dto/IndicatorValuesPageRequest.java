@@ -0,0 +1,29 @@
+package io.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of a keyset page of indicator values. {@code after} is the {@code nextAfter} of
+ * the previous page; {@code dimension} and {@code member} select a custom dimension member together.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndicatorValuesPageRequest {
+    private Long after;
+    private Integer limit;
+    private String time;
+    private String location;
+    private String dimension;
+    private String member;
+
+    // Without any of the parameters the endpoints keep returning all values at once
+    public boolean isPaged() {
+        return after != null || limit != null || time != null || location != null
+            || dimension != null || member != null;
+    }
+}
@@ -16,4 +16,5 @@ public class IndicatorValuesResponse {
     private List<String> dimensionColumns; // ["time", "location", "gender", ...]
     private String indicatorName;
     private String dataType;
+    private Long nextAfter; // keyset cursor of the next page; null on the last page and for unpaged responses
 } 
\ No newline at end of file
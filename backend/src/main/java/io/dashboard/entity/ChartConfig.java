@@ -12,7 +12,7 @@ public class ChartConfig {
     private String xAxisLabel;
     private String yAxisLabel;
     private String colorScheme;
-    @Lob
+    @Column(columnDefinition = "TEXT")
     private String chartOptions;
 
     // Getters and setters
@@ -14,7 +14,7 @@ public class ChartDataPoint {
     private String xValue;
     private Double yValue;
     private String label;
-    @Lob
+    @Column(columnDefinition = "TEXT")
     private String metadata;
     private LocalDateTime timestamp;
 
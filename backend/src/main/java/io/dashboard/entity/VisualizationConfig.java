@@ -15,7 +15,7 @@ public class VisualizationConfig {
     @Enumerated(EnumType.STRING)
     private VisualizationType visualizationType;
 
-    @Lob
+    @Column(columnDefinition = "TEXT")
     private String config;
 
     private boolean isDefault;
@@ -16,7 +16,7 @@ public class DashboardWidget {
     private Integer positionY;
     private Integer width;
     private Integer height;
-    @Lob
+    @Column(columnDefinition = "TEXT")
     private String config;
     private Boolean snapToGrid;
 
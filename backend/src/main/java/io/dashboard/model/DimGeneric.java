@@ -9,7 +9,9 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dim_generic")
+@Table(name = "dim_generic", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_dim_generic_dimension_value", columnNames = {"dimension_name", "\"value\""})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 public class DimGeneric {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dim_generic_seq")
+    @SequenceGenerator(name = "dim_generic_seq", sequenceName = "dim_generic_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "name", nullable = false, length = 100)
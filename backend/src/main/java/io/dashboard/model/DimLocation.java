@@ -9,7 +9,9 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dim_location")
+@Table(name = "dim_location", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_dim_location_name", columnNames = "name")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 public class DimLocation {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dim_location_seq")
+    @SequenceGenerator(name = "dim_location_seq", sequenceName = "dim_location_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "code", length = 20, unique = true)
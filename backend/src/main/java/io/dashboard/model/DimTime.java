@@ -9,7 +9,9 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dim_time")
+@Table(name = "dim_time", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_dim_time_value", columnNames = "\"value\"")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +19,8 @@ import java.time.LocalDateTime;
 public class DimTime {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dim_time_seq")
+    @SequenceGenerator(name = "dim_time_seq", sequenceName = "dim_time_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "\"value\"")
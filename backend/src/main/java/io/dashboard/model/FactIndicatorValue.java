@@ -5,20 +5,34 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import org.hibernate.Hibernate;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Entity
+// PostgreSQL gets its schema from db/migration: hash partitions on indicator_id (V4), BRIN and partial
+// index variants. These declarations shape the schema Hibernate generates for the H2 tests
 @Table(name = "fact_indicator_values", indexes = {
-    @Index(name = "idx_fact_indicator", columnList = "indicator_id"),
+    // Trailing id serves the keyset pages of IndicatorService.getIndicatorValuesPage
+    @Index(name = "idx_fact_indicator_id", columnList = "indicator_id, id"),
+    @Index(name = "idx_fact_indicator_subarea", columnList = "indicator_id, subarea_id, id"),
+    @Index(name = "idx_fact_subarea_indicator", columnList = "subarea_id, indicator_id"),
     @Index(name = "idx_fact_time", columnList = "time_id"),
     @Index(name = "idx_fact_location", columnList = "location_id"),
-    @Index(name = "idx_fact_source_hash", columnList = "source_row_hash"),
+    @Index(name = "uk_fact_source_hash", columnList = "indicator_id, source_row_hash", unique = true),
     @Index(name = "idx_fact_created", columnList = "created_at")
+    // idx_fact_generic_ids (GIN on generic_ids) only exists in V5
 })
 @Data
 @NoArgsConstructor
@@ -26,8 +40,13 @@ import java.util.List;
 @Builder
 public class FactIndicatorValue {
     
+    // Shared with FactBatchRepository, which draws id blocks from the same sequence
+    public static final String ID_SEQUENCE = "fact_indicator_values_seq";
+    public static final int ID_ALLOCATION_SIZE = 500;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -50,10 +69,19 @@ public class FactIndicatorValue {
     @JoinTable(
         name = "fact_indicator_value_generic",
         joinColumns = @JoinColumn(name = "fact_indicator_value_id"),
-        inverseJoinColumns = @JoinColumn(name = "generic_id")
+        inverseJoinColumns = @JoinColumn(name = "generic_id"),
+        indexes = {
+            @Index(name = "idx_fact_generic_fact", columnList = "fact_indicator_value_id, generic_id"),
+            @Index(name = "idx_fact_generic_generic", columnList = "generic_id")
+        }
     )
     private List<DimGeneric> generics = new ArrayList<>();
     
+    // Sorted, distinct ids of the generic members, denormalized from the join table so that
+    // dimension reads do not fan out per member. Kept in sync with generics on every write
+    @Column(name = "generic_ids", nullable = false)
+    private Long[] genericIds;
+    
     @Column(name = "numeric_value", nullable = false, precision = 19, scale = 6)
     private BigDecimal value;
     
@@ -73,8 +101,53 @@ public class FactIndicatorValue {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @PrePersist
+    protected void onCreate() {
+        syncGenericIds();
+    }
+    
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        syncGenericIds();
+    }
+    
+    private void syncGenericIds() {
+        if (generics == null || !Hibernate.isInitialized(generics)) {
+            if (genericIds == null) {
+                genericIds = new Long[0];
+            }
+            return;
+        }
+        genericIds = sortedGenericIds(generics.stream().map(DimGeneric::getId).toList());
+    }
+    
+    /**
+     * The {@code generic_ids} value for a fact with these members: distinct, ascending, without nulls.
+     */
+    public static Long[] sortedGenericIds(Collection<Long> genericIds) {
+        return genericIds.stream().filter(Objects::nonNull).distinct().sorted().toArray(Long[]::new);
+    }
+    
+    /**
+     * SHA-256 hex of the fact's natural key: indicator, subarea, time, location and the sorted generic
+     * member ids. Two facts with the same key describe the same observation, so the unique index on
+     * (indicator_id, source_row_hash) turns a repeated import into an update instead of a duplicate.
+     * The direction is an attribute of the fact, not part of its key: it can be changed in place.
+     * db/scripts/fact-source-row-hash.sql computes the same value in SQL.
+     */
+    public static String naturalKeyHash(Long indicatorId, Long subareaId, Long timeId,
+                                        Long locationId, Collection<Long> genericIds) {
+        String key = indicatorId
+            + "|" + (subareaId != null ? subareaId : "")
+            + "|" + (timeId != null ? timeId : "")
+            + "|" + (locationId != null ? locationId : "")
+            + "|" + genericIds.stream().sorted().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 } 
\ No newline at end of file
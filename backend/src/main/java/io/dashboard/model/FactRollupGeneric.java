@@ -0,0 +1,47 @@
+package io.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum and count of the fact values of one indicator in one subarea per generic dimension member.
+ * A fact linked to several members counts once under each of them, as the join table does.
+ * Maintained alongside {@link FactRollupTime}.
+ */
+@Entity
+@Immutable
+@Table(name = "fact_rollup_generic", indexes = {
+    @Index(name = "idx_rollup_generic_subarea", columnList = "subarea_id, indicator_id"),
+    @Index(name = "idx_rollup_generic_indicator", columnList = "indicator_id, subarea_id, generic_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactRollupGeneric {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "indicator_id", nullable = false)
+    private Long indicatorId;
+
+    @Column(name = "subarea_id")
+    private Long subareaId;
+
+    @Column(name = "generic_id", nullable = false)
+    private Long genericId;
+
+    @Column(name = "value_sum", nullable = false, precision = 38, scale = 6)
+    private BigDecimal valueSum;
+
+    @Column(name = "value_count", nullable = false)
+    private Long valueCount;
+}
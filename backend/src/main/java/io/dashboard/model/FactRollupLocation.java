@@ -0,0 +1,46 @@
+package io.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum and count of the fact values of one indicator in one subarea per location, with a null
+ * {@code location_id} row for facts without a location. Maintained alongside {@link FactRollupTime}.
+ */
+@Entity
+@Immutable
+@Table(name = "fact_rollup_location", indexes = {
+    @Index(name = "idx_rollup_location_subarea", columnList = "subarea_id, indicator_id"),
+    @Index(name = "idx_rollup_location_indicator", columnList = "indicator_id, subarea_id, location_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactRollupLocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "indicator_id", nullable = false)
+    private Long indicatorId;
+
+    @Column(name = "subarea_id")
+    private Long subareaId;
+
+    @Column(name = "location_id")
+    private Long locationId;
+
+    @Column(name = "value_sum", nullable = false, precision = 38, scale = 6)
+    private BigDecimal valueSum;
+
+    @Column(name = "value_count", nullable = false)
+    private Long valueCount;
+}
@@ -0,0 +1,49 @@
+package io.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Sum and count of the fact values of one indicator in one subarea per time member. Facts without
+ * a time roll up into the row with a null {@code time_id}, so the rows of an indicator cover all of
+ * its facts. Maintained on write by FactRollupBatchRepository; never written through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "fact_rollup_time", indexes = {
+    @Index(name = "idx_rollup_time_subarea", columnList = "subarea_id, indicator_id"),
+    @Index(name = "idx_rollup_time_indicator", columnList = "indicator_id, subarea_id, time_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FactRollupTime {
+
+    // Rows are only ever inserted by INSERT statements that leave the id to the database
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain ids rather than associations: rollups are derived data and must not block deletes
+    @Column(name = "indicator_id", nullable = false)
+    private Long indicatorId;
+
+    @Column(name = "subarea_id")
+    private Long subareaId;
+
+    @Column(name = "time_id")
+    private Long timeId;
+
+    @Column(name = "value_sum", nullable = false, precision = 38, scale = 6)
+    private BigDecimal valueSum;
+
+    @Column(name = "value_count", nullable = false)
+    private Long valueCount;
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,9 +21,20 @@ public interface DimGenericRepository extends JpaRepository<DimGeneric, Long> {
     
     Optional<DimGeneric> findByDimensionNameAndValue(String dimensionName, String value);
     
+    List<DimGeneric> findByDimensionNameInAndValueIn(Collection<String> dimensionNames, Collection<String> values);
+    
     @Query("SELECT dg FROM DimGeneric dg WHERE dg.name LIKE %:name%")
     List<DimGeneric> findByNameContaining(@Param("name") String name);
     
     @Query("SELECT dg FROM DimGeneric dg WHERE dg.value LIKE %:value%")
     List<DimGeneric> findByValueContaining(@Param("value") String value);
+    
+    // (id, dimensionName, value) triples used to warm the dimension dictionary
+    @Query("SELECT dg.id, dg.dimensionName, dg.value FROM DimGeneric dg")
+    List<Object[]> findAllIdAndDimensionNameAndValue();
+    
+    // (row count, max id, rows with an id above afterId) used as a cheap version stamp of the table
+    @Query("SELECT COUNT(dg), COALESCE(MAX(dg.id), 0), " +
+           "COALESCE(SUM(CASE WHEN dg.id > :afterId THEN 1 ELSE 0 END), 0) FROM DimGeneric dg")
+    List<Object[]> findVersionStamp(@Param("afterId") long afterId);
 } 
\ No newline at end of file
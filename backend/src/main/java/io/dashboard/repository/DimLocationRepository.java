@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,8 @@ public interface DimLocationRepository extends JpaRepository<DimLocation, Long>
     
     Optional<DimLocation> findByName(String name);
     
+    List<DimLocation> findByNameIn(Collection<String> names);
+    
     Optional<DimLocation> findByValue(String value);
     
     List<DimLocation> findByType(DimLocation.LocationType type);
@@ -35,4 +38,13 @@ public interface DimLocationRepository extends JpaRepository<DimLocation, Long>
     
     @Query("SELECT dl FROM DimLocation dl WHERE dl.type = :type AND dl.level = :level")
     List<DimLocation> findByTypeAndLevel(@Param("type") DimLocation.LocationType type, @Param("level") Integer level);
+    
+    // (id, name) pairs used to warm the dimension dictionary
+    @Query("SELECT dl.id, dl.name FROM DimLocation dl")
+    List<Object[]> findAllIdAndName();
+    
+    // (row count, max id, rows with an id above afterId) used as a cheap version stamp of the table
+    @Query("SELECT COUNT(dl), COALESCE(MAX(dl.id), 0), " +
+           "COALESCE(SUM(CASE WHEN dl.id > :afterId THEN 1 ELSE 0 END), 0) FROM DimLocation dl")
+    List<Object[]> findVersionStamp(@Param("afterId") long afterId);
 } 
\ No newline at end of file
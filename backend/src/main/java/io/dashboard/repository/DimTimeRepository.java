@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +15,8 @@ public interface DimTimeRepository extends JpaRepository<DimTime, Long> {
     
     Optional<DimTime> findByValue(String value);
     
+    List<DimTime> findByValueIn(Collection<String> values);
+    
     Optional<DimTime> findByYearAndMonthAndDay(Integer year, Integer month, Integer day);
     
     List<DimTime> findByYear(Integer year);
@@ -28,4 +31,13 @@ public interface DimTimeRepository extends JpaRepository<DimTime, Long> {
     
     @Query("SELECT DISTINCT dt.month FROM DimTime dt WHERE dt.year = :year ORDER BY dt.month")
     List<Integer> findMonthsByYear(@Param("year") Integer year);
+    
+    // (id, value) pairs used to warm the dimension dictionary
+    @Query("SELECT dt.id, dt.value FROM DimTime dt")
+    List<Object[]> findAllIdAndValue();
+    
+    // (row count, max id, rows with an id above afterId) used as a cheap version stamp of the table
+    @Query("SELECT COUNT(dt), COALESCE(MAX(dt.id), 0), " +
+           "COALESCE(SUM(CASE WHEN dt.id > :afterId THEN 1 ELSE 0 END), 0) FROM DimTime dt")
+    List<Object[]> findVersionStamp(@Param("afterId") long afterId);
 } 
\ No newline at end of file
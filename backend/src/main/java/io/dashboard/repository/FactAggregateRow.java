@@ -0,0 +1,21 @@
+package io.dashboard.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One group of a database-side fact aggregation: the sum and count of the fact values of one
+ * indicator under one group key (a period, location, time value or generic dimension value).
+ * <p>
+ * Sum and count are kept instead of the average so that groups can be pooled exactly, e.g. to
+ * average one key across several indicators.
+ */
+public record FactAggregateRow(Long indicatorId, String groupKey, BigDecimal sum, Long count) {
+
+    public FactAggregateRow(Long indicatorId, BigDecimal sum, Long count) {
+        this(indicatorId, null, sum, count);
+    }
+
+    public double average() {
+        return count == null || count == 0 ? 0.0 : sum.doubleValue() / count;
+    }
+}
@@ -0,0 +1,225 @@
+package io.dashboard.repository;
+
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.FactIndicatorValue;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes fact rows with plain JDBC batches instead of one Hibernate insert per row.
+ * Dimension members, indicator and subarea referenced by the facts must already be persisted.
+ * Ids are drawn in blocks from the same pooled-lo sequence Hibernate uses for FactIndicatorValue.
+ * <p>
+ * Rows are upserted on their {@code (indicator_id, source_row_hash)}: a fact whose natural key already exists only
+ * updates the stored value, so importing the same data twice does not duplicate it. PostgreSQL uses
+ * {@code INSERT ... ON CONFLICT}, every other database (H2 in tests) a {@code MERGE} statement.
+ * <p>
+ * The rollup tables are updated in the same transaction: the previous value of every fact is read
+ * before the upsert and only the resulting change is applied through {@link FactRollupBatchRepository}.
+ * The same comparison yields the number of rows written. JDBC update counts cannot, because PostgreSQL
+ * reports {@code SUCCESS_NO_INFO} for every row of a rewritten batch.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class FactBatchRepository {
+
+    private static final String UPSERT_FACT_POSTGRES =
+        "INSERT INTO fact_indicator_values " +
+        "(id, indicator_id, time_id, location_id, subarea_id, numeric_value, source_row_hash, source_file, direction, generic_ids, created_at) " +
+        "VALUES (:id, :indicatorId, :timeId, :locationId, :subareaId, :value, :sourceRowHash, :sourceFile, :direction, :genericIds, :createdAt) " +
+        "ON CONFLICT (indicator_id, source_row_hash) DO UPDATE SET numeric_value = EXCLUDED.numeric_value, updated_at = EXCLUDED.created_at " +
+        "WHERE fact_indicator_values.numeric_value IS DISTINCT FROM EXCLUDED.numeric_value";
+
+    private static final String UPSERT_FACT_MERGE =
+        "MERGE INTO fact_indicator_values t " +
+        "USING (SELECT CAST(:id AS BIGINT) AS id, CAST(:indicatorId AS BIGINT) AS indicator_id, " +
+        "CAST(:timeId AS BIGINT) AS time_id, CAST(:locationId AS BIGINT) AS location_id, " +
+        "CAST(:subareaId AS BIGINT) AS subarea_id, CAST(:value AS NUMERIC(19, 6)) AS numeric_value, " +
+        "CAST(:sourceRowHash AS VARCHAR(64)) AS source_row_hash, CAST(:sourceFile AS VARCHAR(255)) AS source_file, " +
+        "CAST(:direction AS VARCHAR(20)) AS direction, CAST(:genericIds AS BIGINT ARRAY) AS generic_ids, " +
+        "CAST(:createdAt AS TIMESTAMP) AS created_at) s " +
+        "ON t.indicator_id = s.indicator_id AND t.source_row_hash = s.source_row_hash " +
+        "WHEN MATCHED AND t.numeric_value <> s.numeric_value THEN " +
+        "UPDATE SET numeric_value = s.numeric_value, updated_at = s.created_at " +
+        "WHEN NOT MATCHED THEN " +
+        "INSERT (id, indicator_id, time_id, location_id, subarea_id, numeric_value, source_row_hash, source_file, direction, generic_ids, created_at) " +
+        "VALUES (s.id, s.indicator_id, s.time_id, s.location_id, s.subarea_id, s.numeric_value, s.source_row_hash, s.source_file, s.direction, s.generic_ids, s.created_at)";
+
+    // Links are only written for facts that were inserted; an updated fact keeps its existing id and links.
+    // generic_ids on the fact row carries the same members for readers; the links still back the JPA mapping.
+    // The indicator filter lets PostgreSQL prune the lookup to the fact's partition.
+    private static final String INSERT_FACT_GENERIC =
+        "INSERT INTO fact_indicator_value_generic (fact_indicator_value_id, generic_id) " +
+        "SELECT f.id, :genericId FROM fact_indicator_values f WHERE f.indicator_id = :indicatorId AND f.id = :factId";
+
+    private static final String SELECT_PREVIOUS_VALUES =
+        "SELECT source_row_hash, numeric_value FROM fact_indicator_values " +
+        "WHERE indicator_id IN (:indicatorIds) AND source_row_hash IN (:hashes)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final FactRollupBatchRepository factRollupBatchRepository;
+
+    @Value("${data.processing.batch-size:1000}")
+    private int batchSize = 1000;
+
+    private volatile String nextIdSql;
+    private volatile String upsertFactSql;
+
+    /**
+     * Upsert all facts in batches of {@code data.processing.batch-size} rows. Facts sharing a
+     * {@code sourceRowHash} within the list collapse to the last one.
+     *
+     * @return number of fact rows inserted or changed; unchanged rows are not counted
+     */
+    public int upsertAll(List<FactIndicatorValue> facts) {
+        Map<String, FactIndicatorValue> byHash = new LinkedHashMap<>();
+        for (FactIndicatorValue fact : facts) {
+            byHash.remove(fact.getSourceRowHash());
+            byHash.put(fact.getSourceRowHash(), fact);
+        }
+        List<FactIndicatorValue> distinct = new ArrayList<>(byHash.values());
+        factRollupBatchRepository.lockIndicators(distinct.stream().map(fact -> fact.getIndicator().getId()).toList());
+
+        int written = 0;
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            List<FactIndicatorValue> chunk = distinct.subList(from, Math.min(from + batchSize, distinct.size()));
+            written += upsertChunk(chunk);
+        }
+        return written;
+    }
+
+    private int upsertChunk(List<FactIndicatorValue> chunk) {
+        Map<String, BigDecimal> previousValues = findPreviousValues(chunk);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> ids = allocateIds(chunk.size());
+        SqlParameterSource[] factParams = new SqlParameterSource[chunk.size()];
+        List<SqlParameterSource> genericParams = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            FactIndicatorValue fact = chunk.get(i);
+            Long id = ids.get(i);
+            List<Long> genericIds = fact.getGenerics() != null
+                ? fact.getGenerics().stream().map(DimGeneric::getId).toList()
+                : List.of();
+            factParams[i] = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("indicatorId", fact.getIndicator().getId())
+                .addValue("timeId", fact.getTime() != null ? fact.getTime().getId() : null)
+                .addValue("locationId", fact.getLocation() != null ? fact.getLocation().getId() : null)
+                .addValue("subareaId", fact.getSubarea() != null ? fact.getSubarea().getId() : null)
+                .addValue("value", fact.getValue())
+                .addValue("sourceRowHash", fact.getSourceRowHash())
+                .addValue("sourceFile", fact.getSourceFile())
+                .addValue("direction", fact.getDirection())
+                .addValue("genericIds", new SqlArrayValue("bigint", (Object[]) FactIndicatorValue.sortedGenericIds(genericIds)))
+                .addValue("createdAt", now);
+            for (Long genericId : genericIds) {
+                genericParams.add(new MapSqlParameterSource()
+                    .addValue("indicatorId", fact.getIndicator().getId())
+                    .addValue("factId", id)
+                    .addValue("genericId", genericId));
+            }
+        }
+
+        jdbcTemplate.batchUpdate(upsertFactSql(), factParams);
+        if (!genericParams.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_FACT_GENERIC, genericParams.toArray(new SqlParameterSource[0]));
+        }
+
+        // The indicators are locked, so the previous values still hold: one delta per inserted or changed fact
+        List<FactRollupBatchRepository.Delta> deltas = rollupDeltas(chunk, previousValues);
+        factRollupBatchRepository.apply(deltas);
+        int written = deltas.size();
+
+        log.debug("Upserted batch of {} facts ({} written) with up to {} generic links",
+            chunk.size(), written, genericParams.size());
+        return written;
+    }
+
+    private Map<String, BigDecimal> findPreviousValues(List<FactIndicatorValue> chunk) {
+        Map<String, BigDecimal> previousValues = new HashMap<>();
+        List<String> hashes = chunk.stream().map(FactIndicatorValue::getSourceRowHash).toList();
+        Set<Long> indicatorIds = new HashSet<>();
+        chunk.forEach(fact -> indicatorIds.add(fact.getIndicator().getId()));
+        MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("indicatorIds", indicatorIds)
+            .addValue("hashes", hashes);
+        jdbcTemplate.query(SELECT_PREVIOUS_VALUES, params,
+            (RowCallbackHandler) rs -> previousValues.put(rs.getString(1), rs.getBigDecimal(2)));
+        return previousValues;
+    }
+
+    private static List<FactRollupBatchRepository.Delta> rollupDeltas(List<FactIndicatorValue> chunk,
+                                                                      Map<String, BigDecimal> previousValues) {
+        List<FactRollupBatchRepository.Delta> deltas = new ArrayList<>(chunk.size());
+        for (FactIndicatorValue fact : chunk) {
+            BigDecimal previous = previousValues.get(fact.getSourceRowHash());
+            if (previous == null) {
+                deltas.add(FactRollupBatchRepository.Delta.of(fact, fact.getValue(), 1));
+            } else if (previous.compareTo(fact.getValue()) != 0) {
+                // Same natural key, so same dimension members as the stored fact
+                deltas.add(FactRollupBatchRepository.Delta.of(fact, fact.getValue().subtract(previous), 0));
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Reserve {@code count} fact ids. Each sequence call yields the low end of a block of
+     * {@link FactIndicatorValue#ID_ALLOCATION_SIZE} ids, matching Hibernate's pooled-lo optimizer.
+     */
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            Long low = jdbcTemplate.getJdbcTemplate().queryForObject(nextIdSql(), Long.class);
+            for (int i = 0; i < FactIndicatorValue.ID_ALLOCATION_SIZE && ids.size() < count; i++) {
+                ids.add(low + i);
+            }
+        }
+        return ids;
+    }
+
+    private String upsertFactSql() {
+        if (upsertFactSql == null) {
+            Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+            upsertFactSql = dialect instanceof PostgreSQLDialect ? UPSERT_FACT_POSTGRES : UPSERT_FACT_MERGE;
+        }
+        return upsertFactSql;
+    }
+
+    private String nextIdSql() {
+        if (nextIdSql == null) {
+            nextIdSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect()
+                .getSequenceSupport()
+                .getSequenceNextValString(FactIndicatorValue.ID_SEQUENCE);
+        }
+        return nextIdSql;
+    }
+}
@@ -1,18 +1,37 @@
 package io.dashboard.repository;
 
 import io.dashboard.model.FactIndicatorValue;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FactIndicatorValueRepository extends JpaRepository<FactIndicatorValue, Long> {
+
+    // Columns of FactValueView, one row per fact and generic member; aliases are quoted to keep their case
+    String VALUE_VIEW_COLUMNS =
+        "f.id AS \"factId\", f.numeric_value AS \"value\", t.\"value\" AS \"timeValue\", " +
+        "l.name AS \"locationName\", g.dimension_name AS \"genericName\", g.\"value\" AS \"genericValue\" ";
+    String VALUE_VIEW_FROM =
+        "FROM fact_indicator_values f " +
+        "LEFT JOIN dim_time t ON t.id = f.time_id " +
+        "LEFT JOIN dim_location l ON l.id = f.location_id " +
+        "LEFT JOIN dim_generic g ON g.id = ANY(f.generic_ids) ";
+    String VALUE_VIEW_SELECT = "SELECT " + VALUE_VIEW_COLUMNS + VALUE_VIEW_FROM;
+    String VALUE_VIEW_ORDER = "ORDER BY f.id, g.id";
     
     // Find by indicator with eager loading of time dimension
     @Query("SELECT f FROM FactIndicatorValue f JOIN FETCH f.time WHERE f.indicator.id = :indicatorId")
@@ -86,9 +105,8 @@ public interface FactIndicatorValueRepository extends JpaRepository<FactIndicato
         "WHERE EXISTS (SELECT 1 FROM fact_indicator_values WHERE indicator_id = :indicatorId AND location_id IS NOT NULL) " +
         "UNION ALL " +
         "SELECT g.dimension_name AS dimension " +
-        "FROM fact_indicator_value_generic j " +
-        "JOIN fact_indicator_values f ON j.fact_indicator_value_id = f.id " +
-        "JOIN dim_generic g ON j.generic_id = g.id " +
+        "FROM fact_indicator_values f " +
+        "JOIN dim_generic g ON g.id = ANY(f.generic_ids) " +
         "WHERE f.indicator_id = :indicatorId " +
         "GROUP BY g.dimension_name",
         nativeQuery = true)
@@ -141,9 +159,8 @@ public interface FactIndicatorValueRepository extends JpaRepository<FactIndicato
         "WHERE EXISTS (SELECT 1 FROM fact_indicator_values WHERE indicator_id = :indicatorId AND subarea_id = :subareaId AND location_id IS NOT NULL) " +
         "UNION ALL " +
         "SELECT g.dimension_name AS dimension " +
-        "FROM fact_indicator_value_generic j " +
-        "JOIN fact_indicator_values f ON j.fact_indicator_value_id = f.id " +
-        "JOIN dim_generic g ON j.generic_id = g.id " +
+        "FROM fact_indicator_values f " +
+        "JOIN dim_generic g ON g.id = ANY(f.generic_ids) " +
         "WHERE f.indicator_id = :indicatorId AND f.subarea_id = :subareaId " +
         "GROUP BY g.dimension_name",
         nativeQuery = true)
@@ -151,4 +168,113 @@ public interface FactIndicatorValueRepository extends JpaRepository<FactIndicato
 
     @Query("SELECT f FROM FactIndicatorValue f JOIN FETCH f.subarea WHERE f.indicator.id = :indicatorId AND f.subarea IS NOT NULL")
     List<FactIndicatorValue> findByIndicatorIdWithSubarea(@Param("indicatorId") Long indicatorId);
-} 
\ No newline at end of file
+
+    // Fact counts of several indicators grouped by subarea and direction, optionally narrowed to one
+    // subarea; time and location ids are read off the fact row without joining the dimensions
+    @Query("SELECT f.indicator.id AS indicatorId, s.id AS subareaId, s.name AS subareaName, " +
+           "f.direction AS direction, COUNT(f) AS factCount, " +
+           "COUNT(f.time.id) AS timeCount, COUNT(f.location.id) AS locationCount " +
+           "FROM FactIndicatorValue f LEFT JOIN f.subarea s " +
+           "WHERE f.indicator.id IN :indicatorIds AND (:subareaId IS NULL OR s.id = :subareaId) " +
+           "GROUP BY f.indicator.id, s.id, s.name, f.direction")
+    List<IndicatorFactCountView> countByIndicatorIdsGrouped(@Param("indicatorIds") Collection<Long> indicatorIds,
+                                                            @Param("subareaId") Long subareaId);
+
+    // Distinct custom dimensions of several indicators
+    @Query(value = "SELECT f.indicator_id AS \"indicatorId\", g.dimension_name AS \"dimension\" " +
+                   "FROM fact_indicator_values f " +
+                   "JOIN dim_generic g ON g.id = ANY(f.generic_ids) " +
+                   "WHERE f.indicator_id IN (:indicatorIds) " +
+                   "GROUP BY f.indicator_id, g.dimension_name " +
+                   "ORDER BY f.indicator_id, g.dimension_name",
+           nativeQuery = true)
+    List<IndicatorDimensionView> findGenericDimensionsByIndicatorIds(@Param("indicatorIds") Collection<Long> indicatorIds);
+
+    // Distinct custom dimensions of several indicators within a subarea
+    @Query(value = "SELECT f.indicator_id AS \"indicatorId\", g.dimension_name AS \"dimension\" " +
+                   "FROM fact_indicator_values f " +
+                   "JOIN dim_generic g ON g.id = ANY(f.generic_ids) " +
+                   "WHERE f.indicator_id IN (:indicatorIds) AND f.subarea_id = :subareaId " +
+                   "GROUP BY f.indicator_id, g.dimension_name " +
+                   "ORDER BY f.indicator_id, g.dimension_name",
+           nativeQuery = true)
+    List<IndicatorDimensionView> findGenericDimensionsByIndicatorIdsAndSubareaId(@Param("indicatorIds") Collection<Long> indicatorIds,
+                                                                                 @Param("subareaId") Long subareaId);
+
+    // One keyset page of an indicator's facts after the given fact id, optionally narrowed to a subarea
+    // and dimension members. Seeks on (indicator_id, id) instead of skipping an OFFSET of rows
+    @Query("SELECT f FROM FactIndicatorValue f " +
+           "LEFT JOIN FETCH f.time " +
+           "LEFT JOIN FETCH f.location " +
+           "WHERE f.indicator.id = :indicatorId AND f.id > :afterId AND " +
+           "(:subareaId IS NULL OR f.subarea.id = :subareaId) AND " +
+           "(:timeId IS NULL OR f.time.id = :timeId) AND " +
+           "(:locationId IS NULL OR f.location.id = :locationId) AND " +
+           "(:genericId IS NULL OR array_contains(f.genericIds, :genericId)) " +
+           "ORDER BY f.id")
+    List<FactIndicatorValue> findPageByIndicatorId(@Param("indicatorId") Long indicatorId,
+                                                   @Param("afterId") Long afterId,
+                                                   @Param("subareaId") Long subareaId,
+                                                   @Param("timeId") Long timeId,
+                                                   @Param("locationId") Long locationId,
+                                                   @Param("genericId") Long genericId,
+                                                   Limit limit);
+
+    // Flat value rows of an indicator for the read-only endpoints, without hydrating entities
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = VALUE_VIEW_SELECT + "WHERE f.indicator_id = :indicatorId " + VALUE_VIEW_ORDER, nativeQuery = true)
+    List<FactValueView> findValueViewsByIndicatorId(@Param("indicatorId") Long indicatorId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = VALUE_VIEW_SELECT + "WHERE f.indicator_id = :indicatorId AND f.subarea_id = :subareaId " + VALUE_VIEW_ORDER,
+           nativeQuery = true)
+    List<FactValueView> findValueViewsByIndicatorIdAndSubareaId(@Param("indicatorId") Long indicatorId,
+                                                                @Param("subareaId") Long subareaId);
+
+    // Same rows read through a server-side cursor; must be consumed inside a transaction
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = VALUE_VIEW_SELECT + "WHERE f.indicator_id = :indicatorId " + VALUE_VIEW_ORDER, nativeQuery = true)
+    Stream<FactValueView> streamValueViewsByIndicatorId(@Param("indicatorId") Long indicatorId);
+
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = VALUE_VIEW_SELECT + "WHERE f.indicator_id = :indicatorId AND f.subarea_id = :subareaId " + VALUE_VIEW_ORDER,
+           nativeQuery = true)
+    Stream<FactValueView> streamValueViewsByIndicatorIdAndSubareaId(@Param("indicatorId") Long indicatorId,
+                                                                    @Param("subareaId") Long subareaId);
+
+    // Flat value rows of every indicator in a subarea, grouped by indicator, for assembling the subarea page
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = "SELECT f.indicator_id AS \"indicatorId\", f.direction AS \"direction\", " +
+                   VALUE_VIEW_COLUMNS + VALUE_VIEW_FROM + "WHERE f.subarea_id = :subareaId ORDER BY f.indicator_id, f.id, g.id",
+           nativeQuery = true)
+    List<SubareaFactView> findValueViewsBySubareaId(@Param("subareaId") Long subareaId);
+
+    // Next chunk of fact ids for an indicator, for chunked bulk deletes
+    @Query("SELECT f.id FROM FactIndicatorValue f WHERE f.indicator.id = :indicatorId ORDER BY f.id")
+    List<Long> findIdsByIndicatorId(@Param("indicatorId") Long indicatorId, Limit limit);
+
+    // Next chunk of fact ids for a subarea, for chunked bulk deletes
+    @Query("SELECT f.id FROM FactIndicatorValue f WHERE f.subarea.id = :subareaId ORDER BY f.id")
+    List<Long> findIdsBySubareaId(@Param("subareaId") Long subareaId, Limit limit);
+
+    // Bulk delete of the generic dimension links of the given facts; must run before bulkDeleteByIds
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM fact_indicator_value_generic WHERE fact_indicator_value_id IN (:factIds)", nativeQuery = true)
+    int bulkDeleteGenericLinksByFactIds(@Param("factIds") Collection<Long> factIds);
+
+    // Bulk delete of the given facts without loading them
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM fact_indicator_values WHERE id IN (:factIds)", nativeQuery = true)
+    int bulkDeleteByIds(@Param("factIds") Collection<Long> factIds);
+
+    // Bulk delete of the given facts of one indicator, pruned to the indicator's partition on PostgreSQL
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM fact_indicator_values WHERE indicator_id = :indicatorId AND id IN (:factIds)", nativeQuery = true)
+    int bulkDeleteByIndicatorIdAndIds(@Param("indicatorId") Long indicatorId, @Param("factIds") Collection<Long> factIds);
+}
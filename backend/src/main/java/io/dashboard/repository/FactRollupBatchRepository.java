@@ -0,0 +1,223 @@
+package io.dashboard.repository;
+
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.FactIndicatorValue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Keeps the fact_rollup_time, fact_rollup_location and fact_rollup_generic tables in step with
+ * fact_indicator_values. Writers pass the change of every fact as a {@link Delta}: an inserted fact
+ * adds its value and a count of one to each of its groups, an updated value adds the difference.
+ * Deleting all facts of an indicator or subarea drops its rollup rows.
+ * <p>
+ * Writers of an indicator's facts must {@link #lockIndicators lock the indicator} first, so that
+ * deltas computed from previously read values are applied one transaction after the other.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class FactRollupBatchRepository {
+
+    private static final String LOCK_INDICATOR = "SELECT id FROM indicators WHERE id = :id FOR UPDATE";
+
+    private static final List<String> TABLES = List.of("fact_rollup_time", "fact_rollup_location", "fact_rollup_generic");
+
+    private static final String REBUILD_TIME =
+        "INSERT INTO fact_rollup_time (indicator_id, subarea_id, time_id, value_sum, value_count) " +
+        "SELECT indicator_id, subarea_id, time_id, SUM(numeric_value), COUNT(numeric_value) " +
+        "FROM fact_indicator_values GROUP BY indicator_id, subarea_id, time_id";
+
+    private static final String REBUILD_LOCATION =
+        "INSERT INTO fact_rollup_location (indicator_id, subarea_id, location_id, value_sum, value_count) " +
+        "SELECT indicator_id, subarea_id, location_id, SUM(numeric_value), COUNT(numeric_value) " +
+        "FROM fact_indicator_values GROUP BY indicator_id, subarea_id, location_id";
+
+    private static final String REBUILD_GENERIC =
+        "INSERT INTO fact_rollup_generic (indicator_id, subarea_id, generic_id, value_sum, value_count) " +
+        "SELECT f.indicator_id, f.subarea_id, j.generic_id, SUM(f.numeric_value), COUNT(f.numeric_value) " +
+        "FROM fact_indicator_values f JOIN fact_indicator_value_generic j ON j.fact_indicator_value_id = f.id " +
+        "GROUP BY f.indicator_id, f.subarea_id, j.generic_id";
+
+    private static final String SELECT_GENERIC_LINKS =
+        "SELECT fact_indicator_value_id, generic_id FROM fact_indicator_value_generic WHERE fact_indicator_value_id IN (:factIds)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * The change of one fact: {@code sum} is added to the value sum and {@code count} to the row
+     * count of every group the fact belongs to.
+     */
+    public record Delta(Long indicatorId, Long subareaId, Long timeId, Long locationId,
+                        Collection<Long> genericIds, BigDecimal sum, long count) {
+
+        public static Delta of(FactIndicatorValue fact, Collection<Long> genericIds, BigDecimal sum, long count) {
+            return new Delta(
+                fact.getIndicator().getId(),
+                fact.getSubarea() != null ? fact.getSubarea().getId() : null,
+                fact.getTime() != null ? fact.getTime().getId() : null,
+                fact.getLocation() != null ? fact.getLocation().getId() : null,
+                genericIds,
+                sum,
+                count);
+        }
+
+        /**
+         * Delta of a fact whose generic members are the ones in its {@code generics} list.
+         */
+        public static Delta of(FactIndicatorValue fact, BigDecimal sum, long count) {
+            List<Long> genericIds = fact.getGenerics() == null ? List.of()
+                : fact.getGenerics().stream().map(DimGeneric::getId).toList();
+            return of(fact, genericIds, sum, count);
+        }
+    }
+
+    private record GroupKey(Long indicatorId, Long subareaId, Long memberId) {
+    }
+
+    private static final class Totals {
+        private BigDecimal sum = BigDecimal.ZERO;
+        private long count;
+    }
+
+    /**
+     * Lock the given indicator rows until the end of the transaction, in id order to avoid deadlocks
+     * between writers of overlapping indicators.
+     */
+    public void lockIndicators(Collection<Long> indicatorIds) {
+        for (Long indicatorId : new TreeSet<>(indicatorIds)) {
+            jdbcTemplate.queryForList(LOCK_INDICATOR, new MapSqlParameterSource("id", indicatorId), Long.class);
+        }
+    }
+
+    /**
+     * Add the deltas to the rollup rows, creating missing groups.
+     */
+    public void apply(Collection<Delta> deltas) {
+        Map<GroupKey, Totals> byTime = new LinkedHashMap<>();
+        Map<GroupKey, Totals> byLocation = new LinkedHashMap<>();
+        Map<GroupKey, Totals> byGeneric = new LinkedHashMap<>();
+        for (Delta delta : deltas) {
+            if (delta.count() == 0 && delta.sum().signum() == 0) {
+                continue;
+            }
+            add(byTime, new GroupKey(delta.indicatorId(), delta.subareaId(), delta.timeId()), delta);
+            add(byLocation, new GroupKey(delta.indicatorId(), delta.subareaId(), delta.locationId()), delta);
+            for (Long genericId : delta.genericIds()) {
+                add(byGeneric, new GroupKey(delta.indicatorId(), delta.subareaId(), genericId), delta);
+            }
+        }
+        applyGroups("fact_rollup_time", "time_id", byTime);
+        applyGroups("fact_rollup_location", "location_id", byLocation);
+        applyGroups("fact_rollup_generic", "generic_id", byGeneric);
+    }
+
+    private static void add(Map<GroupKey, Totals> groups, GroupKey key, Delta delta) {
+        Totals totals = groups.computeIfAbsent(key, k -> new Totals());
+        totals.sum = totals.sum.add(delta.sum());
+        totals.count += delta.count();
+    }
+
+    private void applyGroups(String table, String memberColumn, Map<GroupKey, Totals> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        // Null keys need IS NULL instead of "=", so the updates are batched per null pattern
+        Map<String, List<SqlParameterSource>> updatesBySql = new LinkedHashMap<>();
+        groups.forEach((key, totals) -> updatesBySql
+            .computeIfAbsent(updateSql(table, memberColumn, key), sql -> new ArrayList<>())
+            .add(params(key, totals)));
+
+        List<SqlParameterSource> missing = new ArrayList<>();
+        updatesBySql.forEach((sql, params) -> {
+            int[] updated = jdbcTemplate.batchUpdate(sql, params.toArray(new SqlParameterSource[0]));
+            for (int i = 0; i < updated.length; i++) {
+                if (updated[i] == 0) {
+                    missing.add(params.get(i));
+                }
+            }
+        });
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                "INSERT INTO " + table + " (indicator_id, subarea_id, " + memberColumn + ", value_sum, value_count) " +
+                "VALUES (:indicatorId, :subareaId, :memberId, :sum, :count)",
+                missing.toArray(new SqlParameterSource[0]));
+        }
+        log.debug("Applied {} groups to {} ({} new)", groups.size(), table, missing.size());
+    }
+
+    private static String updateSql(String table, String memberColumn, GroupKey key) {
+        return "UPDATE " + table + " SET value_sum = value_sum + :sum, value_count = value_count + :count " +
+            "WHERE indicator_id = :indicatorId" +
+            (key.subareaId() != null ? " AND subarea_id = :subareaId" : " AND subarea_id IS NULL") +
+            (key.memberId() != null ? " AND " + memberColumn + " = :memberId" : " AND " + memberColumn + " IS NULL");
+    }
+
+    private static SqlParameterSource params(GroupKey key, Totals totals) {
+        return new MapSqlParameterSource()
+            .addValue("indicatorId", key.indicatorId(), Types.BIGINT)
+            .addValue("subareaId", key.subareaId(), Types.BIGINT)
+            .addValue("memberId", key.memberId(), Types.BIGINT)
+            .addValue("sum", totals.sum, Types.NUMERIC)
+            .addValue("count", totals.count, Types.BIGINT);
+    }
+
+    /**
+     * Generic member ids linked to each of the given facts.
+     */
+    public Map<Long, List<Long>> findGenericIds(Collection<Long> factIds) {
+        Map<Long, List<Long>> genericIds = new HashMap<>();
+        if (factIds.isEmpty()) {
+            return genericIds;
+        }
+        jdbcTemplate.query(SELECT_GENERIC_LINKS, new MapSqlParameterSource("factIds", factIds), (RowCallbackHandler) rs -> {
+            genericIds.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+        });
+        return genericIds;
+    }
+
+    public void deleteByIndicator(Long indicatorId) {
+        deleteWhere("indicator_id", indicatorId);
+    }
+
+    public void deleteBySubarea(Long subareaId) {
+        deleteWhere("subarea_id", subareaId);
+    }
+
+    private void deleteWhere(String column, Long id) {
+        Objects.requireNonNull(id, column);
+        for (String table : TABLES) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE " + column + " = :id", new MapSqlParameterSource("id", id));
+        }
+    }
+
+    /**
+     * Recompute all rollup rows from the facts, e.g. after facts were written without going through
+     * a maintaining writer.
+     */
+    public void rebuildAll() {
+        for (String table : TABLES) {
+            jdbcTemplate.getJdbcTemplate().update("DELETE FROM " + table);
+        }
+        jdbcTemplate.getJdbcTemplate().update(REBUILD_TIME);
+        jdbcTemplate.getJdbcTemplate().update(REBUILD_LOCATION);
+        jdbcTemplate.getJdbcTemplate().update(REBUILD_GENERIC);
+        log.info("Rebuilt fact rollup tables");
+    }
+}
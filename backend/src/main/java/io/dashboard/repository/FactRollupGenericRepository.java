@@ -0,0 +1,37 @@
+package io.dashboard.repository;
+
+import io.dashboard.model.FactRollupGeneric;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FactRollupGenericRepository extends JpaRepository<FactRollupGeneric, Long> {
+
+    // Sum and count per value of a generic dimension (name matched ignoring case) and indicator within a subarea
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, g.value, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupGeneric r JOIN DimGeneric g ON g.id = r.genericId " +
+           "WHERE r.subareaId = :subareaId AND LOWER(g.dimensionName) = LOWER(:dimension) " +
+           "GROUP BY g.value, r.indicatorId")
+    List<FactAggregateRow> aggregateSubareaByGeneric(@Param("subareaId") Long subareaId, @Param("dimension") String dimension);
+
+    // Sum and count per value of a generic dimension (name matched ignoring case) of an indicator
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, g.value, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupGeneric r JOIN DimGeneric g ON g.id = r.genericId " +
+           "WHERE r.indicatorId = :indicatorId AND LOWER(g.dimensionName) = LOWER(:dimension) " +
+           "GROUP BY g.value, r.indicatorId")
+    List<FactAggregateRow> aggregateIndicatorByGeneric(@Param("indicatorId") Long indicatorId, @Param("dimension") String dimension);
+
+    // Sum and count per value of a generic dimension (name matched ignoring case) of an indicator within one subarea;
+    // emptied groups are left out
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, g.value, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupGeneric r JOIN DimGeneric g ON g.id = r.genericId " +
+           "WHERE r.indicatorId = :indicatorId AND r.subareaId = :subareaId AND LOWER(g.dimensionName) = LOWER(:dimension) " +
+           "GROUP BY g.value, r.indicatorId " +
+           "HAVING SUM(r.valueCount) > 0")
+    List<FactAggregateRow> aggregateIndicatorByGeneric(@Param("indicatorId") Long indicatorId, @Param("subareaId") Long subareaId,
+                                                       @Param("dimension") String dimension);
+}
@@ -0,0 +1,35 @@
+package io.dashboard.repository;
+
+import io.dashboard.model.FactRollupLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FactRollupLocationRepository extends JpaRepository<FactRollupLocation, Long> {
+
+    // Sum and count per location name and indicator within a subarea
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, l.name, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupLocation r JOIN DimLocation l ON l.id = r.locationId " +
+           "WHERE r.subareaId = :subareaId " +
+           "GROUP BY l.name, r.indicatorId")
+    List<FactAggregateRow> aggregateSubareaByLocation(@Param("subareaId") Long subareaId);
+
+    // Sum and count per location name of an indicator
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, l.name, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupLocation r JOIN DimLocation l ON l.id = r.locationId " +
+           "WHERE r.indicatorId = :indicatorId " +
+           "GROUP BY l.name, r.indicatorId")
+    List<FactAggregateRow> aggregateIndicatorByLocation(@Param("indicatorId") Long indicatorId);
+
+    // Sum and count per location name of an indicator within one subarea; emptied groups are left out
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, l.name, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupLocation r JOIN DimLocation l ON l.id = r.locationId " +
+           "WHERE r.indicatorId = :indicatorId AND r.subareaId = :subareaId " +
+           "GROUP BY l.name, r.indicatorId " +
+           "HAVING SUM(r.valueCount) > 0")
+    List<FactAggregateRow> aggregateIndicatorByLocation(@Param("indicatorId") Long indicatorId, @Param("subareaId") Long subareaId);
+}
@@ -0,0 +1,81 @@
+package io.dashboard.repository;
+
+import io.dashboard.model.FactRollupTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FactRollupTimeRepository extends JpaRepository<FactRollupTime, Long> {
+
+    // Sum and count per indicator and year-month period (facts without time are left out)
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, " +
+           "CONCAT(COALESCE(CAST(t.year AS String), 'null'), '-', COALESCE(CAST(t.month AS String), 'null')), " +
+           "SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r JOIN DimTime t ON t.id = r.timeId " +
+           "WHERE r.indicatorId = :indicatorId " +
+           "GROUP BY r.indicatorId, t.year, t.month")
+    List<FactAggregateRow> aggregateByPeriod(@Param("indicatorId") Long indicatorId);
+
+    // Sum and count per indicator and year-month period within one subarea
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, " +
+           "CONCAT(COALESCE(CAST(t.year AS String), 'null'), '-', COALESCE(CAST(t.month AS String), 'null')), " +
+           "SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r JOIN DimTime t ON t.id = r.timeId " +
+           "WHERE r.indicatorId = :indicatorId AND r.subareaId = :subareaId " +
+           "GROUP BY r.indicatorId, t.year, t.month")
+    List<FactAggregateRow> aggregateByPeriod(@Param("indicatorId") Long indicatorId, @Param("subareaId") Long subareaId);
+
+    // Sum and count per indicator and year-month period, over all subareas of the given indicators
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, " +
+           "CONCAT(COALESCE(CAST(t.year AS String), 'null'), '-', COALESCE(CAST(t.month AS String), 'null')), " +
+           "SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r JOIN DimTime t ON t.id = r.timeId " +
+           "WHERE r.indicatorId IN :indicatorIds " +
+           "GROUP BY r.indicatorId, t.year, t.month")
+    List<FactAggregateRow> aggregateByPeriodForIndicators(@Param("indicatorIds") Collection<Long> indicatorIds);
+
+    // Sum and count of all facts per indicator, without a group key
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r " +
+           "WHERE r.indicatorId IN :indicatorIds " +
+           "GROUP BY r.indicatorId")
+    List<FactAggregateRow> aggregateTotalsForIndicators(@Param("indicatorIds") Collection<Long> indicatorIds);
+
+    // Sum and count of all facts of an indicator within one subarea, without a group key
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r " +
+           "WHERE r.indicatorId = :indicatorId AND r.subareaId = :subareaId " +
+           "GROUP BY r.indicatorId")
+    List<FactAggregateRow> aggregateTotals(@Param("indicatorId") Long indicatorId, @Param("subareaId") Long subareaId);
+
+    // Distinct indicators with facts in a subarea; every fact is counted in exactly one time rollup row
+    @Query("SELECT DISTINCT r.indicatorId FROM FactRollupTime r WHERE r.subareaId = :subareaId AND r.valueCount > 0")
+    List<Long> findDistinctIndicatorIdsBySubareaId(@Param("subareaId") Long subareaId);
+
+    // Sum and count per time value and indicator within a subarea
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, t.value, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r JOIN DimTime t ON t.id = r.timeId " +
+           "WHERE r.subareaId = :subareaId " +
+           "GROUP BY t.value, r.indicatorId")
+    List<FactAggregateRow> aggregateSubareaByTime(@Param("subareaId") Long subareaId);
+
+    // Sum and count per time value of an indicator
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, t.value, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r JOIN DimTime t ON t.id = r.timeId " +
+           "WHERE r.indicatorId = :indicatorId " +
+           "GROUP BY t.value, r.indicatorId")
+    List<FactAggregateRow> aggregateIndicatorByTime(@Param("indicatorId") Long indicatorId);
+
+    // Sum and count per time value of an indicator within one subarea; emptied groups are left out
+    @Query("SELECT new io.dashboard.repository.FactAggregateRow(r.indicatorId, t.value, SUM(r.valueSum), SUM(r.valueCount)) " +
+           "FROM FactRollupTime r JOIN DimTime t ON t.id = r.timeId " +
+           "WHERE r.indicatorId = :indicatorId AND r.subareaId = :subareaId " +
+           "GROUP BY t.value, r.indicatorId " +
+           "HAVING SUM(r.valueCount) > 0")
+    List<FactAggregateRow> aggregateIndicatorByTime(@Param("indicatorId") Long indicatorId, @Param("subareaId") Long subareaId);
+}
@@ -0,0 +1,195 @@
+package io.dashboard.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads an {@link IndicatorFactSnapshot} with two plain JDBC queries, one over the facts with their
+ * time and location members and one resolving their {@code generic_ids}, without materializing entities.
+ * Also loads {@link IndicatorDimensionValues} for many indicators at once with one grouped query.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FactSnapshotRepository {
+
+    private static final String SELECT_FACTS =
+        "SELECT f.id, f.numeric_value, f.subarea_id, t.\"value\", l.name " +
+        "FROM fact_indicator_values f " +
+        "LEFT JOIN dim_time t ON t.id = f.time_id " +
+        "LEFT JOIN dim_location l ON l.id = f.location_id " +
+        "WHERE f.indicator_id = :indicatorId " +
+        "ORDER BY f.id";
+
+    private static final String SELECT_GENERICS =
+        "SELECT f.id, g.dimension_name, g.\"value\" " +
+        "FROM fact_indicator_values f " +
+        "JOIN dim_generic g ON g.id = ANY(f.generic_ids) " +
+        "WHERE f.indicator_id = :indicatorId AND g.dimension_name IS NOT NULL " +
+        "ORDER BY f.id, g.id";
+
+    // Time members, location members and generic members per indicator with their fact counts;
+    // the second column keeps time and location ahead of the generic dimensions
+    private static final String SELECT_DIMENSION_VALUES =
+        "SELECT f.indicator_id, 0, 'time', t.\"value\", COUNT(*) " +
+        "FROM fact_indicator_values f JOIN dim_time t ON t.id = f.time_id " +
+        "WHERE f.indicator_id IN (:indicatorIds) " +
+        "GROUP BY f.indicator_id, t.\"value\" " +
+        "UNION ALL " +
+        "SELECT f.indicator_id, 1, 'location', l.name, COUNT(*) " +
+        "FROM fact_indicator_values f JOIN dim_location l ON l.id = f.location_id " +
+        "WHERE f.indicator_id IN (:indicatorIds) " +
+        "GROUP BY f.indicator_id, l.name " +
+        "UNION ALL " +
+        "SELECT f.indicator_id, 2, g.dimension_name, g.\"value\", COUNT(*) " +
+        "FROM fact_indicator_values f JOIN dim_generic g ON g.id = ANY(f.generic_ids) " +
+        "WHERE f.indicator_id IN (:indicatorIds) AND g.dimension_name IS NOT NULL " +
+        "GROUP BY f.indicator_id, g.dimension_name, g.\"value\" " +
+        "ORDER BY 1, 2, 3, 4";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public IndicatorFactSnapshot load(Long indicatorId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("indicatorId", indicatorId);
+        FactColumns facts = new FactColumns();
+        jdbcTemplate.query(SELECT_FACTS, params, (RowCallbackHandler) rs -> {
+            long subareaId = rs.getLong(3);
+            facts.add(rs.getLong(1), rs.getDouble(2), rs.wasNull() ? IndicatorFactSnapshot.NO_SUBAREA : subareaId,
+                rs.getString(4), rs.getString(5));
+        });
+
+        int rows = facts.size;
+        long[] factIds = Arrays.copyOf(facts.ids, rows);
+        Map<String, ColumnBuilder> generics = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_GENERICS, params, (RowCallbackHandler) rs -> {
+            int row = Arrays.binarySearch(factIds, rs.getLong(1));
+            if (row >= 0) {
+                generics.computeIfAbsent(rs.getString(2), name -> new ColumnBuilder(rows))
+                    .add(row, rs.getString(3));
+            }
+        });
+
+        Map<String, IndicatorFactSnapshot.Column> genericColumns = new LinkedHashMap<>();
+        generics.forEach((name, column) -> genericColumns.put(name, column.build(rows)));
+        return new IndicatorFactSnapshot(indicatorId,
+            Arrays.copyOf(facts.values, rows),
+            Arrays.copyOf(facts.subareaIds, rows),
+            facts.time.build(rows),
+            facts.location.build(rows),
+            genericColumns);
+    }
+
+    /**
+     * Dimension members and fact counts of each of the indicators, keyed by indicator id in the order
+     * given. Indicators without facts get an entry without dimensions. All ids go into one statement,
+     * so callers bound their number (see {@code IndicatorService.MAX_DIMENSION_BATCH}).
+     */
+    public Map<Long, IndicatorDimensionValues> loadDimensionValues(Collection<Long> indicatorIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(indicatorIds));
+        Map<Long, Map<String, Map<String, Long>>> counts = new HashMap<>();
+        jdbcTemplate.query(SELECT_DIMENSION_VALUES, new MapSqlParameterSource("indicatorIds", ids), (RowCallbackHandler) rs -> {
+            if (rs.getString(4) != null) {
+                counts.computeIfAbsent(rs.getLong(1), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(rs.getString(3), name -> new LinkedHashMap<>())
+                    .put(rs.getString(4), rs.getLong(5));
+            }
+        });
+
+        Map<Long, IndicatorDimensionValues> loaded = new LinkedHashMap<>();
+        for (Long id : ids) {
+            loaded.put(id, new IndicatorDimensionValues(id, counts.getOrDefault(id, Map.of())));
+        }
+        return loaded;
+    }
+
+    /**
+     * Growable primitive columns filled while streaming the fact rows.
+     */
+    private static final class FactColumns {
+        private long[] ids = new long[256];
+        private double[] values = new double[256];
+        private long[] subareaIds = new long[256];
+        private final ColumnBuilder time = new ColumnBuilder(256);
+        private final ColumnBuilder location = new ColumnBuilder(256);
+        private int size;
+
+        void add(long id, double value, long subareaId, String timeValue, String locationName) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                values = Arrays.copyOf(values, capacity);
+                subareaIds = Arrays.copyOf(subareaIds, capacity);
+            }
+            ids[size] = id;
+            values[size] = value;
+            subareaIds[size] = subareaId;
+            time.append(size, timeValue);
+            location.append(size, locationName);
+            size++;
+        }
+    }
+
+    private static final class ColumnBuilder {
+        private final Map<String, Integer> codesByMember = new HashMap<>();
+        private int[] codes;
+        private int[] extraRows = new int[0];
+        private int[] extraCodes = new int[0];
+        private int extras;
+
+        ColumnBuilder(int rows) {
+            codes = new int[Math.max(rows, 1)];
+            Arrays.fill(codes, IndicatorFactSnapshot.ABSENT);
+        }
+
+        void append(int row, String member) {
+            if (row == codes.length) {
+                int from = codes.length;
+                codes = Arrays.copyOf(codes, from * 2);
+                Arrays.fill(codes, from, codes.length, IndicatorFactSnapshot.ABSENT);
+            }
+            codes[row] = encode(member);
+        }
+
+        /**
+         * Add a member of a row; rows must arrive in ascending order. Members after the first go to the
+         * overflow.
+         */
+        void add(int row, String member) {
+            if (codes[row] == IndicatorFactSnapshot.ABSENT) {
+                codes[row] = encode(member);
+                return;
+            }
+            if (extras == extraRows.length) {
+                int capacity = Math.max(16, extras * 2);
+                extraRows = Arrays.copyOf(extraRows, capacity);
+                extraCodes = Arrays.copyOf(extraCodes, capacity);
+            }
+            extraRows[extras] = row;
+            extraCodes[extras] = encode(member);
+            extras++;
+        }
+
+        private int encode(String member) {
+            return member == null ? IndicatorFactSnapshot.ABSENT
+                : codesByMember.computeIfAbsent(member, key -> codesByMember.size());
+        }
+
+        IndicatorFactSnapshot.Column build(int rows) {
+            String[] dictionary = new String[codesByMember.size()];
+            codesByMember.forEach((member, code) -> dictionary[code] = member);
+            return new IndicatorFactSnapshot.Column(dictionary, codes.length == rows ? codes : Arrays.copyOf(codes, rows),
+                Arrays.copyOf(extraRows, extras), Arrays.copyOf(extraCodes, extras));
+        }
+    }
+}
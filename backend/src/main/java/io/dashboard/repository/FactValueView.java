@@ -0,0 +1,23 @@
+package io.dashboard.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a fact with its time and location member and at most one generic member.
+ * A fact with several generic members spans consecutive rows that differ only in the generic columns;
+ * a fact without any has one row with null generic columns.
+ */
+public interface FactValueView {
+
+    Long getFactId();
+
+    BigDecimal getValue();
+
+    String getTimeValue();
+
+    String getLocationName();
+
+    String getGenericName();
+
+    String getGenericValue();
+}
@@ -0,0 +1,29 @@
+package io.dashboard.repository;
+
+import io.dashboard.model.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, Long> {
+
+    Optional<ImportCheckpoint> findByImportKey(String importKey);
+
+    // Runs inside the chunk transaction so the checkpoint commits together with the chunk
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportCheckpoint c SET c.rowsCommitted = :rows, c.updatedAt = :now WHERE c.id = :id")
+    int updateRowsCommitted(@Param("id") Long id, @Param("rows") long rows, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportCheckpoint c SET c.completed = true, c.updatedAt = :now WHERE c.id = :id")
+    int markCompleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
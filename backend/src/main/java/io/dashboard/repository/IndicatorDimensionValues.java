@@ -0,0 +1,58 @@
+package io.dashboard.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Distinct members of every dimension of one indicator, each with the number of facts carrying it.
+ * Dimensions are "time", "location", then the generic ones by name; members are in ascending order.
+ * A fact linked to several members of one generic dimension counts towards each of them.
+ * <p>
+ * Shared between threads through {@code IndicatorFactCache}; the maps are unmodifiable.
+ */
+public final class IndicatorDimensionValues {
+
+    private final Long indicatorId;
+    private final Map<String, Map<String, Long>> factCounts;
+    private final long estimatedBytes;
+
+    public IndicatorDimensionValues(Long indicatorId, Map<String, Map<String, Long>> factCounts) {
+        this.indicatorId = indicatorId;
+        Map<String, Map<String, Long>> copy = new LinkedHashMap<>();
+        long bytes = 64L;
+        for (Map.Entry<String, Map<String, Long>> dimension : factCounts.entrySet()) {
+            copy.put(dimension.getKey(), Collections.unmodifiableMap(new LinkedHashMap<>(dimension.getValue())));
+            bytes += 96L + 2L * dimension.getKey().length();
+            for (String member : dimension.getValue().keySet()) {
+                bytes += 88L + 2L * member.length();
+            }
+        }
+        this.factCounts = Collections.unmodifiableMap(copy);
+        this.estimatedBytes = bytes;
+    }
+
+    public Long indicatorId() {
+        return indicatorId;
+    }
+
+    /**
+     * Fact count per member, keyed by dimension name.
+     */
+    public Map<String, Map<String, Long>> factCounts() {
+        return factCounts;
+    }
+
+    public List<String> dimensionNames() {
+        return new ArrayList<>(factCounts.keySet());
+    }
+
+    /**
+     * Rough heap footprint of the maps and strings, counted against the cache budget.
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+}
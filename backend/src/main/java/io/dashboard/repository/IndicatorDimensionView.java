@@ -0,0 +1,11 @@
+package io.dashboard.repository;
+
+/**
+ * A custom dimension that at least one fact of the indicator has a member of.
+ */
+public interface IndicatorDimensionView {
+
+    Long getIndicatorId();
+
+    String getDimension();
+}
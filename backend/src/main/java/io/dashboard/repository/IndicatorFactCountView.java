@@ -0,0 +1,22 @@
+package io.dashboard.repository;
+
+/**
+ * Fact count of one indicator for one combination of subarea and direction, with how many of those
+ * facts carry a time and a location member. Subarea and direction are null for facts without them.
+ */
+public interface IndicatorFactCountView {
+
+    Long getIndicatorId();
+
+    Long getSubareaId();
+
+    String getSubareaName();
+
+    String getDirection();
+
+    Long getFactCount();
+
+    Long getTimeCount();
+
+    Long getLocationCount();
+}
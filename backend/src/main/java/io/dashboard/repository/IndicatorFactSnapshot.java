@@ -0,0 +1,179 @@
+package io.dashboard.repository;
+
+import io.dashboard.util.GroupedStats;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-wise, read-only copy of all facts of one indicator. Row {@code i} of every array describes
+ * the same fact; rows are in fact id order.
+ * <p>
+ * Dimension members are dictionary-encoded: {@link Column#codes()} holds an index into
+ * {@link Column#dictionary()}, or {@link #ABSENT} when the fact has no member of that dimension.
+ * Generic dimensions are keyed by their exact dimension name. A fact linked to several members of
+ * the same dimension keeps the one of lowest id in {@link Column#codes()} and the others in the
+ * column's overflow, so every link counts the way it does in the rollup tables.
+ * <p>
+ * Instances are shared between threads through {@code IndicatorFactCache}, so the arrays must never
+ * be modified.
+ */
+public final class IndicatorFactSnapshot {
+
+    public static final int ABSENT = -1;
+
+    /** Stored in {@link #subareaIds()} for facts without a subarea. */
+    public static final long NO_SUBAREA = 0L;
+
+    private final Long indicatorId;
+    private final double[] values;
+    private final long[] subareaIds;
+    private final Column time;
+    private final Column location;
+    private final Map<String, Column> generics;
+    private final long estimatedBytes;
+
+    public IndicatorFactSnapshot(Long indicatorId, double[] values, long[] subareaIds,
+                                 Column time, Column location, Map<String, Column> generics) {
+        this.indicatorId = indicatorId;
+        this.values = values;
+        this.subareaIds = subareaIds;
+        this.time = time;
+        this.location = location;
+        this.generics = Collections.unmodifiableMap(new LinkedHashMap<>(generics));
+        long bytes = 64L + 16L * values.length + time.estimatedBytes() + location.estimatedBytes();
+        for (Column column : generics.values()) {
+            bytes += column.estimatedBytes() + 64L;
+        }
+        this.estimatedBytes = bytes;
+    }
+
+    public Long indicatorId() {
+        return indicatorId;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public double[] values() {
+        return values;
+    }
+
+    public long[] subareaIds() {
+        return subareaIds;
+    }
+
+    public Column time() {
+        return time;
+    }
+
+    public Column location() {
+        return location;
+    }
+
+    /**
+     * Generic dimensions in order of first appearance, keyed by dimension name.
+     */
+    public Map<String, Column> generics() {
+        return generics;
+    }
+
+    /**
+     * Dimensions at least one fact has a member of: "time", "location", then the generic ones.
+     */
+    public List<String> dimensionNames() {
+        List<String> names = new ArrayList<>();
+        if (!time.isEmpty()) {
+            names.add("time");
+        }
+        if (!location.isEmpty()) {
+            names.add("location");
+        }
+        names.addAll(generics.keySet());
+        return names;
+    }
+
+    /**
+     * Rough heap footprint of the arrays and dictionaries, used to bound the cache.
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Average value per member of {@code column}, in dictionary order. Facts without a member are
+     * skipped; with {@code subareaId} set only facts of that subarea count.
+     */
+    public Map<String, Double> averageBy(Column column, Long subareaId) {
+        int members = column.dictionary().length;
+        GroupedStats stats = new GroupedStats(members);
+        int[] codes = column.codes();
+        long subarea = subareaId != null ? subareaId : NO_SUBAREA;
+        for (int row = 0; row < values.length; row++) {
+            int code = codes[row];
+            if (code != ABSENT && (subareaId == null || subareaIds[row] == subarea)) {
+                stats.add(code, values[row]);
+            }
+        }
+        int[] extraRows = column.extraRows();
+        for (int i = 0; i < extraRows.length; i++) {
+            int row = extraRows[i];
+            if (subareaId == null || subareaIds[row] == subarea) {
+                stats.add(column.extraCodes()[i], values[row]);
+            }
+        }
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (int code = 0; code < members; code++) {
+            if (stats.count(code) > 0) {
+                averages.put(column.dictionary()[code], stats.mean(code));
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * One dictionary-encoded dimension column. {@code extraRows} and {@code extraCodes} are parallel
+     * arrays, ordered by row, holding every member of a row beyond the one in {@code codes}; they are
+     * empty for time, location and any generic dimension with at most one member per fact.
+     */
+    public record Column(String[] dictionary, int[] codes, int[] extraRows, int[] extraCodes) {
+
+        private static final int[] NONE = new int[0];
+
+        public Column(String[] dictionary, int[] codes) {
+            this(dictionary, codes, NONE, NONE);
+        }
+
+        public static Column empty(int rows) {
+            int[] codes = new int[rows];
+            Arrays.fill(codes, ABSENT);
+            return new Column(new String[0], codes);
+        }
+
+        /**
+         * Member of the given row, or {@code null} when the fact has none. For a fact with several
+         * members this is the one of lowest id.
+         */
+        public String valueAt(int row) {
+            int code = codes[row];
+            return code == ABSENT ? null : dictionary[code];
+        }
+
+        public boolean isEmpty() {
+            return dictionary.length == 0;
+        }
+
+        long estimatedBytes() {
+            long bytes = 16L + 4L * codes.length + 16L + 8L * dictionary.length + 32L + 8L * extraRows.length;
+            for (String member : dictionary) {
+                bytes += 40L + 2L * member.length();
+            }
+            return bytes;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.dashboard.repository;
 import io.dashboard.model.Indicator;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +17,7 @@ public interface IndicatorRepository extends JpaRepository<Indicator, Long> {
 
     @Query("SELECT DISTINCT i FROM Indicator i JOIN FactIndicatorValue f ON f.indicator.id = i.id WHERE f.subarea.id = :subareaId")
     List<Indicator> findByFactSubareaId(Long subareaId);
+
+    @Query("SELECT i FROM Indicator i LEFT JOIN FETCH i.unit LEFT JOIN FETCH i.dataType WHERE i.id IN :ids ORDER BY i.id")
+    List<Indicator> findAllWithUnitAndDataTypeByIdIn(Collection<Long> ids);
 } 
\ No newline at end of file
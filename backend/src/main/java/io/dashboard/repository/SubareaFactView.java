@@ -0,0 +1,12 @@
+package io.dashboard.repository;
+
+/**
+ * {@link FactValueView} of a fact read for a whole subarea, with the indicator and direction it
+ * belongs to.
+ */
+public interface SubareaFactView extends FactValueView {
+
+    Long getIndicatorId();
+
+    String getDirection();
+}
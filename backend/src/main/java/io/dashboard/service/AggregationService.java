@@ -1,211 +1,117 @@
 package io.dashboard.service;
 
-import io.dashboard.model.FactIndicatorValue;
-import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactAggregateRow;
+import io.dashboard.repository.FactRollupGenericRepository;
+import io.dashboard.repository.FactRollupLocationRepository;
+import io.dashboard.repository.FactRollupTimeRepository;
+import io.dashboard.util.GroupIndex;
+import io.dashboard.util.GroupedStats;
+import io.dashboard.util.LongGroupIndex;
+import io.dashboard.util.ValueStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import io.dashboard.model.DimTime;
 
+/**
+ * Aggregates fact values from the rollup tables, which hold the running sum and count of the facts
+ * per indicator, subarea and time, location or generic member. Every method issues GROUP BY queries
+ * over those rows returning one {@link FactAggregateRow} per group and indicator, and only combines
+ * them here, so the cost no longer grows with the number of facts.
+ * <p>
+ * Results equal the former in-memory implementation up to floating-point rounding: period
+ * averages are averaged per indicator, indicator averages are summed per subarea, and a
+ * dimension value's average pools all facts carrying it. Groups are combined with the primitive
+ * accumulators of {@code io.dashboard.util} rather than per-key lists and {@code BigDecimal} sums.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AggregationService {
-    
-    private final FactIndicatorValueRepository factIndicatorValueRepository;
-    
+
+    private final FactRollupTimeRepository factRollupTimeRepository;
+    private final FactRollupLocationRepository factRollupLocationRepository;
+    private final FactRollupGenericRepository factRollupGenericRepository;
+
     /**
      * Calculate aggregated value for a specific indicator
      * If multiple values exist for the same time period, average them
      */
     public double calculateIndicatorAggregatedValue(Long indicatorId) {
-        List<FactIndicatorValue> values = factIndicatorValueRepository.findByIndicatorIdWithEagerLoading(indicatorId);
-        
-        if (values.isEmpty()) {
-            return 0.0;
-        }
-        
-        // Group by time period and calculate average for each period
-        Map<String, List<FactIndicatorValue>> groupedByTime = values.stream()
-            .filter(v -> v.getTime() != null)
-            .collect(Collectors.groupingBy(v -> v.getTime().getYear() + "-" + v.getTime().getMonth()));
-        
-        if (groupedByTime.isEmpty()) {
-            // No time dimension, just average all values
-            return values.stream()
-                .mapToDouble(v -> v.getValue().doubleValue())
-                .average()
-                .orElse(0.0);
+        List<FactAggregateRow> periods = factRollupTimeRepository.aggregateByPeriod(indicatorId);
+        if (!periods.isEmpty()) {
+            return averageOfAverages(periods);
         }
-        
-        // Calculate average for each time period, then average those averages
-        List<Double> periodAverages = groupedByTime.values().stream()
-            .map(periodValues -> periodValues.stream()
-                .mapToDouble(v -> v.getValue().doubleValue())
-                .average()
-                .orElse(0.0))
-            .collect(Collectors.toList());
-        
-        return periodAverages.stream()
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElse(0.0);
+        // No time dimension, just average all values
+        return pooledAverage(factRollupTimeRepository.aggregateTotalsForIndicators(List.of(indicatorId)));
     }
-    
+
     /**
      * Calculate aggregated value for a specific indicator in a specific subarea
      * If multiple values exist for the same time period, average them
      */
     public double calculateIndicatorAggregatedValue(Long indicatorId, Long subareaId) {
-        List<FactIndicatorValue> values = factIndicatorValueRepository.findByIndicatorIdAndSubareaId(indicatorId, subareaId);
-        
-        if (values.isEmpty()) {
-            return 0.0;
+        List<FactAggregateRow> periods = factRollupTimeRepository.aggregateByPeriod(indicatorId, subareaId);
+        if (!periods.isEmpty()) {
+            return averageOfAverages(periods);
         }
-        
-        // Group by time period and calculate average for each period
-        Map<String, List<FactIndicatorValue>> groupedByTime = values.stream()
-            .filter(v -> v.getTime() != null)
-            .collect(Collectors.groupingBy(v -> v.getTime().getYear() + "-" + v.getTime().getMonth()));
-        
-        if (groupedByTime.isEmpty()) {
-            // No time dimension, just average all values
-            return values.stream()
-                .mapToDouble(v -> v.getValue().doubleValue())
-                .average()
-                .orElse(0.0);
-        }
-        
-        // Calculate average for each time period, then average those averages
-        List<Double> periodAverages = groupedByTime.values().stream()
-            .map(periodValues -> periodValues.stream()
-                .mapToDouble(v -> v.getValue().doubleValue())
-                .average()
-                .orElse(0.0))
-            .collect(Collectors.toList());
-        
-        return periodAverages.stream()
-            .mapToDouble(Double::doubleValue)
-            .average()
-            .orElse(0.0);
+        // No time dimension, just average all values
+        return pooledAverage(factRollupTimeRepository.aggregateTotals(indicatorId, subareaId));
     }
-    
+
     /**
-     * Calculate aggregated value for a subarea (sum of all indicator aggregated values)
+     * Calculate aggregated value for a subarea (sum of all indicator aggregated values).
+     * Each indicator's value is taken over all of its facts, not only those in the subarea.
      */
     public double calculateSubareaAggregatedValue(Long subareaId) {
-        List<FactIndicatorValue> values = factIndicatorValueRepository.findBySubareaIdWithEagerLoading(subareaId);
-        
-        if (values.isEmpty()) {
+        List<Long> indicatorIds = factRollupTimeRepository.findDistinctIndicatorIdsBySubareaId(subareaId);
+        if (indicatorIds.isEmpty()) {
             return 0.0;
         }
-        
-        // Group by indicator and calculate aggregated value for each
-        Map<Long, List<FactIndicatorValue>> groupedByIndicator = values.stream()
-            .collect(Collectors.groupingBy(v -> v.getIndicator().getId()));
-        
-        double totalAggregatedValue = 0.0;
-        
-        for (Map.Entry<Long, List<FactIndicatorValue>> entry : groupedByIndicator.entrySet()) {
-            Long indicatorId = entry.getKey();
-            List<FactIndicatorValue> indicatorValues = entry.getValue();
-            
-            // Calculate aggregated value for this indicator
-            double indicatorAggregatedValue = calculateIndicatorAggregatedValue(indicatorId);
-            totalAggregatedValue += indicatorAggregatedValue;
+
+        // Mean of the period averages per indicator, and pooled totals for indicators without periods
+        LongGroupIndex periodIndicators = new LongGroupIndex(indicatorIds.size());
+        GroupedStats periodAverages = new GroupedStats(indicatorIds.size());
+        for (FactAggregateRow row : factRollupTimeRepository.aggregateByPeriodForIndicators(indicatorIds)) {
+            periodAverages.add(periodIndicators.codeOf(row.indicatorId()), row.average());
+        }
+        List<Long> withoutTime = indicatorIds.stream()
+            .filter(id -> periodIndicators.find(id) < 0)
+            .toList();
+        LongGroupIndex totalIndicators = new LongGroupIndex(withoutTime.size());
+        GroupedStats totals = new GroupedStats(withoutTime.size());
+        if (!withoutTime.isEmpty()) {
+            for (FactAggregateRow row : factRollupTimeRepository.aggregateTotalsForIndicators(withoutTime)) {
+                totals.addPartial(totalIndicators.codeOf(row.indicatorId()), row.sum().doubleValue(), row.count());
+            }
         }
-        
-        return totalAggregatedValue;
+
+        ValueStats total = new ValueStats();
+        for (Long indicatorId : indicatorIds) {
+            int periodCode = periodIndicators.find(indicatorId);
+            int totalCode = totalIndicators.find(indicatorId);
+            total.add(periodCode >= 0 ? periodAverages.mean(periodCode)
+                : totalCode >= 0 ? totals.mean(totalCode) : 0.0);
+        }
+        return total.sum();
     }
-    
+
     /**
      * Get aggregated data by time dimension for a subarea
      */
     public Map<String, Double> getSubareaAggregatedByTime(Long subareaId) {
-        List<FactIndicatorValue> values = factIndicatorValueRepository.findBySubareaIdWithEagerLoading(subareaId);
-        
-        if (values.isEmpty()) {
-            return new HashMap<>();
-        }
-        
-        // Group by time value (or year-month if you want more structure)
-        Map<String, List<FactIndicatorValue>> groupedByTime = values.stream()
-            .filter(v -> v.getTime() != null)
-            .collect(Collectors.groupingBy(v -> v.getTime().getValue()));
-        
-        Map<String, Double> result = new HashMap<>();
-        
-        for (Map.Entry<String, List<FactIndicatorValue>> entry : groupedByTime.entrySet()) {
-            List<FactIndicatorValue> periodValues = entry.getValue();
-            // Group by indicator for this time period
-            Map<Long, List<FactIndicatorValue>> indicatorGroups = periodValues.stream()
-                .collect(Collectors.groupingBy(v -> v.getIndicator().getId()));
-            double periodAggregatedValue = 0.0;
-            for (List<FactIndicatorValue> indicatorValues : indicatorGroups.values()) {
-                double indicatorAverage = indicatorValues.stream()
-                    .mapToDouble(v -> v.getValue().doubleValue())
-                    .average()
-                    .orElse(0.0);
-                periodAggregatedValue += indicatorAverage;
-            }
-            result.put(entry.getKey(), periodAggregatedValue);
-        }
-        return result;
+        return sumOfIndicatorAverages(factRollupTimeRepository.aggregateSubareaByTime(subareaId));
     }
-    
+
     /**
      * Get aggregated data by location dimension for a subarea
      */
     public Map<String, Double> getSubareaAggregatedByLocation(Long subareaId) {
-        List<FactIndicatorValue> values = factIndicatorValueRepository.findBySubareaIdWithEagerLoading(subareaId);
-        
-        if (values.isEmpty()) {
-            return new HashMap<>();
-        }
-        
-        // Group by location and calculate aggregated value for each location
-        Map<String, List<FactIndicatorValue>> groupedByLocation = values.stream()
-            .filter(v -> v.getLocation() != null)
-            .collect(Collectors.groupingBy(v -> v.getLocation().getName()));
-        
-        Map<String, Double> result = new HashMap<>();
-        
-        for (Map.Entry<String, List<FactIndicatorValue>> entry : groupedByLocation.entrySet()) {
-            String locationName = entry.getKey();
-            List<FactIndicatorValue> locationValues = entry.getValue();
-            
-            // Group by indicator for this location
-            Map<Long, List<FactIndicatorValue>> indicatorGroups = locationValues.stream()
-                .collect(Collectors.groupingBy(v -> v.getIndicator().getId()));
-            
-            double locationAggregatedValue = 0.0;
-            
-            for (List<FactIndicatorValue> indicatorValues : indicatorGroups.values()) {
-                // Average the values for this indicator in this location
-                double indicatorAverage = indicatorValues.stream()
-                    .mapToDouble(v -> v.getValue().doubleValue())
-                    .average()
-                    .orElse(0.0);
-                locationAggregatedValue += indicatorAverage;
-            }
-            
-            result.put(locationName, locationAggregatedValue);
-        }
-        
-        return result;
+        return sumOfIndicatorAverages(factRollupLocationRepository.aggregateSubareaByLocation(subareaId));
     }
-    
-    public Map<String, Double> getSubareaAggregatedByDimension(Long subareaId, String dimension) {
-        List<FactIndicatorValue> values = factIndicatorValueRepository.findBySubareaIdWithEagerLoadingGenerics(subareaId);
 
-        if (values.isEmpty()) {
-            return new HashMap<>();
-        }
-
-        Map<String, List<FactIndicatorValue>> grouped;
+    public Map<String, Double> getSubareaAggregatedByDimension(Long subareaId, String dimension) {
         switch (dimension.toLowerCase()) {
             case "time":
                 return getSubareaAggregatedByTime(subareaId);
@@ -213,63 +119,92 @@ public class AggregationService {
                 return getSubareaAggregatedByLocation(subareaId);
             default:
                 // For custom dimensions, group by the value of the DimGeneric whose dimensionName matches the requested dimension
-                grouped = values.stream()
-                    .flatMap(v -> v.getGenerics().stream()
-                        .filter(g -> g.getDimensionName() != null && g.getDimensionName().equalsIgnoreCase(dimension))
-                        .map(g -> new AbstractMap.SimpleEntry<>(g.getValue(), v)))
-                    .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
-                break;
-        }
-
-        Map<String, Double> result = new HashMap<>();
-        for (Map.Entry<String, List<FactIndicatorValue>> entry : grouped.entrySet()) {
-            List<FactIndicatorValue> groupValues = entry.getValue();
-            // Average the values for this group
-            double aggregated = groupValues.stream()
-                .mapToDouble(v -> v.getValue().doubleValue())
-                .average()
-                .orElse(0.0);
-            result.put(entry.getKey(), aggregated);
+                return pooledAverages(factRollupGenericRepository.aggregateSubareaByGeneric(subareaId, dimension));
         }
-        return result;
     }
 
     public Map<String, Double> getIndicatorAggregatedByDimension(Long indicatorId, String dimension) {
-        List<FactIndicatorValue> values = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-
-        if (values.isEmpty()) {
-            return new HashMap<>();
+        switch (dimension.toLowerCase()) {
+            case "time":
+                return pooledAverages(factRollupTimeRepository.aggregateIndicatorByTime(indicatorId));
+            case "location":
+                return pooledAverages(factRollupLocationRepository.aggregateIndicatorByLocation(indicatorId));
+            default:
+                return pooledAverages(factRollupGenericRepository.aggregateIndicatorByGeneric(indicatorId, dimension));
         }
+    }
 
-        Map<String, List<FactIndicatorValue>> grouped;
+    /**
+     * Average per member of {@code dimension} over the facts of an indicator in one subarea. Only the
+     * rollup rows of that indicator and subarea are read, so the other indicators of the subarea
+     * cost nothing.
+     */
+    public Map<String, Double> getIndicatorAggregatedByDimension(Long indicatorId, Long subareaId, String dimension) {
         switch (dimension.toLowerCase()) {
             case "time":
-                grouped = values.stream()
-                    .filter(v -> v.getTime() != null)
-                    .collect(Collectors.groupingBy(v -> v.getTime().getValue()));
-                break;
+                return pooledAverages(factRollupTimeRepository.aggregateIndicatorByTime(indicatorId, subareaId));
             case "location":
-                grouped = values.stream()
-                    .filter(v -> v.getLocation() != null)
-                    .collect(Collectors.groupingBy(v -> v.getLocation().getName()));
-                break;
+                return pooledAverages(factRollupLocationRepository.aggregateIndicatorByLocation(indicatorId, subareaId));
             default:
-                grouped = values.stream()
-                    .flatMap(v -> v.getGenerics().stream()
-                        .filter(g -> g.getDimensionName() != null && g.getDimensionName().equalsIgnoreCase(dimension))
-                        .map(g -> new AbstractMap.SimpleEntry<>(g.getValue(), v)))
-                    .collect(Collectors.groupingBy(Map.Entry::getKey, Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
-                break;
+                return pooledAverages(factRollupGenericRepository.aggregateIndicatorByGeneric(indicatorId, subareaId, dimension));
+        }
+    }
+
+    /**
+     * Average of the per-group averages, each group weighing the same.
+     */
+    private static double averageOfAverages(List<FactAggregateRow> rows) {
+        ValueStats stats = new ValueStats();
+        for (FactAggregateRow row : rows) {
+            stats.add(row.average());
         }
+        return stats.mean();
+    }
 
+    /**
+     * Average over all facts of the rows, as if they formed one group.
+     */
+    private static double pooledAverage(List<FactAggregateRow> rows) {
+        ValueStats stats = new ValueStats();
+        for (FactAggregateRow row : rows) {
+            stats.addPartial(row.sum().doubleValue(), row.count());
+        }
+        return stats.mean();
+    }
+
+    /**
+     * Per group key, the sum of the average of each indicator.
+     */
+    private static Map<String, Double> sumOfIndicatorAverages(List<FactAggregateRow> rows) {
+        GroupIndex<String> keys = new GroupIndex<>();
+        GroupedStats stats = new GroupedStats();
+        for (FactAggregateRow row : rows) {
+            if (row.groupKey() != null) {
+                stats.add(keys.codeOf(row.groupKey()), row.average());
+            }
+        }
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < keys.size(); code++) {
+            result.put(keys.keyAt(code), stats.sum(code));
+        }
+        return result;
+    }
+
+    /**
+     * Per group key, the average over the facts of all indicators.
+     */
+    private static Map<String, Double> pooledAverages(List<FactAggregateRow> rows) {
+        GroupIndex<String> keys = new GroupIndex<>();
+        GroupedStats stats = new GroupedStats();
+        for (FactAggregateRow row : rows) {
+            if (row.groupKey() != null) {
+                stats.addPartial(keys.codeOf(row.groupKey()), row.sum().doubleValue(), row.count());
+            }
+        }
         Map<String, Double> result = new HashMap<>();
-        for (Map.Entry<String, List<FactIndicatorValue>> entry : grouped.entrySet()) {
-            double avg = entry.getValue().stream()
-                .mapToDouble(v -> v.getValue().doubleValue())
-                .average()
-                .orElse(0.0);
-            result.put(entry.getKey(), avg);
+        for (int code = 0; code < keys.size(); code++) {
+            result.put(keys.keyAt(code), stats.mean(code));
         }
         return result;
     }
-} 
\ No newline at end of file
+}
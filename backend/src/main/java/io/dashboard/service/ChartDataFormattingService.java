@@ -2,10 +2,14 @@ package io.dashboard.service;
 
 import io.dashboard.dto.*;
 import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.util.GroupIndex;
+import io.dashboard.util.GroupedStats;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,20 +30,16 @@ public class ChartDataFormattingService {
         }
 
         // Group by time and calculate values
-        Map<String, List<FactIndicatorValue>> groupedByTime = data.stream()
-                .filter(fact -> fact.getTime() != null)
-                .collect(Collectors.groupingBy(fact -> fact.getTime().getValue()));
+        GroupIndex<String> times = new GroupIndex<>();
+        GroupedStats stats = groupValues(data, fact -> fact.getTime() != null, fact -> fact.getTime().getValue(), times);
 
-        List<String> labels = new ArrayList<>(groupedByTime.keySet());
+        List<String> labels = new ArrayList<>(times.keys());
         labels.sort(String::compareTo);
 
         TimeSeriesDataResponse.Dataset dataset = new TimeSeriesDataResponse.Dataset();
         dataset.setLabel("Indicator Values");
         dataset.setData(labels.stream()
-                .map(label -> groupedByTime.get(label).stream()
-                        .mapToDouble(fact -> fact.getValue().doubleValue())
-                        .average()
-                        .orElse(0.0))
+                .map(label -> stats.mean(times.codeOf(label)))
                 .collect(Collectors.toList()));
         dataset.setBorderColor(DEFAULT_COLORS[0]);
         dataset.setBackgroundColor(DEFAULT_COLORS[0] + "20");
@@ -67,20 +67,16 @@ public class ChartDataFormattingService {
         }
 
         // Group by location
-        Map<String, List<FactIndicatorValue>> groupedByLocation = data.stream()
-                .filter(fact -> fact.getLocation() != null)
-                .collect(Collectors.groupingBy(fact -> fact.getLocation().getName()));
+        GroupIndex<String> locations = new GroupIndex<>();
+        GroupedStats stats = groupValues(data, fact -> fact.getLocation() != null, fact -> fact.getLocation().getName(), locations);
 
-        List<String> categories = new ArrayList<>(groupedByLocation.keySet());
+        List<String> categories = new ArrayList<>(locations.keys());
         categories.sort(String::compareTo);
 
         LocationComparisonResponse.Series series = new LocationComparisonResponse.Series();
         series.setName("Indicator Values");
         series.setData(categories.stream()
-                .map(category -> groupedByLocation.get(category).stream()
-                        .mapToDouble(fact -> fact.getValue().doubleValue())
-                        .average()
-                        .orElse(0.0))
+                .map(category -> stats.mean(locations.codeOf(category)))
                 .collect(Collectors.toList()));
         series.setColor(DEFAULT_COLORS[0]);
 
@@ -107,16 +103,17 @@ public class ChartDataFormattingService {
         }
 
         // Group by generic dimension
-        Map<String, List<FactIndicatorValue>> groupedByDimension = data.stream()
-                .filter(fact -> fact.getGenerics() != null && !fact.getGenerics().isEmpty())
-                .collect(Collectors.groupingBy(fact -> fact.getGenerics().get(0).getValue()));
-
-        List<String> labels = new ArrayList<>(groupedByDimension.keySet());
-        List<Double> values = labels.stream()
-                .map(label -> groupedByDimension.get(label).stream()
-                        .mapToDouble(fact -> fact.getValue().doubleValue())
-                        .sum())
-                .collect(Collectors.toList());
+        GroupIndex<String> members = new GroupIndex<>();
+        GroupedStats stats = groupValues(data,
+                fact -> fact.getGenerics() != null && !fact.getGenerics().isEmpty(),
+                fact -> fact.getGenerics().get(0).getValue(),
+                members);
+
+        List<String> labels = new ArrayList<>(members.keys());
+        List<Double> values = new ArrayList<>(labels.size());
+        for (int code = 0; code < labels.size(); code++) {
+            values.add(stats.sum(code));
+        }
 
         List<String> colors = Arrays.asList(DEFAULT_COLORS).subList(0, Math.min(labels.size(), DEFAULT_COLORS.length));
 
@@ -371,37 +368,60 @@ public class ChartDataFormattingService {
         }
 
         // Group by period and aggregate
-        Map<String, List<FactIndicatorValue>> groupedByPeriod = data.stream()
-                .filter(fact -> fact.getTime() != null)
-                .collect(Collectors.groupingBy(fact -> {
-                    switch (period.toUpperCase()) {
-                        case "MONTHLY":
-                            return fact.getTime().getYear() + "-" + fact.getTime().getMonth();
-                        case "YEARLY":
-                            return String.valueOf(fact.getTime().getYear());
-                        case "QUARTERLY":
-                            int quarter = (fact.getTime().getMonth() - 1) / 3 + 1;
-                            return fact.getTime().getYear() + "-Q" + quarter;
-                        default:
-                            return fact.getTime().getValue();
-                    }
-                }));
-
-        return groupedByPeriod.entrySet().stream()
-                .map(entry -> {
-                    List<FactIndicatorValue> groupData = entry.getValue();
-                    double averageValue = groupData.stream()
-                            .mapToDouble(fact -> fact.getValue().doubleValue())
-                            .average()
-                            .orElse(0.0);
-
-                    // Create aggregated record
-                    FactIndicatorValue aggregated = new FactIndicatorValue();
-                    aggregated.setValue(BigDecimal.valueOf(averageValue));
-                    aggregated.setTime(groupData.get(0).getTime());
-                    aggregated.setIndicator(groupData.get(0).getIndicator());
-                    return aggregated;
-                })
-                .collect(Collectors.toList());
+        String periodType = period.toUpperCase();
+        GroupIndex<String> periods = new GroupIndex<>();
+        List<FactIndicatorValue> firstOfPeriod = new ArrayList<>();
+        GroupedStats stats = new GroupedStats();
+        for (FactIndicatorValue fact : data) {
+            if (fact.getTime() == null) {
+                continue;
+            }
+            int code = periods.codeOf(periodKey(fact, periodType));
+            if (code == firstOfPeriod.size()) {
+                firstOfPeriod.add(fact);
+            }
+            stats.add(code, fact.getValue().doubleValue());
+        }
+
+        List<FactIndicatorValue> result = new ArrayList<>(periods.size());
+        for (int code = 0; code < periods.size(); code++) {
+            // Create aggregated record
+            FactIndicatorValue aggregated = new FactIndicatorValue();
+            aggregated.setValue(BigDecimal.valueOf(stats.mean(code)));
+            aggregated.setTime(firstOfPeriod.get(code).getTime());
+            aggregated.setIndicator(firstOfPeriod.get(code).getIndicator());
+            result.add(aggregated);
+        }
+        return result;
+    }
+
+    private static String periodKey(FactIndicatorValue fact, String periodType) {
+        switch (periodType) {
+            case "MONTHLY":
+                return fact.getTime().getYear() + "-" + fact.getTime().getMonth();
+            case "YEARLY":
+                return String.valueOf(fact.getTime().getYear());
+            case "QUARTERLY":
+                int quarter = (fact.getTime().getMonth() - 1) / 3 + 1;
+                return fact.getTime().getYear() + "-Q" + quarter;
+            default:
+                return fact.getTime().getValue();
+        }
+    }
+
+    /**
+     * Accumulate the values of the included facts per group key, assigning codes in {@code keys}.
+     */
+    private static GroupedStats groupValues(List<FactIndicatorValue> data,
+                                            Predicate<FactIndicatorValue> include,
+                                            Function<FactIndicatorValue, String> key,
+                                            GroupIndex<String> keys) {
+        GroupedStats stats = new GroupedStats();
+        for (FactIndicatorValue fact : data) {
+            if (include.test(fact)) {
+                stats.add(keys.codeOf(key.apply(fact)), fact.getValue().doubleValue());
+            }
+        }
+        return stats;
     }
 } 
\ No newline at end of file
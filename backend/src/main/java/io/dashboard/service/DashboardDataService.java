@@ -197,98 +197,38 @@ public class DashboardDataService {
             return response;
         }
         
-        List<FactIndicatorValue> values;
+        // Read-only projection: one row per fact and custom dimension member, folded per fact
+        List<IndicatorValueRow> rows = FactValueRows.toRows(factIndicatorValueRepository.findValueViewsByIndicatorId(indicatorId));
         List<String> availableDimensions = new ArrayList<>();
-        
+        String timestampDimension = "time";
         if (dimension != null && !dimension.isEmpty()) {
-            // Fetch data for specific dimension
             switch (dimension.toLowerCase()) {
                 case "time":
-                    values = factIndicatorValueRepository.findByIndicatorIdWithTime(indicatorId);
+                    // Only facts with a time member, as the inner join of the former entity query did
+                    rows.removeIf(row -> !row.getDimensions().containsKey("time"));
                     availableDimensions.add("time");
                     break;
                 case "location":
-                    values = factIndicatorValueRepository.findByIndicatorIdWithEagerLoading(indicatorId);
+                    timestampDimension = "location";
                     availableDimensions.add("location");
                     break;
                 default:
-                    // For custom dimensions, fetch with generics
-                    values = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
+                    timestampDimension = dimension;
                     availableDimensions.add(dimension);
                     break;
             }
         } else {
-            // Fetch all available data to determine dimensions
-            values = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-            
-            // Determine available dimensions
-            if (values.stream().anyMatch(v -> v.getTime() != null)) {
-                availableDimensions.add("time");
-            }
-            if (values.stream().anyMatch(v -> v.getLocation() != null)) {
-                availableDimensions.add("location");
-            }
-            
-            // Add custom dimensions from generics
-            Set<String> customDims = values.stream()
-                .filter(v -> v.getGenerics() != null)
-                .flatMap(v -> v.getGenerics().stream())
-                .filter(g -> g.getDimensionName() != null)
-                .map(DimGeneric::getDimensionName)
-                .collect(Collectors.toSet());
-            availableDimensions.addAll(customDims);
+            availableDimensions.addAll(FactValueRows.dimensionColumns(rows));
         }
         
-        List<HistoricalDataPoint> dataPoints = values.stream()
-                .map(v -> {
-                    HistoricalDataPoint point = new HistoricalDataPoint();
-                    
-                    // Build dimensional context map
-                    Map<String, String> dimensions = new HashMap<>();
-                    if (v.getTime() != null) {
-                        dimensions.put("time", v.getTime().getValue());
-                    }
-                    if (v.getLocation() != null) {
-                        dimensions.put("location", v.getLocation().getName());
-                    }
-                    if (v.getGenerics() != null) {
-                        for (DimGeneric generic : v.getGenerics()) {
-                            if (generic.getDimensionName() != null) {
-                                dimensions.put(generic.getDimensionName(), generic.getValue());
-                            }
-                        }
-                    }
-                    
-                    if (dimension != null && !dimension.isEmpty()) {
-                        // Map data based on requested dimension
-                        switch (dimension.toLowerCase()) {
-                            case "time":
-                                point.setTimestamp(v.getTime() != null ? v.getTime().getValue() : "Unknown");
-                                break;
-                            case "location":
-                                point.setTimestamp(v.getLocation() != null ? v.getLocation().getName() : "Unknown");
-                                break;
-                            default:
-                                // For custom dimensions, find the matching generic
-                                String dimensionValue = v.getGenerics() != null ? 
-                                    v.getGenerics().stream()
-                                        .filter(g -> dimension.equals(g.getDimensionName()))
-                                        .map(DimGeneric::getValue)
-                                        .findFirst()
-                                        .orElse("Unknown") : "Unknown";
-                                point.setTimestamp(dimensionValue);
-                                break;
-                        }
-                    } else {
-                        // Default to time if no dimension specified
-                        point.setTimestamp(v.getTime() != null ? v.getTime().getValue() : "Unknown");
-                    }
-                    
-                    point.setValue(v.getValue().doubleValue());
-                    point.setDimensions(dimensions);
-                    return point;
-                })
-                .collect(Collectors.toList());
+        List<HistoricalDataPoint> dataPoints = new ArrayList<>(rows.size());
+        for (IndicatorValueRow row : rows) {
+            HistoricalDataPoint point = new HistoricalDataPoint();
+            point.setTimestamp(row.getDimensions().getOrDefault(timestampDimension, "Unknown"));
+            point.setValue(row.getValue().doubleValue());
+            point.setDimensions(row.getDimensions());
+            dataPoints.add(point);
+        }
         
         HistoricalDataResponse response = new HistoricalDataResponse();
         response.setIndicatorId(indicatorId);
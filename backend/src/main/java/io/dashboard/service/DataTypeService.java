@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DataTypeService {
     private final DataTypeRepository dataTypeRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Transactional(readOnly = true)
     public List<DataTypeResponse> findAll() {
@@ -36,6 +37,7 @@ public class DataTypeService {
         DataType dataType = new DataType();
         dataType.setName(request.getName());
         DataType saved = dataTypeRepository.save(dataType);
+        referenceDataRegistry.refreshAfterCommit();
         return toResponse(saved);
     }
 
@@ -45,6 +47,7 @@ public class DataTypeService {
                 .orElseThrow(() -> new ResourceNotFoundException("DataType", "id", id));
         dataType.setName(request.getName());
         DataType saved = dataTypeRepository.save(dataType);
+        referenceDataRegistry.refreshAfterCommit();
         return toResponse(saved);
     }
 
@@ -56,6 +59,7 @@ public class DataTypeService {
             throw new BadRequestException("Cannot delete data type with indicators");
         }
         dataTypeRepository.delete(dataType);
+        referenceDataRegistry.refreshAfterCommit();
     }
 
     private DataTypeResponse toResponse(DataType dataType) {
@@ -0,0 +1,297 @@
+package io.dashboard.service;
+
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.DimLocation;
+import io.dashboard.model.DimTime;
+import io.dashboard.repository.DimGenericRepository;
+import io.dashboard.repository.DimLocationRepository;
+import io.dashboard.repository.DimTimeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * In-memory dictionary mapping natural keys of DimTime (value), DimLocation (name) and
+ * DimGeneric (dimension name + value) to their surrogate ids.
+ * <p>
+ * The dictionary is warmed at startup and filled through on misses: unknown keys are looked up
+ * with one set-based query and the remaining ones are inserted and flushed right away, so the rows
+ * exist before facts reference them through plain JDBC and a concurrent insert of the same member
+ * fails on its unique constraint here. Entries learned inside a transaction are only cached after it
+ * commits. Each dimension keeps at most {@code app.dimension.dictionary.max-entries} members, the
+ * least recently used going first. Other nodes may add or remove rows, so callers run
+ * {@link #verifyCoherence()} once per import; it reloads when rows were removed from a table.
+ */
+@Service
+@Slf4j
+public class DimensionDictionary {
+
+    private static final String TIME = "time";
+    private static final String LOCATION = "location";
+    private static final String GENERIC = "generic";
+
+    private final DimTimeRepository dimTimeRepository;
+    private final DimLocationRepository dimLocationRepository;
+    private final DimGenericRepository dimGenericRepository;
+    private final int maxEntries;
+
+    private final Map<String, Long> timeIds;
+    private final Map<String, Long> locationIds;
+    private final Map<String, Long> genericIds;
+
+    private final Map<String, Counter> hits = new HashMap<>();
+    private final Map<String, Counter> misses = new HashMap<>();
+
+    private volatile List<TableVersion> version = List.of();
+
+    public DimensionDictionary(DimTimeRepository dimTimeRepository,
+                               DimLocationRepository dimLocationRepository,
+                               DimGenericRepository dimGenericRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.dimension.dictionary.max-entries:100000}") int maxEntries) {
+        this.dimTimeRepository = dimTimeRepository;
+        this.dimLocationRepository = dimLocationRepository;
+        this.dimGenericRepository = dimGenericRepository;
+        this.maxEntries = maxEntries;
+        this.timeIds = newCache();
+        this.locationIds = newCache();
+        this.genericIds = newCache();
+        registerMetrics(meterRegistry, TIME, timeIds);
+        registerMetrics(meterRegistry, LOCATION, locationIds);
+        registerMetrics(meterRegistry, GENERIC, genericIds);
+    }
+
+    public static String genericKey(String dimensionName, String value) {
+        return dimensionName + "::" + value;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    /**
+     * Drop all cached entries and load every dimension member from the database.
+     */
+    public synchronized void reload() {
+        timeIds.clear();
+        locationIds.clear();
+        genericIds.clear();
+        // Stamp first: rows added while loading are simply misses later on
+        version = currentVersion(List.of());
+        for (Object[] row : dimTimeRepository.findAllIdAndValue()) {
+            cache(timeIds, (String) row[1], (Long) row[0]);
+        }
+        for (Object[] row : dimLocationRepository.findAllIdAndName()) {
+            cache(locationIds, (String) row[1], (Long) row[0]);
+        }
+        for (Object[] row : dimGenericRepository.findAllIdAndDimensionNameAndValue()) {
+            cache(genericIds, genericKey((String) row[1], (String) row[2]), (Long) row[0]);
+        }
+        log.info("Dimension dictionary loaded: {} time, {} location, {} generic members",
+            timeIds.size(), locationIds.size(), genericIds.size());
+    }
+
+    /**
+     * Compare the cached version stamp with the database and reload if any dimension table lost
+     * rows (deleted members or a reset schema) since the last check, even if as many were added.
+     */
+    public void verifyCoherence() {
+        List<TableVersion> cached = version;
+        List<TableVersion> current = currentVersion(cached);
+        boolean stale = cached.size() != current.size();
+        for (int i = 0; !stale && i < current.size(); i++) {
+            stale = current.get(i).lostRowsSince(cached.get(i));
+        }
+        if (stale) {
+            log.info("Dimension tables changed outside this node, reloading dictionary");
+            reload();
+        } else {
+            version = current;
+        }
+    }
+
+    public Map<String, Long> resolveTimeIds(Collection<String> values, Function<String, DimTime> factory) {
+        return resolve(TIME, timeIds, values,
+            missing -> toIdMap(dimTimeRepository.findByValueIn(missing), DimTime::getValue, DimTime::getId),
+            missing -> toIdMap(dimTimeRepository.saveAllAndFlush(missing.stream().map(factory).toList()),
+                DimTime::getValue, DimTime::getId));
+    }
+
+    public Long resolveTimeId(String value, Function<String, DimTime> factory) {
+        return resolveTimeIds(List.of(value), factory).get(value);
+    }
+
+    public Map<String, Long> resolveLocationIds(Collection<String> names, Function<String, DimLocation> factory) {
+        return resolve(LOCATION, locationIds, names,
+            missing -> toIdMap(dimLocationRepository.findByNameIn(missing), DimLocation::getName, DimLocation::getId),
+            missing -> toIdMap(dimLocationRepository.saveAllAndFlush(missing.stream().map(factory).toList()),
+                DimLocation::getName, DimLocation::getId));
+    }
+
+    public Long resolveLocationId(String name, Function<String, DimLocation> factory) {
+        return resolveLocationIds(List.of(name), factory).get(name);
+    }
+
+    /**
+     * Resolve generic members given as unsaved DimGeneric instances carrying dimension name and value.
+     * The returned map is keyed by {@link #genericKey(String, String)}.
+     */
+    public Map<String, Long> resolveGenericIds(Collection<DimGeneric> requested) {
+        Map<String, DimGeneric> byKey = new LinkedHashMap<>();
+        for (DimGeneric generic : requested) {
+            byKey.putIfAbsent(genericKey(generic.getDimensionName(), generic.getValue()), generic);
+        }
+        return resolve(GENERIC, genericIds, byKey.keySet(),
+            missing -> {
+                Set<String> names = new HashSet<>();
+                Set<String> values = new HashSet<>();
+                for (String key : missing) {
+                    names.add(byKey.get(key).getDimensionName());
+                    values.add(byKey.get(key).getValue());
+                }
+                Map<String, Long> found = new HashMap<>();
+                for (DimGeneric existing : dimGenericRepository.findByDimensionNameInAndValueIn(names, values)) {
+                    String key = genericKey(existing.getDimensionName(), existing.getValue());
+                    if (missing.contains(key)) {
+                        found.putIfAbsent(key, existing.getId());
+                    }
+                }
+                return found;
+            },
+            missing -> toIdMap(dimGenericRepository.saveAllAndFlush(missing.stream().map(byKey::get).toList()),
+                g -> genericKey(g.getDimensionName(), g.getValue()), DimGeneric::getId));
+    }
+
+    private Map<String, Long> resolve(String dimension, Map<String, Long> cache, Collection<String> keys,
+                                      Function<Set<String>, Map<String, Long>> loader,
+                                      Function<Set<String>, Map<String, Long>> creator) {
+        Map<String, Long> resolved = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String key : keys) {
+            Long id = cache.get(key);
+            if (id != null) {
+                resolved.put(key, id);
+            } else {
+                missing.add(key);
+            }
+        }
+        hits.get(dimension).increment(resolved.size());
+        if (missing.isEmpty()) {
+            return resolved;
+        }
+        misses.get(dimension).increment(missing.size());
+
+        Map<String, Long> learned = new HashMap<>(loader.apply(missing));
+        missing.removeAll(learned.keySet());
+        if (!missing.isEmpty()) {
+            learned.putAll(creator.apply(missing));
+        }
+        resolved.putAll(learned);
+        cacheAfterCommit(cache, learned);
+        return resolved;
+    }
+
+    private void cacheAfterCommit(Map<String, Long> cache, Map<String, Long> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Rows inserted by a transaction that later rolls back must never reach the cache
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.forEach((key, id) -> cache(cache, key, id));
+                }
+            });
+        } else {
+            entries.forEach((key, id) -> cache(cache, key, id));
+        }
+    }
+
+    private void cache(Map<String, Long> cache, String key, Long id) {
+        if (key != null && id != null) {
+            cache.put(key, id);
+        }
+    }
+
+    // Access-ordered, so a full cache evicts the member resolved longest ago
+    private Map<String, Long> newCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Version stamps of the time, location and generic tables, counting the rows added since
+     * {@code previous} was taken; with no previous stamp every row counts as added.
+     */
+    private List<TableVersion> currentVersion(List<TableVersion> previous) {
+        return List.of(
+            TableVersion.of(dimTimeRepository.findVersionStamp(maxIdOf(previous, 0))),
+            TableVersion.of(dimLocationRepository.findVersionStamp(maxIdOf(previous, 1))),
+            TableVersion.of(dimGenericRepository.findVersionStamp(maxIdOf(previous, 2))));
+    }
+
+    private static long maxIdOf(List<TableVersion> versions, int table) {
+        return table < versions.size() ? versions.get(table).maxId() : 0;
+    }
+
+    private void registerMetrics(MeterRegistry registry, String dimension, Map<String, Long> cache) {
+        Gauge.builder("dimension.dictionary.size", cache, Map::size)
+            .tag("dimension", dimension)
+            .description("Cached dimension members")
+            .register(registry);
+        hits.put(dimension, Counter.builder("dimension.dictionary.lookups")
+            .tag("dimension", dimension)
+            .tag("result", "hit")
+            .register(registry));
+        misses.put(dimension, Counter.builder("dimension.dictionary.lookups")
+            .tag("dimension", dimension)
+            .tag("result", "miss")
+            .register(registry));
+    }
+
+    private static <E> Map<String, Long> toIdMap(List<E> members, Function<E, String> key, Function<E, Long> id) {
+        Map<String, Long> ids = new HashMap<>();
+        for (E member : members) {
+            String memberKey = key.apply(member);
+            if (memberKey != null) {
+                ids.putIfAbsent(memberKey, id.apply(member));
+            }
+        }
+        return ids;
+    }
+
+    private record TableVersion(long count, long maxId, long added) {
+
+        static TableVersion of(List<Object[]> rows) {
+            Object[] row = rows.get(0);
+            return new TableVersion(((Number) row[0]).longValue(), ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue());
+        }
+
+        // Ids only grow, so without deletions the table holds the previous rows plus those above its max id
+        boolean lostRowsSince(TableVersion previous) {
+            return count != previous.count + added;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.DeleteWithDataResponse;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactRollupBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Removes the facts of an indicator or subarea with set-based deletes instead of loading them.
+ * <p>
+ * Facts are deleted in chunks of {@code data.processing.delete-chunk-size} ids: each chunk first
+ * removes its rows from {@code fact_indicator_value_generic}, then the facts themselves. Only the ids
+ * of one chunk are held in memory and every statement stays within the bind-parameter limits of
+ * the driver. All chunks run in the caller's transaction, so the owner and its facts disappear
+ * together or not at all. The owner's rollup rows and cached fact snapshots are dropped along with its facts.
+ * <p>
+ * Indicator deletes name the indicator in every statement, so on the hash-partitioned PostgreSQL
+ * table they only touch that indicator's partition; subarea deletes visit all partitions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FactDeletionService {
+
+    private final FactIndicatorValueRepository factIndicatorValueRepository;
+    private final FactRollupBatchRepository factRollupBatchRepository;
+    private final IndicatorFactCache indicatorFactCache;
+
+    @Value("${data.processing.delete-chunk-size:5000}")
+    private int chunkSize = 5000;
+
+    @Transactional
+    public DeleteWithDataResponse deleteByIndicator(Long indicatorId) {
+        factRollupBatchRepository.deleteByIndicator(indicatorId);
+        indicatorFactCache.evict(List.of(indicatorId));
+        return deleteInChunks(indicatorId,
+            limit -> factIndicatorValueRepository.findIdsByIndicatorId(indicatorId, limit),
+            factIds -> factIndicatorValueRepository.bulkDeleteByIndicatorIdAndIds(indicatorId, factIds));
+    }
+
+    @Transactional
+    public DeleteWithDataResponse deleteBySubarea(Long subareaId) {
+        factRollupBatchRepository.deleteBySubarea(subareaId);
+        // Any indicator may have facts in the subarea; deleting a subarea is rare enough to drop them all
+        indicatorFactCache.evictAll();
+        return deleteInChunks(subareaId,
+            limit -> factIndicatorValueRepository.findIdsBySubareaId(subareaId, limit),
+            factIndicatorValueRepository::bulkDeleteByIds);
+    }
+
+    private DeleteWithDataResponse deleteInChunks(Long ownerId, Function<Limit, List<Long>> nextChunk,
+                                                  ToIntFunction<List<Long>> deleteFacts) {
+        long startNanos = System.nanoTime();
+        Limit limit = Limit.of(chunkSize);
+        long deletedFacts = 0;
+        long deletedLinks = 0;
+        int chunks = 0;
+        List<Long> factIds = nextChunk.apply(limit);
+        while (!factIds.isEmpty()) {
+            deletedLinks += factIndicatorValueRepository.bulkDeleteGenericLinksByFactIds(factIds);
+            deletedFacts += deleteFacts.applyAsInt(factIds);
+            chunks++;
+            if (factIds.size() < chunkSize) {
+                break;
+            }
+            factIds = nextChunk.apply(limit);
+        }
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        log.debug("Deleted {} fact values and {} generic links of {} in {} chunks in {} ms",
+            deletedFacts, deletedLinks, ownerId, chunks, elapsedMs);
+        return DeleteWithDataResponse.builder()
+            .id(ownerId)
+            .deletedFactValues(deletedFacts)
+            .deletedGenericLinks(deletedLinks)
+            .chunks(chunks)
+            .durationMs(elapsedMs)
+            .build();
+    }
+}
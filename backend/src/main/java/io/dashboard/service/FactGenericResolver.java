@@ -0,0 +1,72 @@
+package io.dashboard.service;
+
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.repository.DimGenericRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resolves the generic members of facts from their denormalized {@code generic_ids} column.
+ * <p>
+ * Loading facts with {@code JOIN FETCH f.generics} repeats every fact row once per member; an
+ * indicator with two custom dimensions triples the rows read. Here each distinct member is loaded
+ * once, by primary key, no matter how many facts reference it. The managed {@code generics}
+ * collections are left untouched.
+ */
+@Service
+@RequiredArgsConstructor
+public class FactGenericResolver {
+
+    // Keeps the IN list of one lookup well inside the driver's bind-parameter limit
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final DimGenericRepository dimGenericRepository;
+
+    /**
+     * Generic members of every fact, keyed by fact id, in ascending member id order. Facts without
+     * members are absent from the map.
+     */
+    public Map<Long, List<DimGeneric>> membersByFactId(Collection<FactIndicatorValue> facts) {
+        Set<Long> memberIds = new LinkedHashSet<>();
+        for (FactIndicatorValue fact : facts) {
+            if (fact.getGenericIds() != null) {
+                memberIds.addAll(List.of(fact.getGenericIds()));
+            }
+        }
+        if (memberIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, DimGeneric> membersById = new HashMap<>(memberIds.size() * 2);
+        List<Long> ids = new ArrayList<>(memberIds);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()));
+            dimGenericRepository.findAllById(chunk).forEach(member -> membersById.put(member.getId(), member));
+        }
+
+        Map<Long, List<DimGeneric>> membersByFactId = new HashMap<>(facts.size() * 2);
+        for (FactIndicatorValue fact : facts) {
+            if (fact.getGenericIds() == null || fact.getGenericIds().length == 0) {
+                continue;
+            }
+            List<DimGeneric> members = new ArrayList<>(fact.getGenericIds().length);
+            for (Long memberId : fact.getGenericIds()) {
+                DimGeneric member = membersById.get(memberId);
+                if (member != null) {
+                    members.add(member);
+                }
+            }
+            membersByFactId.put(fact.getId(), members);
+        }
+        return membersByFactId;
+    }
+}
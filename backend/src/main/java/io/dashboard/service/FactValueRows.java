@@ -0,0 +1,101 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorValueRow;
+import io.dashboard.repository.FactValueView;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Folds the flat {@link FactValueView} rows of the projection queries, one per fact and generic
+ * member, into one {@link IndicatorValueRow} per fact. The rows of a fact must be consecutive, which
+ * the queries guarantee by ordering on the fact id.
+ */
+final class FactValueRows {
+
+    private FactValueRows() {
+    }
+
+    static List<IndicatorValueRow> toRows(List<? extends FactValueView> views) {
+        List<IndicatorValueRow> rows = new ArrayList<>();
+        forEach(views.iterator(), rows::add);
+        return rows;
+    }
+
+    /**
+     * Hand each fact to {@code sink} as soon as its last row has been read, so a streamed query is
+     * never held in memory as a whole.
+     */
+    static void forEach(Iterator<? extends FactValueView> views, Consumer<IndicatorValueRow> sink) {
+        forEachWithView(views, (first, row) -> sink.accept(row));
+    }
+
+    /**
+     * Like {@link #forEach(Iterator, Consumer)}, also handing over the first view of the fact for the
+     * columns a wider projection carries besides the value row.
+     */
+    static <V extends FactValueView> void forEachWithView(Iterator<? extends V> views, BiConsumer<V, IndicatorValueRow> sink) {
+        V first = null;
+        IndicatorValueRow current = null;
+        while (views.hasNext()) {
+            V view = views.next();
+            if (current == null || !Objects.equals(current.getFactId(), view.getFactId())) {
+                if (current != null) {
+                    sink.accept(first, current);
+                }
+                first = view;
+                current = newRow(view);
+            }
+            if (view.getGenericName() != null) {
+                current.getDimensions().put(view.getGenericName(), view.getGenericValue());
+            }
+        }
+        if (current != null) {
+            sink.accept(first, current);
+        }
+    }
+
+    /**
+     * Dimension columns present in the rows: time and location first, then the custom dimensions in
+     * order of first appearance.
+     */
+    static List<String> dimensionColumns(List<IndicatorValueRow> rows) {
+        boolean time = false;
+        boolean location = false;
+        Set<String> custom = new LinkedHashSet<>();
+        for (IndicatorValueRow row : rows) {
+            for (String dimension : row.getDimensions().keySet()) {
+                switch (dimension) {
+                    case "time" -> time = true;
+                    case "location" -> location = true;
+                    default -> custom.add(dimension);
+                }
+            }
+        }
+        List<String> columns = new ArrayList<>(custom.size() + 2);
+        if (time) columns.add("time");
+        if (location) columns.add("location");
+        columns.addAll(custom);
+        return columns;
+    }
+
+    private static IndicatorValueRow newRow(FactValueView view) {
+        Map<String, String> dimensions = new HashMap<>();
+        if (view.getTimeValue() != null) dimensions.put("time", view.getTimeValue());
+        if (view.getLocationName() != null) dimensions.put("location", view.getLocationName());
+        return IndicatorValueRow.builder()
+            .factId(view.getFactId())
+            .dimensions(dimensions)
+            .value(view.getValue())
+            .isEmpty(view.getValue() == null)
+            .build();
+    }
+}
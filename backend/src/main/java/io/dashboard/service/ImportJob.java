@@ -0,0 +1,233 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.ProcessingStatusResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory state of one asynchronous import. Progress is updated by the worker thread and read by
+ * status requests, so every mutable field is either volatile or atomic.
+ */
+final class ImportJob implements ImportProgress {
+
+    enum Status { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final long id;
+    private final String importKey;
+    private final String source;
+    private final int maxErrors;
+    private final boolean failFast;
+    private final Duration timeout;
+    private final Long totalRecords;
+    private final long totalBytes;
+    private final LongSupplier bytesRead;
+    private final long resumeAfterRows;
+    private final LongConsumer checkpointWriter;
+
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong recordsCommitted = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final AtomicInteger chunksCommitted = new AtomicInteger();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile String errorMessage;
+    private volatile Instant startedInstant;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile IndicatorBatchResponse result;
+
+    ImportJob(long id, String importKey, String source, int maxErrors, boolean failFast, Duration timeout,
+              Long totalRecords, long totalBytes, LongSupplier bytesRead,
+              long resumeAfterRows, LongConsumer checkpointWriter) {
+        this.id = id;
+        this.importKey = importKey;
+        this.source = source;
+        this.maxErrors = maxErrors;
+        this.failFast = failFast;
+        this.timeout = timeout;
+        this.totalRecords = totalRecords;
+        this.totalBytes = totalBytes;
+        this.bytesRead = bytesRead;
+        this.resumeAfterRows = resumeAfterRows;
+        this.checkpointWriter = checkpointWriter;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String getImportKey() {
+        return importKey;
+    }
+
+    Status getStatus() {
+        return status;
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Move a queued job to RUNNING. Returns false if it was cancelled before a worker picked it up.
+     */
+    synchronized boolean start() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedInstant = Instant.now();
+        startedAt = LocalDateTime.now();
+        return true;
+    }
+
+    synchronized void finish(IndicatorBatchResponse result) {
+        this.result = result;
+        if (cancelRequested) {
+            status = Status.CANCELLED;
+        } else if (errorMessage != null) {
+            status = Status.FAILED;
+        } else {
+            status = Status.COMPLETED;
+        }
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void fail(String message) {
+        errorMessage = message;
+        status = Status.FAILED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Request cancellation. A queued job is cancelled right away, a running one stops before its next
+     * row; chunks committed so far are kept.
+     */
+    synchronized void cancel() {
+        if (status == Status.QUEUED) {
+            status = Status.CANCELLED;
+            finishedAt = LocalDateTime.now();
+        } else if (status == Status.RUNNING) {
+            cancelRequested = true;
+        }
+    }
+
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    @Override
+    public long resumeAfterRows() {
+        return resumeAfterRows;
+    }
+
+    @Override
+    public void onChunkWriting(long rowsThrough) {
+        checkpointWriter.accept(rowsThrough);
+    }
+
+    @Override
+    public void onRowsRead(long rows) {
+        rowsRead.set(rows);
+    }
+
+    @Override
+    public void onChunkCommitted(int rows, IndicatorBatchResponse chunk) {
+        recordsCommitted.addAndGet(chunk.getTotalFactRecords());
+        chunksCommitted.incrementAndGet();
+    }
+
+    /**
+     * Fails the job instead of completing it, which leaves its checkpoint unfinished for a resubmit.
+     */
+    @Override
+    public void onChunkFailed(String message) {
+        if (errorMessage == null) {
+            errorMessage = message;
+        }
+    }
+
+    @Override
+    public void onError(String message) {
+        errorCount.incrementAndGet();
+    }
+
+    @Override
+    public boolean isStopRequested() {
+        if (cancelRequested) {
+            return true;
+        }
+        if (errorMessage == null) {
+            if (failFast && errorCount.get() > 0) {
+                errorMessage = "Stopped on first error (fail-fast)";
+            } else if (errorCount.get() > maxErrors) {
+                errorMessage = "Stopped after exceeding " + maxErrors + " errors";
+            } else if (startedInstant != null && Instant.now().isAfter(startedInstant.plus(timeout))) {
+                errorMessage = "Stopped after exceeding the timeout of " + timeout.toMinutes() + " minutes";
+            }
+        }
+        return errorMessage != null;
+    }
+
+    ProcessingStatusResponse toResponse() {
+        Double progress = progressFraction();
+        Map<String, Object> currentStep = new LinkedHashMap<>();
+        currentStep.put("source", source);
+        currentStep.put("resumedAfterRows", resumeAfterRows);
+        currentStep.put("chunksCommitted", chunksCommitted.get());
+        currentStep.put("factRecordsCommitted", recordsCommitted.get());
+        IndicatorBatchResponse finalResult = result;
+        if (finalResult != null) {
+            currentStep.put("indicatorCount", finalResult.getCreatedIndicators().size());
+            currentStep.put("warnings", finalResult.getWarnings());
+            currentStep.put("message", finalResult.getMessage());
+        }
+
+        return ProcessingStatusResponse.builder()
+            .jobId(id)
+            .status(status.name())
+            .progressPercentage(progress != null ? Math.round(progress * 1000) / 10.0 : null)
+            .recordsProcessed(rowsRead.get())
+            .totalRecords(totalRecords)
+            .errorCount(errorCount.get())
+            .errorMessage(errorMessage)
+            .startedAt(startedAt != null ? startedAt : submittedAt)
+            .finishedAt(finishedAt)
+            .estimatedTimeRemainingMinutes(estimateRemainingMinutes(progress))
+            .currentStep(currentStep)
+            .build();
+    }
+
+    private Double progressFraction() {
+        if (status == Status.COMPLETED) {
+            return 1.0;
+        }
+        if (totalRecords != null) {
+            return totalRecords > 0 ? Math.min(1.0, rowsRead.get() / (double) totalRecords) : 0.0;
+        }
+        if (bytesRead != null && totalBytes > 0) {
+            return Math.min(1.0, bytesRead.getAsLong() / (double) totalBytes);
+        }
+        return null;
+    }
+
+    private Integer estimateRemainingMinutes(Double progress) {
+        if (status != Status.RUNNING || progress == null || progress <= 0 || startedInstant == null) {
+            return null;
+        }
+        long elapsedMillis = Duration.between(startedInstant, Instant.now()).toMillis();
+        double remainingMillis = elapsedMillis * (1 - progress) / progress;
+        return (int) Math.ceil(remainingMillis / 60_000);
+    }
+}
@@ -0,0 +1,258 @@
+package io.dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.ProcessingStatusResponse;
+import io.dashboard.exception.BadRequestException;
+import io.dashboard.exception.ResourceNotFoundException;
+import io.dashboard.model.Direction;
+import io.dashboard.model.ImportCheckpoint;
+import io.dashboard.repository.ImportCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.input.CountingInputStream;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs indicator imports in the background on the {@code importTaskExecutor} pool.
+ * <p>
+ * Every job commits its work chunk by chunk, so a cancelled or failed job keeps the chunks written
+ * before it stopped. Each chunk also advances a persisted {@link ImportCheckpoint} keyed by a hash of
+ * the content and parameters; submitting the same content again resumes after the committed rows.
+ * Job state itself lives in memory and finished jobs are forgotten after a day.
+ */
+@Service
+@Slf4j
+public class ImportJobService {
+
+    private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(24);
+
+    private final IndicatorCsvImportService indicatorCsvImportService;
+    private final ImportCheckpointRepository importCheckpointRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor importTaskExecutor;
+    private final int maxErrors;
+    private final boolean failFast;
+    private final Duration timeout;
+
+    private final Map<Long, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, Long> checkpointIds = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+
+    public ImportJobService(IndicatorCsvImportService indicatorCsvImportService,
+                            ImportCheckpointRepository importCheckpointRepository,
+                            ObjectMapper objectMapper,
+                            @Qualifier("importTaskExecutor") TaskExecutor importTaskExecutor,
+                            @Value("${data.processing.max-errors:1000}") int maxErrors,
+                            @Value("${data.processing.error-handling.fail-fast:false}") boolean failFast,
+                            @Value("${data.processing.timeout-minutes:60}") long timeoutMinutes) {
+        this.indicatorCsvImportService = indicatorCsvImportService;
+        this.importCheckpointRepository = importCheckpointRepository;
+        this.objectMapper = objectMapper;
+        this.importTaskExecutor = importTaskExecutor;
+        this.maxErrors = maxErrors;
+        this.failFast = failFast;
+        this.timeout = Duration.ofMinutes(timeoutMinutes);
+    }
+
+    /**
+     * Queue a CSV upload for import. The upload is copied to a temporary file first because the
+     * multipart part is deleted once the request completes.
+     */
+    public ProcessingStatusResponse submitCsv(MultipartFile file, Long subareaId, Direction direction) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Uploaded CSV file is empty");
+        }
+        Path upload = Files.createTempFile("indicator-import-", ".csv");
+        try {
+            file.transferTo(upload);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+
+        String importKey;
+        try (InputStream content = Files.newInputStream(upload)) {
+            importKey = importKey("csv|" + subareaId + "|" + direction + "|", content);
+        }
+        AtomicReference<CountingInputStream> counter = new AtomicReference<>();
+        ImportJob job;
+        try {
+            job = newJob(importKey, file.getOriginalFilename(), null, Files.size(upload),
+                () -> counter.get() != null ? counter.get().getByteCount() : 0L);
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        return submit(job, () -> {
+            try (CountingInputStream input = new CountingInputStream(Files.newInputStream(upload))) {
+                counter.set(input);
+                return indicatorCsvImportService.importCsv(input, subareaId, direction, job);
+            }
+        }, () -> Files.deleteIfExists(upload));
+    }
+
+    /**
+     * Queue an already parsed batch request for import.
+     */
+    public ProcessingStatusResponse submitBatch(IndicatorBatchRequest request) {
+        long totalRecords = request.getIndicators().stream()
+            .mapToLong(indicator -> indicator.getValues() != null ? indicator.getValues().size() : 0)
+            .sum();
+        String importKey;
+        try {
+            importKey = importKey("batch|", new ByteArrayInputStream(objectMapper.writeValueAsBytes(request)));
+        } catch (IOException e) {
+            throw new BadRequestException("Could not serialize import request: " + e.getMessage());
+        }
+        ImportJob job = newJob(importKey, "batch request", totalRecords, 0, null);
+        return submit(job, () -> indicatorCsvImportService.importBatch(request, job), () -> { });
+    }
+
+    public ProcessingStatusResponse getStatus(Long jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    public ProcessingStatusResponse cancel(Long jobId) {
+        ImportJob job = findJob(jobId);
+        job.cancel();
+        return job.toResponse();
+    }
+
+    private ImportJob findJob(Long jobId) {
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResourceNotFoundException("ImportJob", "id", jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Register a job for the given content. An unfinished checkpoint of the same content makes the
+     * job resume after its committed rows; a completed one is reset so the content imports again.
+     */
+    private synchronized ImportJob newJob(String importKey, String source, Long totalRecords, long totalBytes,
+                                          LongSupplier bytesRead) {
+        evictFinishedJobs();
+        jobs.values().stream()
+            .filter(job -> !job.isFinished() && job.getImportKey().equals(importKey))
+            .findFirst()
+            .ifPresent(job -> {
+                throw new BadRequestException("The same import is already in progress as job " + job.getId());
+            });
+
+        ImportCheckpoint checkpoint = importCheckpointRepository.findByImportKey(importKey)
+            .orElseGet(() -> ImportCheckpoint.builder().importKey(importKey).build());
+        if (checkpoint.isCompleted()) {
+            checkpoint.setCompleted(false);
+            checkpoint.setRowsCommitted(0);
+        }
+        checkpoint.setSource(source);
+        checkpoint = importCheckpointRepository.save(checkpoint);
+        if (checkpoint.getRowsCommitted() > 0) {
+            log.info("Resuming import {} after {} committed rows", source, checkpoint.getRowsCommitted());
+        }
+
+        Long checkpointId = checkpoint.getId();
+        ImportJob job = new ImportJob(jobIds.incrementAndGet(), importKey, source, maxErrors, failFast, timeout,
+            totalRecords, totalBytes, bytesRead, checkpoint.getRowsCommitted(),
+            rows -> importCheckpointRepository.updateRowsCommitted(checkpointId, rows, LocalDateTime.now()));
+        checkpointIds.put(job.getId(), checkpointId);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    private static String importKey(String parameters, InputStream content) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(parameters.getBytes(StandardCharsets.UTF_8));
+            byte[] buffer = new byte[8192];
+            for (int read; (read = content.read(buffer)) != -1; ) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private ProcessingStatusResponse submit(ImportJob job, ImportTask task, CleanupTask cleanup) {
+        try {
+            importTaskExecutor.execute(() -> run(job, task, cleanup));
+        } catch (RuntimeException e) {
+            // Executor queue is full: forget the job and let the caller retry later
+            jobs.remove(job.getId());
+            cleanUp(job, cleanup);
+            throw e;
+        }
+        log.info("Queued import job {}", job.getId());
+        return job.toResponse();
+    }
+
+    private void run(ImportJob job, ImportTask task, CleanupTask cleanup) {
+        try {
+            // A job cancelled while queued still reaches a worker, but only to release its resources
+            if (!job.start()) {
+                return;
+            }
+            job.finish(task.run());
+            if (job.getStatus() == ImportJob.Status.COMPLETED) {
+                importCheckpointRepository.markCompleted(checkpointIds.get(job.getId()), LocalDateTime.now());
+            }
+            log.info("Import job {} finished with status {}", job.getId(), job.getStatus());
+        } catch (BadRequestException e) {
+            job.fail(e.getMessage());
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail("Import failed: " + e.getMessage());
+        } finally {
+            cleanUp(job, cleanup);
+        }
+    }
+
+    private void cleanUp(ImportJob job, CleanupTask cleanup) {
+        try {
+            cleanup.run();
+        } catch (IOException e) {
+            log.warn("Could not clean up import job {}", job.getId(), e);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(FINISHED_JOB_RETENTION);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt() != null
+            && job.getFinishedAt().isBefore(cutoff));
+        checkpointIds.keySet().retainAll(jobs.keySet());
+    }
+
+    @FunctionalInterface
+    private interface ImportTask {
+        IndicatorBatchResponse run() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface CleanupTask {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,57 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorBatchResponse;
+
+/**
+ * Callbacks of a chunked import run. The import checks {@link #isStopRequested()} before every row
+ * and stops without writing its pending chunk once it returns true; committed chunks are kept.
+ */
+public interface ImportProgress {
+
+    ImportProgress NONE = new ImportProgress() {
+    };
+
+    /**
+     * Number of leading rows committed by an earlier attempt of the same import. They are read
+     * again to keep row numbers stable, but not imported.
+     */
+    default long resumeAfterRows() {
+        return 0;
+    }
+
+    /**
+     * Called after every parsed row with the running row count.
+     */
+    default void onRowsRead(long rows) {
+    }
+
+    /**
+     * Called inside the chunk transaction once its rows are written, with the row count up to and
+     * including the chunk. Anything persisted here commits or rolls back together with the chunk.
+     */
+    default void onChunkWriting(long rowsThrough) {
+    }
+
+    /**
+     * Called after a chunk has been committed.
+     */
+    default void onChunkCommitted(int rows, IndicatorBatchResponse result) {
+    }
+
+    /**
+     * Called when a chunk has been rolled back or only partly written. The import stops right after,
+     * without touching the checkpoint, so a resumed attempt starts again with that chunk.
+     */
+    default void onChunkFailed(String message) {
+    }
+
+    /**
+     * Called for every rejected row, failed indicator or rolled back chunk.
+     */
+    default void onError(String message) {
+    }
+
+    default boolean isStopRequested() {
+        return false;
+    }
+}
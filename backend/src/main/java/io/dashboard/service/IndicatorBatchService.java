@@ -12,14 +12,10 @@ import io.dashboard.model.FactIndicatorValue;
 import io.dashboard.model.Indicator;
 import io.dashboard.model.Subarea;
 import io.dashboard.model.Unit;
-import io.dashboard.repository.DimGenericRepository;
 import io.dashboard.repository.UnitRepository;
-import io.dashboard.repository.DimLocationRepository;
-import io.dashboard.repository.DimTimeRepository;
-import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactBatchRepository;
 import io.dashboard.repository.IndicatorRepository;
 import io.dashboard.repository.SubareaRepository;
-import io.dashboard.repository.DataTypeRepository;
 import io.dashboard.model.DataType;
 import io.dashboard.exception.BadRequestException;
 import jakarta.transaction.Transactional;
@@ -28,9 +24,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -39,26 +39,34 @@ import java.util.Optional;
 public class IndicatorBatchService {
     
     private final IndicatorRepository indicatorRepository;
-    private final DimTimeRepository dimTimeRepository;
-    private final DimLocationRepository dimLocationRepository;
-    private final DimGenericRepository dimGenericRepository;
-    private final FactIndicatorValueRepository factRepository;
+    private final DimensionDictionary dimensionDictionary;
+    private final FactBatchRepository factBatchRepository;
     private final UnitRepository unitRepository;
     private final SubareaRepository subareaRepository;
-    private final DataTypeRepository dataTypeRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
+    private final IndicatorFactCache indicatorFactCache;
     
+    /**
+     * Import the request in a single transaction. Large imports go through
+     * {@link IndicatorCsvImportService}, which calls this once per bounded chunk.
+     */
     public IndicatorBatchResponse createFromCsvData(IndicatorBatchRequest request) {
+        long startNanos = System.nanoTime();
         List<IndicatorResponse> createdIndicators = new ArrayList<>();
         int totalFactRecords = 0;
         List<String> warnings = new ArrayList<>();
         
+        // Resolve every distinct dimension member of the request up front
+        dimensionDictionary.verifyCoherence();
+        DimensionMembers members = resolveDimensionMembers(request.getIndicators());
+        
         for (CsvIndicatorData csvIndicator : request.getIndicators()) {
             try {
                 // 1. Create or find indicator
                 Indicator indicator = createOrFindIndicator(csvIndicator);
                 
                 // 2. Process all values and create fact records
-                int factCount = processIndicatorValues(indicator, csvIndicator.getValues(), csvIndicator.getSubareaId(), csvIndicator.getDirection());
+                int factCount = processIndicatorValues(indicator, csvIndicator.getValues(), csvIndicator.getSubareaId(), csvIndicator.getDirection(), members);
                 totalFactRecords += factCount;
                 
                 // 4. Add to response only if not already added (for duplicates)
@@ -74,11 +82,36 @@ public class IndicatorBatchService {
             }
         }
         
+        long elapsedNanos = System.nanoTime() - startNanos;
+        log.info("Imported {} fact records in {} ms", totalFactRecords, elapsedNanos / 1_000_000);
+        
         return IndicatorBatchResponse.builder()
             .createdIndicators(createdIndicators)
             .totalFactRecords(totalFactRecords)
             .warnings(warnings)
             .message("Successfully processed " + createdIndicators.size() + " indicators")
+            .durationMs(elapsedNanos / 1_000_000)
+            .rowsPerSecond(elapsedNanos > 0 ? totalFactRecords / (elapsedNanos / 1_000_000_000.0) : null)
+            .build();
+    }
+    
+    /**
+     * Import a single indicator in its own transaction. Unlike {@link #createFromCsvData} failures are
+     * not turned into warnings but propagate and roll the transaction back, so
+     * {@link ParallelIndicatorIngestService} can retry an indicator that lost a race on a shared
+     * dimension member or unit.
+     */
+    public IndicatorBatchResponse createIndicatorFromCsvData(CsvIndicatorData csvIndicator) {
+        long startNanos = System.nanoTime();
+        DimensionMembers members = resolveDimensionMembers(List.of(csvIndicator));
+        Indicator indicator = createOrFindIndicator(csvIndicator);
+        int factCount = processIndicatorValues(indicator, csvIndicator.getValues(), csvIndicator.getSubareaId(), csvIndicator.getDirection(), members);
+        
+        return IndicatorBatchResponse.builder()
+            .createdIndicators(List.of(mapToResponse(indicator, factCount)))
+            .totalFactRecords(factCount)
+            .warnings(List.of())
+            .durationMs((System.nanoTime() - startNanos) / 1_000_000)
             .build();
     }
     
@@ -98,12 +131,16 @@ public class IndicatorBatchService {
         indicator.setIsComposite(false);
         // Handle unit - find by code or create new
         if (csvIndicator.getUnit() != null && !csvIndicator.getUnit().trim().isEmpty()) {
-            Unit unit = unitRepository.findByCode(csvIndicator.getUnit())
+            Unit unit = referenceDataRegistry.findUnit(csvIndicator.getUnit())
+                // A unit created by a concurrent import may not have reached the registry yet
+                .or(() -> unitRepository.findByCode(csvIndicator.getUnit()))
                 .orElseGet(() -> {
                     Unit newUnit = new Unit();
                     newUnit.setCode(csvIndicator.getUnit());
                     newUnit.setDescription("Auto-generated from CSV import");
-                    return unitRepository.save(newUnit);
+                    Unit saved = unitRepository.save(newUnit);
+                    referenceDataRegistry.refreshAfterCommit();
+                    return saved;
                 });
             indicator.setUnit(unit);
         }
@@ -112,17 +149,15 @@ public class IndicatorBatchService {
             
         // Handle data type
         if (csvIndicator.getDataType() != null && !csvIndicator.getDataType().isBlank()) {
-            DataType dataType = dataTypeRepository.findAll().stream()
-                .filter(dt -> dt.getName().equalsIgnoreCase(csvIndicator.getDataType()))
-                .findFirst()
+            DataType dataType = referenceDataRegistry.findDataType(csvIndicator.getDataType())
                 .orElseThrow(() -> new BadRequestException("Unknown data type: " + csvIndicator.getDataType()));
             indicator.setDataType(dataType);
         }
         return indicatorRepository.save(indicator);
     }
     
-    private int processIndicatorValues(Indicator indicator, List<IndicatorValue> values, Long subareaId, io.dashboard.model.Direction direction) {
-        int count = 0;
+    private int processIndicatorValues(Indicator indicator, List<IndicatorValue> values, Long subareaId,
+                                       io.dashboard.model.Direction direction, DimensionMembers members) {
         Subarea subarea = null;
         
         // Fetch subarea if subareaId is provided
@@ -131,17 +166,19 @@ public class IndicatorBatchService {
                 .orElseThrow(() -> new RuntimeException("Subarea with ID " + subareaId + " not found"));
         }
         
+        String directionValue = direction != null ? direction.name().toLowerCase() : null;
+        List<FactIndicatorValue> facts = new ArrayList<>(values.size());
         for (IndicatorValue value : values) {
             try {
-                // Create dimension records
-                DimTime timeId = value.getTimeValue() != null ? 
-                    createOrFindTimeValue(value.getTimeValue(), value.getTimeType()) : null;
+                // Look up already resolved dimension records
+                DimTime timeId = value.getTimeValue() != null ?
+                    members.requireTime(value.getTimeValue()) : null;
                 DimLocation locationId = value.getLocationValue() != null ?
-                    createOrFindLocationValue(value.getLocationValue(), value.getLocationType()) : null;
+                    members.requireLocation(value.getLocationValue()) : null;
                 List<DimGeneric> generics = new ArrayList<>();
                 if (value.getCustomDimensions() != null && !value.getCustomDimensions().isEmpty()) {
                     for (Map.Entry<String, String> entry : value.getCustomDimensions().entrySet()) {
-                        generics.add(createOrFindGenericDimension(entry.getKey(), entry.getValue()));
+                        generics.add(members.requireGeneric(entry.getKey(), entry.getValue()));
                     }
                 }
                 // Create fact record
@@ -152,57 +189,76 @@ public class IndicatorBatchService {
                     .location(locationId)
                     .generics(generics)
                     .subarea(subarea)
-                    .direction(direction != null ? direction.name().toLowerCase() : null)
-                    .sourceRowHash(generateHash(value))
+                    .direction(directionValue)
+                    .sourceRowHash(generateHash(indicator, subarea, timeId, locationId, generics))
                     .build();
-                factRepository.save(fact);
-                count++;
+                facts.add(fact);
             } catch (Exception e) {
                 log.warn("Failed to create fact record for indicator {} and value {}", 
                     indicator.getName(), value.getValue(), e);
             }
         }
-        return count;
+        indicatorFactCache.evict(List.of(indicator.getId()));
+        return factBatchRepository.upsertAll(facts);
     }
     
-    private DimTime createOrFindTimeValue(String timeValue, String timeType) {
-        // Create or find time dimension record
-        return dimTimeRepository.findByValue(timeValue)
-            .orElseGet(() -> {
-                DimTime dimTime = DimTime.builder()
-                    .value(timeValue)
-                    .timeType(io.dashboard.model.DimensionType.TIME)
-                    .year(extractYear(timeValue))
-                    .build();
-                return dimTimeRepository.save(dimTime);
-            });
-    }
-    
-    private DimLocation createOrFindLocationValue(String locationValue, String locationType) {
-        // Create or find location dimension record
-        return dimLocationRepository.findByName(locationValue)
-            .orElseGet(() -> {
-                DimLocation dimLocation = DimLocation.builder()
-                    .name(locationValue)
-                    .value(locationValue)
-                    .type(parseLocationType(locationType))
-                    .build();
-                return dimLocationRepository.save(dimLocation);
-            });
-    }
-    
-    private DimGeneric createOrFindGenericDimension(String dimensionName, String dimensionValue) {
-        Optional<DimGeneric> existing = dimGenericRepository.findByDimensionNameAndValue(dimensionName, dimensionValue);
-        if (existing.isPresent()) {
-            return existing.get();
+    /**
+     * Resolve all time, location and generic members referenced by the request to their ids.
+     * Known members come from the dimension dictionary, the rest are loaded or inserted set-based.
+     */
+    private DimensionMembers resolveDimensionMembers(List<CsvIndicatorData> indicators) {
+        Set<String> timeValues = new HashSet<>();
+        Map<String, String> locationTypes = new LinkedHashMap<>();
+        List<DimGeneric> requestedGenerics = new ArrayList<>();
+        
+        for (CsvIndicatorData csvIndicator : indicators) {
+            if (csvIndicator.getValues() == null) {
+                continue;
+            }
+            for (IndicatorValue value : csvIndicator.getValues()) {
+                if (value.getTimeValue() != null) {
+                    timeValues.add(value.getTimeValue());
+                }
+                if (value.getLocationValue() != null) {
+                    locationTypes.putIfAbsent(value.getLocationValue(), value.getLocationType());
+                }
+                if (value.getCustomDimensions() != null) {
+                    for (Map.Entry<String, String> entry : value.getCustomDimensions().entrySet()) {
+                        if (entry.getKey() != null && entry.getValue() != null) {
+                            requestedGenerics.add(DimGeneric.builder()
+                                .name(entry.getKey())
+                                .value(entry.getValue())
+                                .dimensionName(entry.getKey())
+                                .build());
+                        }
+                    }
+                }
+            }
         }
         
-        DimGeneric dimGeneric = DimGeneric.builder()
-            .name(dimensionName)
-            .value(dimensionValue)
-            .dimensionName(dimensionName)
-            .build();
-        return dimGenericRepository.save(dimGeneric);
+        DimensionMembers members = new DimensionMembers();
+        
+        if (!timeValues.isEmpty()) {
+            members.times.putAll(dimensionDictionary.resolveTimeIds(timeValues, v -> DimTime.builder()
+                .value(v)
+                .timeType(io.dashboard.model.DimensionType.TIME)
+                .year(extractYear(v))
+                .build()));
+        }
+        
+        if (!locationTypes.isEmpty()) {
+            members.locations.putAll(dimensionDictionary.resolveLocationIds(locationTypes.keySet(), name -> DimLocation.builder()
+                .name(name)
+                .value(name)
+                .type(parseLocationType(locationTypes.get(name)))
+                .build()));
+        }
+        
+        if (!requestedGenerics.isEmpty()) {
+            members.generics.putAll(dimensionDictionary.resolveGenericIds(requestedGenerics));
+        }
+        
+        return members;
     }
     
     private String generateCodeFromName(String name) {
@@ -223,8 +279,14 @@ public class IndicatorBatchService {
         return code.toUpperCase();
     }
     
-    private String generateHash(IndicatorValue value) {
-        return value.getTimeValue() + "_" + value.getLocationValue() + "_" + value.getValue();
+    private String generateHash(Indicator indicator, Subarea subarea, DimTime time,
+                                DimLocation location, List<DimGeneric> generics) {
+        return FactIndicatorValue.naturalKeyHash(
+            indicator.getId(),
+            subarea != null ? subarea.getId() : null,
+            time != null ? time.getId() : null,
+            location != null ? location.getId() : null,
+            generics.stream().map(DimGeneric::getId).toList());
     }
     
     private DimLocation.LocationType parseLocationType(String locationType) {
@@ -245,6 +307,36 @@ public class IndicatorBatchService {
         }
     }
     
+    /**
+     * Dimension member ids of a single import, keyed by their natural key.
+     * Facts only need the member ids, so id-only references are handed out.
+     */
+    private static final class DimensionMembers {
+        private final Map<String, Long> times = new HashMap<>();
+        private final Map<String, Long> locations = new HashMap<>();
+        private final Map<String, Long> generics = new HashMap<>();
+        
+        DimTime requireTime(String value) {
+            return DimTime.builder().id(require(times.get(value), "time", value)).value(value).build();
+        }
+        
+        DimLocation requireLocation(String name) {
+            return DimLocation.builder().id(require(locations.get(name), "location", name)).name(name).build();
+        }
+        
+        DimGeneric requireGeneric(String dimensionName, String value) {
+            Long id = require(generics.get(DimensionDictionary.genericKey(dimensionName, value)), dimensionName, value);
+            return DimGeneric.builder().id(id).dimensionName(dimensionName).value(value).build();
+        }
+        
+        private static Long require(Long id, String dimension, String value) {
+            if (id == null) {
+                throw new IllegalStateException("Unresolved " + dimension + " dimension value: " + value);
+            }
+            return id;
+        }
+    }
+    
     private IndicatorResponse mapToResponse(Indicator indicator, int factCount) {
         IndicatorResponse response = new IndicatorResponse();
         response.setId(indicator.getId());
@@ -0,0 +1,470 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.IndicatorResponse;
+import io.dashboard.dto.IndicatorValue;
+import io.dashboard.exception.BadRequestException;
+import io.dashboard.model.Direction;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.io.input.BOMInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Imports indicator values from a long-format CSV stream (one value per row).
+ * <p>
+ * Rows are parsed one at a time and handed to {@link IndicatorBatchService} in chunks of
+ * {@code data.processing.batch-size} rows. Every chunk is committed in its own transaction, so
+ * memory use does not grow with the file size. A chunk that fails is rolled back and ends the import
+ * there: earlier chunks stay committed, the checkpoint still points at the last of them and a resumed
+ * import starts again with the failed chunk.
+ * With {@code data.processing.parallel.enabled} the indicators of a chunk are written concurrently
+ * by {@link ParallelIndicatorIngestService}, one transaction per indicator.
+ * <p>
+ * Recognised columns (case-insensitive): {@code indicator}, {@code value}, {@code time},
+ * {@code time_type}, {@code location}, {@code location_type}, {@code subarea_id}, {@code direction},
+ * {@code description}, {@code unit}, {@code unit_prefix}, {@code unit_suffix}, {@code source} and
+ * {@code data_type}. Every other column is imported as a custom dimension named after its header.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndicatorCsvImportService {
+
+    private static final String INDICATOR = "indicator";
+    private static final String VALUE = "value";
+    private static final String TIME = "time";
+    private static final String TIME_TYPE = "time_type";
+    private static final String LOCATION = "location";
+    private static final String LOCATION_TYPE = "location_type";
+    private static final String SUBAREA_ID = "subarea_id";
+    private static final String DIRECTION = "direction";
+    private static final String DESCRIPTION = "description";
+    private static final String UNIT = "unit";
+    private static final String UNIT_PREFIX = "unit_prefix";
+    private static final String UNIT_SUFFIX = "unit_suffix";
+    private static final String SOURCE = "source";
+    private static final String DATA_TYPE = "data_type";
+
+    private static final List<String> KNOWN_COLUMNS = List.of(INDICATOR, VALUE, TIME, TIME_TYPE, LOCATION,
+        LOCATION_TYPE, SUBAREA_ID, DIRECTION, DESCRIPTION, UNIT, UNIT_PREFIX, UNIT_SUFFIX, SOURCE, DATA_TYPE);
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+        .setHeader()
+        .setSkipHeaderRecord(true)
+        .setIgnoreEmptyLines(true)
+        .setTrim(true)
+        .build();
+
+    private final IndicatorBatchService indicatorBatchService;
+    private final ParallelIndicatorIngestService parallelIndicatorIngestService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    @Value("${data.processing.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Value("${data.processing.max-errors:1000}")
+    private int maxErrors = 1000;
+
+    @Value("${data.processing.parallel.enabled:false}")
+    private boolean parallel;
+
+    public IndicatorBatchResponse importCsv(InputStream input, Long subareaId, Direction direction) throws IOException {
+        return importCsv(input, subareaId, direction, ImportProgress.NONE);
+    }
+
+    /**
+     * Parse and import the given CSV stream.
+     *
+     * @param input     UTF-8 CSV content with a header row; a leading BOM is skipped
+     * @param subareaId subarea used for rows without a {@code subarea_id} column value
+     * @param direction direction used for rows without a {@code direction} column value
+     * @param progress  notified per row and chunk, and asked whether to stop before every row
+     */
+    public IndicatorBatchResponse importCsv(InputStream input, Long subareaId, Direction direction,
+                                            ImportProgress progress) throws IOException {
+        long startNanos = System.nanoTime();
+        ImportTotals totals = new ImportTotals(maxErrors, progress);
+
+        try (Reader reader = new InputStreamReader(BOMInputStream.builder().setInputStream(input).get(), StandardCharsets.UTF_8);
+             CSVParser parser = openParser(reader)) {
+            Columns columns = Columns.of(parser.getHeaderNames());
+            Chunk chunk = new Chunk();
+
+            for (CSVRecord record : parser) {
+                if (progress.isStopRequested()) {
+                    totals.stopped = true;
+                    break;
+                }
+                progress.onRowsRead(++totals.rows);
+                if (totals.rows <= progress.resumeAfterRows()) {
+                    continue;
+                }
+                try {
+                    chunk.add(columns, record, subareaId, direction);
+                } catch (IllegalArgumentException e) {
+                    totals.warn("Line " + parser.getCurrentLineNumber() + ": " + e.getMessage());
+                }
+                if (chunk.rows >= batchSize) {
+                    if (!flush(chunk, totals)) {
+                        break;
+                    }
+                    chunk = new Chunk();
+                }
+            }
+            if (!totals.stopped && chunk.rows > 0) {
+                flush(chunk, totals);
+            }
+        } catch (UncheckedIOException e) {
+            // commons-csv reports malformed input (e.g. an unterminated quote) this way while iterating
+            throw new BadRequestException("Malformed CSV after row " + totals.rows + ": " + e.getCause().getMessage());
+        }
+
+        return totals.toResponse(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Import an already parsed batch request in chunks of {@code data.processing.batch-size} values,
+     * each chunk in its own transaction.
+     */
+    public IndicatorBatchResponse importBatch(IndicatorBatchRequest request, ImportProgress progress) {
+        long startNanos = System.nanoTime();
+        ImportTotals totals = new ImportTotals(maxErrors, progress);
+        Chunk chunk = new Chunk();
+
+        long skip = progress.resumeAfterRows();
+
+        indicators:
+        for (CsvIndicatorData indicator : request.getIndicators()) {
+            List<IndicatorValue> values = indicator.getValues() != null ? indicator.getValues() : List.of();
+            // Values committed by an earlier attempt are counted but not imported again
+            int from = (int) Math.min(values.size(), skip);
+            skip -= from;
+            totals.rows += from;
+            boolean alreadyImported = values.isEmpty() ? skip > 0 : from == values.size();
+            if (alreadyImported) {
+                continue;
+            }
+            do {
+                if (progress.isStopRequested()) {
+                    totals.stopped = true;
+                    break indicators;
+                }
+                int to = Math.min(values.size(), from + batchSize - chunk.rows);
+                chunk.add(indicator, values.subList(from, to));
+                totals.rows += to - from;
+                progress.onRowsRead(totals.rows);
+                from = to;
+                if (chunk.rows >= batchSize) {
+                    if (!flush(chunk, totals)) {
+                        break indicators;
+                    }
+                    chunk = new Chunk();
+                }
+            } while (from < values.size());
+        }
+        if (!totals.stopped && !chunk.isEmpty()) {
+            flush(chunk, totals);
+        }
+
+        return totals.toResponse(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Write and commit one chunk. Returns false if it was rolled back, in which case the import is
+     * stopped so that no later chunk moves the checkpoint past the lost rows.
+     */
+    private boolean flush(Chunk chunk, ImportTotals totals) {
+        try {
+            IndicatorBatchResponse result = parallel ? writeInParallel(chunk, totals) : write(chunk, totals);
+            totals.merge(result);
+            totals.progress.onChunkCommitted(chunk.rows, result);
+            return true;
+        } catch (ParallelIndicatorIngestService.IncompleteImportException e) {
+            // The indicators that committed are kept and rewritten as no-ops when the chunk is resumed
+            totals.merge(e.getPartialResult());
+            stop(totals, "Chunk of " + chunk.rows + " rows ending at row " + totals.rows
+                + " was only partly written: " + e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            // Only this chunk is rolled back, earlier chunks stay committed
+            log.error("Import chunk of {} rows failed", chunk.rows, e);
+            stop(totals, "Chunk of " + chunk.rows + " rows ending at row " + totals.rows
+                + " was rolled back: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void stop(ImportTotals totals, String failure) {
+        totals.failure = failure;
+        totals.warn(failure);
+        totals.progress.onChunkFailed(failure);
+        totals.stopped = true;
+    }
+
+    private IndicatorBatchResponse write(Chunk chunk, ImportTotals totals) {
+        return transactionTemplate.execute(status -> {
+            IndicatorBatchResponse written = indicatorBatchService.createFromCsvData(chunk.toRequest());
+            totals.progress.onChunkWriting(totals.rows);
+            // Keeps the persistence context bounded when a caller's transaction spans several chunks
+            entityManager.flush();
+            entityManager.clear();
+            return written;
+        });
+    }
+
+    /**
+     * Workers commit one transaction per indicator, so the checkpoint can only follow once all of them
+     * are done, and only if none of them failed: rows of different indicators interleave within a
+     * chunk, so the chunk start is the last row known to be fully written. If the process dies in
+     * between, a resumed import writes the chunk again, which the fact upsert turns into a no-op.
+     */
+    private IndicatorBatchResponse writeInParallel(Chunk chunk, ImportTotals totals) {
+        IndicatorBatchResponse written = parallelIndicatorIngestService.createFromCsvData(chunk.toRequest());
+        transactionTemplate.executeWithoutResult(status -> totals.progress.onChunkWriting(totals.rows));
+        return written;
+    }
+
+    private CSVParser openParser(Reader reader) throws IOException {
+        try {
+            return FORMAT.parse(reader);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid CSV header: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Header positions of the recognised columns; everything else becomes a custom dimension.
+     */
+    private record Columns(Map<String, Integer> known, Map<String, Integer> custom) {
+
+        static Columns of(List<String> headerNames) {
+            Map<String, Integer> known = new HashMap<>();
+            Map<String, Integer> custom = new LinkedHashMap<>();
+            for (int i = 0; i < headerNames.size(); i++) {
+                String header = headerNames.get(i);
+                if (header == null || header.isBlank()) {
+                    continue;
+                }
+                String normalized = header.trim().toLowerCase(Locale.ROOT).replaceAll("[\\s-]+", "_");
+                if (KNOWN_COLUMNS.contains(normalized)) {
+                    known.putIfAbsent(normalized, i);
+                } else {
+                    custom.put(header.trim(), i);
+                }
+            }
+            if (!known.containsKey(INDICATOR) || !known.containsKey(VALUE)) {
+                throw new BadRequestException("CSV header must contain 'indicator' and 'value' columns");
+            }
+            return new Columns(known, custom);
+        }
+
+        String get(CSVRecord record, String column) {
+            Integer index = known.get(column);
+            return index != null ? cell(record, index) : null;
+        }
+
+        static String cell(CSVRecord record, int index) {
+            if (index >= record.size()) {
+                return null;
+            }
+            String value = record.get(index);
+            return value == null || value.isEmpty() ? null : value;
+        }
+    }
+
+    /**
+     * Rows of the current chunk, grouped the same way the JSON batch request groups them.
+     */
+    private static final class Chunk {
+        private final Map<String, CsvIndicatorData> indicators = new LinkedHashMap<>();
+        private int rows;
+
+        /**
+         * Add a slice of an already parsed indicator, sharing its metadata.
+         */
+        void add(CsvIndicatorData indicator, List<IndicatorValue> values) {
+            indicators.put("#" + indicators.size(), CsvIndicatorData.builder()
+                .name(indicator.getName())
+                .description(indicator.getDescription())
+                .unit(indicator.getUnit())
+                .unitPrefix(indicator.getUnitPrefix())
+                .unitSuffix(indicator.getUnitSuffix())
+                .source(indicator.getSource())
+                .dataType(indicator.getDataType())
+                .subareaId(indicator.getSubareaId())
+                .direction(indicator.getDirection())
+                .aggregationWeight(indicator.getAggregationWeight())
+                .values(values)
+                .build());
+            rows += values.size();
+        }
+
+        boolean isEmpty() {
+            return indicators.isEmpty();
+        }
+
+        void add(Columns columns, CSVRecord record, Long defaultSubareaId, Direction defaultDirection) {
+            String name = columns.get(record, INDICATOR);
+            if (name == null) {
+                throw new IllegalArgumentException("missing indicator name");
+            }
+            String rawValue = columns.get(record, VALUE);
+            if (rawValue == null) {
+                throw new IllegalArgumentException("missing value for indicator '" + name + "'");
+            }
+            BigDecimal value;
+            try {
+                value = new BigDecimal(rawValue);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid numeric value '" + rawValue + "'");
+            }
+            Long subareaId = parseSubareaId(columns.get(record, SUBAREA_ID), defaultSubareaId);
+            Direction direction = parseDirection(columns.get(record, DIRECTION), defaultDirection);
+
+            Map<String, String> customDimensions = new LinkedHashMap<>();
+            columns.custom().forEach((header, index) -> {
+                String cell = Columns.cell(record, index);
+                if (cell != null) {
+                    customDimensions.put(header, cell);
+                }
+            });
+
+            CsvIndicatorData indicator = indicators.computeIfAbsent(name + "|" + subareaId + "|" + direction,
+                key -> CsvIndicatorData.builder()
+                    .name(name)
+                    .description(columns.get(record, DESCRIPTION))
+                    .unit(columns.get(record, UNIT))
+                    .unitPrefix(columns.get(record, UNIT_PREFIX))
+                    .unitSuffix(columns.get(record, UNIT_SUFFIX))
+                    .source(columns.get(record, SOURCE))
+                    .dataType(columns.get(record, DATA_TYPE))
+                    .subareaId(subareaId)
+                    .direction(direction)
+                    .aggregationWeight(1.0)
+                    .values(new ArrayList<>())
+                    .build());
+            indicator.getValues().add(IndicatorValue.builder()
+                .value(value)
+                .timeValue(columns.get(record, TIME))
+                .timeType(columns.get(record, TIME_TYPE))
+                .locationValue(columns.get(record, LOCATION))
+                .locationType(columns.get(record, LOCATION_TYPE))
+                .customDimensions(customDimensions.isEmpty() ? null : customDimensions)
+                .build());
+            rows++;
+        }
+
+        IndicatorBatchRequest toRequest() {
+            return IndicatorBatchRequest.builder()
+                .indicators(new ArrayList<>(indicators.values()))
+                .build();
+        }
+
+        private static Long parseSubareaId(String raw, Long fallback) {
+            if (raw == null) {
+                return fallback;
+            }
+            try {
+                return Long.parseLong(raw);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid subarea_id '" + raw + "'");
+            }
+        }
+
+        private static Direction parseDirection(String raw, Direction fallback) {
+            if (raw == null) {
+                return fallback;
+            }
+            try {
+                return Direction.valueOf(raw.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid direction '" + raw + "'");
+            }
+        }
+    }
+
+    /**
+     * Running totals over all chunks. Warnings are capped at {@code data.processing.max-errors}.
+     */
+    private static final class ImportTotals {
+        private final int maxWarnings;
+        private final ImportProgress progress;
+        private final Map<Long, IndicatorResponse> indicators = new LinkedHashMap<>();
+        private final List<String> warnings = new ArrayList<>();
+        private int suppressedWarnings;
+        private int factRecords;
+        private long rows;
+        private boolean stopped;
+        private String failure;
+
+        ImportTotals(int maxWarnings, ImportProgress progress) {
+            this.maxWarnings = maxWarnings;
+            this.progress = progress;
+        }
+
+        void merge(IndicatorBatchResponse chunk) {
+            factRecords += chunk.getTotalFactRecords();
+            if (chunk.getCreatedIndicators() != null) {
+                chunk.getCreatedIndicators().forEach(indicator -> indicators.putIfAbsent(indicator.getId(), indicator));
+            }
+            if (chunk.getWarnings() != null) {
+                chunk.getWarnings().forEach(this::warn);
+            }
+        }
+
+        void warn(String warning) {
+            progress.onError(warning);
+            if (warnings.size() < maxWarnings) {
+                warnings.add(warning);
+            } else {
+                suppressedWarnings++;
+            }
+        }
+
+        IndicatorBatchResponse toResponse(long elapsedNanos) {
+            log.info("Imported {} rows into {} fact records in {} ms{}",
+                rows, factRecords, elapsedNanos / 1_000_000, stopped ? " (stopped early)" : "");
+            List<String> allWarnings = warnings;
+            if (suppressedWarnings > 0) {
+                allWarnings = new ArrayList<>(warnings);
+                allWarnings.add(suppressedWarnings + " further warnings suppressed");
+            }
+            return IndicatorBatchResponse.builder()
+                .createdIndicators(new ArrayList<>(indicators.values()))
+                .totalFactRecords(factRecords)
+                .warnings(allWarnings)
+                .message(failure != null
+                    ? "Import stopped: " + failure
+                    : stopped
+                    ? "Import stopped after " + rows + " rows"
+                    : "Successfully processed " + indicators.size() + " indicators")
+                .durationMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(elapsedNanos > 0 ? factRecords / (elapsedNanos / 1_000_000_000.0) : null)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package io.dashboard.service;
+
+import io.dashboard.repository.FactSnapshotRepository;
+import io.dashboard.repository.IndicatorDimensionValues;
+import io.dashboard.repository.IndicatorFactSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LRU cache of {@link IndicatorFactSnapshot}s, bounded by their estimated size in bytes
+ * ({@code app.fact-cache.max-bytes}). A snapshot larger than the whole budget is returned but not
+ * cached.
+ * <p>
+ * The same budget also holds the {@link IndicatorDimensionValues} of indicators, which are much
+ * smaller and give way only once no snapshot is left to evict.
+ * <p>
+ * Every writer of facts calls {@link #evict} for the indicators it touched. The entries are dropped
+ * right away and again when the transaction completes, and a generation counter keeps a load that
+ * raced with the write from caching what it read. Inside the writing transaction the snapshot of a
+ * touched indicator is always loaded fresh, after flushing pending entity changes.
+ * <p>
+ * Evictions only reach this node. Entries therefore expire {@code app.fact-cache.ttl-seconds} after
+ * they were loaded, which bounds how long facts written through another node stay invisible here.
+ */
+@Service
+@Slf4j
+public class IndicatorFactCache {
+
+    private final FactSnapshotRepository factSnapshotRepository;
+    private final EntityManager entityManager;
+    private final long maxBytes;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<Long, Entry<IndicatorFactSnapshot>> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<Long, Entry<IndicatorDimensionValues>> dimensionValues = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter dimensionHits;
+    private final Counter dimensionMisses;
+
+    public IndicatorFactCache(FactSnapshotRepository factSnapshotRepository,
+                              EntityManager entityManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.fact-cache.max-bytes:268435456}") long maxBytes,
+                              @Value("${app.fact-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.factSnapshotRepository = factSnapshotRepository;
+        this.entityManager = entityManager;
+        this.maxBytes = maxBytes;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        Gauge.builder("fact.cache.bytes", this, IndicatorFactCache::cachedBytes)
+            .description("Estimated heap held by cached indicator fact snapshots")
+            .register(meterRegistry);
+        hits = Counter.builder("fact.cache.lookups").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("fact.cache.lookups").tag("result", "miss").register(meterRegistry);
+        dimensionHits = Counter.builder("fact.cache.dimension.lookups").tag("result", "hit").register(meterRegistry);
+        dimensionMisses = Counter.builder("fact.cache.dimension.lookups").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * Snapshot of all facts of the indicator, loaded on a miss.
+     */
+    public IndicatorFactSnapshot get(Long indicatorId) {
+        if (changedInCurrentTransaction(indicatorId)) {
+            entityManager.flush();
+            return factSnapshotRepository.load(indicatorId);
+        }
+        long loadGeneration;
+        synchronized (this) {
+            Entry<IndicatorFactSnapshot> cached = fresh(snapshots, indicatorId);
+            if (cached != null) {
+                hits.increment();
+                return cached.value();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // The snapshot is read with plain JDBC, which does not trigger Hibernate's auto-flush
+            entityManager.flush();
+        }
+        IndicatorFactSnapshot loaded = factSnapshotRepository.load(indicatorId);
+        put(loaded, loadGeneration);
+        return loaded;
+    }
+
+    /**
+     * Dimension members and fact counts of each of the indicators, keyed by indicator id in the order
+     * given. The ones not cached are loaded together with one grouped query.
+     */
+    public Map<Long, IndicatorDimensionValues> getDimensionValues(Collection<Long> indicatorIds) {
+        Map<Long, IndicatorDimensionValues> result = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Long indicatorId : new LinkedHashSet<>(indicatorIds)) {
+                Entry<IndicatorDimensionValues> entry = changedInCurrentTransaction(indicatorId) ? null : fresh(dimensionValues, indicatorId);
+                IndicatorDimensionValues cached = entry != null ? entry.value() : null;
+                // Keeps the requested order once the misses are filled in
+                result.put(indicatorId, cached);
+                if (cached == null) {
+                    missing.add(indicatorId);
+                }
+            }
+            loadGeneration = generation;
+        }
+        dimensionHits.increment(result.size() - missing.size());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        dimensionMisses.increment(missing.size());
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        Map<Long, IndicatorDimensionValues> loaded = factSnapshotRepository.loadDimensionValues(missing);
+        result.putAll(loaded);
+        putDimensionValues(loaded.values(), loadGeneration);
+        return result;
+    }
+
+    /**
+     * Drop the snapshots of the given indicators now and once the current transaction completes.
+     */
+    public void evict(Collection<Long> indicatorIds) {
+        Set<Long> ids = Set.copyOf(indicatorIds);
+        invalidate(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes().indicatorIds.addAll(ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(ids);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop every snapshot now and once the current transaction completes, for bulk changes whose
+     * indicators are not known up front.
+     */
+    public void evictAll() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changes().all = true;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    public synchronized long cachedBytes() {
+        return cachedBytes;
+    }
+
+    private synchronized void invalidate(Set<Long> indicatorIds) {
+        generation++;
+        for (Long indicatorId : indicatorIds) {
+            remove(snapshots, indicatorId);
+            remove(dimensionValues, indicatorId);
+        }
+    }
+
+    /**
+     * Entry of the indicator if it has not outlived the TTL; an expired one is dropped.
+     */
+    private synchronized <T> Entry<T> fresh(Map<Long, Entry<T>> entries, Long indicatorId) {
+        Entry<T> entry = entries.get(indicatorId);
+        if (entry != null && System.nanoTime() - entry.loadedAt() >= ttlNanos) {
+            remove(entries, indicatorId);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void remove(Map<Long, ? extends Entry<?>> entries, Long indicatorId) {
+        Entry<?> removed = entries.remove(indicatorId);
+        if (removed != null) {
+            cachedBytes -= removed.bytes();
+        }
+    }
+
+    private synchronized void clear() {
+        generation++;
+        snapshots.clear();
+        dimensionValues.clear();
+        cachedBytes = 0;
+    }
+
+    private synchronized void put(IndicatorFactSnapshot snapshot, long loadGeneration) {
+        // A writer invalidated something while this snapshot was loading; it may predate that write
+        if (loadGeneration != generation || snapshot.estimatedBytes() > maxBytes) {
+            return;
+        }
+        Entry<IndicatorFactSnapshot> previous = snapshots.put(snapshot.indicatorId(),
+            new Entry<>(snapshot, snapshot.estimatedBytes(), System.nanoTime()));
+        cachedBytes += snapshot.estimatedBytes() - (previous != null ? previous.bytes() : 0);
+        trim();
+    }
+
+    private synchronized void putDimensionValues(Collection<IndicatorDimensionValues> loaded, long loadGeneration) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        for (IndicatorDimensionValues values : loaded) {
+            if (values.estimatedBytes() > maxBytes || changedInCurrentTransaction(values.indicatorId())) {
+                continue;
+            }
+            Entry<IndicatorDimensionValues> previous = dimensionValues.put(values.indicatorId(),
+                new Entry<>(values, values.estimatedBytes(), System.nanoTime()));
+            cachedBytes += values.estimatedBytes() - (previous != null ? previous.bytes() : 0);
+        }
+        trim();
+    }
+
+    // Least recently used snapshots go first, dimension values only when no snapshot is left
+    private synchronized void trim() {
+        Iterator<Map.Entry<Long, Entry<IndicatorFactSnapshot>>> eldest = snapshots.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Long, Entry<IndicatorFactSnapshot>> evicted = eldest.next();
+            eldest.remove();
+            cachedBytes -= evicted.getValue().bytes();
+            log.debug("Evicted fact snapshot of indicator {} ({} bytes)", evicted.getKey(), evicted.getValue().bytes());
+        }
+        Iterator<Map.Entry<Long, Entry<IndicatorDimensionValues>>> eldestValues = dimensionValues.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldestValues.hasNext()) {
+            Map.Entry<Long, Entry<IndicatorDimensionValues>> evicted = eldestValues.next();
+            eldestValues.remove();
+            cachedBytes -= evicted.getValue().bytes();
+            log.debug("Evicted dimension values of indicator {} ({} bytes)", evicted.getKey(), evicted.getValue().bytes());
+        }
+    }
+
+    private static boolean changedInCurrentTransaction(Long indicatorId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionChanges changes = (TransactionChanges) TransactionSynchronizationManager.getResource(TransactionChanges.class);
+        return changes != null && (changes.all || changes.indicatorIds.contains(indicatorId));
+    }
+
+    private static TransactionChanges changes() {
+        TransactionChanges changes = (TransactionChanges) TransactionSynchronizationManager.getResource(TransactionChanges.class);
+        if (changes == null) {
+            changes = new TransactionChanges();
+            TransactionSynchronizationManager.bindResource(TransactionChanges.class, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionChanges.class);
+                }
+            });
+        }
+        return changes;
+    }
+
+    /**
+     * A cached value with its size and the {@link System#nanoTime()} it was loaded at.
+     */
+    private record Entry<T>(T value, long bytes, long loadedAt) {
+    }
+
+    /**
+     * Indicators whose facts the current transaction has written so far.
+     */
+    private static final class TransactionChanges {
+        private final Set<Long> indicatorIds = new HashSet<>();
+        private boolean all;
+    }
+
+    /**
+     * Indicators whose snapshot is currently cached, least recently used first.
+     */
+    synchronized List<Long> cachedIndicatorIds() {
+        return List.copyOf(snapshots.keySet());
+    }
+
+    /**
+     * Indicators whose dimension values are currently cached, least recently used first.
+     */
+    synchronized List<Long> cachedDimensionIndicatorIds() {
+        return List.copyOf(dimensionValues.keySet());
+    }
+}
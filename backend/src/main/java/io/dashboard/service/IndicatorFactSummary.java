@@ -0,0 +1,135 @@
+package io.dashboard.service;
+
+import io.dashboard.repository.IndicatorDimensionView;
+import io.dashboard.repository.IndicatorFactCountView;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * What {@code IndicatorResponse} reports about an indicator's facts: value count, dimensions, the
+ * subareas holding its facts and the most common direction. Folded from the grouped count and
+ * dimension rows of many indicators at once, so listing indicators costs a fixed number of queries
+ * instead of several per indicator.
+ */
+final class IndicatorFactSummary {
+
+    static final IndicatorFactSummary EMPTY = new IndicatorFactSummary(0, List.of(), List.of(), List.of(), null);
+
+    private final long valueCount;
+    private final List<String> dimensions;
+    private final List<Long> subareaIds;
+    private final List<String> subareaNames;
+    private final String direction;
+
+    private IndicatorFactSummary(long valueCount, List<String> dimensions, List<Long> subareaIds,
+                                 List<String> subareaNames, String direction) {
+        this.valueCount = valueCount;
+        this.dimensions = dimensions;
+        this.subareaIds = subareaIds;
+        this.subareaNames = subareaNames;
+        this.direction = direction;
+    }
+
+    long getValueCount() {
+        return valueCount;
+    }
+
+    /** Time and location first when any fact has them, then the custom dimensions by name. */
+    List<String> getDimensions() {
+        return dimensions;
+    }
+
+    /** Ascending; facts without a subarea are not represented. */
+    List<Long> getSubareaIds() {
+        return subareaIds;
+    }
+
+    List<String> getSubareaNames() {
+        return subareaNames;
+    }
+
+    /** Direction of the most facts, ties going to the name sorting first; null when no fact has one. */
+    String getDirection() {
+        return direction;
+    }
+
+    /**
+     * Summaries keyed by indicator id. Indicators without facts are absent; callers fall back to
+     * {@link #EMPTY}.
+     */
+    static Map<Long, IndicatorFactSummary> fold(List<? extends IndicatorFactCountView> counts,
+                                                List<? extends IndicatorDimensionView> genericDimensions) {
+        Map<Long, Accumulator> accumulators = new HashMap<>();
+        for (IndicatorFactCountView count : counts) {
+            accumulators.computeIfAbsent(count.getIndicatorId(), id -> new Accumulator()).add(count);
+        }
+        for (IndicatorDimensionView dimension : genericDimensions) {
+            accumulators.computeIfAbsent(dimension.getIndicatorId(), id -> new Accumulator())
+                .addGenericDimension(dimension.getDimension());
+        }
+
+        Map<Long, IndicatorFactSummary> summaries = new HashMap<>(accumulators.size() * 2);
+        accumulators.forEach((indicatorId, accumulator) -> summaries.put(indicatorId, accumulator.toSummary()));
+        return summaries;
+    }
+
+    /**
+     * Collects the summary of one indicator from groups of its facts.
+     */
+    static final class Accumulator {
+        private long valueCount;
+        private boolean time;
+        private boolean location;
+        private final Set<String> genericDimensions = new TreeSet<>();
+        private final Map<Long, String> subareas = new TreeMap<>();
+        private final Map<String, Long> directions = new HashMap<>();
+
+        void add(IndicatorFactCountView count) {
+            add(count.getSubareaId(), count.getSubareaName(), count.getDirection(), count.getFactCount(),
+                count.getTimeCount() != null && count.getTimeCount() > 0,
+                count.getLocationCount() != null && count.getLocationCount() > 0);
+        }
+
+        void add(Long subareaId, String subareaName, String direction, long facts, boolean withTime, boolean withLocation) {
+            valueCount += facts;
+            time |= withTime;
+            location |= withLocation;
+            if (subareaId != null) {
+                subareas.put(subareaId, subareaName);
+            }
+            if (direction != null) {
+                directions.merge(direction, facts, Long::sum);
+            }
+        }
+
+        void addGenericDimension(String dimension) {
+            if (dimension != null) {
+                genericDimensions.add(dimension);
+            }
+        }
+
+        IndicatorFactSummary toSummary() {
+            List<String> dimensions = new ArrayList<>(genericDimensions.size() + 2);
+            if (time) dimensions.add("time");
+            if (location) dimensions.add("location");
+            dimensions.addAll(genericDimensions);
+
+            String direction = directions.entrySet().stream()
+                .max(Map.Entry.<String, Long>comparingByValue()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+
+            return new IndicatorFactSummary(valueCount, dimensions, new ArrayList<>(subareas.keySet()),
+                new ArrayList<>(new LinkedHashSet<>(subareas.values())), direction);
+        }
+    }
+}
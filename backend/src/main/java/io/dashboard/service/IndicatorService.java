@@ -34,22 +34,34 @@ import io.dashboard.dto.DataValidationResponse;
 import io.dashboard.repository.DimTimeRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Set;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.Random;
+import java.util.UUID;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import io.dashboard.dto.IndicatorChartResponse;
 import io.dashboard.dto.IndicatorDimensionsResponse;
 import io.dashboard.dto.IndicatorSubareaDirectionResponse;
 import io.dashboard.dto.IndicatorDirectionUpdateRequest;
+import io.dashboard.dto.DeleteWithDataResponse;
+import io.dashboard.repository.FactRollupBatchRepository;
+import io.dashboard.repository.IndicatorDimensionValues;
+import io.dashboard.repository.IndicatorFactSnapshot;
+import io.dashboard.repository.FactValueView;
+import io.dashboard.repository.IndicatorDimensionView;
+import io.dashboard.repository.IndicatorFactCountView;
 import java.math.BigDecimal;
 import io.dashboard.dto.IndicatorValueCreate;
-import io.dashboard.model.DimensionType;
+import io.dashboard.dto.IndicatorValuesPageRequest;
+import org.springframework.data.domain.Limit;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import io.dashboard.model.DimensionType;
 
 @Service
 @RequiredArgsConstructor
@@ -63,10 +75,23 @@ public class IndicatorService {
     private final AggregationService aggregationService;
     private final DimTimeRepository dimTimeRepository;
     private final io.dashboard.repository.DimLocationRepository dimLocationRepository;
+    private final DimensionDictionary dimensionDictionary;
+    private final FactDeletionService factDeletionService;
+    private final FactRollupBatchRepository factRollupBatchRepository;
+    private final IndicatorFactCache indicatorFactCache;
+    private final FactGenericResolver factGenericResolver;
+    private final io.dashboard.repository.DimGenericRepository dimGenericRepository;
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+    static final int MAX_PAGE_SIZE = 5000;
+    // Keeps the indicator id list of one summary query well inside the driver's bind-parameter limit
+    private static final int SUMMARY_CHUNK_SIZE = 1000;
+    // Ids of one batched dimension lookup; they are bound three times in a single statement
+    static final int MAX_DIMENSION_BATCH = 500;
 
     @Transactional(readOnly = true)
     public List<IndicatorResponse> findAll() {
-        return indicatorRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+        return toResponses(indicatorRepository.findAll(), null);
     }
 
     @Transactional(readOnly = true)
@@ -78,9 +103,7 @@ public class IndicatorService {
 
     @Transactional(readOnly = true)
     public List<IndicatorResponse> findByFactSubareaId(Long subareaId) {
-        return indicatorRepository.findByFactSubareaId(subareaId).stream()
-            .map(indicator -> toResponse(indicator, subareaId))
-            .collect(Collectors.toList());
+        return toResponses(indicatorRepository.findByFactSubareaId(subareaId), subareaId);
     }
 
     @Transactional
@@ -155,17 +178,17 @@ public class IndicatorService {
     }
 
     @Transactional
-    public void deleteWithData(Long id) {
+    public DeleteWithDataResponse deleteWithData(Long id) {
         Indicator indicator = indicatorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Indicator", "id", id));
         
-        // Remove all FactIndicatorValue data first
-        List<FactIndicatorValue> factValues = factIndicatorValueRepository.findByIndicatorId(id);
-        factIndicatorValueRepository.deleteAll(factValues);
+        // Remove all FactIndicatorValue data first, without loading it
+        DeleteWithDataResponse result = factDeletionService.deleteByIndicator(id);
         
         indicatorRepository.delete(indicator);
         
-        log.info("Deleted indicator {} with {} associated data values", id, factValues.size());
+        log.info("Deleted indicator {} with {} associated data values", id, result.getDeletedFactValues());
+        return result;
     }
 
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -178,64 +201,33 @@ public class IndicatorService {
     }
 
     private IndicatorResponse toResponse(Indicator indicator) {
-        IndicatorResponse resp = new IndicatorResponse();
-        resp.setId(indicator.getId());
-        resp.setCode(indicator.getCode());
-        resp.setName(indicator.getName());
-        resp.setDescription(indicator.getDescription());
-        resp.setIsComposite(indicator.getIsComposite());
-        resp.setCreatedAt(indicator.getCreatedAt());
-        resp.setUnit(indicator.getUnit() != null ? indicator.getUnit().getCode() : null);
-        resp.setUnitId(indicator.getUnit() != null ? indicator.getUnit().getId() : null);
-        resp.setUnitPrefix(indicator.getUnitPrefix());
-        resp.setUnitSuffix(indicator.getUnitSuffix());
-        
-        // Set data type
-        if (indicator.getDataType() != null) {
-            DataTypeResponse dataTypeResp = new DataTypeResponse();
-            dataTypeResp.setId(indicator.getDataType().getId());
-            dataTypeResp.setCode(indicator.getDataType().getName()); // Add this line to set the code
-            dataTypeResp.setName(indicator.getDataType().getName());
-            resp.setDataType(dataTypeResp);
-        }
-        
-        // Set valueCount and dimensions
-        long valueCount = factIndicatorValueRepository.countByIndicatorId(indicator.getId());
-        resp.setValueCount(valueCount);
-        List<String> dimensions = factIndicatorValueRepository.findDimensionsByIndicatorId(indicator.getId());
-        resp.setDimensions(dimensions);
-        // --- NEW: Populate subareaIds and subareaNames ---
-        List<FactIndicatorValue> facts = factIndicatorValueRepository.findByIndicatorId(indicator.getId());
-        java.util.Set<Long> subareaIdSet = new java.util.HashSet<>();
-        java.util.Set<String> subareaNameSet = new java.util.HashSet<>();
-        for (FactIndicatorValue fact : facts) {
-            if (fact.getSubarea() != null) {
-                subareaIdSet.add(fact.getSubarea().getId());
-                subareaNameSet.add(fact.getSubarea().getName());
-            }
-        }
-        resp.setSubareaIds(new java.util.ArrayList<>(subareaIdSet));
-        resp.setSubareaNames(new java.util.ArrayList<>(subareaNameSet));
-        
-        // Set direction - get the most common direction from fact values
-        if (!facts.isEmpty()) {
-            java.util.Map<String, Long> directionCounts = facts.stream()
-                .filter(f -> f.getDirection() != null)
-                .collect(Collectors.groupingBy(FactIndicatorValue::getDirection, Collectors.counting()));
-            
-            if (!directionCounts.isEmpty()) {
-                String mostCommonDirection = directionCounts.entrySet().stream()
-                    .max(Map.Entry.comparingByValue())
-                    .map(Map.Entry::getKey)
-                    .orElse(null);
-                resp.setDirection(mostCommonDirection);
-            }
-        }
-        // --- END NEW ---
-        return resp;
+        return toResponse(indicator, summarize(List.of(indicator.getId()), null)
+            .getOrDefault(indicator.getId(), IndicatorFactSummary.EMPTY));
+    }
+
+    private List<IndicatorResponse> toResponses(List<Indicator> indicators, Long subareaId) {
+        List<Long> indicatorIds = indicators.stream().map(Indicator::getId).collect(Collectors.toList());
+        Map<Long, IndicatorFactSummary> summaries = summarize(indicatorIds, subareaId);
+        return indicators.stream()
+            .map(indicator -> toResponse(indicator, summaries.getOrDefault(indicator.getId(), IndicatorFactSummary.EMPTY)))
+            .collect(Collectors.toList());
+    }
+
+    // Two grouped queries per chunk of indicators, whatever the number of indicators or facts
+    private Map<Long, IndicatorFactSummary> summarize(List<Long> indicatorIds, Long subareaId) {
+        List<IndicatorFactCountView> counts = new ArrayList<>();
+        List<IndicatorDimensionView> dimensions = new ArrayList<>();
+        for (int from = 0; from < indicatorIds.size(); from += SUMMARY_CHUNK_SIZE) {
+            List<Long> chunk = indicatorIds.subList(from, Math.min(from + SUMMARY_CHUNK_SIZE, indicatorIds.size()));
+            counts.addAll(factIndicatorValueRepository.countByIndicatorIdsGrouped(chunk, subareaId));
+            dimensions.addAll(subareaId != null
+                ? factIndicatorValueRepository.findGenericDimensionsByIndicatorIdsAndSubareaId(chunk, subareaId)
+                : factIndicatorValueRepository.findGenericDimensionsByIndicatorIds(chunk));
+        }
+        return IndicatorFactSummary.fold(counts, dimensions);
     }
 
-    private IndicatorResponse toResponse(Indicator indicator, Long subareaId) {
+    static IndicatorResponse toResponse(Indicator indicator, IndicatorFactSummary summary) {
         IndicatorResponse resp = new IndicatorResponse();
         resp.setId(indicator.getId());
         resp.setCode(indicator.getCode());
@@ -257,117 +249,165 @@ public class IndicatorService {
             resp.setDataType(dataTypeResp);
         }
         
-        // Set valueCount and dimensions - filter by subarea if provided
-        if (subareaId != null) {
-            // Count values only for this indicator in this subarea
-            long valueCount = factIndicatorValueRepository.countByIndicatorIdAndSubareaId(indicator.getId(), subareaId);
-            resp.setValueCount(valueCount);
-     
-            // Discover dimensions only from facts for this indicator in this subarea
-            List<String> dimensions = factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(indicator.getId(), subareaId);
-            resp.setDimensions(dimensions);
-            
-            // Set direction for this specific subarea
-            List<FactIndicatorValue> subareaFacts = factIndicatorValueRepository.findByIndicatorIdAndSubareaId(indicator.getId(), subareaId);
-            if (!subareaFacts.isEmpty()) {
-                java.util.Map<String, Long> directionCounts = subareaFacts.stream()
-                    .filter(f -> f.getDirection() != null)
-                    .collect(Collectors.groupingBy(FactIndicatorValue::getDirection, Collectors.counting()));
-                
-                if (!directionCounts.isEmpty()) {
-                    String mostCommonDirection = directionCounts.entrySet().stream()
-                        .max(Map.Entry.comparingByValue())
-                        .map(Map.Entry::getKey)
-                        .orElse(null);
-                    resp.setDirection(mostCommonDirection);
-                }
-            }
-        } else {
-            // Original behavior for non-subarea context
-            long valueCount = factIndicatorValueRepository.countByIndicatorId(indicator.getId());
-            resp.setValueCount(valueCount);
-            List<String> dimensions = factIndicatorValueRepository.findDimensionsByIndicatorId(indicator.getId());
-            resp.setDimensions(dimensions);
-            
-            // Set direction - get the most common direction from all fact values
-            List<FactIndicatorValue> allFacts = factIndicatorValueRepository.findByIndicatorId(indicator.getId());
-            if (!allFacts.isEmpty()) {
-                java.util.Map<String, Long> directionCounts = allFacts.stream()
-                    .filter(f -> f.getDirection() != null)
-                    .collect(Collectors.groupingBy(FactIndicatorValue::getDirection, Collectors.counting()));
-                
-                if (!directionCounts.isEmpty()) {
-                    String mostCommonDirection = directionCounts.entrySet().stream()
-                        .max(Map.Entry.comparingByValue())
-                        .map(Map.Entry::getKey)
-                        .orElse(null);
-                    resp.setDirection(mostCommonDirection);
-                }
-            }
-        }
-        
+        // Set valueCount, dimensions, subareas and the most common direction
+        resp.setValueCount(summary.getValueCount());
+        resp.setDimensions(summary.getDimensions());
+        resp.setSubareaIds(summary.getSubareaIds());
+        resp.setSubareaNames(summary.getSubareaNames());
+        resp.setDirection(summary.getDirection());
         return resp;
     }
 
     public IndicatorValuesResponse getIndicatorValues(Long indicatorId) {
         Indicator indicator = indicatorRepository.findById(indicatorId)
             .orElseThrow(() -> new ResourceNotFoundException("Indicator", "id", indicatorId));
-        List<FactIndicatorValue> facts = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-        List<String> dimensionColumns = new java.util.ArrayList<>();
-        // Always include time and location if present
-        if (facts.stream().anyMatch(f -> f.getTime() != null)) dimensionColumns.add("time");
-        if (facts.stream().anyMatch(f -> f.getLocation() != null)) dimensionColumns.add("location");
-        // Collect all custom dimension names
-        java.util.Set<String> customDims = new java.util.HashSet<>();
+        List<IndicatorValueRow> rows = FactValueRows.toRows(factIndicatorValueRepository.findValueViewsByIndicatorId(indicatorId));
+        List<String> dimensionColumns = FactValueRows.dimensionColumns(rows);
+        return IndicatorValuesResponse.builder()
+            .rows(rows)
+            .dimensionColumns(dimensionColumns)
+            .indicatorName(indicator.getName())
+            .dataType(indicator.getDataType() != null ? indicator.getDataType().getName() : null)
+            .build();
+    }
+
+    public boolean existsById(Long id) {
+        return indicatorRepository.existsById(id);
+    }
+
+    /**
+     * One page of an indicator's values in fact id order, optionally restricted to a subarea and to
+     * time, location and custom dimension members. Pages are addressed by the last fact id of the
+     * previous page ({@code nextAfter}), so every page is an index seek no matter how deep it is.
+     * A filter naming an unknown member yields an empty page.
+     */
+    @Transactional(readOnly = true)
+    public IndicatorValuesResponse getIndicatorValuesPage(Long indicatorId, Long subareaId, IndicatorValuesPageRequest page) {
+        Indicator indicator = indicatorRepository.findById(indicatorId)
+            .orElseThrow(() -> new ResourceNotFoundException("Indicator", "id", indicatorId));
+        if ((page.getDimension() == null) != (page.getMember() == null)) {
+            throw new BadRequestException("Parameters 'dimension' and 'member' must be given together");
+        }
+        int limit = page.getLimit() != null ? Math.max(1, Math.min(page.getLimit(), MAX_PAGE_SIZE)) : DEFAULT_PAGE_SIZE;
+        List<String> dimensionColumns = subareaId != null
+            ? factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(indicatorId, subareaId)
+            : factIndicatorValueRepository.findDimensionsByIndicatorId(indicatorId);
+
+        List<FactIndicatorValue> facts = findPage(indicatorId, subareaId, page, limit + 1);
+        Long nextAfter = null;
+        if (facts.size() > limit) {
+            facts = facts.subList(0, limit);
+            nextAfter = facts.get(limit - 1).getId();
+        }
+        Map<Long, List<DimGeneric>> genericsByFact = factGenericResolver.membersByFactId(facts);
+        List<IndicatorValueRow> rows = new ArrayList<>(facts.size());
         for (FactIndicatorValue fact : facts) {
-            if (fact.getGenerics() != null) {
-                for (DimGeneric g : fact.getGenerics()) {
-                    if (g.getDimensionName() != null) customDims.add(g.getDimensionName());
-                }
-            }
+            rows.add(toValueRow(fact, genericsByFact.getOrDefault(fact.getId(), List.of())));
         }
-        dimensionColumns.addAll(customDims);
-        List<IndicatorValueRow> rows = facts.stream().map(fact -> {
-            HashMap<String, String> dims = new HashMap<>();
-            if (fact.getTime() != null) dims.put("time", fact.getTime().getValue());
-            if (fact.getLocation() != null) dims.put("location", fact.getLocation().getName());
-            if (fact.getGenerics() != null) {
-                for (DimGeneric g : fact.getGenerics()) {
-                    if (g.getDimensionName() != null) dims.put(g.getDimensionName(), g.getValue());
-                }
-            }
-            return IndicatorValueRow.builder()
-                .factId(fact.getId())
-                .dimensions(dims)
-                .value(fact.getValue())
-                .isEmpty(fact.getValue() == null)
-                .build();
-        }).collect(Collectors.toList());
         return IndicatorValuesResponse.builder()
             .rows(rows)
             .dimensionColumns(dimensionColumns)
             .indicatorName(indicator.getName())
             .dataType(indicator.getDataType() != null ? indicator.getDataType().getName() : null)
+            .nextAfter(nextAfter)
             .build();
     }
 
+    private List<FactIndicatorValue> findPage(Long indicatorId, Long subareaId, IndicatorValuesPageRequest page, int limit) {
+        Long timeId = null;
+        Long locationId = null;
+        Long genericId = null;
+        if (page.getTime() != null) {
+            Optional<DimTime> time = dimTimeRepository.findByValue(page.getTime());
+            if (time.isEmpty()) {
+                return List.of();
+            }
+            timeId = time.get().getId();
+        }
+        if (page.getLocation() != null) {
+            Optional<DimLocation> location = dimLocationRepository.findByName(page.getLocation());
+            if (location.isEmpty()) {
+                return List.of();
+            }
+            locationId = location.get().getId();
+        }
+        if (page.getDimension() != null) {
+            Optional<DimGeneric> member = dimGenericRepository.findByDimensionNameAndValue(page.getDimension(), page.getMember());
+            if (member.isEmpty()) {
+                return List.of();
+            }
+            genericId = member.get().getId();
+        }
+        long afterId = page.getAfter() != null ? page.getAfter() : Long.MIN_VALUE;
+        return factIndicatorValueRepository.findPageByIndicatorId(indicatorId, afterId, subareaId,
+            timeId, locationId, genericId, Limit.of(limit));
+    }
+
+    /**
+     * Hand every value of the indicator, or of its facts in one subarea, to {@code sink} in fact id
+     * order. Rows are projected straight from a database cursor without materializing entities, so
+     * memory use stays flat however many values the indicator has.
+     */
+    @Transactional(readOnly = true)
+    public void streamIndicatorValues(Long indicatorId, Long subareaId, Consumer<IndicatorValueRow> sink) {
+        try (Stream<FactValueView> views = subareaId != null
+                ? factIndicatorValueRepository.streamValueViewsByIndicatorIdAndSubareaId(indicatorId, subareaId)
+                : factIndicatorValueRepository.streamValueViewsByIndicatorId(indicatorId)) {
+            FactValueRows.forEach(views.iterator(), sink);
+        }
+    }
+
+    private static IndicatorValueRow toValueRow(FactIndicatorValue fact, List<DimGeneric> generics) {
+        HashMap<String, String> dims = new HashMap<>();
+        if (fact.getTime() != null) dims.put("time", fact.getTime().getValue());
+        if (fact.getLocation() != null) dims.put("location", fact.getLocation().getName());
+        for (DimGeneric g : generics) {
+            if (g.getDimensionName() != null) dims.put(g.getDimensionName(), g.getValue());
+        }
+        return IndicatorValueRow.builder()
+            .factId(fact.getId())
+            .dimensions(dims)
+            .value(fact.getValue())
+            .isEmpty(fact.getValue() == null)
+            .build();
+    }
+
+    @Transactional
     public void updateIndicatorValues(Long indicatorId, List<IndicatorValueUpdate> updates) {
+        factRollupBatchRepository.lockIndicators(List.of(indicatorId));
+        indicatorFactCache.evict(List.of(indicatorId));
+        // Load all affected facts in one query so the updates can be flushed as a JDBC batch
+        List<Long> factIds = updates.stream().map(IndicatorValueUpdate::getFactId).collect(Collectors.toList());
+        Map<Long, FactIndicatorValue> factsById = factIndicatorValueRepository.findAllById(factIds).stream()
+            .collect(Collectors.toMap(FactIndicatorValue::getId, f -> f));
+        Map<Long, List<Long>> genericIds = factRollupBatchRepository.findGenericIds(factsById.keySet());
+        List<FactRollupBatchRepository.Delta> rollupDeltas = new ArrayList<>(updates.size());
         for (IndicatorValueUpdate update : updates) {
-            FactIndicatorValue fact = factIndicatorValueRepository.findById(update.getFactId())
-                .orElseThrow(() -> new ResourceNotFoundException("FactIndicatorValue", "id", update.getFactId()));
+            FactIndicatorValue fact = factsById.get(update.getFactId());
+            if (fact == null) {
+                throw new ResourceNotFoundException("FactIndicatorValue", "id", update.getFactId());
+            }
             // Optionally: validate indicatorId matches
             if (!fact.getIndicator().getId().equals(indicatorId)) {
                 throw new BadRequestException("Fact value does not belong to the specified indicator");
             }
+            rollupDeltas.add(FactRollupBatchRepository.Delta.of(fact, genericIds.getOrDefault(fact.getId(), List.of()),
+                update.getNewValue().subtract(fact.getValue()), 0));
             fact.setValue(update.getNewValue());
-            factIndicatorValueRepository.save(fact);
         }
+        factIndicatorValueRepository.saveAll(factsById.values());
+        factRollupBatchRepository.apply(rollupDeltas);
     }
 
+    @Transactional
     public void createIndicatorValues(Long indicatorId, List<IndicatorValueCreate> newValues) {
         Indicator indicator = indicatorRepository.findById(indicatorId)
             .orElseThrow(() -> new ResourceNotFoundException("Indicator", "id", indicatorId));
         
+        factRollupBatchRepository.lockIndicators(List.of(indicatorId));
+        indicatorFactCache.evict(List.of(indicatorId));
+        dimensionDictionary.verifyCoherence();
+        List<FactIndicatorValue> facts = new ArrayList<>(newValues.size());
         for (IndicatorValueCreate newValue : newValues) {
             FactIndicatorValue fact = new FactIndicatorValue();
             fact.setIndicator(indicator);
@@ -376,27 +416,31 @@ public class IndicatorService {
             // Handle time dimension (reuse if exists)
             if (newValue.getDimensions().containsKey("time")) {
                 String timeValue = newValue.getDimensions().get("time");
-                DimTime time = parseTimeValue(timeValue);
-                fact.setTime(time);
+                if (timeValue != null && !timeValue.trim().isEmpty()) {
+                    Long timeId = dimensionDictionary.resolveTimeId(timeValue, this::parseTimeValue);
+                    fact.setTime(dimTimeRepository.getReferenceById(timeId));
+                }
             }
             
             // Handle location dimension (reuse if exists)
             if (newValue.getDimensions().containsKey("location")) {
                 String locationName = newValue.getDimensions().get("location");
-                DimLocation location = dimLocationRepository.findByName(locationName).orElse(null);
-                if (location == null) {
-                    location = DimLocation.builder().name(locationName).build();
-                    location = dimLocationRepository.save(location);
-                }
-                fact.setLocation(location);
+                Long locationId = dimensionDictionary.resolveLocationId(locationName,
+                    name -> DimLocation.builder().name(name).build());
+                fact.setLocation(dimLocationRepository.getReferenceById(locationId));
             }
             
             // Handle generic dimensions (not yet implemented)
             // ...
             
             fact.setSourceRowHash("manual-" + System.currentTimeMillis() + "-" + Math.random());
-            factIndicatorValueRepository.save(fact);
+            facts.add(fact);
         }
+        // Sequence-generated ids let Hibernate send these inserts as one JDBC batch
+        factIndicatorValueRepository.saveAll(facts);
+        factRollupBatchRepository.apply(facts.stream()
+            .map(fact -> FactRollupBatchRepository.Delta.of(fact, fact.getValue(), 1))
+            .toList());
     }
 
     private Integer extractYear(String timeValue) {
@@ -407,17 +451,11 @@ public class IndicatorService {
         }
     }
 
+    /**
+     * Build a new, unsaved time member from its raw value. Existing members are reused through
+     * the dimension dictionary, which only calls this for values it has not seen.
+     */
     private DimTime parseTimeValue(String timeValue) {
-        if (timeValue == null || timeValue.trim().isEmpty()) {
-            return null;
-        }
-        
-        // Try to find existing time record first
-        Optional<DimTime> existing = dimTimeRepository.findByValue(timeValue);
-        if (existing.isPresent()) {
-            return existing.get();
-        }
-        
         // Parse the time value
         Integer year = null;
         Integer month = null;
@@ -464,15 +502,13 @@ public class IndicatorService {
         }
         
         // Create new time record
-        DimTime dimTime = DimTime.builder()
+        return DimTime.builder()
             .value(timeValue)
             .timeType(timeType)
             .year(year)
             .month(month)
             .day(day)
             .build();
-        
-        return dimTimeRepository.save(dimTime);
     }
 
     public Map<String, Double> getAggregatedByDimension(Long indicatorId, String dimension) {
@@ -519,82 +555,41 @@ public class IndicatorService {
             response.setEndDate(endDate);
             return response;
         }
-        List<FactIndicatorValue> values;
+        IndicatorFactSnapshot snapshot = indicatorFactCache.get(indicatorId);
         List<String> availableDimensions = new ArrayList<>();
+        IndicatorFactSnapshot.Column timestampColumn = snapshot.time();
         if (dimension != null && !dimension.isEmpty()) {
             switch (dimension.toLowerCase()) {
                 case "time":
-                    values = factIndicatorValueRepository.findByIndicatorIdWithTime(indicatorId);
                     availableDimensions.add("time");
                     break;
                 case "location":
-                    values = factIndicatorValueRepository.findByIndicatorIdWithEagerLoading(indicatorId);
+                    timestampColumn = snapshot.location();
                     availableDimensions.add("location");
                     break;
                 default:
-                    values = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
+                    timestampColumn = snapshot.generics().getOrDefault(dimension, IndicatorFactSnapshot.Column.empty(snapshot.size()));
                     availableDimensions.add(dimension);
                     break;
             }
         } else {
-            values = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-            if (values.stream().anyMatch(v -> v.getTime() != null)) {
-                availableDimensions.add("time");
+            availableDimensions.addAll(snapshot.dimensionNames());
+        }
+        List<HistoricalDataPoint> dataPoints = new ArrayList<>(snapshot.size());
+        for (int row = 0; row < snapshot.size(); row++) {
+            HistoricalDataPoint point = new HistoricalDataPoint();
+            Map<String, String> dimensions = new HashMap<>();
+            putIfPresent(dimensions, "time", snapshot.time().valueAt(row));
+            putIfPresent(dimensions, "location", snapshot.location().valueAt(row));
+            for (Map.Entry<String, IndicatorFactSnapshot.Column> generic : snapshot.generics().entrySet()) {
+                putIfPresent(dimensions, generic.getKey(), generic.getValue().valueAt(row));
             }
-            if (values.stream().anyMatch(v -> v.getLocation() != null)) {
-                availableDimensions.add("location");
-            }
-            Set<String> customDims = values.stream()
-                .filter(v -> v.getGenerics() != null)
-                .flatMap(v -> v.getGenerics().stream())
-                .filter(g -> g.getDimensionName() != null)
-                .map(DimGeneric::getDimensionName)
-                .collect(Collectors.toSet());
-            availableDimensions.addAll(customDims);
-        }
-        List<HistoricalDataPoint> dataPoints = values.stream()
-                .map(v -> {
-                    HistoricalDataPoint point = new HistoricalDataPoint();
-                    Map<String, String> dimensions = new HashMap<>();
-                    if (v.getTime() != null) {
-                        dimensions.put("time", v.getTime().getValue());
-                    }
-                    if (v.getLocation() != null) {
-                        dimensions.put("location", v.getLocation().getName());
-                    }
-                    if (v.getGenerics() != null) {
-                        for (DimGeneric generic : v.getGenerics()) {
-                            if (generic.getDimensionName() != null) {
-                                dimensions.put(generic.getDimensionName(), generic.getValue());
-                            }
-                        }
-                    }
-                    if (dimension != null && !dimension.isEmpty()) {
-                        switch (dimension.toLowerCase()) {
-                            case "time":
-                                point.setTimestamp(v.getTime() != null ? v.getTime().getValue() : "Unknown");
-                                break;
-                            case "location":
-                                point.setTimestamp(v.getLocation() != null ? v.getLocation().getName() : "Unknown");
-                                break;
-                            default:
-                                String dimensionValue = v.getGenerics() != null ? 
-                                    v.getGenerics().stream()
-                                        .filter(g -> dimension.equals(g.getDimensionName()))
-                                        .map(DimGeneric::getValue)
-                                        .findFirst()
-                                        .orElse("Unknown") : "Unknown";
-                                point.setTimestamp(dimensionValue);
-                                break;
-                        }
-                    } else {
-                        point.setTimestamp(v.getTime() != null ? v.getTime().getValue() : "Unknown");
-                    }
-                    point.setValue(v.getValue().doubleValue());
-                    point.setDimensions(dimensions);
-                    return point;
-                })
-                .collect(Collectors.toList());
+            String timestamp = timestampColumn.valueAt(row);
+            point.setTimestamp(timestamp != null ? timestamp : "Unknown");
+            point.setValue(snapshot.values()[row]);
+            point.setDimensions(dimensions);
+            dataPoints.add(point);
+        }
         HistoricalDataResponse response = new HistoricalDataResponse();
         response.setIndicatorId(indicatorId);
         response.setDataPoints(dataPoints);
@@ -636,32 +631,42 @@ public class IndicatorService {
         return getIndicatorChart(indicatorId, "time", null);
     }
 
+    @Transactional
     public HistoricalDataResponse createSampleHistoricalData(Long indicatorId) {
         log.info("Creating sample historical data for indicator ID: {}", indicatorId);
-        if (!indicatorRepository.existsById(indicatorId)) {
-            throw new BadRequestException("Indicator not found with ID: " + indicatorId);
-        }
+        Indicator indicator = indicatorRepository.findById(indicatorId)
+            .orElseThrow(() -> new BadRequestException("Indicator not found with ID: " + indicatorId));
         LocalDateTime now = LocalDateTime.now();
-        List<FactIndicatorValue> sampleValues = new ArrayList<>();
-        Random random = new Random();
+        Map<String, LocalDateTime> months = new LinkedHashMap<>();
         for (int i = 11; i >= 0; i--) {
             LocalDateTime date = now.minusMonths(i);
-            DimTime time = DimTime.builder()
-                .value(date.getYear() + "-" + String.format("%02d", date.getMonthValue()))
-                .year(date.getYear())
-                .month(date.getMonthValue())
-                .day(1)
-                .build();
-            time = dimTimeRepository.save(time);
+            months.put(date.getYear() + "-" + String.format("%02d", date.getMonthValue()), date);
+        }
+        // Months already present are reused, the missing ones are inserted in one batch
+        dimensionDictionary.verifyCoherence();
+        Map<String, Long> timeIds = dimensionDictionary.resolveTimeIds(months.keySet(), value -> DimTime.builder()
+            .value(value)
+            .year(months.get(value).getYear())
+            .month(months.get(value).getMonthValue())
+            .day(1)
+            .build());
+        List<FactIndicatorValue> sampleValues = new ArrayList<>();
+        Random random = new Random();
+        for (String month : months.keySet()) {
             double randomValue = 50 + random.nextDouble() * 50;
-            FactIndicatorValue fact = FactIndicatorValue.builder()
-                .indicator(indicatorRepository.findById(indicatorId).get())
+            sampleValues.add(FactIndicatorValue.builder()
+                .indicator(indicator)
                 .value(java.math.BigDecimal.valueOf(randomValue))
-                .time(time)
-                .sourceRowHash("sample-" + indicatorId + "-" + i)
-                .build();
-            sampleValues.add(factIndicatorValueRepository.save(fact));
-        }
+                .time(dimTimeRepository.getReferenceById(timeIds.get(month)))
+                .sourceRowHash("sample-" + UUID.randomUUID())
+                .build());
+        }
+        factRollupBatchRepository.lockIndicators(List.of(indicatorId));
+        indicatorFactCache.evict(List.of(indicatorId));
+        factIndicatorValueRepository.saveAll(sampleValues);
+        factRollupBatchRepository.apply(sampleValues.stream()
+            .map(fact -> FactRollupBatchRepository.Delta.of(fact, fact.getValue(), 1))
+            .toList());
         return getHistoricalData(indicatorId, 12, null);
     }
 
@@ -670,40 +675,31 @@ public class IndicatorService {
             // Validate indicator
             Indicator indicator = indicatorRepository.findById(indicatorId)
                     .orElseThrow(() -> new ResourceNotFoundException("Indicator", "id", indicatorId));
-            List<FactIndicatorValue> values;
+            Map<String, Double> averages;
+            List<String> availableDimensions;
             if (subareaId != null) {
-                values = factIndicatorValueRepository.findBySubareaIdWithEagerLoading(subareaId);
-                values = values.stream().filter(v -> v.getIndicator().getId().equals(indicatorId)).collect(Collectors.toList());
+                // Grouped in the database over the rollup rows of this indicator and subarea only
+                averages = aggregationService.getIndicatorAggregatedByDimension(indicatorId, subareaId, aggregateBy);
+                availableDimensions = factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(indicatorId, subareaId);
             } else {
-                values = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-            }
-            Map<String, List<FactIndicatorValue>> grouped;
-            String aggregationType = aggregateBy.toLowerCase();
-            switch (aggregationType) {
-                case "time":
-                    grouped = values.stream().filter(v -> v.getTime() != null)
-                            .collect(Collectors.groupingBy(v -> v.getTime().getValue()));
-                    break;
-                case "location":
-                    grouped = values.stream().filter(v -> v.getLocation() != null)
-                            .collect(Collectors.groupingBy(v -> v.getLocation().getName()));
-                    break;
-                default:
+                IndicatorFactSnapshot snapshot = indicatorFactCache.get(indicatorId);
+                IndicatorFactSnapshot.Column column = switch (aggregateBy.toLowerCase()) {
+                    case "time" -> snapshot.time();
+                    case "location" -> snapshot.location();
                     // Custom dimension
-                    grouped = values.stream().filter(v -> v.getGenerics() != null && v.getGenerics().stream().anyMatch(g -> g.getDimensionName() != null && g.getDimensionName().equals(aggregateBy)))
-                            .collect(Collectors.groupingBy(v -> v.getGenerics().stream().filter(g -> g.getDimensionName() != null && g.getDimensionName().equals(aggregateBy)).map(DimGeneric::getValue).findFirst().orElse("Unknown")));
-                    break;
+                    default -> snapshot.generics().getOrDefault(aggregateBy, IndicatorFactSnapshot.Column.empty(snapshot.size()));
+                };
+                averages = snapshot.averageBy(column, null);
+                availableDimensions = snapshot.dimensionNames();
             }
-            List<IndicatorChartResponse.ChartDataPoint> dataPoints = grouped.entrySet().stream()
+            List<IndicatorChartResponse.ChartDataPoint> dataPoints = averages.entrySet().stream()
                     .map(entry -> IndicatorChartResponse.ChartDataPoint.builder()
                             .label(entry.getKey())
-                            .value(BigDecimal.valueOf(entry.getValue().stream().mapToDouble(v -> v.getValue().doubleValue()).average().orElse(0.0)))
+                            .value(BigDecimal.valueOf(entry.getValue()))
                             .dimensionValue(entry.getKey())
                             .build())
                     .sorted((a, b) -> a.getLabel().compareToIgnoreCase(b.getLabel()))
                     .collect(Collectors.toList());
-            // Get available dimensions
-            List<String> availableDimensions = factIndicatorValueRepository.findDimensionsByIndicatorId(indicatorId);
             return IndicatorChartResponse.builder()
                     .indicatorId(String.valueOf(indicatorId))
                     .indicatorName(indicator.getName())
@@ -729,56 +725,38 @@ public class IndicatorService {
         return unitString.trim().isEmpty() ? null : unitString.trim();
     }
 
+    private static List<String> memberValues(IndicatorFactSnapshot.Column column) {
+        // Only members some fact still carries end up in the dictionary
+        return new ArrayList<>(Arrays.asList(column.dictionary()));
+    }
+
+    private static void putIfPresent(Map<String, String> dimensions, String dimension, String value) {
+        if (value != null) {
+            dimensions.put(dimension, value);
+        }
+    }
+
     public IndicatorDimensionsResponse getIndicatorDimensions(Long indicatorId) {
         Indicator indicator = indicatorRepository.findById(indicatorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Indicator", "id", indicatorId));
-        List<String> dims = factIndicatorValueRepository.findDimensionsByIndicatorId(indicatorId);
+        IndicatorFactSnapshot snapshot = indicatorFactCache.get(indicatorId);
         List<IndicatorDimensionsResponse.DimensionInfo> dimensionInfos = new ArrayList<>();
         
-        for (String dim : dims) {
-            List<String> values = new ArrayList<>();
+        for (String dim : snapshot.dimensionNames()) {
             switch (dim) {
                 case "time":
-                    // Get all time values for this indicator
-                    List<FactIndicatorValue> timeFacts = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-                    Set<String> timeValues = timeFacts.stream()
-                        .filter(v -> v.getTime() != null)
-                        .map(v -> v.getTime().getValue())
-                        .collect(Collectors.toSet());
-                    values.addAll(timeValues);
-                    
                     dimensionInfos.add(IndicatorDimensionsResponse.DimensionInfo.builder()
-                            .type("time").displayName("Time").values(values).build());
+                            .type("time").displayName("Time").values(memberValues(snapshot.time())).build());
                     break;
                 case "location":
-                    // Get all location values for this indicator
-                    List<FactIndicatorValue> locationFacts = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-                    Set<String> locationValues = locationFacts.stream()
-                        .filter(v -> v.getLocation() != null)
-                        .map(v -> v.getLocation().getName())
-                        .collect(Collectors.toSet());
-                    values.addAll(locationValues);
-                    
                     dimensionInfos.add(IndicatorDimensionsResponse.DimensionInfo.builder()
-                            .type("location").displayName("Location").values(values).build());
+                            .type("location").displayName("Location").values(memberValues(snapshot.location())).build());
                     break;
                 default:
-                    // Custom dimension: get all values from FactIndicatorValue generics
-                    List<FactIndicatorValue> facts = factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId);
-                    Set<String> customValues = new HashSet<>();
-                    for (FactIndicatorValue f : facts) {
-                        if (f.getGenerics() != null) {
-                            for (DimGeneric g : f.getGenerics()) {
-                                if (dim.equals(g.getDimensionName())) {
-                                    customValues.add(g.getValue());
-                                }
-                            }
-                        }
-                    }
-                    values.addAll(customValues);
-                    
+                    // Custom dimension: every value of the generic members linked to the facts
                     dimensionInfos.add(IndicatorDimensionsResponse.DimensionInfo.builder()
-                            .type(dim).displayName(dim.substring(0, 1).toUpperCase() + dim.substring(1)).values(values).build());
+                            .type(dim).displayName(dim.substring(0, 1).toUpperCase() + dim.substring(1))
+                            .values(memberValues(snapshot.generics().get(dim))).build());
                     break;
             }
         }
@@ -788,6 +766,34 @@ public class IndicatorService {
                 .build();
     }
     
+    /**
+     * Dimensions of several indicators in one call, each with its distinct values and the number of
+     * facts carrying every value, in the order of {@code indicatorIds}. Served from
+     * {@link IndicatorFactCache}; the indicators it misses are grouped by one query together.
+     * Unknown indicators and indicators without facts come back without dimensions.
+     */
+    public List<IndicatorDimensionsResponse> getIndicatorDimensions(List<Long> indicatorIds) {
+        if (indicatorIds.size() > MAX_DIMENSION_BATCH) {
+            throw new BadRequestException("At most " + MAX_DIMENSION_BATCH + " indicator ids per request");
+        }
+        List<IndicatorDimensionsResponse> responses = new ArrayList<>(indicatorIds.size());
+        for (IndicatorDimensionValues values : indicatorFactCache.getDimensionValues(indicatorIds).values()) {
+            List<IndicatorDimensionsResponse.DimensionInfo> dimensionInfos = new ArrayList<>();
+            values.factCounts().forEach((dimension, factCounts) -> dimensionInfos.add(IndicatorDimensionsResponse.DimensionInfo.builder()
+                    .type(dimension)
+                    .displayName(dimension.substring(0, 1).toUpperCase() + dimension.substring(1))
+                    .values(new ArrayList<>(factCounts.keySet()))
+                    .valueCount(factCounts.size())
+                    .factCounts(factCounts)
+                    .build()));
+            responses.add(IndicatorDimensionsResponse.builder()
+                    .indicatorId(String.valueOf(values.indicatorId()))
+                    .availableDimensions(dimensionInfos)
+                    .build());
+        }
+        return responses;
+    }
+
     @Transactional(readOnly = true)
     public List<IndicatorSubareaDirectionResponse> getIndicatorSubareaDirections(Long indicatorId) {
         Indicator indicator = indicatorRepository.findById(indicatorId)
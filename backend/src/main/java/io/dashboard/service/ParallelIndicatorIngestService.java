@@ -0,0 +1,178 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.IndicatorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Imports the indicators of a batch request concurrently on the bounded {@code indicatorIngestExecutor}.
+ * <p>
+ * Indicators are independent apart from the dimension members and units they share. Each one is
+ * imported in its own transaction; a worker that loses the race to create a shared member violates
+ * its unique constraint, is rolled back and retried up to {@code data.processing.error-handling.max-retries}
+ * times, by which point the winner's row is committed and simply looked up. Retrying is safe because
+ * facts are upserted on their natural key.
+ * <p>
+ * Indicators sharing a name are imported one after the other by the same worker. The response lists
+ * indicators and warnings in request order regardless of which worker finishes first.
+ * <p>
+ * An indicator that still fails is rolled back on its own while the others commit. The request then
+ * ends with an {@link IncompleteImportException} carrying what was written, so a chunked import does
+ * not checkpoint past the lost rows.
+ */
+@Service
+@Slf4j
+public class ParallelIndicatorIngestService {
+
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final IndicatorBatchService indicatorBatchService;
+    private final DimensionDictionary dimensionDictionary;
+    private final TaskExecutor indicatorIngestExecutor;
+    private final int maxRetries;
+
+    public ParallelIndicatorIngestService(IndicatorBatchService indicatorBatchService,
+                                          DimensionDictionary dimensionDictionary,
+                                          @Qualifier("indicatorIngestExecutor") TaskExecutor indicatorIngestExecutor,
+                                          @Value("${data.processing.error-handling.max-retries:3}") int maxRetries) {
+        this.indicatorBatchService = indicatorBatchService;
+        this.dimensionDictionary = dimensionDictionary;
+        this.indicatorIngestExecutor = indicatorIngestExecutor;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Import the request with one transaction per indicator. Must not be called inside a transaction
+     * whose uncommitted rows the workers would need to see.
+     *
+     * @throws IncompleteImportException if any indicator failed, once every worker has finished
+     */
+    public IndicatorBatchResponse createFromCsvData(IndicatorBatchRequest request) {
+        long startNanos = System.nanoTime();
+        dimensionDictionary.verifyCoherence();
+
+        Map<String, List<CsvIndicatorData>> byName = new LinkedHashMap<>();
+        for (CsvIndicatorData indicator : request.getIndicators()) {
+            byName.computeIfAbsent(indicator.getName(), name -> new ArrayList<>()).add(indicator);
+        }
+        List<CompletableFuture<List<Outcome>>> workers = new ArrayList<>(byName.size());
+        for (List<CsvIndicatorData> group : byName.values()) {
+            workers.add(CompletableFuture.supplyAsync(() -> importGroup(group), indicatorIngestExecutor));
+        }
+
+        List<IndicatorResponse> createdIndicators = new ArrayList<>();
+        Set<Long> seenIds = new HashSet<>();
+        List<String> warnings = new ArrayList<>();
+        int totalFactRecords = 0;
+        int failedIndicators = 0;
+        for (CompletableFuture<List<Outcome>> worker : workers) {
+            for (Outcome outcome : worker.join()) {
+                IndicatorBatchResponse result = outcome.result();
+                if (outcome.failed()) {
+                    failedIndicators++;
+                }
+                totalFactRecords += result.getTotalFactRecords();
+                warnings.addAll(result.getWarnings());
+                for (IndicatorResponse indicator : result.getCreatedIndicators()) {
+                    if (seenIds.add(indicator.getId())) {
+                        createdIndicators.add(indicator);
+                    }
+                }
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        log.info("Imported {} fact records of {} indicators in parallel in {} ms",
+            totalFactRecords, request.getIndicators().size(), elapsedNanos / 1_000_000);
+
+        IndicatorBatchResponse response = IndicatorBatchResponse.builder()
+            .createdIndicators(createdIndicators)
+            .totalFactRecords(totalFactRecords)
+            .warnings(warnings)
+            .message("Successfully processed " + createdIndicators.size() + " indicators")
+            .durationMs(elapsedNanos / 1_000_000)
+            .rowsPerSecond(elapsedNanos > 0 ? totalFactRecords / (elapsedNanos / 1_000_000_000.0) : null)
+            .build();
+        if (failedIndicators > 0) {
+            throw new IncompleteImportException(failedIndicators, response);
+        }
+        return response;
+    }
+
+    private List<Outcome> importGroup(List<CsvIndicatorData> group) {
+        List<Outcome> results = new ArrayList<>(group.size());
+        for (CsvIndicatorData indicator : group) {
+            results.add(importWithRetry(indicator));
+        }
+        return results;
+    }
+
+    private Outcome importWithRetry(CsvIndicatorData indicator) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return new Outcome(indicatorBatchService.createIndicatorFromCsvData(indicator), false);
+            } catch (RuntimeException e) {
+                if (attempt <= maxRetries && isUniqueViolation(e)) {
+                    log.debug("Indicator '{}' conflicted with a concurrent import, retrying (attempt {})",
+                        indicator.getName(), attempt);
+                    continue;
+                }
+                log.error("Failed to process indicator: {}", indicator.getName(), e);
+                return new Outcome(IndicatorBatchResponse.builder()
+                    .createdIndicators(List.of())
+                    .totalFactRecords(0)
+                    .warnings(List.of("Failed to process indicator '" + indicator.getName() + "': " + e.getMessage()))
+                    .build(), true);
+            }
+        }
+    }
+
+    static boolean isUniqueViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Outcome(IndicatorBatchResponse result, boolean failed) {
+    }
+
+    /**
+     * Thrown once every worker has finished if at least one indicator was rolled back. The indicators
+     * that did commit are listed in {@link #getPartialResult()}, the failures in its warnings.
+     */
+    public static final class IncompleteImportException extends RuntimeException {
+
+        private final transient IndicatorBatchResponse partialResult;
+
+        IncompleteImportException(int failedIndicators, IndicatorBatchResponse partialResult) {
+            super(failedIndicators + " of the indicators failed and were rolled back");
+            this.partialResult = partialResult;
+        }
+
+        public IndicatorBatchResponse getPartialResult() {
+            return partialResult;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.dashboard.service;
+
+import io.dashboard.model.DataType;
+import io.dashboard.model.Unit;
+import io.dashboard.repository.DataTypeRepository;
+import io.dashboard.repository.UnitRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * In-memory copy of the DataType and Unit reference tables for lookups by name and code.
+ * <p>
+ * Both tables are small and change rarely, so they are loaded once and replaced as a whole by
+ * {@link #refresh()}. DataTypeService and UnitService refresh the registry after every committed
+ * change. Lookups are case-insensitive; an exact match wins over one differing only in case.
+ * <p>
+ * The returned entities are detached and shared between threads. They may be assigned to
+ * associations but must not be modified.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataRegistry {
+
+    private final DataTypeRepository dataTypeRepository;
+    private final UnitRepository unitRepository;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    public Optional<DataType> findDataType(String name) {
+        return current().dataTypes.find(name);
+    }
+
+    public Optional<Unit> findUnit(String code) {
+        return current().units.find(code);
+    }
+
+    /**
+     * Reload both tables now.
+     */
+    public synchronized void refresh() {
+        List<DataType> dataTypes = dataTypeRepository.findAll();
+        List<Unit> units = unitRepository.findAll();
+        snapshot = new Snapshot(Lookup.of(dataTypes, DataType::getName), Lookup.of(units, Unit::getCode));
+        log.debug("Loaded {} data types and {} units", dataTypes.size(), units.size());
+    }
+
+    /**
+     * Reload once the current transaction commits, or right away outside a transaction. Changes that
+     * are rolled back never reach the registry.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    private Snapshot current() {
+        Snapshot loaded = snapshot;
+        if (loaded == null) {
+            refresh();
+            loaded = snapshot;
+        }
+        return loaded;
+    }
+
+    private record Snapshot(Lookup<DataType> dataTypes, Lookup<Unit> units) {
+    }
+
+    private record Lookup<T>(Map<String, T> exact, Map<String, T> ignoringCase) {
+
+        static <T> Lookup<T> of(List<T> entries, Function<T, String> key) {
+            Map<String, T> exact = new HashMap<>();
+            Map<String, T> ignoringCase = new HashMap<>();
+            for (T entry : entries) {
+                String name = key.apply(entry);
+                if (name != null) {
+                    exact.put(name, entry);
+                    ignoringCase.putIfAbsent(name.toLowerCase(Locale.ROOT), entry);
+                }
+            }
+            return new Lookup<>(Map.copyOf(exact), Map.copyOf(ignoringCase));
+        }
+
+        Optional<T> find(String name) {
+            if (name == null) {
+                return Optional.empty();
+            }
+            T match = exact.get(name);
+            return Optional.ofNullable(match != null ? match : ignoringCase.get(name.trim().toLowerCase(Locale.ROOT)));
+        }
+    }
+}
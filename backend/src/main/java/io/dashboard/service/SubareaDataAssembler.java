@@ -0,0 +1,156 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorValueRow;
+import io.dashboard.dto.SubareaDataResponse;
+import io.dashboard.dto.SubareaResponse;
+import io.dashboard.model.Indicator;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.IndicatorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Loads everything {@code GET /subareas/{id}/data} reports on in two queries: the value rows of all
+ * facts in the subarea, as one projection, and the indicators they belong to. Indicator summaries and
+ * every response section are then derived in memory by {@link SubareaFacts}, so the number of
+ * statements does not grow with the number of indicators or dimensions.
+ * <p>
+ * The sections are independent of each other and computed concurrently on the
+ * {@code subareaSectionExecutor}, each with its own deadline. A section that fails or misses its
+ * deadline is left out and reported in the response's errors under its name.
+ */
+@Service
+@Slf4j
+public class SubareaDataAssembler {
+
+    static final List<Section<?>> SECTIONS = List.of(
+        new Section<>("indicators", SubareaFacts::indicators, SubareaDataResponse.SubareaDataResponseBuilder::indicators),
+        new Section<>("aggregatedData", SubareaFacts::aggregatedData, SubareaDataResponse.SubareaDataResponseBuilder::aggregatedData),
+        new Section<>("dimensionMetadata", SubareaFacts::dimensionMetadata, SubareaDataResponse.SubareaDataResponseBuilder::dimensionMetadata),
+        new Section<>("timeSeriesData", SubareaFacts::timeSeriesData, SubareaDataResponse.SubareaDataResponseBuilder::timeSeriesData),
+        new Section<>("indicatorTimeSeriesData", SubareaFacts::indicatorTimeSeriesData,
+            SubareaDataResponse.SubareaDataResponseBuilder::indicatorTimeSeriesData),
+        new Section<>("indicatorDimensionData", SubareaFacts::indicatorDimensionData,
+            SubareaDataResponse.SubareaDataResponseBuilder::indicatorDimensionData));
+
+    private final FactIndicatorValueRepository factIndicatorValueRepository;
+    private final IndicatorRepository indicatorRepository;
+    private final AsyncTaskExecutor subareaSectionExecutor;
+    private final Duration sectionTimeout;
+
+    public SubareaDataAssembler(FactIndicatorValueRepository factIndicatorValueRepository,
+                                IndicatorRepository indicatorRepository,
+                                @Qualifier("subareaSectionExecutor") AsyncTaskExecutor subareaSectionExecutor,
+                                @Value("${app.subarea-data.section-timeout-ms:5000}") long sectionTimeoutMillis) {
+        this.factIndicatorValueRepository = factIndicatorValueRepository;
+        this.indicatorRepository = indicatorRepository;
+        this.subareaSectionExecutor = subareaSectionExecutor;
+        this.sectionTimeout = Duration.ofMillis(sectionTimeoutMillis);
+    }
+
+    /**
+     * One section of the response: how to compute it from the facts and where it goes in the builder.
+     */
+    record Section<T>(String name, Function<SubareaFacts, T> compute,
+                      BiConsumer<SubareaDataResponse.SubareaDataResponseBuilder, T> apply) {
+    }
+
+    SubareaFacts load(SubareaResponse subarea) {
+        Map<Long, List<IndicatorValueRow>> rowsByIndicator = new LinkedHashMap<>();
+        Map<Long, IndicatorFactSummary.Accumulator> summaries = new HashMap<>();
+        FactValueRows.forEachWithView(factIndicatorValueRepository.findValueViewsBySubareaId(subarea.getId()).iterator(),
+            (view, row) -> {
+                rowsByIndicator.computeIfAbsent(view.getIndicatorId(), id -> new ArrayList<>()).add(row);
+                IndicatorFactSummary.Accumulator summary =
+                    summaries.computeIfAbsent(view.getIndicatorId(), id -> new IndicatorFactSummary.Accumulator());
+                summary.add(subarea.getId(), subarea.getName(), view.getDirection(), 1,
+                    view.getTimeValue() != null, view.getLocationName() != null);
+                for (String dimension : row.getDimensions().keySet()) {
+                    if (!SubareaFacts.TIME.equals(dimension) && !SubareaFacts.LOCATION.equals(dimension)) {
+                        summary.addGenericDimension(dimension);
+                    }
+                }
+            });
+        if (rowsByIndicator.isEmpty()) {
+            return new SubareaFacts(List.of());
+        }
+
+        List<SubareaFacts.IndicatorFacts> indicators = new ArrayList<>(rowsByIndicator.size());
+        for (Indicator indicator : indicatorRepository.findAllWithUnitAndDataTypeByIdIn(rowsByIndicator.keySet())) {
+            indicators.add(new SubareaFacts.IndicatorFacts(
+                IndicatorService.toResponse(indicator, summaries.get(indicator.getId()).toSummary()),
+                rowsByIndicator.get(indicator.getId())));
+        }
+        return new SubareaFacts(indicators);
+    }
+
+    /**
+     * Compute every section from {@code facts} and put it into {@code builder}, recording the
+     * sections that failed or timed out in {@code errors}. The builder is only touched on the
+     * calling thread.
+     */
+    void assemble(SubareaFacts facts, SubareaDataResponse.SubareaDataResponseBuilder builder, Map<String, String> errors) {
+        List<Future<?>> futures = new ArrayList<>(SECTIONS.size());
+        List<Long> deadlines = new ArrayList<>(SECTIONS.size());
+        for (Section<?> section : SECTIONS) {
+            futures.add(submit(section, facts));
+            deadlines.add(System.nanoTime() + sectionTimeout.toNanos());
+        }
+        for (int i = 0; i < SECTIONS.size(); i++) {
+            collect(SECTIONS.get(i), futures.get(i), deadlines.get(i), builder, errors);
+        }
+    }
+
+    private <T> Future<T> submit(Section<T> section, SubareaFacts facts) {
+        try {
+            return subareaSectionExecutor.submit(() -> section.compute().apply(facts));
+        } catch (TaskRejectedException e) {
+            // Every worker is busy and the queue is full: compute on the request thread
+            log.debug("Section executor saturated, computing {} inline", section.name());
+            try {
+                return CompletableFuture.completedFuture(section.compute().apply(facts));
+            } catch (RuntimeException failure) {
+                return CompletableFuture.failedFuture(failure);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void collect(Section<T> section, Future<?> future, long deadline,
+                             SubareaDataResponse.SubareaDataResponseBuilder builder, Map<String, String> errors) {
+        try {
+            T value = (T) future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            section.apply().accept(builder, value);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Section {} exceeded its {} ms deadline", section.name(), sectionTimeout.toMillis());
+            errors.put(section.name(), "Timed out after " + sectionTimeout.toMillis() + " ms");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Error computing section {}: {}", section.name(), cause.getMessage());
+            errors.put(section.name(), cause.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            errors.put(section.name(), "Interrupted");
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorDimensionsResponse;
+import io.dashboard.dto.IndicatorResponse;
+import io.dashboard.dto.IndicatorValueRow;
+import io.dashboard.util.GroupIndex;
+import io.dashboard.util.GroupedStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The facts of one subarea, loaded once by {@link SubareaDataAssembler}, and the sections of
+ * {@code SubareaDataResponse} computed from them in memory. Immutable once built, so sections may be
+ * computed from any thread.
+ */
+final class SubareaFacts {
+
+    static final String TIME = "time";
+    static final String LOCATION = "location";
+
+    private final List<IndicatorFacts> indicators;
+
+    SubareaFacts(List<IndicatorFacts> indicators) {
+        this.indicators = indicators;
+    }
+
+    /**
+     * One indicator of the subarea with its response and the value rows of its facts in the subarea.
+     */
+    record IndicatorFacts(IndicatorResponse response, List<IndicatorValueRow> rows) {
+    }
+
+    /** The subarea's indicators, ordered by id. */
+    List<IndicatorResponse> indicators() {
+        List<IndicatorResponse> responses = new ArrayList<>(indicators.size());
+        for (IndicatorFacts indicator : indicators) {
+            responses.add(indicator.response());
+        }
+        return responses;
+    }
+
+    /**
+     * Aggregates per member of every dimension present: for time and location, the sum over the
+     * indicators of each indicator's average; for a custom dimension, the average over all facts
+     * carrying the member. Same results as {@code AggregationService.getSubareaAggregatedByDimension}.
+     */
+    Map<String, Map<String, Double>> aggregatedData() {
+        boolean time = false;
+        boolean location = false;
+        Set<String> custom = new LinkedHashSet<>();
+        for (IndicatorFacts indicator : indicators) {
+            for (IndicatorValueRow row : indicator.rows()) {
+                for (String dimension : row.getDimensions().keySet()) {
+                    switch (dimension) {
+                        case TIME -> time = true;
+                        case LOCATION -> location = true;
+                        default -> custom.add(dimension);
+                    }
+                }
+            }
+        }
+
+        Map<String, Map<String, Double>> aggregated = new LinkedHashMap<>();
+        if (time) aggregated.put(TIME, sumOfIndicatorAverages(TIME));
+        if (location) aggregated.put(LOCATION, sumOfIndicatorAverages(LOCATION));
+        for (String dimension : custom) {
+            aggregated.put(dimension, pooledAverages(dimension));
+        }
+        return aggregated;
+    }
+
+    /** Members of each dimension per indicator, keyed by indicator id, in order of first appearance. */
+    Map<String, IndicatorDimensionsResponse> dimensionMetadata() {
+        Map<String, IndicatorDimensionsResponse> metadata = new LinkedHashMap<>();
+        for (IndicatorFacts indicator : indicators) {
+            List<IndicatorDimensionsResponse.DimensionInfo> dimensionInfos = new ArrayList<>();
+            for (String dimension : dimensionsOf(indicator)) {
+                Set<String> values = new LinkedHashSet<>();
+                for (IndicatorValueRow row : indicator.rows()) {
+                    String value = row.getDimensions().get(dimension);
+                    if (value != null) {
+                        values.add(value);
+                    }
+                }
+                dimensionInfos.add(IndicatorDimensionsResponse.DimensionInfo.builder()
+                    .type(dimension)
+                    .displayName(dimension.substring(0, 1).toUpperCase() + dimension.substring(1))
+                    .values(new ArrayList<>(values))
+                    .build());
+            }
+            metadata.put(indicator.response().getId().toString(), IndicatorDimensionsResponse.builder()
+                .indicatorId(indicator.response().getId().toString())
+                .availableDimensions(dimensionInfos)
+                .build());
+        }
+        return metadata;
+    }
+
+    /**
+     * Values of all indicators with a time dimension per time member, in the format
+     * [{ year: string, indicators: { [indicatorName]: value } }], sorted by year.
+     */
+    List<Map<String, Object>> timeSeriesData() {
+        Map<String, Map<String, Double>> indicatorTimeData = new HashMap<>();
+        Set<String> allYears = new TreeSet<>();
+        for (IndicatorFacts indicator : indicators) {
+            if (!dimensionsOf(indicator).contains(TIME)) {
+                continue;
+            }
+            Map<String, Double> timeData = new HashMap<>();
+            for (IndicatorValueRow row : indicator.rows()) {
+                String year = row.getDimensions().get(TIME);
+                if (year != null && row.getValue() != null) {
+                    allYears.add(year);
+                    timeData.put(year, row.getValue().doubleValue());
+                }
+            }
+            if (!timeData.isEmpty()) {
+                indicatorTimeData.put(indicator.response().getName(), timeData);
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (indicatorTimeData.isEmpty()) {
+            return result;
+        }
+        for (String year : allYears) {
+            Map<String, Double> indicatorsData = new HashMap<>();
+            indicatorTimeData.forEach((indicatorName, timeData) -> {
+                Double value = timeData.get(year);
+                if (value != null) {
+                    indicatorsData.put(indicatorName, value);
+                }
+            });
+            Map<String, Object> yearData = new HashMap<>();
+            yearData.put("year", year);
+            yearData.put("indicators", indicatorsData);
+            result.add(yearData);
+        }
+        return result;
+    }
+
+    /**
+     * Time series of each indicator with a time dimension, in the format
+     * { [indicatorId]: [{ year: string, value: number }] }, sorted by year.
+     */
+    Map<String, List<Map<String, Object>>> indicatorTimeSeriesData() {
+        Map<String, List<Map<String, Object>>> result = new HashMap<>();
+        for (IndicatorFacts indicator : indicators) {
+            if (!dimensionsOf(indicator).contains(TIME)) {
+                continue;
+            }
+            List<Map<String, Object>> timeSeries = new ArrayList<>();
+            for (IndicatorValueRow row : indicator.rows()) {
+                String year = row.getDimensions().get(TIME);
+                if (year != null && row.getValue() != null) {
+                    Map<String, Object> dataPoint = new HashMap<>();
+                    dataPoint.put("year", year);
+                    dataPoint.put("value", row.getValue().doubleValue());
+                    timeSeries.add(dataPoint);
+                }
+            }
+            timeSeries.sort(Comparator.comparing(point -> (String) point.get("year")));
+            result.put(indicator.response().getId().toString(), timeSeries);
+        }
+        return result;
+    }
+
+    /**
+     * Values of each indicator per member of each of its dimensions, in the format
+     * { [indicatorId]: { [dimension]: [{ dimensionValue: string, allDimensions: {...}, value: number }] } },
+     * members sorted numerically when both parse as numbers and as text otherwise.
+     */
+    Map<String, Map<String, List<Map<String, Object>>>> indicatorDimensionData() {
+        Map<String, Map<String, List<Map<String, Object>>>> result = new HashMap<>();
+        for (IndicatorFacts indicator : indicators) {
+            List<String> dimensions = dimensionsOf(indicator);
+            Map<String, List<Map<String, Object>>> dimensionData = new HashMap<>();
+            for (String dimension : dimensions) {
+                List<Map<String, Object>> dimensionSeries = new ArrayList<>();
+                for (IndicatorValueRow row : indicator.rows()) {
+                    String dimensionValue = row.getDimensions().get(dimension);
+                    if (dimensionValue == null || row.getValue() == null) {
+                        continue;
+                    }
+                    Map<String, String> allDimensions = new HashMap<>();
+                    for (String other : dimensions) {
+                        String otherValue = row.getDimensions().get(other);
+                        if (otherValue != null) {
+                            allDimensions.put(other, otherValue);
+                        }
+                    }
+                    Map<String, Object> dataPoint = new HashMap<>();
+                    dataPoint.put("dimensionValue", dimensionValue);
+                    dataPoint.put("value", row.getValue().doubleValue());
+                    dataPoint.put("allDimensions", allDimensions);
+                    dimensionSeries.add(dataPoint);
+                }
+                dimensionSeries.sort((a, b) -> compareMembers((String) a.get("dimensionValue"), (String) b.get("dimensionValue")));
+                if (!dimensionSeries.isEmpty()) {
+                    dimensionData.put(dimension, dimensionSeries);
+                }
+            }
+            if (!dimensionData.isEmpty()) {
+                result.put(indicator.response().getId().toString(), dimensionData);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> dimensionsOf(IndicatorFacts indicator) {
+        List<String> dimensions = indicator.response().getDimensions();
+        return dimensions != null ? dimensions : List.of();
+    }
+
+    private static int compareMembers(String a, String b) {
+        try {
+            return Double.compare(Double.parseDouble(a), Double.parseDouble(b));
+        } catch (NumberFormatException e) {
+            return a.compareTo(b);
+        }
+    }
+
+    private Map<String, Double> sumOfIndicatorAverages(String dimension) {
+        GroupIndex<String> members = new GroupIndex<>();
+        GroupedStats totals = new GroupedStats();
+        for (IndicatorFacts indicator : indicators) {
+            GroupIndex<String> indicatorMembers = new GroupIndex<>();
+            GroupedStats averages = new GroupedStats();
+            for (IndicatorValueRow row : indicator.rows()) {
+                String member = row.getDimensions().get(dimension);
+                if (member != null && row.getValue() != null) {
+                    averages.add(indicatorMembers.codeOf(member), row.getValue().doubleValue());
+                }
+            }
+            for (int code = 0; code < indicatorMembers.size(); code++) {
+                totals.add(members.codeOf(indicatorMembers.keyAt(code)), averages.mean(code));
+            }
+        }
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < members.size(); code++) {
+            result.put(members.keyAt(code), totals.sum(code));
+        }
+        return result;
+    }
+
+    // Custom dimension names are matched ignoring case, as the rollup queries do
+    private Map<String, Double> pooledAverages(String dimension) {
+        GroupIndex<String> members = new GroupIndex<>();
+        GroupedStats stats = new GroupedStats();
+        for (IndicatorFacts indicator : indicators) {
+            for (IndicatorValueRow row : indicator.rows()) {
+                if (row.getValue() == null) {
+                    continue;
+                }
+                for (Map.Entry<String, String> entry : row.getDimensions().entrySet()) {
+                    if (entry.getKey().equalsIgnoreCase(dimension) && entry.getValue() != null) {
+                        stats.add(members.codeOf(entry.getValue()), row.getValue().doubleValue());
+                    }
+                }
+            }
+        }
+        Map<String, Double> result = new HashMap<>();
+        for (int code = 0; code < members.size(); code++) {
+            result.put(members.keyAt(code), stats.mean(code));
+        }
+        return result;
+    }
+}
@@ -19,6 +19,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UnitService {
     private final UnitRepository unitRepository;
+    private final ReferenceDataRegistry referenceDataRegistry;
 
     @Transactional(readOnly = true)
     public List<UnitResponse> findAll() {
@@ -50,6 +51,7 @@ public class UnitService {
         unit.setCode(request.getCode());
         unit.setDescription(request.getDescription());
         Unit saved = unitRepository.save(unit);
+        referenceDataRegistry.refreshAfterCommit();
         return toResponse(saved);
     }
 
@@ -59,6 +61,7 @@ public class UnitService {
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id));
         unit.setDescription(request.getDescription());
         Unit saved = unitRepository.save(unit);
+        referenceDataRegistry.refreshAfterCommit();
         return toResponse(saved);
     }
 
@@ -67,6 +70,7 @@ public class UnitService {
         Unit unit = unitRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Unit", "id", id));
         unitRepository.delete(unit);
+        referenceDataRegistry.refreshAfterCommit();
     }
 
     private UnitResponse toResponse(Unit unit) {
@@ -0,0 +1,47 @@
+package io.dashboard.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense group codes for object keys such as labels, in order of first appearance, for use with
+ * {@link GroupedStats}. Only the first occurrence of a key allocates; the values themselves are
+ * accumulated in primitive arrays instead of one list per group.
+ * <p>
+ * Not thread-safe; use one instance per computation.
+ */
+public final class GroupIndex<K> {
+
+    private final Map<K, Integer> codes = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+
+    /**
+     * Code of the key, assigning the next free code on its first appearance.
+     */
+    public int codeOf(K key) {
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = keys.size();
+            codes.put(key, code);
+            keys.add(key);
+        }
+        return code;
+    }
+
+    public K keyAt(int code) {
+        return keys.get(code);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * All keys, indexed by their code.
+     */
+    public List<K> keys() {
+        return keys;
+    }
+}
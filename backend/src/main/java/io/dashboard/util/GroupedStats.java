@@ -0,0 +1,118 @@
+package io.dashboard.util;
+
+import java.util.Arrays;
+
+/**
+ * {@link ValueStats} for many groups at once, kept in parallel primitive arrays indexed by a dense
+ * group code (0, 1, 2, ...). Codes usually come from a dictionary column, a {@link LongGroupIndex}
+ * or a {@link GroupIndex}; the arrays grow as higher codes are seen.
+ * <p>
+ * Not thread-safe; use one instance per computation.
+ */
+public final class GroupedStats {
+
+    private long[] counts;
+    private double[] sums;
+    private double[] compensations;
+    private double[] mins;
+    private double[] maxs;
+    private int groups;
+
+    public GroupedStats() {
+        this(16);
+    }
+
+    public GroupedStats(int expectedGroups) {
+        int capacity = Math.max(expectedGroups, 1);
+        counts = new long[capacity];
+        sums = new double[capacity];
+        compensations = new double[capacity];
+        mins = new double[capacity];
+        maxs = new double[capacity];
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+    }
+
+    public void add(int group, double value) {
+        ensureGroup(group);
+        addToSum(group, value);
+        counts[group]++;
+        if (value < mins[group]) {
+            mins[group] = value;
+        }
+        if (value > maxs[group]) {
+            maxs[group] = value;
+        }
+    }
+
+    /**
+     * Add a partial result of {@code count} values summing to {@code sum} to the group. Its minimum
+     * and maximum are left unchanged.
+     */
+    public void addPartial(int group, double sum, long count) {
+        ensureGroup(group);
+        addToSum(group, sum);
+        counts[group] += count;
+    }
+
+    private void addToSum(int group, double value) {
+        double y = value - compensations[group];
+        double t = sums[group] + y;
+        compensations[group] = (t - sums[group]) - y;
+        sums[group] = t;
+    }
+
+    private void ensureGroup(int group) {
+        if (group >= counts.length) {
+            int from = counts.length;
+            int capacity = Math.max(group + 1, from * 2);
+            counts = Arrays.copyOf(counts, capacity);
+            sums = Arrays.copyOf(sums, capacity);
+            compensations = Arrays.copyOf(compensations, capacity);
+            mins = Arrays.copyOf(mins, capacity);
+            maxs = Arrays.copyOf(maxs, capacity);
+            Arrays.fill(mins, from, capacity, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, from, capacity, Double.NEGATIVE_INFINITY);
+        }
+        if (group >= groups) {
+            groups = group + 1;
+        }
+    }
+
+    /**
+     * One more than the highest group code added so far; codes below it may still be empty.
+     */
+    public int groups() {
+        return groups;
+    }
+
+    public long count(int group) {
+        return group < groups ? counts[group] : 0;
+    }
+
+    public double sum(int group) {
+        return group < groups ? sums[group] : 0.0;
+    }
+
+    /**
+     * Mean of the group, or {@code 0.0} when it has no values.
+     */
+    public double mean(int group) {
+        long count = count(group);
+        return count == 0 ? 0.0 : sums[group] / count;
+    }
+
+    /**
+     * Smallest value of the group, or {@code NaN} when there is none.
+     */
+    public double min(int group) {
+        return group < groups && mins[group] != Double.POSITIVE_INFINITY ? mins[group] : Double.NaN;
+    }
+
+    /**
+     * Largest value of the group, or {@code NaN} when there is none.
+     */
+    public double max(int group) {
+        return group < groups && maxs[group] != Double.NEGATIVE_INFINITY ? maxs[group] : Double.NaN;
+    }
+}
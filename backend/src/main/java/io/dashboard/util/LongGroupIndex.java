@@ -0,0 +1,95 @@
+package io.dashboard.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from {@code long} keys (typically entity ids) to dense group codes in order of
+ * first appearance, for use with {@link GroupedStats}. Unlike a {@code HashMap<Long, ...>} no key or
+ * entry object is allocated per lookup.
+ * <p>
+ * Not thread-safe; use one instance per computation.
+ */
+public final class LongGroupIndex {
+
+    private static final int FREE = -1;
+
+    private long[] slotKeys;
+    private int[] slotCodes;
+    private long[] keys;
+    private int size;
+
+    public LongGroupIndex() {
+        this(16);
+    }
+
+    public LongGroupIndex(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(expectedKeys, 4) * 2 - 1) << 1;
+        slotKeys = new long[capacity];
+        slotCodes = new int[capacity];
+        Arrays.fill(slotCodes, FREE);
+        keys = new long[Math.max(expectedKeys, 4)];
+    }
+
+    /**
+     * Code of the key, assigning the next free code on its first appearance.
+     */
+    public int codeOf(long key) {
+        int slot = slot(key, slotKeys, slotCodes);
+        if (slotCodes[slot] != FREE) {
+            return slotCodes[slot];
+        }
+        int code = size++;
+        if (code == keys.length) {
+            keys = Arrays.copyOf(keys, code * 2);
+        }
+        keys[code] = key;
+        slotKeys[slot] = key;
+        slotCodes[slot] = code;
+        if (size * 2 > slotKeys.length) {
+            rehash();
+        }
+        return code;
+    }
+
+    /**
+     * Code of the key, or {@code -1} when it has not been seen.
+     */
+    public int find(long key) {
+        return slotCodes[slot(key, slotKeys, slotCodes)];
+    }
+
+    public long keyAt(int code) {
+        return keys[code];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int slot(long key, long[] slotKeys, int[] slotCodes) {
+        int mask = slotKeys.length - 1;
+        int slot = mix(key) & mask;
+        while (slotCodes[slot] != FREE && slotKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void rehash() {
+        long[] newKeys = new long[slotKeys.length * 2];
+        int[] newCodes = new int[slotKeys.length * 2];
+        Arrays.fill(newCodes, FREE);
+        for (int code = 0; code < size; code++) {
+            int slot = slot(keys[code], newKeys, newCodes);
+            newKeys[slot] = keys[code];
+            newCodes[slot] = code;
+        }
+        slotKeys = newKeys;
+        slotCodes = newCodes;
+    }
+}
@@ -0,0 +1,85 @@
+package io.dashboard.util;
+
+/**
+ * Count, sum, minimum, maximum and mean of a stream of doubles without boxing. The sum is
+ * Kahan-compensated, so adding many values of different magnitude loses no more precision than
+ * {@link java.util.stream.DoubleStream#sum()}.
+ * <p>
+ * Not thread-safe; use one instance per computation.
+ */
+public final class ValueStats {
+
+    private long count;
+    private double sum;
+    private double compensation;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public static ValueStats of(double[] values) {
+        return of(values, 0, values.length);
+    }
+
+    public static ValueStats of(double[] values, int from, int to) {
+        ValueStats stats = new ValueStats();
+        for (int i = from; i < to; i++) {
+            stats.add(values[i]);
+        }
+        return stats;
+    }
+
+    public void add(double value) {
+        addToSum(value);
+        count++;
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * Add a partial result of {@code count} values summing to {@code sum}, e.g. a database
+     * aggregate. Minimum and maximum are left unchanged.
+     */
+    public void addPartial(double sum, long count) {
+        addToSum(sum);
+        this.count += count;
+    }
+
+    private void addToSum(double value) {
+        double y = value - compensation;
+        double t = sum + y;
+        compensation = (t - sum) - y;
+        sum = t;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * Mean of the values, or {@code 0.0} when there are none.
+     */
+    public double mean() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Smallest value added with {@link #add}, or {@code NaN} when there is none.
+     */
+    public double min() {
+        return min == Double.POSITIVE_INFINITY ? Double.NaN : min;
+    }
+
+    /**
+     * Largest value added with {@link #add}, or {@code NaN} when there is none.
+     */
+    public double max() {
+        return max == Double.NEGATIVE_INFINITY ? Double.NaN : max;
+    }
+}
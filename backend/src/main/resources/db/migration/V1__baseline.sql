@@ -0,0 +1,309 @@
+-- Baseline schema, equivalent to what Hibernate generated from the entities with ddl-auto: create
+-- plus the upgrade scripts in db/scripts, written out so the schema can be versioned and validated.
+-- A database that was created by Hibernate and brought up to date with those scripts is adopted at
+-- this version by baseline-on-migrate instead of running it.
+-- Column types follow the entity mappings exactly; spring.jpa.hibernate.ddl-auto=validate checks them
+-- at startup.
+
+-- Reference data
+
+CREATE TABLE areas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(50) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_areas_code UNIQUE (code)
+);
+
+CREATE TABLE subareas (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(50) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    area_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_subareas_code UNIQUE (code),
+    CONSTRAINT fk_subareas_area FOREIGN KEY (area_id) REFERENCES areas (id)
+);
+
+CREATE TABLE data_types (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_data_types_name UNIQUE (name)
+);
+
+CREATE TABLE units (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    unit_group VARCHAR(255),
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_units_code UNIQUE (code)
+);
+
+CREATE TABLE indicators (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(50) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    description TEXT,
+    is_composite BOOLEAN NOT NULL,
+    unit_prefix VARCHAR(100),
+    unit_id BIGINT,
+    unit_suffix VARCHAR(100),
+    data_type_id BIGINT,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_indicators_code UNIQUE (code),
+    CONSTRAINT fk_indicators_unit FOREIGN KEY (unit_id) REFERENCES units (id),
+    CONSTRAINT fk_indicators_data_type FOREIGN KEY (data_type_id) REFERENCES data_types (id)
+);
+
+-- Dimensions (pooled-lo sequences, increments equal to the entities' allocationSize)
+
+CREATE SEQUENCE dim_time_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE dim_time (
+    id BIGINT PRIMARY KEY,
+    "value" VARCHAR(255),
+    time_type VARCHAR(255),
+    "year" INTEGER,
+    "month" INTEGER,
+    "day" INTEGER,
+    quarter INTEGER,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_dim_time_value UNIQUE ("value")
+);
+
+CREATE SEQUENCE dim_location_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE dim_location (
+    id BIGINT PRIMARY KEY,
+    code VARCHAR(20),
+    name VARCHAR(100) NOT NULL,
+    "value" VARCHAR(100),
+    type VARCHAR(20),
+    parent_id BIGINT,
+    level INTEGER,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_dim_location_code UNIQUE (code),
+    CONSTRAINT uk_dim_location_name UNIQUE (name),
+    CONSTRAINT fk_dim_location_parent FOREIGN KEY (parent_id) REFERENCES dim_location (id)
+);
+
+CREATE SEQUENCE dim_generic_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE dim_generic (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    dimension_name VARCHAR(100),
+    "value" VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_dim_generic_dimension_value UNIQUE (dimension_name, "value")
+);
+
+-- Facts
+
+CREATE SEQUENCE fact_indicator_values_seq START WITH 1 INCREMENT BY 500;
+CREATE TABLE fact_indicator_values (
+    id BIGINT PRIMARY KEY,
+    indicator_id BIGINT NOT NULL,
+    time_id BIGINT,
+    location_id BIGINT,
+    subarea_id BIGINT,
+    numeric_value NUMERIC(19, 6) NOT NULL,
+    source_row_hash VARCHAR(64) NOT NULL,
+    source_file VARCHAR(255),
+    direction VARCHAR(20),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fk_fact_indicator FOREIGN KEY (indicator_id) REFERENCES indicators (id),
+    CONSTRAINT fk_fact_time FOREIGN KEY (time_id) REFERENCES dim_time (id),
+    CONSTRAINT fk_fact_location FOREIGN KEY (location_id) REFERENCES dim_location (id),
+    CONSTRAINT fk_fact_subarea FOREIGN KEY (subarea_id) REFERENCES subareas (id)
+);
+CREATE INDEX idx_fact_indicator_subarea ON fact_indicator_values (indicator_id, subarea_id);
+CREATE INDEX idx_fact_subarea_indicator ON fact_indicator_values (subarea_id, indicator_id);
+CREATE INDEX idx_fact_time ON fact_indicator_values (time_id);
+CREATE INDEX idx_fact_location ON fact_indicator_values (location_id);
+CREATE UNIQUE INDEX uk_fact_source_hash ON fact_indicator_values (source_row_hash);
+CREATE INDEX idx_fact_created ON fact_indicator_values (created_at);
+
+CREATE TABLE fact_indicator_value_generic (
+    fact_indicator_value_id BIGINT NOT NULL,
+    generic_id BIGINT NOT NULL,
+    CONSTRAINT fk_fact_generic_fact FOREIGN KEY (fact_indicator_value_id) REFERENCES fact_indicator_values (id),
+    CONSTRAINT fk_fact_generic_generic FOREIGN KEY (generic_id) REFERENCES dim_generic (id)
+);
+CREATE INDEX idx_fact_generic_fact ON fact_indicator_value_generic (fact_indicator_value_id, generic_id);
+CREATE INDEX idx_fact_generic_generic ON fact_indicator_value_generic (generic_id);
+
+-- Rollups hold plain ids without foreign keys: they are derived data and must not block deletes
+
+CREATE TABLE fact_rollup_time (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    indicator_id BIGINT NOT NULL,
+    subarea_id BIGINT,
+    time_id BIGINT,
+    value_sum NUMERIC(38, 6) NOT NULL,
+    value_count BIGINT NOT NULL
+);
+CREATE INDEX idx_rollup_time_subarea ON fact_rollup_time (subarea_id, indicator_id);
+CREATE INDEX idx_rollup_time_indicator ON fact_rollup_time (indicator_id, subarea_id, time_id);
+
+CREATE TABLE fact_rollup_location (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    indicator_id BIGINT NOT NULL,
+    subarea_id BIGINT,
+    location_id BIGINT,
+    value_sum NUMERIC(38, 6) NOT NULL,
+    value_count BIGINT NOT NULL
+);
+CREATE INDEX idx_rollup_location_subarea ON fact_rollup_location (subarea_id, indicator_id);
+CREATE INDEX idx_rollup_location_indicator ON fact_rollup_location (indicator_id, subarea_id, location_id);
+
+CREATE TABLE fact_rollup_generic (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    indicator_id BIGINT NOT NULL,
+    subarea_id BIGINT,
+    generic_id BIGINT NOT NULL,
+    value_sum NUMERIC(38, 6) NOT NULL,
+    value_count BIGINT NOT NULL
+);
+CREATE INDEX idx_rollup_generic_subarea ON fact_rollup_generic (subarea_id, indicator_id);
+CREATE INDEX idx_rollup_generic_indicator ON fact_rollup_generic (indicator_id, subarea_id, generic_id);
+
+CREATE TABLE import_checkpoints (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    import_key VARCHAR(64) NOT NULL,
+    source VARCHAR(255),
+    rows_committed BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_import_checkpoints_key UNIQUE (import_key)
+);
+
+-- Goals
+
+CREATE TABLE goal_groups (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_goal_groups_name UNIQUE (name)
+);
+
+CREATE TABLE goals (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    goal_group_id BIGINT NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    url VARCHAR(500),
+    year INTEGER NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_goals_goal_group FOREIGN KEY (goal_group_id) REFERENCES goal_groups (id)
+);
+
+CREATE TABLE goal_targets (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    goal_id BIGINT NOT NULL,
+    indicator_id BIGINT NOT NULL,
+    target_year INTEGER NOT NULL,
+    target_value NUMERIC(19, 6) NOT NULL,
+    target_type VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_goal_targets_goal FOREIGN KEY (goal_id) REFERENCES goals (id),
+    CONSTRAINT fk_goal_targets_indicator FOREIGN KEY (indicator_id) REFERENCES indicators (id)
+);
+
+CREATE TABLE goal_indicators (
+    goal_id BIGINT NOT NULL,
+    indicator_id BIGINT NOT NULL,
+    aggregation_weight DOUBLE PRECISION NOT NULL,
+    impact_direction VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (goal_id, indicator_id),
+    CONSTRAINT fk_goal_indicators_goal FOREIGN KEY (goal_id) REFERENCES goals (id),
+    CONSTRAINT fk_goal_indicators_indicator FOREIGN KEY (indicator_id) REFERENCES indicators (id)
+);
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    role VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+-- Dashboards and visualization settings
+
+CREATE TABLE dashboard (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    description VARCHAR(255),
+    default_location_id BIGINT,
+    default_year INTEGER,
+    layout_type VARCHAR(255),
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE dashboard_widget (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    dashboard_id BIGINT,
+    title VARCHAR(255),
+    widget_type VARCHAR(255),
+    reference_id BIGINT,
+    position_x INTEGER,
+    position_y INTEGER,
+    width INTEGER,
+    height INTEGER,
+    config TEXT,
+    snap_to_grid BOOLEAN
+);
+
+CREATE TABLE color_threshold (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    min_value DOUBLE PRECISION,
+    max_value DOUBLE PRECISION,
+    color_code VARCHAR(255),
+    description VARCHAR(255)
+);
+
+CREATE TABLE performance_score (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    subarea_id BIGINT,
+    score DOUBLE PRECISION,
+    color_code VARCHAR(255),
+    calculated_at TIMESTAMP(6),
+    based_on_indicators VARCHAR(255)
+);
+
+CREATE TABLE chart_config (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    x_axis_label VARCHAR(255),
+    y_axis_label VARCHAR(255),
+    color_scheme VARCHAR(255),
+    chart_options TEXT
+);
+
+CREATE TABLE chart_data_point (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    config_id BIGINT,
+    x_value VARCHAR(255),
+    y_value DOUBLE PRECISION,
+    label VARCHAR(255),
+    metadata TEXT,
+    timestamp TIMESTAMP(6)
+);
+
+CREATE TABLE visualization_config (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    indicator_id BIGINT,
+    visualization_type VARCHAR(255),
+    config TEXT,
+    is_default BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6)
+);
@@ -0,0 +1,21 @@
+-- PostgreSQL-specific index variants the entity annotations cannot express.
+
+-- created_at grows with the insert order, so a BRIN index answers the range filters of
+-- findByIndicatorIdAndCreatedAtBetween at a fraction of the size of the B-tree.
+DROP INDEX idx_fact_created;
+CREATE INDEX idx_fact_created ON fact_indicator_values USING BRIN (created_at);
+
+-- Facts without a subarea, time or location member are never looked up by it; partial indexes
+-- leave them out. Equality filters on the column imply IS NOT NULL, so the planner still uses them.
+DROP INDEX idx_fact_subarea_indicator;
+CREATE INDEX idx_fact_subarea_indicator ON fact_indicator_values (subarea_id, indicator_id)
+    WHERE subarea_id IS NOT NULL;
+
+DROP INDEX idx_fact_time;
+CREATE INDEX idx_fact_time ON fact_indicator_values (time_id) WHERE time_id IS NOT NULL;
+
+DROP INDEX idx_fact_location;
+CREATE INDEX idx_fact_location ON fact_indicator_values (location_id) WHERE location_id IS NOT NULL;
+
+-- Generic rollups match the requested dimension case-insensitively
+CREATE INDEX idx_dim_generic_dimension_lower ON dim_generic (LOWER(dimension_name));
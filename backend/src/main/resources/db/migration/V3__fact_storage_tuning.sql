@@ -0,0 +1,16 @@
+-- Storage parameters for the tables that are updated in place.
+-- fillfactor only applies to pages written from now on; existing pages keep their layout until the
+-- table is rewritten (VACUUM FULL or pg_repack).
+
+-- Re-imports update numeric_value and updated_at of existing facts. Neither is indexed, so with free
+-- space on the page the new row version stays on it (HOT update) and no index entry is written.
+ALTER TABLE fact_indicator_values SET (fillfactor = 90);
+
+-- Every fact write adds to the sum and count of existing rollup rows; leave more room for HOT updates
+-- and vacuum the dead versions well before the default 20% threshold.
+ALTER TABLE fact_rollup_time SET (fillfactor = 70, autovacuum_vacuum_scale_factor = 0.05, autovacuum_analyze_scale_factor = 0.02);
+ALTER TABLE fact_rollup_location SET (fillfactor = 70, autovacuum_vacuum_scale_factor = 0.05, autovacuum_analyze_scale_factor = 0.02);
+ALTER TABLE fact_rollup_generic SET (fillfactor = 70, autovacuum_vacuum_scale_factor = 0.05, autovacuum_analyze_scale_factor = 0.02);
+
+-- Checkpoints are rewritten after every committed import chunk
+ALTER TABLE import_checkpoints SET (fillfactor = 50);
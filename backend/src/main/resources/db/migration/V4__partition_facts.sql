@@ -0,0 +1,88 @@
+-- Turns fact_indicator_values into a table hash-partitioned on indicator_id.
+-- Every fact query filters on the indicator or reaches facts through it, so lookups, upserts and
+-- indicator deletes are pruned to one partition; vacuum and index maintenance work per partition.
+-- Subarea queries still visit every partition, which is why the partition count stays small.
+--
+-- Constraints of partitioned tables shape the schema:
+--   * the primary key and the natural-key unique index must contain indicator_id, so the
+--     source_row_hash upsert conflicts on (indicator_id, source_row_hash); the hash already
+--     covers the indicator, so uniqueness is unchanged
+--   * fact_indicator_value_generic can no longer reference the facts by id alone; its foreign key is
+--     dropped and FactDeletionService keeps removing links before their facts
+--
+-- The rows are copied in this migration's transaction, with the table locked. On a large database
+-- run it in a maintenance window; the copy runs before the indexes are built to keep it fast.
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    -- Looked up by target rather than name: schemas created by Hibernate and adopted through
+    -- baseline-on-migrate carry generated constraint names
+    FOR fk IN SELECT conrelid::regclass AS owner, conname FROM pg_constraint
+              WHERE contype = 'f' AND confrelid = 'fact_indicator_values'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.owner, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE fact_indicator_values RENAME TO fact_indicator_values_unpartitioned;
+DO $$
+DECLARE
+    idx regclass;
+BEGIN
+    -- Index names are schema-wide; free them for the partitioned table
+    FOR idx IN SELECT indexrelid::regclass FROM pg_index
+               WHERE indrelid = 'fact_indicator_values_unpartitioned'::regclass
+    LOOP
+        EXECUTE format('ALTER INDEX %s RENAME TO %I', idx, 'old_' || idx::text);
+    END LOOP;
+END $$;
+
+CREATE TABLE fact_indicator_values (
+    id BIGINT NOT NULL,
+    indicator_id BIGINT NOT NULL,
+    time_id BIGINT,
+    location_id BIGINT,
+    subarea_id BIGINT,
+    numeric_value NUMERIC(19, 6) NOT NULL,
+    source_row_hash VARCHAR(64) NOT NULL,
+    source_file VARCHAR(255),
+    direction VARCHAR(20),
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT fact_indicator_values_pkey PRIMARY KEY (id, indicator_id),
+    CONSTRAINT fk_fact_indicator FOREIGN KEY (indicator_id) REFERENCES indicators (id),
+    CONSTRAINT fk_fact_time FOREIGN KEY (time_id) REFERENCES dim_time (id),
+    CONSTRAINT fk_fact_location FOREIGN KEY (location_id) REFERENCES dim_location (id),
+    CONSTRAINT fk_fact_subarea FOREIGN KEY (subarea_id) REFERENCES subareas (id)
+) PARTITION BY HASH (indicator_id);
+
+DO $$
+BEGIN
+    FOR remainder IN 0..15 LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF fact_indicator_values FOR VALUES WITH (MODULUS 16, REMAINDER %s) '
+            || 'WITH (fillfactor = 90)',
+            'fact_indicator_values_p' || lpad(remainder::text, 2, '0'), remainder);
+    END LOOP;
+END $$;
+
+INSERT INTO fact_indicator_values (id, indicator_id, time_id, location_id, subarea_id, numeric_value,
+                                   source_row_hash, source_file, direction, created_at, updated_at)
+SELECT id, indicator_id, time_id, location_id, subarea_id, numeric_value,
+       source_row_hash, source_file, direction, created_at, updated_at
+FROM fact_indicator_values_unpartitioned;
+
+DROP TABLE fact_indicator_values_unpartitioned;
+
+-- Indexes declared on the parent are created on every partition
+CREATE INDEX idx_fact_indicator_subarea ON fact_indicator_values (indicator_id, subarea_id);
+CREATE INDEX idx_fact_subarea_indicator ON fact_indicator_values (subarea_id, indicator_id)
+    WHERE subarea_id IS NOT NULL;
+CREATE INDEX idx_fact_time ON fact_indicator_values (time_id) WHERE time_id IS NOT NULL;
+CREATE INDEX idx_fact_location ON fact_indicator_values (location_id) WHERE location_id IS NOT NULL;
+CREATE UNIQUE INDEX uk_fact_source_hash ON fact_indicator_values (indicator_id, source_row_hash);
+CREATE INDEX idx_fact_created ON fact_indicator_values USING BRIN (created_at);
+
+ANALYZE fact_indicator_values;
@@ -0,0 +1,18 @@
+-- Stores the sorted ids of each fact's generic dimension members on the fact row itself.
+-- Readers that group or filter by a custom dimension use the array instead of fanning out through
+-- fact_indicator_value_generic; the GIN index serves containment filters such as
+-- generic_ids @> ARRAY[42]. The join table is still written and stays the source for the JPA
+-- generics collection and the rollup rebuild.
+
+ALTER TABLE fact_indicator_values ADD COLUMN generic_ids BIGINT[] NOT NULL DEFAULT '{}';
+
+UPDATE fact_indicator_values f
+SET generic_ids = j.ids
+FROM (SELECT fact_indicator_value_id, array_agg(DISTINCT generic_id ORDER BY generic_id) AS ids
+      FROM fact_indicator_value_generic
+      GROUP BY fact_indicator_value_id) j
+WHERE f.id = j.fact_indicator_value_id;
+
+CREATE INDEX idx_fact_generic_ids ON fact_indicator_values USING GIN (generic_ids);
+
+ANALYZE fact_indicator_values;
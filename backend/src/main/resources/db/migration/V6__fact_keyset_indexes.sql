@@ -0,0 +1,8 @@
+-- Keyset pages of fact values seek on id within an indicator, optionally within one of its subareas:
+--   WHERE indicator_id = ? [AND subarea_id = ?] AND id > ? ORDER BY id LIMIT ?
+-- Appending id to idx_fact_indicator_subarea serves the subarea pages without a sort; the
+-- indicator-only pages, and the id chunks of FactDeletionService, get their own index.
+DROP INDEX idx_fact_indicator_subarea;
+CREATE INDEX idx_fact_indicator_subarea ON fact_indicator_values (indicator_id, subarea_id, id);
+
+CREATE INDEX idx_fact_indicator_id ON fact_indicator_values (indicator_id, id);
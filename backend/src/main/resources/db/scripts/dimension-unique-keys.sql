@@ -0,0 +1,41 @@
+-- Adds unique constraints on the natural keys of the dimension tables of an existing PostgreSQL
+-- database: dim_time.value, dim_location.name and dim_generic (dimension_name, value).
+-- Parallel imports rely on them to detect two workers creating the same member.
+-- Run once, with the backend stopped. Duplicates are merged into the member with the lowest id and
+-- fact references are moved over before the duplicates are deleted.
+-- Afterwards run fact-source-row-hash.sql again, since merged members change fact natural keys.
+
+BEGIN;
+
+-- dim_time
+CREATE TEMPORARY TABLE time_merge ON COMMIT DROP AS
+SELECT id, MIN(id) OVER (PARTITION BY "value") AS keep_id FROM dim_time;
+UPDATE fact_indicator_values f SET time_id = m.keep_id
+FROM time_merge m WHERE f.time_id = m.id AND m.id <> m.keep_id;
+DELETE FROM dim_time d USING time_merge m WHERE d.id = m.id AND m.id <> m.keep_id;
+ALTER TABLE dim_time ADD CONSTRAINT uk_dim_time_value UNIQUE ("value");
+
+-- dim_location
+CREATE TEMPORARY TABLE location_merge ON COMMIT DROP AS
+SELECT id, MIN(id) OVER (PARTITION BY name) AS keep_id FROM dim_location;
+UPDATE fact_indicator_values f SET location_id = m.keep_id
+FROM location_merge m WHERE f.location_id = m.id AND m.id <> m.keep_id;
+UPDATE dim_location l SET parent_id = m.keep_id
+FROM location_merge m WHERE l.parent_id = m.id AND m.id <> m.keep_id;
+DELETE FROM dim_location d USING location_merge m WHERE d.id = m.id AND m.id <> m.keep_id;
+ALTER TABLE dim_location ADD CONSTRAINT uk_dim_location_name UNIQUE (name);
+
+-- dim_generic
+CREATE TEMPORARY TABLE generic_merge ON COMMIT DROP AS
+SELECT id, MIN(id) OVER (PARTITION BY dimension_name, "value") AS keep_id FROM dim_generic;
+DELETE FROM fact_indicator_value_generic g
+USING generic_merge m
+WHERE g.generic_id = m.id AND m.id <> m.keep_id
+  AND EXISTS (SELECT 1 FROM fact_indicator_value_generic k
+              WHERE k.fact_indicator_value_id = g.fact_indicator_value_id AND k.generic_id = m.keep_id);
+UPDATE fact_indicator_value_generic g SET generic_id = m.keep_id
+FROM generic_merge m WHERE g.generic_id = m.id AND m.id <> m.keep_id;
+DELETE FROM dim_generic d USING generic_merge m WHERE d.id = m.id AND m.id <> m.keep_id;
+ALTER TABLE dim_generic ADD CONSTRAINT uk_dim_generic_dimension_value UNIQUE (dimension_name, "value");
+
+COMMIT;
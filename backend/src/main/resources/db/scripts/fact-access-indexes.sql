@@ -0,0 +1,22 @@
+-- Replaces the single-column indicator index of an existing PostgreSQL database with the composite
+-- indexes declared on FactIndicatorValue, matching how facts are actually read:
+--   (indicator_id, subarea_id)  indicator and indicator-in-subarea lookups, counts and dimension probes
+--   (subarea_id, indicator_id)  subarea data and chunked subarea deletes
+--   fact_indicator_value_generic (fact_indicator_value_id, generic_id) and (generic_id)
+--                               generic joins from facts, link deletes and lookups by member
+-- CONCURRENTLY keeps the tables writable, so this runs outside a transaction and may be run with
+-- the backend up. If an index build fails it is left INVALID; drop it and run the script again.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fact_indicator_subarea
+    ON fact_indicator_values (indicator_id, subarea_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fact_subarea_indicator
+    ON fact_indicator_values (subarea_id, indicator_id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_fact_indicator;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fact_generic_fact
+    ON fact_indicator_value_generic (fact_indicator_value_id, generic_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_fact_generic_generic
+    ON fact_indicator_value_generic (generic_id);
+
+ANALYZE fact_indicator_values;
+ANALYZE fact_indicator_value_generic;
@@ -0,0 +1,60 @@
+-- Creates the fact_rollup_time, fact_rollup_location and fact_rollup_generic tables of an existing
+-- PostgreSQL database and fills them from the current facts. From then on the backend keeps them up
+-- to date on every fact write, so the script only has to run once, with the backend stopped.
+-- Time and location rows with a NULL member cover the facts without that member; generic rows only
+-- exist for linked members.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS fact_rollup_time (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    indicator_id BIGINT NOT NULL,
+    subarea_id BIGINT,
+    time_id BIGINT,
+    value_sum NUMERIC(38, 6) NOT NULL,
+    value_count BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_rollup_time_subarea ON fact_rollup_time (subarea_id, indicator_id);
+CREATE INDEX IF NOT EXISTS idx_rollup_time_indicator ON fact_rollup_time (indicator_id, subarea_id, time_id);
+
+CREATE TABLE IF NOT EXISTS fact_rollup_location (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    indicator_id BIGINT NOT NULL,
+    subarea_id BIGINT,
+    location_id BIGINT,
+    value_sum NUMERIC(38, 6) NOT NULL,
+    value_count BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_rollup_location_subarea ON fact_rollup_location (subarea_id, indicator_id);
+CREATE INDEX IF NOT EXISTS idx_rollup_location_indicator ON fact_rollup_location (indicator_id, subarea_id, location_id);
+
+CREATE TABLE IF NOT EXISTS fact_rollup_generic (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    indicator_id BIGINT NOT NULL,
+    subarea_id BIGINT,
+    generic_id BIGINT NOT NULL,
+    value_sum NUMERIC(38, 6) NOT NULL,
+    value_count BIGINT NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_rollup_generic_subarea ON fact_rollup_generic (subarea_id, indicator_id);
+CREATE INDEX IF NOT EXISTS idx_rollup_generic_indicator ON fact_rollup_generic (indicator_id, subarea_id, generic_id);
+
+TRUNCATE fact_rollup_time, fact_rollup_location, fact_rollup_generic;
+
+INSERT INTO fact_rollup_time (indicator_id, subarea_id, time_id, value_sum, value_count)
+SELECT indicator_id, subarea_id, time_id, SUM(numeric_value), COUNT(numeric_value)
+FROM fact_indicator_values
+GROUP BY indicator_id, subarea_id, time_id;
+
+INSERT INTO fact_rollup_location (indicator_id, subarea_id, location_id, value_sum, value_count)
+SELECT indicator_id, subarea_id, location_id, SUM(numeric_value), COUNT(numeric_value)
+FROM fact_indicator_values
+GROUP BY indicator_id, subarea_id, location_id;
+
+INSERT INTO fact_rollup_generic (indicator_id, subarea_id, generic_id, value_sum, value_count)
+SELECT f.indicator_id, f.subarea_id, j.generic_id, SUM(f.numeric_value), COUNT(f.numeric_value)
+FROM fact_indicator_values f
+JOIN fact_indicator_value_generic j ON j.fact_indicator_value_id = f.id
+GROUP BY f.indicator_id, f.subarea_id, j.generic_id;
+
+COMMIT;
@@ -0,0 +1,34 @@
+-- Replaces the old "time_location_value" source_row_hash of an existing PostgreSQL database with the
+-- SHA-256 natural key computed by FactIndicatorValue.naturalKeyHash, removes the duplicates that key
+-- exposes and makes source_row_hash unique so imports can upsert on it.
+-- Run once, with the backend stopped, and again on a database hashed by an earlier version of the
+-- key that still included the direction. Requires PostgreSQL 11+ for sha256().
+-- Of each group of duplicates the most recently inserted fact (highest id) is kept.
+
+BEGIN;
+
+UPDATE fact_indicator_values f
+SET source_row_hash = encode(sha256(convert_to(
+        f.indicator_id::text
+        || '|' || COALESCE(f.subarea_id::text, '')
+        || '|' || COALESCE(f.time_id::text, '')
+        || '|' || COALESCE(f.location_id::text, '')
+        || '|' || COALESCE((SELECT string_agg(g.generic_id::text, ',' ORDER BY g.generic_id)
+                            FROM fact_indicator_value_generic g
+                            WHERE g.fact_indicator_value_id = f.id), ''),
+        'UTF8')), 'hex');
+
+CREATE TEMPORARY TABLE duplicate_facts ON COMMIT DROP AS
+SELECT id FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY source_row_hash ORDER BY id DESC) AS rn
+    FROM fact_indicator_values
+) ranked
+WHERE rn > 1;
+
+DELETE FROM fact_indicator_value_generic WHERE fact_indicator_value_id IN (SELECT id FROM duplicate_facts);
+DELETE FROM fact_indicator_values WHERE id IN (SELECT id FROM duplicate_facts);
+
+DROP INDEX IF EXISTS idx_fact_source_hash;
+CREATE UNIQUE INDEX IF NOT EXISTS uk_fact_source_hash ON fact_indicator_values (source_row_hash);
+
+COMMIT;
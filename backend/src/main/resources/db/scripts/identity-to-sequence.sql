@@ -0,0 +1,32 @@
+-- Moves the fact and dimension tables of an existing PostgreSQL database from IDENTITY ids
+-- to the pooled-lo sequences declared on FactIndicatorValue, DimTime, DimLocation and DimGeneric.
+-- Run once, with the backend stopped, before starting a build that uses sequence ids.
+-- Each sequence is positioned past the current MAX(id) so new id blocks never collide with existing rows.
+
+BEGIN;
+
+-- fact_indicator_values (allocationSize = 500)
+ALTER TABLE fact_indicator_values ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE fact_indicator_values ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS fact_indicator_values_seq START WITH 1 INCREMENT BY 500;
+SELECT setval('fact_indicator_values_seq', COALESCE(MAX(id), 0) + 1, false) FROM fact_indicator_values;
+
+-- dim_time (allocationSize = 50)
+ALTER TABLE dim_time ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE dim_time ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS dim_time_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('dim_time_seq', COALESCE(MAX(id), 0) + 1, false) FROM dim_time;
+
+-- dim_location (allocationSize = 50)
+ALTER TABLE dim_location ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE dim_location ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS dim_location_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('dim_location_seq', COALESCE(MAX(id), 0) + 1, false) FROM dim_location;
+
+-- dim_generic (allocationSize = 50)
+ALTER TABLE dim_generic ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE dim_generic ALTER COLUMN id DROP DEFAULT;
+CREATE SEQUENCE IF NOT EXISTS dim_generic_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('dim_generic_seq', COALESCE(MAX(id), 0) + 1, false) FROM dim_generic;
+
+COMMIT;
@@ -0,0 +1,150 @@
+package io.dashboard.benchmark;
+
+import io.dashboard.dto.TimeSeriesDataResponse;
+import io.dashboard.model.DimTime;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.service.ChartDataFormattingService;
+import io.dashboard.util.GroupedStats;
+import io.dashboard.util.LongGroupIndex;
+import io.dashboard.util.ValueStats;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Compares the primitive accumulators of {@code io.dashboard.util} with the boxed stream and
+ * {@code BigDecimal} code they replaced, reporting time and bytes allocated per run on the calling
+ * thread. Needs no database; run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class AccumulatorBenchmark {
+
+    private static final int VALUES = 2_000_000;
+    private static final int GROUPS = 500;
+    private static final int FACTS = 200_000;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void sumOfValues() {
+        double[] values = randomValues(VALUES);
+        BigDecimal[] decimals = new BigDecimal[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            decimals[i] = BigDecimal.valueOf(values[i]);
+        }
+
+        double expected = measure("sum", "BigDecimal", VALUES, () -> {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (BigDecimal value : decimals) {
+                sum = sum.add(value);
+            }
+            return sum.doubleValue();
+        });
+        double actual = measure("sum", "ValueStats (Kahan)", VALUES, () -> ValueStats.of(values).sum());
+
+        assertThat(actual).isCloseTo(expected, within(1e-6));
+    }
+
+    @Test
+    void averagePerGroup() {
+        double[] values = randomValues(VALUES);
+        long[] keys = new long[VALUES];
+        Random random = new Random(7);
+        for (int i = 0; i < VALUES; i++) {
+            keys[i] = 1_000L + random.nextInt(GROUPS);
+        }
+
+        Map<Long, Double> expected = measure("average per group", "groupingBy + averagingDouble", VALUES, () ->
+            IntStream.range(0, VALUES).boxed()
+                .collect(Collectors.groupingBy(i -> keys[i], Collectors.averagingDouble(i -> values[i]))));
+        LongGroupIndex[] index = new LongGroupIndex[1];
+        GroupedStats actual = measure("average per group", "LongGroupIndex + GroupedStats", VALUES, () -> {
+            index[0] = new LongGroupIndex(GROUPS);
+            GroupedStats stats = new GroupedStats(GROUPS);
+            for (int i = 0; i < VALUES; i++) {
+                stats.add(index[0].codeOf(keys[i]), values[i]);
+            }
+            return stats;
+        });
+
+        assertThat(index[0].size()).isEqualTo(expected.size());
+        expected.forEach((key, average) -> assertThat(actual.mean(index[0].find(key))).isCloseTo(average, within(1e-9)));
+    }
+
+    @Test
+    void lineChartFormatting() {
+        double[] values = randomValues(FACTS);
+        List<DimTime> times = new ArrayList<>();
+        for (int i = 0; i < GROUPS; i++) {
+            DimTime time = new DimTime();
+            time.setValue(String.format("P%04d", i));
+            times.add(time);
+        }
+        List<FactIndicatorValue> facts = new ArrayList<>(FACTS);
+        for (int i = 0; i < FACTS; i++) {
+            FactIndicatorValue fact = new FactIndicatorValue();
+            fact.setValue(BigDecimal.valueOf(values[i]));
+            fact.setTime(times.get(i % GROUPS));
+            facts.add(fact);
+        }
+        ChartDataFormattingService formatting = new ChartDataFormattingService();
+
+        List<Double> expected = measure("line chart", "groupingBy + stream average", FACTS, () -> {
+            Map<String, List<FactIndicatorValue>> byTime = facts.stream()
+                .collect(Collectors.groupingBy(fact -> fact.getTime().getValue()));
+            return byTime.keySet().stream().sorted()
+                .map(label -> byTime.get(label).stream().mapToDouble(fact -> fact.getValue().doubleValue()).average().orElse(0.0))
+                .toList();
+        });
+        TimeSeriesDataResponse actual = measure("line chart", "ChartDataFormattingService", FACTS,
+            () -> formatting.formatForLineChart(facts));
+
+        List<Double> data = actual.getDatasets().get(0).getData();
+        assertThat(data).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(data.get(i)).isCloseTo(expected.get(i), within(1e-9));
+        }
+    }
+
+    private static double[] randomValues(int count) {
+        Random random = new Random(42);
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = Math.round(random.nextDouble() * 1_000_000) / 100.0;
+        }
+        return values;
+    }
+
+    private static <T> T measure(String benchmark, String variant, long rows, Supplier<T> run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.get();
+        }
+        T result = null;
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            result = run.get();
+        }
+        long elapsed = (System.nanoTime() - start) / RUNS;
+        long allocated = (THREADS.getThreadAllocatedBytes(thread) - allocatedBefore) / RUNS;
+        System.out.printf("[benchmark] %-28s %-32s rows=%-9d time=%10.2f ms  allocated=%12d bytes/run%n",
+            benchmark, variant, rows, elapsed / 1_000_000.0, allocated);
+        return result;
+    }
+}
@@ -0,0 +1,190 @@
+package io.dashboard.benchmark;
+
+import io.dashboard.model.Area;
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.DimLocation;
+import io.dashboard.model.DimTime;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.model.Indicator;
+import io.dashboard.model.Subarea;
+import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.DimGenericRepository;
+import io.dashboard.repository.DimLocationRepository;
+import io.dashboard.repository.DimTimeRepository;
+import io.dashboard.repository.FactBatchRepository;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.IndicatorRepository;
+import io.dashboard.repository.SubareaRepository;
+import io.dashboard.service.AggregationService;
+import io.dashboard.service.LegacyAggregation;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Compares the rollup-based AggregationService with the former in-memory implementation on one
+ * million facts: 20 indicators spread over 4 subareas, each fact with a time, location and sector.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AggregationBenchmark extends PostgresBenchmarkSupport {
+
+    private static final int FACTS = 1_000_000;
+    private static final int INDICATORS = 20;
+    private static final int SUBAREAS = 4;
+    private static final int WRITE_BATCH = 10_000;
+
+    @Autowired private AreaRepository areaRepository;
+    @Autowired private SubareaRepository subareaRepository;
+    @Autowired private IndicatorRepository indicatorRepository;
+    @Autowired private DimTimeRepository dimTimeRepository;
+    @Autowired private DimLocationRepository dimLocationRepository;
+    @Autowired private DimGenericRepository dimGenericRepository;
+    @Autowired private FactIndicatorValueRepository factRepository;
+    @Autowired private FactBatchRepository factBatchRepository;
+    @Autowired private AggregationService aggregationService;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private LegacyAggregation legacy;
+    private final List<Subarea> subareas = new ArrayList<>();
+    private final List<Indicator> indicators = new ArrayList<>();
+
+    @BeforeAll
+    void populate() {
+        legacy = new LegacyAggregation(factRepository);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Area area = new Area();
+        area.setCode("BENCH_" + suffix);
+        area.setName("Benchmark Area");
+        area = areaRepository.save(area);
+        for (int i = 0; i < SUBAREAS; i++) {
+            Subarea subarea = new Subarea();
+            subarea.setCode("BENCH_SUB_" + i + "_" + suffix);
+            subarea.setName("Benchmark Subarea " + i);
+            subarea.setArea(area);
+            subareas.add(subareaRepository.save(subarea));
+        }
+        for (int i = 0; i < INDICATORS; i++) {
+            Indicator indicator = new Indicator();
+            indicator.setCode("BENCH_IND_" + i + "_" + suffix);
+            indicator.setName("Benchmark Indicator " + i + " " + suffix);
+            indicator.setIsComposite(false);
+            indicators.add(indicatorRepository.save(indicator));
+        }
+
+        List<DimTime> times = new ArrayList<>();
+        for (int year = 2000; year < 2025; year++) {
+            for (int month = 1; month <= 12; month++) {
+                times.add(DimTime.builder().value(year + "-" + month + "-" + suffix).year(year).month(month).build());
+            }
+        }
+        List<DimTime> savedTimes = dimTimeRepository.saveAll(times);
+        List<DimLocation> locations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            locations.add(DimLocation.builder().name("Location " + i + " " + suffix).build());
+        }
+        List<DimLocation> savedLocations = dimLocationRepository.saveAll(locations);
+        List<DimGeneric> sectors = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            DimGeneric sector = new DimGeneric();
+            sector.setName("Sector");
+            sector.setDimensionName("Sector");
+            sector.setValue("Sector " + i + " " + suffix);
+            sectors.add(sector);
+        }
+        List<DimGeneric> savedSectors = dimGenericRepository.saveAll(sectors);
+
+        long start = System.nanoTime();
+        for (int from = 0; from < FACTS; from += WRITE_BATCH) {
+            int first = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<FactIndicatorValue> facts = new ArrayList<>(WRITE_BATCH);
+                for (int i = first; i < first + WRITE_BATCH; i++) {
+                    List<DimGeneric> generics = new ArrayList<>(List.of(savedSectors.get(i % savedSectors.size())));
+                    facts.add(FactIndicatorValue.builder()
+                        .indicator(indicators.get(i % INDICATORS))
+                        .subarea(subareas.get(i / INDICATORS % SUBAREAS))
+                        .time(savedTimes.get(i / (INDICATORS * SUBAREAS) % savedTimes.size()))
+                        .location(savedLocations.get(i % savedLocations.size()))
+                        .generics(generics)
+                        .value(BigDecimal.valueOf(i % 1000, 2))
+                        .direction("input")
+                        .sourceRowHash("agg-" + suffix + "-" + i)
+                        .build());
+                }
+                factBatchRepository.upsertAll(facts);
+            });
+        }
+        report("aggregation", "populate", FACTS, System.nanoTime() - start);
+    }
+
+    @Test
+    void subareaAggregatedValue() {
+        Long subareaId = subareas.get(0).getId();
+        // Every indicator has facts in every subarea, so each call covers all facts
+        double rollup = measure("subarea value", FACTS, false, () -> aggregationService.calculateSubareaAggregatedValue(subareaId));
+        double inMemory = measure("subarea value", FACTS, true, () -> legacy.calculateSubareaAggregatedValue(subareaId));
+        assertThat(rollup).isCloseTo(inMemory, within(1e-6));
+    }
+
+    @Test
+    void subareaAggregatedByTime() {
+        Long subareaId = subareas.get(0).getId();
+        Map<String, Double> rollup = measure("subarea by time", FACTS / SUBAREAS, false, () -> aggregationService.getSubareaAggregatedByTime(subareaId));
+        Map<String, Double> inMemory = measure("subarea by time", FACTS / SUBAREAS, true, () -> legacy.getSubareaAggregatedByTime(subareaId));
+        assertSameGroups(rollup, inMemory);
+    }
+
+    @Test
+    void subareaAggregatedBySector() {
+        Long subareaId = subareas.get(0).getId();
+        Map<String, Double> rollup = measure("subarea by sector", FACTS / SUBAREAS, false, () -> aggregationService.getSubareaAggregatedByDimension(subareaId, "sector"));
+        Map<String, Double> inMemory = measure("subarea by sector", FACTS / SUBAREAS, true, () -> legacy.getSubareaAggregatedByDimension(subareaId, "sector"));
+        assertSameGroups(rollup, inMemory);
+    }
+
+    @Test
+    void indicatorAggregatedByLocation() {
+        Long indicatorId = indicators.get(0).getId();
+        Map<String, Double> rollup = measure("indicator by location", FACTS / INDICATORS, false, () -> aggregationService.getIndicatorAggregatedByDimension(indicatorId, "location"));
+        Map<String, Double> inMemory = measure("indicator by location", FACTS / INDICATORS, true, () -> legacy.getIndicatorAggregatedByDimension(indicatorId, "location"));
+        assertSameGroups(rollup, inMemory);
+    }
+
+    private <T> T measure(String benchmark, long rows, boolean inMemory, Supplier<T> call) {
+        // One warm-up run, then the measured one; each in a fresh read-only persistence context
+        run(call);
+        long start = System.nanoTime();
+        T result = run(call);
+        report("aggregation " + benchmark, inMemory ? "entities + Java streams" : "rollup tables", rows, System.nanoTime() - start);
+        return result;
+    }
+
+    private <T> T run(Supplier<T> call) {
+        return transactionTemplate.execute(status -> {
+            try {
+                return call.get();
+            } finally {
+                entityManager.clear();
+            }
+        });
+    }
+
+    private static void assertSameGroups(Map<String, Double> actual, Map<String, Double> expected) {
+        assertThat(actual).containsOnlyKeys(expected.keySet());
+        expected.forEach((key, value) -> assertThat(actual.get(key)).isCloseTo(value, within(1e-6)));
+    }
+}
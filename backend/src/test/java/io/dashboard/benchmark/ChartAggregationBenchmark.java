@@ -0,0 +1,174 @@
+package io.dashboard.benchmark;
+
+import io.dashboard.dto.IndicatorChartResponse;
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactRollupBatchRepository;
+import io.dashboard.repository.FactSnapshotRepository;
+import io.dashboard.repository.IndicatorFactSnapshot;
+import io.dashboard.service.IndicatorService;
+import io.dashboard.util.GroupIndex;
+import io.dashboard.util.GroupedStats;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Charts one indicator of a subarea holding {@value #INDICATORS} indicators, comparing the former
+ * entity load of the whole subarea, a cold load of the indicator's snapshot and the rollup GROUP BY
+ * over the (indicator, subarea) rows. Every indicator gets {@code -Dbenchmark.chart.facts} facts
+ * (default 2 000), a quarter of them in a second subarea, each with a time, a location and one
+ * generic member.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChartAggregationBenchmark extends PostgresBenchmarkSupport {
+
+    private static final long FACTS_PER_INDICATOR = Long.getLong("benchmark.chart.facts", 2_000L);
+    private static final int INDICATORS = 100;
+    private static final int TIMES = 60;
+    private static final int LOCATIONS = 40;
+    private static final int MEMBERS = 8;
+    // Ids far above anything the sequences hand out during the benchmark
+    private static final long ID_BASE = 2_000_000_000L;
+    private static final int WARMUP = 2;
+    private static final int RUNS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private FactIndicatorValueRepository factIndicatorValueRepository;
+    @Autowired private FactSnapshotRepository factSnapshotRepository;
+    @Autowired private FactRollupBatchRepository factRollupBatchRepository;
+    @Autowired private IndicatorService indicatorService;
+
+    private Long indicatorId;
+    private Long subareaId;
+    private String dimension;
+
+    @BeforeAll
+    void populate() {
+        String prefix = "CHART_" + UUID.randomUUID().toString().substring(0, 8);
+        dimension = prefix + "_sector";
+        Long areaId = jdbcTemplate.queryForObject(
+            "INSERT INTO areas (code, name, created_at) VALUES (?, ?, now()) RETURNING id", Long.class, prefix, prefix);
+        subareaId = jdbcTemplate.queryForObject(
+            "INSERT INTO subareas (code, name, area_id, created_at) VALUES (?, ?, ?, now()) RETURNING id",
+            Long.class, prefix + "_S0", "Charted subarea", areaId);
+        Long otherSubareaId = jdbcTemplate.queryForObject(
+            "INSERT INTO subareas (code, name, area_id, created_at) VALUES (?, ?, ?, now()) RETURNING id",
+            Long.class, prefix + "_S1", "Other subarea", areaId);
+        List<Long> indicatorIds = jdbcTemplate.queryForList(
+            "INSERT INTO indicators (code, name, is_composite, created_at) " +
+            "SELECT ? || '_I' || g, 'Indicator ' || g, false, now() FROM generate_series(0, ?) g RETURNING id",
+            Long.class, prefix, INDICATORS - 1);
+        indicatorId = indicatorIds.get(INDICATORS / 2);
+
+        jdbcTemplate.update("INSERT INTO dim_time (id, \"value\", created_at) " +
+            "SELECT ? + g, ? || '-' || g, now() FROM generate_series(0, ?) g", ID_BASE, prefix, TIMES - 1);
+        jdbcTemplate.update("INSERT INTO dim_location (id, name, created_at) " +
+            "SELECT ? + g, ? || ' location ' || g, now() FROM generate_series(0, ?) g", ID_BASE, prefix, LOCATIONS - 1);
+        jdbcTemplate.update("INSERT INTO dim_generic (id, name, dimension_name, \"value\", created_at) " +
+            "SELECT ? + g, 'member', ?, 'M' || g, now() FROM generate_series(0, ?) g", ID_BASE, dimension, MEMBERS - 1);
+
+        long facts = FACTS_PER_INDICATOR * INDICATORS;
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO fact_indicator_values " +
+            "(id, indicator_id, subarea_id, time_id, location_id, numeric_value, source_row_hash, generic_ids, created_at) " +
+            "SELECT ? + g, (?::bigint[])[(1 + g % " + INDICATORS + ")::int], " +
+            "CASE WHEN (g / " + INDICATORS + ") % 4 = 0 THEN ? ELSE ? END, " +
+            "? + (g / 3) % " + TIMES + ", ? + (g / 5) % " + LOCATIONS + ", (g % 100000) / 100.0, md5(? || g), " +
+            "ARRAY[? + (g / 7) % " + MEMBERS + "]::bigint[], now() " +
+            "FROM generate_series(1, ?) g",
+            ID_BASE, indicatorIds.toArray(new Long[0]), otherSubareaId, subareaId,
+            ID_BASE, ID_BASE, prefix, ID_BASE, facts);
+        jdbcTemplate.update("INSERT INTO fact_indicator_value_generic (fact_indicator_value_id, generic_id) " +
+            "SELECT f.id, unnest(f.generic_ids) FROM fact_indicator_values f WHERE f.id > ?", ID_BASE);
+        factRollupBatchRepository.rebuildAll();
+        jdbcTemplate.execute("ANALYZE fact_indicator_values");
+        jdbcTemplate.execute("ANALYZE fact_rollup_time");
+        jdbcTemplate.execute("ANALYZE fact_rollup_location");
+        jdbcTemplate.execute("ANALYZE fact_rollup_generic");
+        report("chart populate", "facts + links + rollups", facts, System.nanoTime() - start);
+    }
+
+    @Test
+    void chartByTime() {
+        compare("time", fact -> fact.getTime() != null ? fact.getTime().getValue() : null, IndicatorFactSnapshot::time);
+    }
+
+    @Test
+    void chartByGeneric() {
+        compare(dimension, fact -> fact.getGenerics().stream()
+                .filter(generic -> dimension.equals(generic.getDimensionName()))
+                .map(DimGeneric::getValue)
+                .findFirst().orElse(null),
+            snapshot -> snapshot.generics().get(dimension));
+    }
+
+    private void compare(String aggregateBy, Function<FactIndicatorValue, String> member,
+                         Function<IndicatorFactSnapshot, IndicatorFactSnapshot.Column> column) {
+        // What the subarea path did before the snapshots: every fact of every indicator in the subarea
+        Map<String, Double> entityAverages = measure("chart " + aggregateBy, "entity load of whole subarea", () ->
+            transactionTemplate.execute(status -> {
+                GroupIndex<String> members = new GroupIndex<>();
+                GroupedStats stats = new GroupedStats();
+                for (FactIndicatorValue fact : factIndicatorValueRepository.findBySubareaIdWithEagerLoadingGenerics(subareaId)) {
+                    String key = fact.getIndicator().getId().equals(indicatorId) ? member.apply(fact) : null;
+                    if (key != null) {
+                        stats.add(members.codeOf(key), fact.getValue().doubleValue());
+                    }
+                }
+                Map<String, Double> averages = new HashMap<>();
+                for (int code = 0; code < members.size(); code++) {
+                    averages.put(members.keyAt(code), stats.mean(code));
+                }
+                return averages;
+            }));
+        Map<String, Double> snapshotAverages = measure("chart " + aggregateBy, "cold snapshot of indicator", () -> {
+            IndicatorFactSnapshot snapshot = factSnapshotRepository.load(indicatorId);
+            return snapshot.averageBy(column.apply(snapshot), subareaId);
+        });
+        IndicatorChartResponse chart = measure("chart " + aggregateBy, "rollup GROUP BY (indicator, subarea)", () ->
+            indicatorService.getIndicatorChart(indicatorId, aggregateBy, subareaId));
+
+        assertThat(snapshotAverages).containsOnlyKeys(entityAverages.keySet());
+        assertThat(chart.getDataPoints()).hasSize(entityAverages.size());
+        chart.getDataPoints().forEach(point ->
+            assertThat(point.getValue().doubleValue()).isCloseTo(entityAverages.get(point.getLabel()), within(1e-6)));
+    }
+
+    private static <T> T measure(String endpoint, String variant, Supplier<T> run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.get();
+        }
+        T result = null;
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            result = run.get();
+        }
+        long elapsed = (System.nanoTime() - start) / RUNS;
+        long allocated = (THREADS.getThreadAllocatedBytes(thread) - allocatedBefore) / RUNS;
+        System.out.printf("[benchmark] %-28s %-36s time=%10.1f ms  allocated=%12d bytes/call%n",
+            endpoint, variant, elapsed / 1_000_000.0, allocated);
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+package io.dashboard.benchmark;
+
+import io.dashboard.model.Area;
+import io.dashboard.model.DimLocation;
+import io.dashboard.model.DimTime;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.model.Indicator;
+import io.dashboard.model.Subarea;
+import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.DimLocationRepository;
+import io.dashboard.repository.DimTimeRepository;
+import io.dashboard.repository.FactBatchRepository;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.IndicatorRepository;
+import io.dashboard.repository.SubareaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares fact insert throughput of the old one-statement-per-row path (what IDENTITY ids forced)
+ * with Hibernate batching on sequence ids and with the JDBC batch writer used by CSV import.
+ */
+class FactInsertBenchmark extends PostgresBenchmarkSupport {
+
+    private static final int ROWS = 20_000;
+
+    @Autowired private AreaRepository areaRepository;
+    @Autowired private SubareaRepository subareaRepository;
+    @Autowired private IndicatorRepository indicatorRepository;
+    @Autowired private DimTimeRepository dimTimeRepository;
+    @Autowired private DimLocationRepository dimLocationRepository;
+    @Autowired private FactIndicatorValueRepository factRepository;
+    @Autowired private FactBatchRepository factBatchRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Indicator indicator;
+    private Subarea subarea;
+    private List<DimTime> times;
+    private List<DimLocation> locations;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Area area = new Area();
+        area.setCode("BENCH_" + suffix);
+        area.setName("Benchmark Area");
+        area = areaRepository.save(area);
+
+        subarea = new Subarea();
+        subarea.setCode("BENCH_SUB_" + suffix);
+        subarea.setName("Benchmark Subarea");
+        subarea.setArea(area);
+        subarea = subareaRepository.save(subarea);
+
+        Indicator newIndicator = new Indicator();
+        newIndicator.setCode("BENCH_IND_" + suffix);
+        newIndicator.setName("Benchmark Indicator " + suffix);
+        newIndicator.setIsComposite(false);
+        indicator = indicatorRepository.save(newIndicator);
+
+        times = new ArrayList<>();
+        for (int year = 2000; year < 2025; year++) {
+            times.add(DimTime.builder().value(year + "-" + suffix).year(year).build());
+        }
+        times = dimTimeRepository.saveAll(times);
+
+        locations = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            locations.add(DimLocation.builder().name("Location " + i + " " + suffix).build());
+        }
+        locations = dimLocationRepository.saveAll(locations);
+    }
+
+    @Test
+    void perRowInsertBaseline() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (FactIndicatorValue fact : buildFacts("row")) {
+                // One flushed INSERT per row, the behaviour IDENTITY ids imposed on every save
+                factRepository.saveAndFlush(fact);
+                entityManager.detach(fact);
+            }
+        });
+        report("fact-insert", "per-row save (IDENTITY-like)", ROWS, System.nanoTime() - start);
+        assertThat(factRepository.countByIndicatorId(indicator.getId())).isGreaterThanOrEqualTo(ROWS);
+    }
+
+    @Test
+    void hibernateBatchedInsert() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<FactIndicatorValue> facts = buildFacts("hib");
+            for (int from = 0; from < facts.size(); from += 1000) {
+                factRepository.saveAll(facts.subList(from, Math.min(from + 1000, facts.size())));
+                entityManager.flush();
+                entityManager.clear();
+            }
+        });
+        report("fact-insert", "hibernate batch (sequence ids)", ROWS, System.nanoTime() - start);
+        assertThat(factRepository.countByIndicatorId(indicator.getId())).isGreaterThanOrEqualTo(ROWS);
+    }
+
+    @Test
+    void jdbcBatchWriter() {
+        long start = System.nanoTime();
+        Integer inserted = transactionTemplate.execute(status -> factBatchRepository.upsertAll(buildFacts("jdbc")));
+        report("fact-insert", "FactBatchRepository (JDBC)", ROWS, System.nanoTime() - start);
+        assertThat(inserted).isEqualTo(ROWS);
+
+        // Unchanged rows of a re-import are not counted, even though the rewritten batch reports every row
+        Integer rewritten = transactionTemplate.execute(status -> factBatchRepository.upsertAll(buildFacts("jdbc")));
+        assertThat(rewritten).isZero();
+    }
+
+    private List<FactIndicatorValue> buildFacts(String prefix) {
+        List<FactIndicatorValue> facts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            facts.add(FactIndicatorValue.builder()
+                .indicator(indicator)
+                .subarea(subarea)
+                .time(times.get(i % times.size()))
+                .location(locations.get(i % locations.size()))
+                .value(BigDecimal.valueOf(i % 1000, 2))
+                .direction("input")
+                .sourceRowHash(prefix + "-" + i)
+                .build());
+        }
+        return facts;
+    }
+}
@@ -0,0 +1,143 @@
+package io.dashboard.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the hash-partitioned fact table created by the migrations with an unpartitioned copy of
+ * the same rows and indexes. Facts are generated in SQL; the default 50 million rows can be lowered
+ * with {@code -Dbenchmark.partition.facts=...}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FactPartitionBenchmark extends PostgresBenchmarkSupport {
+
+    private static final long FACTS = Long.getLong("benchmark.partition.facts", 50_000_000L);
+    private static final int INDICATORS = 200;
+    private static final int SUBAREAS = 20;
+    private static final long INSERT_SLICE = 5_000_000L;
+    private static final String PARTITIONED = "fact_indicator_values";
+    private static final String UNPARTITIONED = "bench_fact_unpartitioned";
+
+    private static final String INSERT_FACTS =
+        "WITH ind AS (SELECT array_agg(id ORDER BY id) AS ids FROM indicators WHERE code LIKE ?), " +
+        "sub AS (SELECT array_agg(id ORDER BY id) AS ids FROM subareas WHERE code LIKE ?) " +
+        "INSERT INTO fact_indicator_values (id, indicator_id, subarea_id, numeric_value, source_row_hash, created_at) " +
+        "SELECT g, ind.ids[(1 + g % " + INDICATORS + ")::int], sub.ids[(1 + (g / " + INDICATORS + ") % " + SUBAREAS + ")::int], " +
+        "(g % 100000) / 100.0, md5(g::text) || md5('fact' || g), now() " +
+        "FROM generate_series(?::bigint, ?::bigint) g, ind, sub";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private List<Long> indicatorIds;
+    private List<Long> subareaIds;
+
+    @BeforeAll
+    void populate() {
+        String prefix = "PART_" + UUID.randomUUID().toString().substring(0, 8);
+        Long areaId = jdbcTemplate.queryForObject(
+            "INSERT INTO areas (code, name, created_at) VALUES (?, ?, now()) RETURNING id", Long.class, prefix, prefix);
+        for (int i = 0; i < SUBAREAS; i++) {
+            jdbcTemplate.update("INSERT INTO subareas (code, name, area_id, created_at) VALUES (?, ?, ?, now())",
+                prefix + "_S" + i, "Subarea " + i, areaId);
+        }
+        for (int i = 0; i < INDICATORS; i++) {
+            jdbcTemplate.update("INSERT INTO indicators (code, name, is_composite, created_at) VALUES (?, ?, false, now())",
+                prefix + "_I" + i, "Indicator " + i);
+        }
+        indicatorIds = jdbcTemplate.queryForList("SELECT id FROM indicators WHERE code LIKE ? ORDER BY id", Long.class, prefix + "_I%");
+        subareaIds = jdbcTemplate.queryForList("SELECT id FROM subareas WHERE code LIKE ? ORDER BY id", Long.class, prefix + "_S%");
+
+        long start = System.nanoTime();
+        for (long from = 1; from <= FACTS; from += INSERT_SLICE) {
+            jdbcTemplate.update(INSERT_FACTS, prefix + "_I%", prefix + "_S%", from, Math.min(from + INSERT_SLICE - 1, FACTS));
+        }
+        jdbcTemplate.execute("ANALYZE " + PARTITIONED);
+        report("partitioning populate", "partitioned (16 x hash)", FACTS, System.nanoTime() - start);
+
+        start = System.nanoTime();
+        jdbcTemplate.execute("CREATE TABLE " + UNPARTITIONED + " AS SELECT * FROM " + PARTITIONED);
+        jdbcTemplate.execute("ALTER TABLE " + UNPARTITIONED + " ADD PRIMARY KEY (id)");
+        jdbcTemplate.execute("CREATE INDEX ON " + UNPARTITIONED + " (indicator_id, subarea_id)");
+        jdbcTemplate.execute("CREATE INDEX ON " + UNPARTITIONED + " (subarea_id, indicator_id) WHERE subarea_id IS NOT NULL");
+        jdbcTemplate.execute("CREATE UNIQUE INDEX ON " + UNPARTITIONED + " (indicator_id, source_row_hash)");
+        jdbcTemplate.execute("ANALYZE " + UNPARTITIONED);
+        report("partitioning populate", "unpartitioned copy", FACTS, System.nanoTime() - start);
+    }
+
+    @AfterAll
+    void dropCopy() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + UNPARTITIONED);
+    }
+
+    @Test
+    void indicatorInSubareaLookup() {
+        long partitioned = lookups(PARTITIONED);
+        long unpartitioned = lookups(UNPARTITIONED);
+        assertThat(partitioned).isEqualTo(unpartitioned);
+    }
+
+    @Test
+    void subareaScan() {
+        String sql = "SELECT count(*) FROM (SELECT indicator_id, sum(numeric_value) FROM %s WHERE subarea_id = ? GROUP BY indicator_id) g";
+        long[] groups = new long[2];
+        List<String> tables = List.of(PARTITIONED, UNPARTITIONED);
+        for (int i = 0; i < tables.size(); i++) {
+            long start = System.nanoTime();
+            groups[i] = jdbcTemplate.queryForObject(String.format(sql, tables.get(i)), Long.class, subareaIds.get(0));
+            report("partitioning subarea scan", tables.get(i), FACTS / SUBAREAS, System.nanoTime() - start);
+        }
+        assertThat(groups[0]).isEqualTo(groups[1]);
+    }
+
+    @Test
+    void indicatorDelete() {
+        // Rolled back, so both tables keep the indicator for the other measurements
+        Long indicatorId = indicatorIds.get(1);
+        for (String table : List.of(PARTITIONED, UNPARTITIONED)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                long start = System.nanoTime();
+                int deleted = jdbcTemplate.update("DELETE FROM " + table + " WHERE indicator_id = ?", indicatorId);
+                report("partitioning indicator delete", table, deleted, System.nanoTime() - start);
+                status.setRollbackOnly();
+            });
+        }
+    }
+
+    @Test
+    void vacuumAfterIndicatorDelete() {
+        // Committed delete of an indicator no other measurement uses, then vacuum what holds its rows
+        Long indicatorId = indicatorIds.get(INDICATORS - 1);
+        String partition = jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM " + PARTITIONED + " WHERE indicator_id = ? LIMIT 1", String.class, indicatorId);
+        for (String table : List.of(PARTITIONED, UNPARTITIONED)) {
+            int deleted = jdbcTemplate.update("DELETE FROM " + table + " WHERE indicator_id = ?", indicatorId);
+            String vacuumed = table.equals(PARTITIONED) ? partition : table;
+            long start = System.nanoTime();
+            jdbcTemplate.execute("VACUUM " + vacuumed);
+            report("partitioning vacuum", vacuumed, deleted, System.nanoTime() - start);
+        }
+    }
+
+    private long lookups(String table) {
+        String sql = "SELECT count(*) FROM " + table + " WHERE indicator_id = ? AND subarea_id = ?";
+        long total = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            total += jdbcTemplate.queryForObject(sql, Long.class,
+                indicatorIds.get(i % (INDICATORS - 2)), subareaIds.get(i % SUBAREAS));
+        }
+        report("partitioning 100 lookups", table, total, System.nanoTime() - start);
+        return total;
+    }
+}
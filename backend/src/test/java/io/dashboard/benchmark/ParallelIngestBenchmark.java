@@ -0,0 +1,120 @@
+package io.dashboard.benchmark;
+
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.IndicatorValue;
+import io.dashboard.model.Area;
+import io.dashboard.model.Direction;
+import io.dashboard.model.Subarea;
+import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.SubareaRepository;
+import io.dashboard.service.DimensionDictionary;
+import io.dashboard.service.IndicatorBatchService;
+import io.dashboard.service.ParallelIndicatorIngestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures how per-indicator parallel ingest scales with the worker count, against the sequential
+ * single-transaction path. Every run imports fresh indicators that share their dimension members,
+ * so the workers also contend on member creation.
+ */
+class ParallelIngestBenchmark extends PostgresBenchmarkSupport {
+
+    private static final int INDICATORS = 60;
+    private static final int VALUES_PER_INDICATOR = 2_000;
+
+    @Autowired private AreaRepository areaRepository;
+    @Autowired private SubareaRepository subareaRepository;
+    @Autowired private IndicatorBatchService indicatorBatchService;
+    @Autowired private DimensionDictionary dimensionDictionary;
+
+    private Long subareaId;
+
+    @DynamicPropertySource
+    static void poolProperties(DynamicPropertyRegistry registry) {
+        // One connection per worker plus headroom for the test itself
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> Runtime.getRuntime().availableProcessors() * 2 + 4);
+    }
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Area area = new Area();
+        area.setCode("BENCH_" + suffix);
+        area.setName("Benchmark Area");
+        area = areaRepository.save(area);
+
+        Subarea subarea = new Subarea();
+        subarea.setCode("BENCH_SUB_" + suffix);
+        subarea.setName("Benchmark Subarea");
+        subarea.setArea(area);
+        subareaId = subareaRepository.save(subarea).getId();
+    }
+
+    @Test
+    void scalingWithWorkerCount() {
+        long rows = (long) INDICATORS * VALUES_PER_INDICATOR;
+
+        long start = System.nanoTime();
+        IndicatorBatchResponse sequential = indicatorBatchService.createFromCsvData(buildRequest("seq"));
+        report("parallel-ingest", "sequential (one transaction)", rows, System.nanoTime() - start);
+        assertThat(sequential.getTotalFactRecords()).isEqualTo((int) rows);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores * 2; threads *= 2) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(threads);
+            executor.setMaxPoolSize(threads);
+            executor.initialize();
+            try {
+                ParallelIndicatorIngestService service =
+                    new ParallelIndicatorIngestService(indicatorBatchService, dimensionDictionary, executor, 3);
+                start = System.nanoTime();
+                IndicatorBatchResponse parallel = service.createFromCsvData(buildRequest("par" + threads));
+                report("parallel-ingest", threads + " workers (" + cores + " cores)", rows, System.nanoTime() - start);
+                assertThat(parallel.getTotalFactRecords()).isEqualTo((int) rows);
+                assertThat(parallel.getWarnings()).isEmpty();
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    private IndicatorBatchRequest buildRequest(String prefix) {
+        String run = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+        List<CsvIndicatorData> indicators = new ArrayList<>(INDICATORS);
+        for (int i = 0; i < INDICATORS; i++) {
+            List<IndicatorValue> values = new ArrayList<>(VALUES_PER_INDICATOR);
+            for (int v = 0; v < VALUES_PER_INDICATOR; v++) {
+                // Members are shared across indicators of a run and new to the database
+                values.add(IndicatorValue.builder()
+                    .value(BigDecimal.valueOf(v % 1000, 2))
+                    .timeValue(run + "-" + (2000 + v % 25))
+                    .locationValue(run + " location " + (v / 25 % 80))
+                    .customDimensions(Map.of("Sector", run + " sector " + (v % 4)))
+                    .build());
+            }
+            indicators.add(CsvIndicatorData.builder()
+                .name("Benchmark " + run + " " + i)
+                .subareaId(subareaId)
+                .direction(Direction.INPUT)
+                .values(values)
+                .build());
+        }
+        return IndicatorBatchRequest.builder().indicators(indicators).build();
+    }
+}
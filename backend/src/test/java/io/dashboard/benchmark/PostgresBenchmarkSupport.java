@@ -0,0 +1,19 @@
+package io.dashboard.benchmark;
+
+import io.dashboard.test.PostgresContainerSupport;
+import org.junit.jupiter.api.Tag;
+
+/**
+ * Base class for benchmarks that need a real PostgreSQL instance.
+ * Run with {@code mvn -Pbenchmark test}; results are printed to stdout.
+ */
+@Tag("benchmark")
+abstract class PostgresBenchmarkSupport extends PostgresContainerSupport {
+
+    protected static void report(String benchmark, String variant, long rows, long elapsedNanos) {
+        double millis = elapsedNanos / 1_000_000.0;
+        double rowsPerSecond = rows / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("[benchmark] %-28s %-32s rows=%-9d time=%10.1f ms  throughput=%12.0f rows/s%n",
+            benchmark, variant, rows, millis, rowsPerSecond);
+    }
+}
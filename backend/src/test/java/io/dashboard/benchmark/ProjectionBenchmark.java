@@ -0,0 +1,178 @@
+package io.dashboard.benchmark;
+
+import io.dashboard.dto.HistoricalDataPoint;
+import io.dashboard.dto.HistoricalDataResponse;
+import io.dashboard.dto.IndicatorValueRow;
+import io.dashboard.dto.IndicatorValuesResponse;
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.service.DashboardDataService;
+import io.dashboard.service.IndicatorService;
+import io.dashboard.service.SubareaService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the read-only value endpoints with the entity-graph code they used before the
+ * {@code FactValueView} projections: latency and bytes allocated on the calling thread per call.
+ * One indicator gets {@code -Dbenchmark.projection.facts} facts (default 200 000) spread over
+ * {@value #SUBAREAS} subareas, each with a time, a location and two generic members.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectionBenchmark extends PostgresBenchmarkSupport {
+
+    private static final long FACTS = Long.getLong("benchmark.projection.facts", 200_000L);
+    private static final int SUBAREAS = 10;
+    private static final int TIMES = 120;
+    private static final int LOCATIONS = 50;
+    private static final int MEMBERS_PER_DIMENSION = 10;
+    // Ids far above anything the sequences hand out during the benchmark
+    private static final long ID_BASE = 2_000_000_000L;
+    private static final int WARMUP = 2;
+    private static final int RUNS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private FactIndicatorValueRepository factIndicatorValueRepository;
+    @Autowired private IndicatorService indicatorService;
+    @Autowired private DashboardDataService dashboardDataService;
+    @Autowired private SubareaService subareaService;
+
+    private Long indicatorId;
+    private Long subareaId;
+
+    @BeforeAll
+    void populate() {
+        String prefix = "PROJ_" + UUID.randomUUID().toString().substring(0, 8);
+        Long areaId = jdbcTemplate.queryForObject(
+            "INSERT INTO areas (code, name, created_at) VALUES (?, ?, now()) RETURNING id", Long.class, prefix, prefix);
+        List<Long> subareaIds = new ArrayList<>();
+        for (int i = 0; i < SUBAREAS; i++) {
+            subareaIds.add(jdbcTemplate.queryForObject(
+                "INSERT INTO subareas (code, name, area_id, created_at) VALUES (?, ?, ?, now()) RETURNING id",
+                Long.class, prefix + "_S" + i, "Subarea " + i, areaId));
+        }
+        subareaId = subareaIds.get(0);
+        indicatorId = jdbcTemplate.queryForObject(
+            "INSERT INTO indicators (code, name, is_composite, created_at) VALUES (?, ?, false, now()) RETURNING id",
+            Long.class, prefix + "_I", "Indicator");
+
+        jdbcTemplate.update("INSERT INTO dim_time (id, \"value\", created_at) " +
+            "SELECT ? + g, ? || '-' || g, now() FROM generate_series(0, ?) g", ID_BASE, prefix, TIMES - 1);
+        jdbcTemplate.update("INSERT INTO dim_location (id, name, created_at) " +
+            "SELECT ? + g, ? || ' location ' || g, now() FROM generate_series(0, ?) g", ID_BASE, prefix, LOCATIONS - 1);
+        jdbcTemplate.update("INSERT INTO dim_generic (id, name, dimension_name, \"value\", created_at) " +
+            "SELECT ? + g, 'member', ? || CASE WHEN g < ? THEN '_sex' ELSE '_age' END, 'M' || g, now() " +
+            "FROM generate_series(0, ?) g", ID_BASE, prefix, MEMBERS_PER_DIMENSION, 2 * MEMBERS_PER_DIMENSION - 1);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO fact_indicator_values " +
+            "(id, indicator_id, subarea_id, time_id, location_id, numeric_value, source_row_hash, generic_ids, created_at) " +
+            "SELECT ? + g, ?, (?::bigint[])[(1 + g % " + SUBAREAS + ")::int], " +
+            "? + g % " + TIMES + ", ? + g % " + LOCATIONS + ", (g % 100000) / 100.0, md5(? || g), " +
+            "ARRAY[? + g % " + MEMBERS_PER_DIMENSION + ", ? + " + MEMBERS_PER_DIMENSION + " + (g / 7) % " + MEMBERS_PER_DIMENSION + "]::bigint[], now() " +
+            "FROM generate_series(1, ?) g",
+            ID_BASE, indicatorId, subareaIds.toArray(new Long[0]), ID_BASE, ID_BASE, prefix, ID_BASE, ID_BASE, FACTS);
+        jdbcTemplate.update("INSERT INTO fact_indicator_value_generic (fact_indicator_value_id, generic_id) " +
+            "SELECT f.id, unnest(f.generic_ids) FROM fact_indicator_values f WHERE f.indicator_id = ?", indicatorId);
+        jdbcTemplate.execute("ANALYZE fact_indicator_values");
+        jdbcTemplate.execute("ANALYZE fact_indicator_value_generic");
+        report("projection populate", "facts + generic links", FACTS, System.nanoTime() - start);
+    }
+
+    @Test
+    void indicatorValues() {
+        List<IndicatorValueRow> entityRows = measure("GET /indicators/{id}/values", "entity graph (JOIN FETCH)", () ->
+            transactionTemplate.execute(status -> toRows(factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId))));
+        IndicatorValuesResponse projected = measure("GET /indicators/{id}/values", "FactValueView projection", () ->
+            indicatorService.getIndicatorValues(indicatorId));
+
+        assertThat(projected.getRows()).hasSameSizeAs(entityRows);
+        assertThat(projected.getRows().get(0).getDimensions()).hasSize(4);
+    }
+
+    @Test
+    void historicalData() {
+        List<HistoricalDataPoint> entityPoints = measure("GET .../historical", "entity graph (JOIN FETCH)", () ->
+            transactionTemplate.execute(status -> {
+                List<HistoricalDataPoint> points = new ArrayList<>();
+                for (IndicatorValueRow row : toRows(factIndicatorValueRepository.findByIndicatorIdWithGenerics(indicatorId))) {
+                    HistoricalDataPoint point = new HistoricalDataPoint();
+                    point.setTimestamp(row.getDimensions().getOrDefault("time", "Unknown"));
+                    point.setValue(row.getValue().doubleValue());
+                    point.setDimensions(row.getDimensions());
+                    points.add(point);
+                }
+                return points;
+            }));
+        HistoricalDataResponse projected = measure("GET .../historical", "FactValueView projection", () ->
+            dashboardDataService.getHistoricalData(indicatorId, 12, null));
+
+        assertThat(projected.getDataPoints()).hasSameSizeAs(entityPoints);
+    }
+
+    @Test
+    void subareaIndicatorValues() {
+        // The former code initialized the lazy generics of every fact one query at a time
+        List<IndicatorValueRow> entityRows = measure("GET /subareas/.../values", "entity graph (lazy generics)", () ->
+            transactionTemplate.execute(status -> toRows(factIndicatorValueRepository.findByIndicatorIdAndSubareaId(indicatorId, subareaId))));
+        IndicatorValuesResponse projected = measure("GET /subareas/.../values", "FactValueView projection", () ->
+            subareaService.getIndicatorValuesResponseForSubarea(indicatorId, subareaId));
+
+        assertThat(projected.getRows()).hasSameSizeAs(entityRows);
+    }
+
+    private static List<IndicatorValueRow> toRows(List<FactIndicatorValue> facts) {
+        List<IndicatorValueRow> rows = new ArrayList<>(facts.size());
+        for (FactIndicatorValue fact : facts) {
+            Map<String, String> dimensions = new HashMap<>();
+            if (fact.getTime() != null) dimensions.put("time", fact.getTime().getValue());
+            if (fact.getLocation() != null) dimensions.put("location", fact.getLocation().getName());
+            for (DimGeneric generic : fact.getGenerics()) {
+                dimensions.put(generic.getDimensionName(), generic.getValue());
+            }
+            rows.add(IndicatorValueRow.builder()
+                .factId(fact.getId())
+                .dimensions(dimensions)
+                .value(fact.getValue())
+                .build());
+        }
+        return rows;
+    }
+
+    private static <T> T measure(String endpoint, String variant, Supplier<T> run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.get();
+        }
+        T result = null;
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            result = run.get();
+        }
+        long elapsed = (System.nanoTime() - start) / RUNS;
+        long allocated = (THREADS.getThreadAllocatedBytes(thread) - allocatedBefore) / RUNS;
+        System.out.printf("[benchmark] %-28s %-32s time=%10.1f ms  allocated=%12d bytes/call%n",
+            endpoint, variant, elapsed / 1_000_000.0, allocated);
+        return result;
+    }
+}
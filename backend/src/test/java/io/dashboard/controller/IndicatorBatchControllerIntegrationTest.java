@@ -8,6 +8,7 @@ import io.dashboard.dto.IndicatorValue;
 import io.dashboard.model.Direction;
 import io.dashboard.model.Subarea;
 import io.dashboard.model.Area;
+import io.dashboard.repository.FactIndicatorValueRepository;
 import io.dashboard.repository.SubareaRepository;
 import io.dashboard.test.security.WithMockAdmin;
 import io.dashboard.repository.AreaRepository;
@@ -17,16 +18,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -49,6 +54,9 @@ class IndicatorBatchControllerIntegrationTest {
     @Autowired
     private AreaRepository areaRepository;
     
+    @Autowired
+    private FactIndicatorValueRepository factIndicatorValueRepository;
+    
     private Long testSubareaId;
     
     @BeforeEach
@@ -214,4 +222,105 @@ class IndicatorBatchControllerIntegrationTest {
                 .andExpect(jsonPath("$.createdIndicators.length()").value(1)) // Should reuse existing indicator
                 .andExpect(jsonPath("$.totalFactRecords").value(2)); // But create both fact records
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void shouldStreamMultipartCsvImport() throws Exception {
+        String csv = "\uFEFFindicator,value,time,location,location_type,Sector\n"
+            + "Broadband Coverage,81.5,2023,Vienna,state,Private\n"
+            + "Broadband Coverage,77.0,2023,Tyrol,state,Private\n"
+            + "Broadband Coverage,not-a-number,2023,Salzburg,state,Private\n"
+            + "E-Government Usage,64,2023,Vienna,state,\n";
+        MockMultipartFile file = new MockMultipartFile("file", "indicators.csv", "text/csv",
+            csv.getBytes(StandardCharsets.UTF_8));
+        
+        mockMvc.perform(multipart("/api/v1/indicators/import-csv")
+                .file(file)
+                .param("subareaId", testSubareaId.toString())
+                .param("direction", "INPUT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdIndicators.length()").value(2))
+                .andExpect(jsonPath("$.totalFactRecords").value(3))
+                .andExpect(jsonPath("$.warnings.length()").value(1))
+                .andExpect(jsonPath("$.warnings[0]").value(org.hamcrest.Matchers.containsString("not-a-number")));
+    }
+    
+    @Test
+    void shouldUpsertInsteadOfDuplicatingOnReimport() throws Exception {
+        String csv = "indicator,value,time,location,Sector\n"
+            + "Broadband Coverage,81.5,2023,Vienna,Private\n"
+            + "Broadband Coverage,77.0,2023,Tyrol,Private\n";
+        MockMultipartFile file = new MockMultipartFile("file", "indicators.csv", "text/csv",
+            csv.getBytes(StandardCharsets.UTF_8));
+        
+        mockMvc.perform(multipart("/api/v1/indicators/import-csv")
+                .file(file)
+                .param("subareaId", testSubareaId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalFactRecords").value(2));
+        long factsAfterFirstImport = factIndicatorValueRepository.count();
+        
+        mockMvc.perform(multipart("/api/v1/indicators/import-csv")
+                .file(file)
+                .param("subareaId", testSubareaId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalFactRecords").value(0));
+        
+        MockMultipartFile corrected = new MockMultipartFile("file", "indicators.csv", "text/csv",
+            csv.replace("77.0", "78.0").getBytes(StandardCharsets.UTF_8));
+        mockMvc.perform(multipart("/api/v1/indicators/import-csv")
+                .file(corrected)
+                .param("subareaId", testSubareaId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalFactRecords").value(1));
+        
+        assertThat(factIndicatorValueRepository.count()).isEqualTo(factsAfterFirstImport);
+    }
+    
+    @Test
+    void shouldUpsertOnReimportAfterDirectionChange() throws Exception {
+        String csv = "indicator,value,time,location\n"
+            + "Broadband Coverage,81.5,2023,Vienna\n"
+            + "Broadband Coverage,77.0,2023,Tyrol\n";
+        MockMultipartFile file = new MockMultipartFile("file", "indicators.csv", "text/csv",
+            csv.getBytes(StandardCharsets.UTF_8));
+    
+        String body = mockMvc.perform(multipart("/api/v1/indicators/import-csv")
+                .file(file)
+                .param("subareaId", testSubareaId.toString())
+                .param("direction", "INPUT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalFactRecords").value(2))
+                .andReturn().getResponse().getContentAsString();
+        Long indicatorId = objectMapper.readValue(body, IndicatorBatchResponse.class)
+            .getCreatedIndicators().get(0).getId();
+        long factsAfterFirstImport = factIndicatorValueRepository.countByIndicatorId(indicatorId);
+    
+        mockMvc.perform(put("/api/v1/indicators/" + indicatorId + "/subareas/" + testSubareaId + "/direction")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("direction", "output"))))
+                .andExpect(status().isNoContent());
+    
+        mockMvc.perform(multipart("/api/v1/indicators/import-csv")
+                .file(file)
+                .param("subareaId", testSubareaId.toString())
+                .param("direction", "OUTPUT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalFactRecords").value(0));
+    
+        assertThat(factIndicatorValueRepository.countByIndicatorId(indicatorId)).isEqualTo(factsAfterFirstImport);
+        assertThat(factIndicatorValueRepository.findByIndicatorIdAndSubareaId(indicatorId, testSubareaId))
+            .allMatch(fact -> "output".equals(fact.getDirection()));
+    }
+    
+    @Test
+    void shouldRejectCsvWithoutRequiredColumns() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "indicators.csv", "text/csv",
+            "name,amount\nBroadband Coverage,81.5\n".getBytes(StandardCharsets.UTF_8));
+        
+        mockMvc.perform(multipart("/api/v1/indicators/import-csv")
+                .file(file)
+                .param("subareaId", testSubareaId.toString())
+                .param("direction", "INPUT"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -38,6 +38,7 @@ import java.math.BigDecimal;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItems;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -333,6 +334,98 @@ class IndicatorControllerIntegrationTest {
         assertThat(indicatorRepository.findById(indicator.getId())).isEmpty();
     }
 
+    @Test
+    @WithMockAdmin
+    void deleteIndicatorWithData_shouldBulkDeleteFactsAndReturnCounts() throws Exception {
+        long counter = testCounter.getAndIncrement();
+        Indicator indicator = new Indicator();
+        indicator.setCode("IND" + counter);
+        indicator.setName("Indicator " + counter);
+        indicator.setIsComposite(false);
+        indicator = indicatorRepository.save(indicator);
+
+        FactIndicatorValue withGeneric = new FactIndicatorValue();
+        withGeneric.setIndicator(indicator);
+        withGeneric.setSubarea(subarea);
+        withGeneric.setTime(dimTime);
+        withGeneric.getGenerics().add(dimGeneric);
+        withGeneric.setValue(new BigDecimal("1.0"));
+        withGeneric.setSourceRowHash("test-hash-" + counter + "-a");
+        factIndicatorValueRepository.save(withGeneric);
+
+        FactIndicatorValue plain = new FactIndicatorValue();
+        plain.setIndicator(indicator);
+        plain.setSubarea(subarea);
+        plain.setLocation(dimLocation);
+        plain.setValue(new BigDecimal("2.0"));
+        plain.setSourceRowHash("test-hash-" + counter + "-b");
+        factIndicatorValueRepository.save(plain);
+
+        mockMvc.perform(delete("/api/v1/indicators/" + indicator.getId() + "/with-data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(indicator.getId()))
+                .andExpect(jsonPath("$.deletedFactValues").value(2))
+                .andExpect(jsonPath("$.deletedGenericLinks").value(1));
+
+        assertThat(factIndicatorValueRepository.countByIndicatorId(indicator.getId())).isZero();
+        assertThat(indicatorRepository.findById(indicator.getId())).isEmpty();
+    }
+
+    @Test
+    @WithMockUser
+    void getIndicatorValues_shouldPageByFactIdAndFilterByMember() throws Exception {
+        long counter = testCounter.getAndIncrement();
+        Indicator indicator = new Indicator();
+        indicator.setCode("IND" + counter);
+        indicator.setName("Indicator " + counter);
+        indicator.setIsComposite(false);
+        indicator = indicatorRepository.save(indicator);
+
+        Long[] factIds = new Long[3];
+        for (int i = 0; i < factIds.length; i++) {
+            FactIndicatorValue fact = new FactIndicatorValue();
+            fact.setIndicator(indicator);
+            fact.setSubarea(subarea);
+            fact.setTime(dimTime);
+            if (i == 1) {
+                fact.getGenerics().add(dimGeneric);
+            }
+            fact.setValue(new BigDecimal(i));
+            fact.setSourceRowHash("test-hash-" + counter + "-" + i);
+            factIds[i] = factIndicatorValueRepository.save(fact).getId();
+        }
+
+        mockMvc.perform(get("/api/v1/indicators/" + indicator.getId() + "/values").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(2))
+                .andExpect(jsonPath("$.rows[0].factId").value(factIds[0]))
+                .andExpect(jsonPath("$.rows[1].dimensions['Test Dimension']").value("Test Value"))
+                .andExpect(jsonPath("$.nextAfter").value(factIds[1]));
+
+        mockMvc.perform(get("/api/v1/indicators/" + indicator.getId() + "/values")
+                .param("limit", "2")
+                .param("after", String.valueOf(factIds[1])))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(1))
+                .andExpect(jsonPath("$.rows[0].factId").value(factIds[2]))
+                .andExpect(jsonPath("$.nextAfter").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/indicators/" + indicator.getId() + "/values")
+                .param("dimension", "Test Dimension")
+                .param("member", "Test Value"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(1))
+                .andExpect(jsonPath("$.rows[0].factId").value(factIds[1]))
+                .andExpect(jsonPath("$.dimensionColumns").value(hasItems("time", "Test Dimension")));
+    }
+
+    @Test
+    @WithMockUser
+    void streamIndicatorValues_shouldReturn404_whenNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/indicators/999999/values/stream"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @WithMockUser
     void getIndicatorChart_shouldReturnAggregatedData() throws Exception {
@@ -376,6 +469,52 @@ class IndicatorControllerIntegrationTest {
                 .andExpect(jsonPath("$.availableDimensions").exists());
     }
 
+    @Test
+    @WithMockUser
+    void getIndicatorDimensionsBatch_shouldReturnValuesWithFactCounts() throws Exception {
+        long counter = testCounter.getAndIncrement();
+        Indicator withFacts = new Indicator();
+        withFacts.setCode("IND" + counter);
+        withFacts.setName("Indicator " + counter);
+        withFacts.setIsComposite(false);
+        withFacts = indicatorRepository.save(withFacts);
+        Indicator withoutFacts = new Indicator();
+        withoutFacts.setCode("IND" + counter + "_EMPTY");
+        withoutFacts.setName("Indicator " + counter + " empty");
+        withoutFacts.setIsComposite(false);
+        withoutFacts = indicatorRepository.save(withoutFacts);
+
+        for (int i = 0; i < 2; i++) {
+            FactIndicatorValue fact = new FactIndicatorValue();
+            fact.setIndicator(withFacts);
+            fact.setSubarea(subarea);
+            fact.setTime(dimTime);
+            if (i == 0) {
+                fact.setLocation(dimLocation);
+                fact.getGenerics().add(dimGeneric);
+            }
+            fact.setValue(new BigDecimal("10.0"));
+            fact.setSourceRowHash("batch-hash-" + counter + "-" + i);
+            factIndicatorValueRepository.save(fact);
+        }
+
+        mockMvc.perform(get("/api/v1/indicators/dimensions")
+                .param("ids", withFacts.getId() + "," + withoutFacts.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].indicatorId").value(String.valueOf(withFacts.getId())))
+                .andExpect(jsonPath("$[0].availableDimensions[0].type").value("time"))
+                .andExpect(jsonPath("$[0].availableDimensions[0].values[0]").value("2024-01"))
+                .andExpect(jsonPath("$[0].availableDimensions[0].valueCount").value(1))
+                .andExpect(jsonPath("$[0].availableDimensions[0].factCounts['2024-01']").value(2))
+                .andExpect(jsonPath("$[0].availableDimensions[1].type").value("location"))
+                .andExpect(jsonPath("$[0].availableDimensions[1].factCounts['Test Location']").value(1))
+                .andExpect(jsonPath("$[0].availableDimensions[2].type").value("Test Dimension"))
+                .andExpect(jsonPath("$[0].availableDimensions[2].factCounts['Test Value']").value(1))
+                .andExpect(jsonPath("$[1].indicatorId").value(String.valueOf(withoutFacts.getId())))
+                .andExpect(jsonPath("$[1].availableDimensions").isEmpty());
+    }
+
     @Test
     @WithMockUser
     void getIndicatorHistorical_shouldReturnHistoricalData() throws Exception {
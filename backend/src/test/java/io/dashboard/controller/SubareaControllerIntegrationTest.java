@@ -4,8 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.dashboard.dto.SubareaCreateRequest;
 import io.dashboard.dto.SubareaUpdateRequest;
 import io.dashboard.model.Area;
+import io.dashboard.model.Indicator;
 import io.dashboard.model.Subarea;
 import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.IndicatorRepository;
 import io.dashboard.repository.SubareaRepository;
 import io.dashboard.test.security.WithMockAdmin;
 import io.dashboard.test.security.WithMockManager;
@@ -39,6 +41,8 @@ class SubareaControllerIntegrationTest {
     private AreaRepository areaRepository;
     @Autowired
     private SubareaRepository subareaRepository;
+    @Autowired
+    private IndicatorRepository indicatorRepository;
 
     private Area area;
 
@@ -219,7 +223,8 @@ class SubareaControllerIntegrationTest {
         sub.setArea(area);
         sub = subareaRepository.save(sub);
         mockMvc.perform(delete("/api/v1/subareas/" + sub.getId() + "/with-data"))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedFactValues").value(0));
         assertThat(subareaRepository.findById(sub.getId())).isEmpty();
     }
 
@@ -380,5 +385,48 @@ class SubareaControllerIntegrationTest {
     void getSubareaData_shouldReturn404_whenSubareaNotFound() throws Exception {
         mockMvc.perform(get("/api/v1/subareas/9999/data"))
                 .andExpect(status().isNotFound());
+    }    }
+
+    @Test
+    @WithMockRegularUser
+    void getIndicatorValuesPage_shouldReturn400_whenDimensionWithoutMember() throws Exception {
+        Subarea sub = new Subarea();
+        sub.setCode("S19");
+        sub.setName("Sub 19");
+        sub.setArea(area);
+        sub = subareaRepository.save(sub);
+        Indicator indicator = new Indicator();
+        indicator.setCode("IND19");
+        indicator.setName("Indicator 19");
+        indicator.setIsComposite(false);
+        indicator = indicatorRepository.save(indicator);
+        mockMvc.perform(get("/api/v1/subareas/" + sub.getId() + "/indicators/" + indicator.getId() + "/values")
+                .param("dimension", "Sector"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockRegularUser
+    void getIndicatorValuesPage_shouldReturn404_whenIndicatorNotFound() throws Exception {
+        Subarea sub = new Subarea();
+        sub.setCode("S20");
+        sub.setName("Sub 20");
+        sub.setArea(area);
+        sub = subareaRepository.save(sub);
+        mockMvc.perform(get("/api/v1/subareas/" + sub.getId() + "/indicators/9999/values")
+                .param("limit", "10"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockRegularUser
+    void streamIndicatorValues_shouldReturn404_whenIndicatorNotFound() throws Exception {
+        Subarea sub = new Subarea();
+        sub.setCode("S21");
+        sub.setName("Sub 21");
+        sub.setArea(area);
+        sub = subareaRepository.save(sub);
+        mockMvc.perform(get("/api/v1/subareas/" + sub.getId() + "/indicators/9999/values/stream"))
+                .andExpect(status().isNotFound());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,130 @@
+package io.dashboard.repository;
+
+import io.dashboard.test.PostgresContainerSupport;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when one of the hot fact queries can only be answered by a sequential scan, i.e. when the
+ * index serving it is missing. Sequential scans are disabled for the EXPLAIN, so the planner picks
+ * an index whenever one applies regardless of table size. Native queries are taken from their
+ * repository annotations so the check follows changes to them. Queries naming an indicator must
+ * also be pruned to a single hash partition.
+ * <p>
+ * Part of the default test run, like every test tagged "postgres"; without Docker they are skipped.
+ */
+@Tag("postgres")
+class FactQueryPlanTest extends PostgresContainerSupport {
+
+    // "... Scan on fact_indicator_values_p03" (partition index names continue with "_", so they do not match)
+    private static final Pattern PARTITION_SCAN = Pattern.compile(" on (fact_indicator_values_p\\d+)(\\s|$)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void factsByIndicatorAndSubarea() {
+        assertIndexed("SELECT * FROM fact_indicator_values WHERE indicator_id = 1 AND subarea_id = 2");
+        assertIndexed("SELECT count(*) FROM fact_indicator_values WHERE indicator_id = 1 AND subarea_id = 2");
+        assertIndexed(nativeQuery("findDimensionsByIndicatorIdAndSubareaId", Long.class, Long.class));
+        assertIndexed("SELECT * FROM fact_indicator_values WHERE indicator_id = 1 AND subarea_id = 2 AND id > 100 ORDER BY id LIMIT 501");
+    }
+
+    @Test
+    void factsByIndicator() {
+        assertIndexed("SELECT * FROM fact_indicator_values WHERE indicator_id = 1");
+        assertIndexed("SELECT id FROM fact_indicator_values WHERE indicator_id = 1 ORDER BY id LIMIT 1000");
+        assertIndexed(nativeQuery("findDimensionsByIndicatorId", Long.class));
+        assertIndexed("SELECT * FROM fact_indicator_values WHERE indicator_id = 1 AND id > 100 ORDER BY id LIMIT 501");
+    }
+
+    @Test
+    void indicatorQueriesArePrunedToOnePartition() {
+        assertThat(scannedPartitions("SELECT * FROM fact_indicator_values WHERE indicator_id = 1 AND subarea_id = 2")).hasSize(1);
+        assertThat(scannedPartitions("DELETE FROM fact_indicator_values WHERE indicator_id = 1 AND id IN (1, 2, 3)")).hasSize(1);
+        assertThat(scannedPartitions("SELECT * FROM fact_indicator_values WHERE subarea_id = 2")).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void factsBySubarea() {
+        assertIndexed("SELECT * FROM fact_indicator_values WHERE subarea_id = 2");
+        assertIndexed("SELECT id FROM fact_indicator_values WHERE subarea_id = 2 ORDER BY id LIMIT 1000");
+    }
+
+    @Test
+    void genericLinks() {
+        assertIndexed("SELECT j.generic_id FROM fact_indicator_value_generic j "
+            + "JOIN fact_indicator_values f ON j.fact_indicator_value_id = f.id WHERE f.indicator_id = 1");
+        assertIndexed("SELECT fact_indicator_value_id FROM fact_indicator_value_generic WHERE generic_id = 5");
+        assertIndexed(nativeQuery("bulkDeleteGenericLinksByFactIds", Collection.class).replace(":factIds", "1, 2, 3"));
+    }
+
+    @Test
+    void genericIdsOnTheFactRow() {
+        assertIndexed("SELECT id FROM fact_indicator_values WHERE generic_ids @> ARRAY[5]::bigint[]");
+        assertIndexed("SELECT f.id, g.dimension_name FROM fact_indicator_values f "
+            + "JOIN dim_generic g ON g.id = ANY(f.generic_ids) WHERE f.indicator_id = 1");
+    }
+
+    private void assertIndexed(String sql) {
+        List<String> plan = explain(sql);
+        assertThat(plan)
+            .as("plan of %s%n%s", sql, String.join("\n", plan))
+            .noneMatch(line -> line.contains("Seq Scan"));
+    }
+
+    private Set<String> scannedPartitions(String sql) {
+        Set<String> partitions = new TreeSet<>();
+        for (String line : explain(sql)) {
+            Matcher matcher = PARTITION_SCAN.matcher(line);
+            if (matcher.find()) {
+                partitions.add(matcher.group(1));
+            }
+        }
+        return partitions;
+    }
+
+    private List<String> explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    List<String> lines = new ArrayList<>();
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                    return lines;
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+        });
+    }
+
+    private static String nativeQuery(String method, Class<?>... parameterTypes) {
+        try {
+            Query query = FactIndicatorValueRepository.class.getMethod(method, parameterTypes).getAnnotation(Query.class);
+            return query.value()
+                .replace(":indicatorId", "1")
+                .replace(":subareaId", "2");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package io.dashboard.service;
+
+import io.dashboard.model.Area;
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.DimLocation;
+import io.dashboard.model.DimTime;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.model.Indicator;
+import io.dashboard.model.Subarea;
+import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.DimGenericRepository;
+import io.dashboard.repository.DimLocationRepository;
+import io.dashboard.repository.DimTimeRepository;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactRollupBatchRepository;
+import io.dashboard.repository.IndicatorRepository;
+import io.dashboard.repository.SubareaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks that the rollup-based AggregationService returns what the former in-memory
+ * implementation ({@link LegacyAggregation}) returned for the same facts.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class AggregationServiceParityTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Autowired private AggregationService aggregationService;
+    @Autowired private FactIndicatorValueRepository factIndicatorValueRepository;
+    @Autowired private FactRollupBatchRepository factRollupBatchRepository;
+    @Autowired private AreaRepository areaRepository;
+    @Autowired private SubareaRepository subareaRepository;
+    @Autowired private IndicatorRepository indicatorRepository;
+    @Autowired private DimTimeRepository dimTimeRepository;
+    @Autowired private DimLocationRepository dimLocationRepository;
+    @Autowired private DimGenericRepository dimGenericRepository;
+    @Autowired private EntityManager entityManager;
+
+    private LegacyAggregation legacy;
+    private final List<Subarea> subareas = new ArrayList<>();
+    private final List<Indicator> indicators = new ArrayList<>();
+    private Subarea emptySubarea;
+
+    @BeforeEach
+    void setUp() {
+        legacy = new LegacyAggregation(factIndicatorValueRepository);
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Random random = new Random(42);
+
+        Area area = new Area();
+        area.setCode("PAR_" + run);
+        area.setName("Parity Area");
+        area = areaRepository.save(area);
+        for (int i = 0; i < 3; i++) {
+            subareas.add(subarea(area, run + "_" + i));
+        }
+        emptySubarea = subarea(area, run + "_empty");
+
+        List<DimTime> times = new ArrayList<>();
+        for (int year = 2020; year < 2023; year++) {
+            for (int month = 1; month <= 2; month++) {
+                // Two time members per year-month that must fall into the same period
+                times.add(DimTime.builder().value(run + "-" + year + "-" + month + "-a").year(year).month(month).build());
+                times.add(DimTime.builder().value(run + "-" + year + "-" + month + "-b").year(year).month(month).day(15).build());
+            }
+        }
+        times.add(DimTime.builder().value(run + "-undated").build());
+        times = dimTimeRepository.saveAll(times);
+
+        List<DimLocation> locations = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            locations.add(DimLocation.builder().name(run + " location " + i).build());
+        }
+        locations = dimLocationRepository.saveAll(locations);
+
+        List<DimGeneric> generics = new ArrayList<>();
+        for (String value : List.of("Agriculture", "Industry", "Services")) {
+            generics.add(generic("Sector", run + " " + value));
+        }
+        // Same dimension spelled differently; the lookup ignores case
+        generics.add(generic("SECTOR", run + " Other"));
+        generics.add(generic("Gender", run + " Female"));
+        generics = dimGenericRepository.saveAll(generics);
+
+        for (int i = 0; i < 5; i++) {
+            indicators.add(indicator(run + "_" + i));
+        }
+
+        int row = 0;
+        for (int i = 0; i < indicators.size(); i++) {
+            Indicator indicator = indicators.get(i);
+            boolean timeless = i == indicators.size() - 1;
+            for (int n = 0; n < 60; n++) {
+                FactIndicatorValue fact = new FactIndicatorValue();
+                fact.setIndicator(indicator);
+                fact.setSubarea(subareas.get(random.nextInt(subareas.size())));
+                if (!timeless && random.nextInt(10) > 0) {
+                    fact.setTime(times.get(random.nextInt(times.size())));
+                }
+                if (random.nextInt(5) > 0) {
+                    fact.setLocation(locations.get(random.nextInt(locations.size())));
+                }
+                int links = random.nextInt(3);
+                for (int g = 0; g < links; g++) {
+                    fact.getGenerics().add(generics.get(random.nextInt(generics.size())));
+                }
+                fact.setValue(BigDecimal.valueOf(random.nextInt(2_000_000) - 500_000, 3));
+                fact.setSourceRowHash(run + "-" + row++);
+                factIndicatorValueRepository.save(fact);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // The facts were saved one by one through JPA, which does not maintain the rollups
+        factRollupBatchRepository.rebuildAll();
+    }
+
+    @Test
+    void indicatorAggregatedValueMatches() {
+        for (Indicator indicator : indicators) {
+            assertThat(aggregationService.calculateIndicatorAggregatedValue(indicator.getId()))
+                .as("indicator %s", indicator.getCode())
+                .isCloseTo(legacy.calculateIndicatorAggregatedValue(indicator.getId()), within(TOLERANCE));
+        }
+        assertThat(aggregationService.calculateIndicatorAggregatedValue(-1L)).isZero();
+    }
+
+    @Test
+    void indicatorAggregatedValueInSubareaMatches() {
+        for (Indicator indicator : indicators) {
+            for (Subarea subarea : allSubareas()) {
+                assertThat(aggregationService.calculateIndicatorAggregatedValue(indicator.getId(), subarea.getId()))
+                    .as("indicator %s in %s", indicator.getCode(), subarea.getCode())
+                    .isCloseTo(legacy.calculateIndicatorAggregatedValue(indicator.getId(), subarea.getId()), within(TOLERANCE));
+            }
+        }
+    }
+
+    @Test
+    void subareaAggregatedValueMatches() {
+        for (Subarea subarea : allSubareas()) {
+            assertThat(aggregationService.calculateSubareaAggregatedValue(subarea.getId()))
+                .as("subarea %s", subarea.getCode())
+                .isCloseTo(legacy.calculateSubareaAggregatedValue(subarea.getId()), within(TOLERANCE));
+        }
+    }
+
+    @Test
+    void subareaAggregatedByDimensionMatches() {
+        for (Subarea subarea : allSubareas()) {
+            for (String dimension : List.of("time", "Location", "sector", "Gender", "unknown")) {
+                assertSameGroups(aggregationService.getSubareaAggregatedByDimension(subarea.getId(), dimension),
+                    legacy.getSubareaAggregatedByDimension(subarea.getId(), dimension));
+            }
+            assertSameGroups(aggregationService.getSubareaAggregatedByTime(subarea.getId()),
+                legacy.getSubareaAggregatedByTime(subarea.getId()));
+            assertSameGroups(aggregationService.getSubareaAggregatedByLocation(subarea.getId()),
+                legacy.getSubareaAggregatedByLocation(subarea.getId()));
+        }
+    }
+
+    @Test
+    void indicatorAggregatedByDimensionMatches() {
+        for (Indicator indicator : indicators) {
+            for (String dimension : List.of("Time", "location", "Sector", "gender", "unknown")) {
+                assertSameGroups(aggregationService.getIndicatorAggregatedByDimension(indicator.getId(), dimension),
+                    legacy.getIndicatorAggregatedByDimension(indicator.getId(), dimension));
+            }
+        }
+    }
+
+    private static void assertSameGroups(Map<String, Double> actual, Map<String, Double> expected) {
+        assertThat(actual).containsOnlyKeys(expected.keySet());
+        expected.forEach((key, value) ->
+            assertThat(actual.get(key)).as("group %s", key).isCloseTo(value, within(TOLERANCE)));
+    }
+
+    private List<Subarea> allSubareas() {
+        List<Subarea> all = new ArrayList<>(subareas);
+        all.add(emptySubarea);
+        return all;
+    }
+
+    private Subarea subarea(Area area, String suffix) {
+        Subarea subarea = new Subarea();
+        subarea.setCode("PAR_SUB_" + suffix);
+        subarea.setName("Parity Subarea " + suffix);
+        subarea.setArea(area);
+        return subareaRepository.save(subarea);
+    }
+
+    private Indicator indicator(String suffix) {
+        Indicator indicator = new Indicator();
+        indicator.setCode("PAR_IND_" + suffix);
+        indicator.setName("Parity Indicator " + suffix);
+        indicator.setIsComposite(false);
+        return indicatorRepository.save(indicator);
+    }
+
+    private static DimGeneric generic(String dimensionName, String value) {
+        DimGeneric generic = new DimGeneric();
+        generic.setName(dimensionName);
+        generic.setDimensionName(dimensionName);
+        generic.setValue(value);
+        return generic;
+    }
+}
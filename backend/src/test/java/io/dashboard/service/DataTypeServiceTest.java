@@ -24,6 +24,8 @@ import static org.mockito.Mockito.*;
 class DataTypeServiceTest {
     @Mock
     private DataTypeRepository dataTypeRepository;
+    @Mock
+    private ReferenceDataRegistry referenceDataRegistry;
     @InjectMocks
     private DataTypeService dataTypeService;
 
@@ -72,6 +74,7 @@ class DataTypeServiceTest {
         DataTypeResponse resp = dataTypeService.create(req);
         assertThat(resp.getId()).isEqualTo(11L);
         assertThat(resp.getName()).isEqualTo("TYPE1");
+        verify(referenceDataRegistry).refreshAfterCommit();
     }
 
     @Test
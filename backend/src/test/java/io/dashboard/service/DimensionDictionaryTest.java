@@ -0,0 +1,209 @@
+package io.dashboard.service;
+
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.DimLocation;
+import io.dashboard.model.DimTime;
+import io.dashboard.repository.DimGenericRepository;
+import io.dashboard.repository.DimLocationRepository;
+import io.dashboard.repository.DimTimeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DimensionDictionaryTest {
+
+    @Mock
+    private DimTimeRepository dimTimeRepository;
+    @Mock
+    private DimLocationRepository dimLocationRepository;
+    @Mock
+    private DimGenericRepository dimGenericRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DimensionDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(dimTimeRepository.findVersionStamp(anyLong())).thenReturn(stamp(1, 5, 1));
+        lenient().when(dimLocationRepository.findVersionStamp(anyLong())).thenReturn(stamp(0, 0, 0));
+        lenient().when(dimGenericRepository.findVersionStamp(anyLong())).thenReturn(stamp(0, 0, 0));
+        dictionary = new DimensionDictionary(dimTimeRepository, dimLocationRepository, dimGenericRepository,
+            meterRegistry, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reload_WarmsCacheSoKnownMembersNeedNoQuery() {
+        when(dimTimeRepository.findAllIdAndValue()).thenReturn(List.<Object[]>of(new Object[]{5L, "2023"}));
+
+        dictionary.reload();
+        Map<String, Long> ids = dictionary.resolveTimeIds(Set.of("2023"), this::newTime);
+
+        assertThat(ids).containsEntry("2023", 5L);
+        verify(dimTimeRepository, never()).findByValueIn(anyCollection());
+        assertThat(lookups("time", "hit")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("dimension.dictionary.size").tag("dimension", "time").gauge().value())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void resolveTimeIds_LoadsExistingAndInsertsMissingOnce() {
+        when(dimTimeRepository.findByValueIn(anyCollection()))
+            .thenReturn(List.of(DimTime.builder().id(5L).value("2023").build()));
+        when(dimTimeRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<DimTime> saved = invocation.getArgument(0);
+            saved.forEach(time -> time.setId(6L));
+            return saved;
+        });
+
+        Map<String, Long> first = dictionary.resolveTimeIds(Set.of("2023", "2024"), this::newTime);
+        Map<String, Long> second = dictionary.resolveTimeIds(Set.of("2023", "2024"), this::newTime);
+
+        assertThat(first).containsEntry("2023", 5L).containsEntry("2024", 6L);
+        assertThat(second).isEqualTo(first);
+        verify(dimTimeRepository, times(1)).findByValueIn(anyCollection());
+        verify(dimTimeRepository, times(1)).saveAllAndFlush(anyList());
+        assertThat(lookups("time", "miss")).isEqualTo(2.0);
+        assertThat(lookups("time", "hit")).isEqualTo(2.0);
+    }
+
+    @Test
+    void resolveGenericIds_KeysByDimensionNameAndValue() {
+        DimGeneric stored = DimGeneric.builder().id(7L).dimensionName("Sector").value("Energy").build();
+        DimGeneric otherPair = DimGeneric.builder().id(8L).dimensionName("Sector").value("Health").build();
+        when(dimGenericRepository.findByDimensionNameInAndValueIn(anyCollection(), anyCollection()))
+            .thenReturn(List.of(stored, otherPair));
+
+        Map<String, Long> ids = dictionary.resolveGenericIds(List.of(
+            DimGeneric.builder().name("Sector").dimensionName("Sector").value("Energy").build()));
+
+        assertThat(ids).containsOnly(Map.entry(DimensionDictionary.genericKey("Sector", "Energy"), 7L));
+        verify(dimGenericRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void resolveLocationIds_CachesOnlyAfterCommit() {
+        when(dimLocationRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+        when(dimLocationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<DimLocation> saved = invocation.getArgument(0);
+            saved.forEach(location -> location.setId(9L));
+            return saved;
+        });
+        TransactionSynchronizationManager.initSynchronization();
+
+        dictionary.resolveLocationId("Berlin", name -> DimLocation.builder().name(name).build());
+        assertThat(meterRegistry.get("dimension.dictionary.size").tag("dimension", "location").gauge().value())
+            .isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(dictionary.resolveLocationId("Berlin", name -> DimLocation.builder().name(name).build()))
+            .isEqualTo(9L);
+        verify(dimLocationRepository, times(1)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void verifyCoherence_ReloadsWhenTableShrank() {
+        when(dimTimeRepository.findAllIdAndValue()).thenReturn(List.<Object[]>of(new Object[]{5L, "2023"}));
+        dictionary.reload();
+
+        when(dimTimeRepository.findVersionStamp(5L)).thenReturn(stamp(0, 0, 0));
+        when(dimTimeRepository.findAllIdAndValue()).thenReturn(List.of());
+        dictionary.verifyCoherence();
+
+        verify(dimTimeRepository, times(2)).findAllIdAndValue();
+        assertThat(meterRegistry.get("dimension.dictionary.size").tag("dimension", "time").gauge().value())
+            .isZero();
+    }
+
+    @Test
+    void verifyCoherence_KeepsCacheWhenTablesOnlyGrew() {
+        dictionary.reload();
+
+        when(dimTimeRepository.findVersionStamp(5L)).thenReturn(stamp(3, 8, 2));
+        dictionary.verifyCoherence();
+
+        verify(dimTimeRepository, times(1)).findAllIdAndValue();
+    }
+
+    @Test
+    void verifyCoherence_ReloadsWhenDeletedRowsWereReplaced() {
+        dictionary.reload();
+
+        // Same row count, but the one row is new: the member cached before was deleted
+        when(dimTimeRepository.findVersionStamp(5L)).thenReturn(stamp(1, 6, 1));
+        dictionary.verifyCoherence();
+
+        verify(dimTimeRepository, times(2)).findAllIdAndValue();
+    }
+
+    @Test
+    void resolveTimeIds_EvictsLeastRecentlyUsedMemberWhenFull() {
+        dictionary = new DimensionDictionary(dimTimeRepository, dimLocationRepository, dimGenericRepository,
+            meterRegistry, 2);
+        when(dimTimeRepository.findAllIdAndValue()).thenReturn(List.<Object[]>of(
+            new Object[]{1L, "2022"}, new Object[]{2L, "2023"}));
+        dictionary.reload();
+        when(dimTimeRepository.findByValueIn(anyCollection()))
+            .thenReturn(List.of(DimTime.builder().id(3L).value("2024").build()));
+
+        dictionary.resolveTimeId("2022", this::newTime);
+        dictionary.resolveTimeId("2024", this::newTime);
+        dictionary.resolveTimeId("2022", this::newTime);
+
+        // "2023" was resolved longest ago and made room for "2024"
+        assertThat(lookups("time", "hit")).isEqualTo(2.0);
+        assertThat(lookups("time", "miss")).isEqualTo(1.0);
+        assertThat(meterRegistry.get("dimension.dictionary.size").tag("dimension", "time").gauge().value())
+            .isEqualTo(2.0);
+        when(dimTimeRepository.findByValueIn(anyCollection()))
+            .thenReturn(List.of(DimTime.builder().id(2L).value("2023").build()));
+        dictionary.resolveTimeId("2023", this::newTime);
+        assertThat(lookups("time", "miss")).isEqualTo(2.0);
+    }
+
+    private DimTime newTime(String value) {
+        return DimTime.builder().value(value).build();
+    }
+
+    private double lookups(String dimension, String result) {
+        return meterRegistry.get("dimension.dictionary.lookups")
+            .tag("dimension", dimension)
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+
+    private static List<Object[]> stamp(long count, long maxId, long added) {
+        return List.<Object[]>of(new Object[]{count, maxId, added});
+    }
+}
@@ -0,0 +1,82 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.DeleteWithDataResponse;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactRollupBatchRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FactDeletionServiceTest {
+
+    @Mock
+    private FactIndicatorValueRepository factIndicatorValueRepository;
+
+    @Mock
+    private FactRollupBatchRepository factRollupBatchRepository;
+
+    @Mock
+    private IndicatorFactCache indicatorFactCache;
+
+    @InjectMocks
+    private FactDeletionService factDeletionService;
+
+    @Test
+    void deleteByIndicator_DeletesLinksBeforeFactsChunkByChunk() {
+        ReflectionTestUtils.setField(factDeletionService, "chunkSize", 2);
+        when(factIndicatorValueRepository.findIdsByIndicatorId(eq(7L), any(Limit.class)))
+            .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(factIndicatorValueRepository.bulkDeleteGenericLinksByFactIds(List.of(1L, 2L))).thenReturn(3);
+        when(factIndicatorValueRepository.bulkDeleteByIndicatorIdAndIds(7L, List.of(1L, 2L))).thenReturn(2);
+        when(factIndicatorValueRepository.bulkDeleteGenericLinksByFactIds(List.of(3L))).thenReturn(0);
+        when(factIndicatorValueRepository.bulkDeleteByIndicatorIdAndIds(7L, List.of(3L))).thenReturn(1);
+
+        DeleteWithDataResponse result = factDeletionService.deleteByIndicator(7L);
+
+        assertThat(result.getId()).isEqualTo(7L);
+        assertThat(result.getDeletedFactValues()).isEqualTo(3L);
+        assertThat(result.getDeletedGenericLinks()).isEqualTo(3L);
+        assertThat(result.getChunks()).isEqualTo(2);
+        InOrder order = inOrder(factIndicatorValueRepository);
+        order.verify(factIndicatorValueRepository).bulkDeleteGenericLinksByFactIds(List.of(1L, 2L));
+        order.verify(factIndicatorValueRepository).bulkDeleteByIndicatorIdAndIds(7L, List.of(1L, 2L));
+        order.verify(factIndicatorValueRepository).bulkDeleteGenericLinksByFactIds(List.of(3L));
+        order.verify(factIndicatorValueRepository).bulkDeleteByIndicatorIdAndIds(7L, List.of(3L));
+        // A short chunk is the last one
+        verify(factIndicatorValueRepository, times(2)).findIdsByIndicatorId(eq(7L), any(Limit.class));
+        verify(factRollupBatchRepository).deleteByIndicator(7L);
+        verify(indicatorFactCache).evict(List.of(7L));
+    }
+
+    @Test
+    void deleteBySubarea_WithoutFactsIssuesNoDeletes() {
+        when(factIndicatorValueRepository.findIdsBySubareaId(any(), any(Limit.class))).thenReturn(List.of());
+
+        DeleteWithDataResponse result = factDeletionService.deleteBySubarea(4L);
+
+        assertThat(result.getDeletedFactValues()).isZero();
+        assertThat(result.getChunks()).isZero();
+        verify(factIndicatorValueRepository, never()).bulkDeleteGenericLinksByFactIds(anyCollection());
+        verify(factIndicatorValueRepository, never()).bulkDeleteByIds(anyCollection());
+        verify(factRollupBatchRepository).deleteBySubarea(4L);
+        verify(indicatorFactCache).evictAll();
+    }
+}
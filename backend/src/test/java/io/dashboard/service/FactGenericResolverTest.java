@@ -0,0 +1,75 @@
+package io.dashboard.service;
+
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.repository.DimGenericRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FactGenericResolverTest {
+
+    @Mock
+    private DimGenericRepository dimGenericRepository;
+
+    @InjectMocks
+    private FactGenericResolver factGenericResolver;
+
+    @Test
+    void membersByFactId_loadsEachMemberOnce() {
+        DimGeneric male = generic(1L, "Sex", "Male");
+        DimGeneric female = generic(2L, "Sex", "Female");
+        DimGeneric young = generic(3L, "Age", "0-14");
+        when(dimGenericRepository.findAllById(anyIterable())).thenReturn(List.of(male, female, young));
+
+        Map<Long, List<DimGeneric>> members = factGenericResolver.membersByFactId(List.of(
+            fact(10L, 1L, 3L),
+            fact(11L, 2L, 3L),
+            fact(12L)));
+
+        assertThat(members.get(10L)).containsExactly(male, young);
+        assertThat(members.get(11L)).containsExactly(female, young);
+        assertThat(members).doesNotContainKey(12L);
+        verify(dimGenericRepository).findAllById(List.of(1L, 3L, 2L));
+    }
+
+    @Test
+    void membersByFactId_skipsLookupWithoutMembers() {
+        assertThat(factGenericResolver.membersByFactId(List.of(fact(10L), new FactIndicatorValue()))).isEmpty();
+        verifyNoInteractions(dimGenericRepository);
+    }
+
+    @Test
+    void sortedGenericIds_isDistinctAndAscending() {
+        assertThat(FactIndicatorValue.sortedGenericIds(Arrays.asList(5L, 2L, null, 5L)))
+            .containsExactly(2L, 5L);
+    }
+
+    private static FactIndicatorValue fact(Long id, Long... genericIds) {
+        FactIndicatorValue fact = new FactIndicatorValue();
+        fact.setId(id);
+        fact.setGenericIds(genericIds);
+        return fact;
+    }
+
+    private static DimGeneric generic(Long id, String dimensionName, String value) {
+        DimGeneric generic = new DimGeneric();
+        generic.setId(id);
+        generic.setDimensionName(dimensionName);
+        generic.setValue(value);
+        return generic;
+    }
+}
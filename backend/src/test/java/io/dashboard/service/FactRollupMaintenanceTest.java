@@ -0,0 +1,217 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorValue;
+import io.dashboard.dto.IndicatorValueCreate;
+import io.dashboard.dto.IndicatorValueUpdate;
+import io.dashboard.model.Area;
+import io.dashboard.model.Direction;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.model.Subarea;
+import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactRollupBatchRepository;
+import io.dashboard.repository.FactRollupGenericRepository;
+import io.dashboard.repository.FactRollupLocationRepository;
+import io.dashboard.repository.FactRollupTimeRepository;
+import io.dashboard.repository.SubareaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Writes facts through every maintaining writer and checks that the rollup tables give the same
+ * aggregates as the facts themselves ({@link LegacyAggregation}).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class FactRollupMaintenanceTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Autowired private IndicatorBatchService indicatorBatchService;
+    @Autowired private IndicatorService indicatorService;
+    @Autowired private SubareaService subareaService;
+    @Autowired private AggregationService aggregationService;
+    @Autowired private FactIndicatorValueRepository factIndicatorValueRepository;
+    @Autowired private FactRollupTimeRepository factRollupTimeRepository;
+    @Autowired private FactRollupLocationRepository factRollupLocationRepository;
+    @Autowired private FactRollupGenericRepository factRollupGenericRepository;
+    @Autowired private FactRollupBatchRepository factRollupBatchRepository;
+    @Autowired private AreaRepository areaRepository;
+    @Autowired private SubareaRepository subareaRepository;
+    @Autowired private EntityManager entityManager;
+
+    private LegacyAggregation legacy;
+    private String run;
+    private Subarea north;
+    private Subarea south;
+
+    @BeforeEach
+    void setUp() {
+        legacy = new LegacyAggregation(factIndicatorValueRepository);
+        run = UUID.randomUUID().toString().substring(0, 8);
+        Area area = new Area();
+        area.setCode("ROLL_" + run);
+        area.setName("Rollup Area");
+        area = areaRepository.save(area);
+        north = subarea(area, "N");
+        south = subarea(area, "S");
+    }
+
+    @Test
+    void importAndReimport_KeepRollupsInStepWithFacts() {
+        importValues(north, 1, 10.5);
+        importValues(south, 1, 7.25);
+        Long indicatorId = indicatorId();
+        assertMatchesFacts(indicatorId);
+
+        // Same natural keys with new values only move the sums, the counts stay
+        importValues(north, 1, 20.0);
+        assertMatchesFacts(indicatorId);
+        assertThat(factIndicatorValueRepository.countByIndicatorId(indicatorId)).isEqualTo(12);
+    }
+
+    @Test
+    void manualCreateAndUpdate_KeepRollupsInStepWithFacts() {
+        importValues(north, 1, 3.0);
+        Long indicatorId = indicatorId();
+
+        List<IndicatorValueCreate> newValues = new ArrayList<>();
+        for (String time : List.of("2021", "2022", "2030")) {
+            IndicatorValueCreate value = new IndicatorValueCreate();
+            value.setDimensions(Map.of("time", time, "location", run + " Vienna"));
+            value.setValue(new BigDecimal("42.125"));
+            newValues.add(value);
+        }
+        indicatorService.createIndicatorValues(indicatorId, newValues);
+        flushAndClear();
+        assertMatchesFacts(indicatorId);
+
+        List<IndicatorValueUpdate> updates = factIndicatorValueRepository.findByIndicatorId(indicatorId).stream()
+            .limit(4)
+            .map(fact -> new IndicatorValueUpdate(fact.getId(), fact.getValue().multiply(BigDecimal.valueOf(3)).subtract(BigDecimal.ONE)))
+            .toList();
+        indicatorService.updateIndicatorValues(indicatorId, updates);
+        flushAndClear();
+        assertMatchesFacts(indicatorId);
+    }
+
+    @Test
+    void incrementalRollupsEqualRebuiltRollups() {
+        importValues(north, 1, 1.5);
+        importValues(north, 2, 2.5);
+        importValues(south, 1, 4.0);
+        Long indicatorId = indicatorId();
+        Map<String, Double> bySector = aggregationService.getIndicatorAggregatedByDimension(indicatorId, "Sector");
+        double subareaValue = aggregationService.calculateSubareaAggregatedValue(north.getId());
+
+        factRollupBatchRepository.rebuildAll();
+
+        assertThat(aggregationService.getIndicatorAggregatedByDimension(indicatorId, "Sector")).isEqualTo(bySector);
+        assertThat(aggregationService.calculateSubareaAggregatedValue(north.getId())).isCloseTo(subareaValue, within(TOLERANCE));
+    }
+
+    @Test
+    void deleteWithData_DropsRollupRows() {
+        importValues(north, 1, 5.0);
+        importValues(south, 1, 6.0);
+        Long indicatorId = indicatorId();
+
+        subareaService.deleteWithData(south.getId());
+        flushAndClear();
+        assertThat(factRollupTimeRepository.findAll()).noneMatch(row -> south.getId().equals(row.getSubareaId()));
+        assertMatchesFacts(indicatorId);
+
+        indicatorService.deleteWithData(indicatorId);
+        flushAndClear();
+        assertThat(factRollupTimeRepository.findAll()).noneMatch(row -> indicatorId.equals(row.getIndicatorId()));
+        assertThat(factRollupLocationRepository.findAll()).noneMatch(row -> indicatorId.equals(row.getIndicatorId()));
+        assertThat(factRollupGenericRepository.findAll()).noneMatch(row -> indicatorId.equals(row.getIndicatorId()));
+    }
+
+    private void importValues(Subarea subarea, int factor, double base) {
+        List<IndicatorValue> values = new ArrayList<>();
+        for (int year = 2020; year < 2023; year++) {
+            for (String sector : List.of("Public", "Private")) {
+                values.add(IndicatorValue.builder()
+                    .value(BigDecimal.valueOf(base * factor + year % 10))
+                    .timeValue(String.valueOf(year))
+                    .timeType("year")
+                    .locationValue(run + " " + sector.charAt(0))
+                    .locationType("state")
+                    .customDimensions(Map.of("Sector", sector))
+                    .build());
+            }
+        }
+        CsvIndicatorData indicator = CsvIndicatorData.builder()
+            .name("Rollup Indicator " + run)
+            .unit("EUR")
+            .subareaId(subarea.getId())
+            .direction(Direction.INPUT)
+            .values(values)
+            .build();
+        assertThat(indicatorBatchService.createFromCsvData(IndicatorBatchRequest.builder().indicators(List.of(indicator)).build())
+            .getWarnings()).isEmpty();
+        flushAndClear();
+    }
+
+    private Long indicatorId() {
+        return factIndicatorValueRepository.findBySubareaId(north.getId()).stream()
+            .map(FactIndicatorValue::getIndicator)
+            .findFirst()
+            .orElseThrow()
+            .getId();
+    }
+
+    private void assertMatchesFacts(Long indicatorId) {
+        assertThat(aggregationService.calculateIndicatorAggregatedValue(indicatorId))
+            .isCloseTo(legacy.calculateIndicatorAggregatedValue(indicatorId), within(TOLERANCE));
+        for (Subarea subarea : List.of(north, south)) {
+            assertThat(aggregationService.calculateIndicatorAggregatedValue(indicatorId, subarea.getId()))
+                .isCloseTo(legacy.calculateIndicatorAggregatedValue(indicatorId, subarea.getId()), within(TOLERANCE));
+            assertThat(aggregationService.calculateSubareaAggregatedValue(subarea.getId()))
+                .isCloseTo(legacy.calculateSubareaAggregatedValue(subarea.getId()), within(TOLERANCE));
+        }
+        for (String dimension : List.of("time", "location", "Sector")) {
+            assertSameGroups(aggregationService.getIndicatorAggregatedByDimension(indicatorId, dimension),
+                legacy.getIndicatorAggregatedByDimension(indicatorId, dimension));
+            assertSameGroups(aggregationService.getSubareaAggregatedByDimension(north.getId(), dimension),
+                legacy.getSubareaAggregatedByDimension(north.getId(), dimension));
+        }
+    }
+
+    private static void assertSameGroups(Map<String, Double> actual, Map<String, Double> expected) {
+        assertThat(actual).containsOnlyKeys(expected.keySet());
+        expected.forEach((key, value) ->
+            assertThat(actual.get(key)).as("group %s", key).isCloseTo(value, within(TOLERANCE)));
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Subarea subarea(Area area, String suffix) {
+        Subarea subarea = new Subarea();
+        subarea.setCode("ROLL_SUB_" + suffix + "_" + run);
+        subarea.setName("Rollup Subarea " + suffix);
+        subarea.setArea(area);
+        return subareaRepository.save(subarea);
+    }
+}
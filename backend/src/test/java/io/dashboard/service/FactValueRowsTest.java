@@ -0,0 +1,138 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorValueRow;
+import io.dashboard.repository.FactValueView;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FactValueRowsTest {
+
+    @Test
+    void toRows_foldsTheGenericRowsOfAFactIntoOneRow() {
+        List<IndicatorValueRow> rows = FactValueRows.toRows(List.of(
+            view(1L, "10.5", "2023", "Vienna", "Sector", "Private"),
+            view(1L, "10.5", "2023", "Vienna", "Gender", "Female")));
+
+        assertThat(rows).hasSize(1);
+        IndicatorValueRow row = rows.get(0);
+        assertThat(row.getFactId()).isEqualTo(1L);
+        assertThat(row.getValue()).isEqualByComparingTo("10.5");
+        assertThat(row.isEmpty()).isFalse();
+        assertThat(row.getDimensions()).isEqualTo(Map.of(
+            "time", "2023", "location", "Vienna", "Sector", "Private", "Gender", "Female"));
+    }
+
+    @Test
+    void toRows_addsNoCustomDimensionForAFactWithoutGenericMembers() {
+        List<IndicatorValueRow> rows = FactValueRows.toRows(List.of(
+            view(1L, null, "2023", "Vienna", null, null)));
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getDimensions()).isEqualTo(Map.of("time", "2023", "location", "Vienna"));
+        assertThat(rows.get(0).isEmpty()).isTrue();
+    }
+
+    @Test
+    void forEach_startsANewRowWhenTheFactIdChanges() {
+        List<IndicatorValueRow> rows = new ArrayList<>();
+        FactValueRows.forEach(List.of(
+            view(1L, "1", "2023", "Vienna", "Sector", "Private"),
+            view(1L, "1", "2023", "Vienna", "Gender", "Female"),
+            view(2L, "2", "2023", "Tyrol", "Sector", "Public"),
+            view(3L, "3", "2024", null, null, null)).iterator(), rows::add);
+
+        assertThat(rows).extracting(IndicatorValueRow::getFactId).containsExactly(1L, 2L, 3L);
+        assertThat(rows.get(0).getDimensions()).containsOnlyKeys("time", "location", "Sector", "Gender");
+        assertThat(rows.get(1).getDimensions()).isEqualTo(Map.of("time", "2023", "location", "Tyrol", "Sector", "Public"));
+        assertThat(rows.get(2).getDimensions()).isEqualTo(Map.of("time", "2024"));
+    }
+
+    @Test
+    void forEachWithView_handsOverTheFirstViewOfEachFact() {
+        View first = view(1L, "1", "2023", "Vienna", "Sector", "Private");
+        View second = view(2L, "2", "2023", "Tyrol", "Sector", "Public");
+        List<View> views = new ArrayList<>();
+        List<Long> factIds = new ArrayList<>();
+        FactValueRows.forEachWithView(List.of(
+            first,
+            view(1L, "1", "2023", "Vienna", "Gender", "Female"),
+            second).iterator(), (view, row) -> {
+                views.add(view);
+                factIds.add(row.getFactId());
+            });
+
+        assertThat(views).containsExactly(first, second);
+        assertThat(factIds).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void forEach_handsOverNothingForNoViews() {
+        List<IndicatorValueRow> rows = new ArrayList<>();
+        FactValueRows.forEach(List.<View>of().iterator(), rows::add);
+
+        assertThat(rows).isEmpty();
+    }
+
+    @Test
+    void dimensionColumns_putsTimeAndLocationFirst() {
+        List<IndicatorValueRow> rows = FactValueRows.toRows(List.of(
+            view(1L, "1", null, null, "Sector", "Private"),
+            view(2L, "2", null, "Vienna", "Gender", "Female"),
+            view(3L, "3", "2023", "Vienna", "Sector", "Public")));
+
+        assertThat(FactValueRows.dimensionColumns(rows)).containsExactly("time", "location", "Sector", "Gender");
+    }
+
+    @Test
+    void dimensionColumns_leavesOutTimeAndLocationWhenNoRowHasThem() {
+        List<IndicatorValueRow> rows = FactValueRows.toRows(List.of(
+            view(1L, "1", null, null, "Sector", "Private")));
+
+        assertThat(FactValueRows.dimensionColumns(rows)).containsExactly("Sector");
+    }
+
+    private static View view(Long factId, String value, String time, String location,
+                             String genericName, String genericValue) {
+        return new View(factId, value != null ? new BigDecimal(value) : null, time, location, genericName, genericValue);
+    }
+
+    private record View(Long factId, BigDecimal value, String timeValue, String locationName,
+                        String genericName, String genericValue) implements FactValueView {
+
+        @Override
+        public Long getFactId() {
+            return factId;
+        }
+
+        @Override
+        public BigDecimal getValue() {
+            return value;
+        }
+
+        @Override
+        public String getTimeValue() {
+            return timeValue;
+        }
+
+        @Override
+        public String getLocationName() {
+            return locationName;
+        }
+
+        @Override
+        public String getGenericName() {
+            return genericName;
+        }
+
+        @Override
+        public String getGenericValue() {
+            return genericValue;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package io.dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.IndicatorValue;
+import io.dashboard.dto.ProcessingStatusResponse;
+import io.dashboard.exception.BadRequestException;
+import io.dashboard.exception.ResourceNotFoundException;
+import io.dashboard.model.Direction;
+import io.dashboard.model.ImportCheckpoint;
+import io.dashboard.repository.ImportCheckpointRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private IndicatorCsvImportService indicatorCsvImportService;
+
+    @Mock
+    private ImportCheckpointRepository importCheckpointRepository;
+
+    private final List<Runnable> queued = new ArrayList<>();
+
+    @Test
+    void submitBatch_RunsJobAndReportsCompletion() {
+        ImportJobService service = service(Runnable::run, false);
+        when(indicatorCsvImportService.importBatch(any(), any())).thenAnswer(invocation -> {
+            ImportProgress progress = invocation.getArgument(1);
+            progress.onRowsRead(2);
+            IndicatorBatchResponse chunk = response(2);
+            progress.onChunkCommitted(2, chunk);
+            return chunk;
+        });
+
+        ProcessingStatusResponse status = service.submitBatch(request(2));
+
+        assertThat(status.getJobId()).isNotNull();
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getProgressPercentage()).isEqualTo(100.0);
+        assertThat(status.getRecordsProcessed()).isEqualTo(2L);
+        assertThat(status.getTotalRecords()).isEqualTo(2L);
+        assertThat(status.getCurrentStep()).containsEntry("chunksCommitted", 1);
+        assertThat(service.getStatus(status.getJobId()).getFinishedAt()).isNotNull();
+    }
+
+    @Test
+    void submitBatch_FailFastStopsOnFirstError() {
+        ImportJobService service = service(Runnable::run, true);
+        when(indicatorCsvImportService.importBatch(any(), any())).thenAnswer(invocation -> {
+            ImportProgress progress = invocation.getArgument(1);
+            assertThat(progress.isStopRequested()).isFalse();
+            progress.onError("Line 2: invalid numeric value");
+            assertThat(progress.isStopRequested()).isTrue();
+            return response(0);
+        });
+
+        ProcessingStatusResponse status = service.submitBatch(request(3));
+
+        assertThat(status.getStatus()).isEqualTo("FAILED");
+        assertThat(status.getErrorCount()).isEqualTo(1L);
+        assertThat(status.getErrorMessage()).contains("fail-fast");
+    }
+
+    @Test
+    void cancel_QueuedJobNeverRuns() {
+        ImportJobService service = service(queued::add, false);
+
+        ProcessingStatusResponse submitted = service.submitBatch(request(1));
+        assertThat(submitted.getStatus()).isEqualTo("QUEUED");
+
+        ProcessingStatusResponse cancelled = service.cancel(submitted.getJobId());
+        queued.forEach(Runnable::run);
+
+        assertThat(cancelled.getStatus()).isEqualTo("CANCELLED");
+        assertThat(service.getStatus(submitted.getJobId()).getStatus()).isEqualTo("CANCELLED");
+        verify(indicatorCsvImportService, never()).importBatch(any(), any());
+    }
+
+    @Test
+    void cancel_RunningJobStopsAtNextRow() {
+        ImportJobService service = service(queued::add, false);
+        ProcessingStatusResponse submitted = service.submitBatch(request(2));
+        when(indicatorCsvImportService.importBatch(any(), any())).thenAnswer(invocation -> {
+            ImportProgress progress = invocation.getArgument(1);
+            service.cancel(submitted.getJobId());
+            assertThat(progress.isStopRequested()).isTrue();
+            return response(0);
+        });
+
+        queued.forEach(Runnable::run);
+
+        assertThat(service.getStatus(submitted.getJobId()).getStatus()).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    void submitCsv_StreamsUploadedFile() throws Exception {
+        ImportJobService service = service(Runnable::run, false);
+        MockMultipartFile file = new MockMultipartFile("file", "values.csv", "text/csv",
+            "indicator,value\nBroadband,1\n".getBytes(StandardCharsets.UTF_8));
+        when(indicatorCsvImportService.importCsv(any(InputStream.class), eq(4L), eq(Direction.OUTPUT), any()))
+            .thenAnswer(invocation -> {
+                InputStream input = invocation.getArgument(0);
+                assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).startsWith("indicator,value");
+                return response(1);
+            });
+
+        ProcessingStatusResponse status = service.submitCsv(file, 4L, Direction.OUTPUT);
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getCurrentStep()).containsEntry("source", "values.csv");
+    }
+
+    @Test
+    void submitBatch_ResumesAfterCheckpointedRows() {
+        ImportJobService service = service(Runnable::run, false);
+        when(importCheckpointRepository.findByImportKey(anyString())).thenReturn(Optional.of(
+            ImportCheckpoint.builder().id(5L).importKey("key").rowsCommitted(2).build()));
+        when(indicatorCsvImportService.importBatch(any(), any())).thenAnswer(invocation -> {
+            ImportProgress progress = invocation.getArgument(1);
+            assertThat(progress.resumeAfterRows()).isEqualTo(2);
+            progress.onChunkWriting(3);
+            return response(1);
+        });
+
+        ProcessingStatusResponse status = service.submitBatch(request(3));
+
+        assertThat(status.getStatus()).isEqualTo("COMPLETED");
+        assertThat(status.getCurrentStep()).containsEntry("resumedAfterRows", 2L);
+        verify(importCheckpointRepository).updateRowsCommitted(eq(5L), eq(3L), any());
+        verify(importCheckpointRepository).markCompleted(eq(5L), any());
+    }
+
+    @Test
+    void submitBatch_FailedChunkFailsJobAndLeavesCheckpointUnfinished() {
+        ImportJobService service = service(Runnable::run, false);
+        when(importCheckpointRepository.findByImportKey(anyString())).thenReturn(Optional.of(
+            ImportCheckpoint.builder().id(5L).importKey("key").build()));
+        when(indicatorCsvImportService.importBatch(any(), any())).thenAnswer(invocation -> {
+            ImportProgress progress = invocation.getArgument(1);
+            progress.onChunkWriting(2);
+            progress.onChunkCommitted(2, response(2));
+            progress.onChunkFailed("Chunk of 2 rows ending at row 4 was rolled back: deadlock");
+            return response(2);
+        });
+
+        ProcessingStatusResponse status = service.submitBatch(request(6));
+
+        assertThat(status.getStatus()).isEqualTo("FAILED");
+        assertThat(status.getErrorMessage()).contains("ending at row 4");
+        verify(importCheckpointRepository).updateRowsCommitted(eq(5L), eq(2L), any());
+        verify(importCheckpointRepository, never()).markCompleted(any(), any());
+    }
+
+    @Test
+    void submitBatch_RejectsSameContentWhileRunning() {
+        ImportJobService service = service(queued::add, false);
+        service.submitBatch(request(2));
+
+        assertThatThrownBy(() -> service.submitBatch(request(2))).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void getStatus_UnknownJob() {
+        ImportJobService service = service(Runnable::run, false);
+
+        assertThatThrownBy(() -> service.getStatus(999L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private ImportJobService service(TaskExecutor executor, boolean failFast) {
+        lenient().when(importCheckpointRepository.findByImportKey(anyString())).thenReturn(Optional.empty());
+        lenient().when(importCheckpointRepository.save(any(ImportCheckpoint.class))).thenAnswer(invocation -> {
+            ImportCheckpoint checkpoint = invocation.getArgument(0);
+            if (checkpoint.getId() == null) {
+                checkpoint.setId(1L);
+            }
+            return checkpoint;
+        });
+        return new ImportJobService(indicatorCsvImportService, importCheckpointRepository, new ObjectMapper(),
+            executor, 10, failFast, 60);
+    }
+
+    private static IndicatorBatchRequest request(int values) {
+        List<IndicatorValue> indicatorValues = new ArrayList<>();
+        for (int i = 0; i < values; i++) {
+            indicatorValues.add(IndicatorValue.builder().value(BigDecimal.valueOf(i)).timeValue("2023").build());
+        }
+        return IndicatorBatchRequest.builder()
+            .indicators(List.of(CsvIndicatorData.builder()
+                .name("Broadband")
+                .subareaId(1L)
+                .direction(Direction.INPUT)
+                .values(indicatorValues)
+                .build()))
+            .build();
+    }
+
+    private static IndicatorBatchResponse response(int factRecords) {
+        return IndicatorBatchResponse.builder()
+            .createdIndicators(List.of())
+            .totalFactRecords(factRecords)
+            .warnings(List.of())
+            .message("Successfully processed 0 indicators")
+            .build();
+    }
+}
@@ -4,11 +4,13 @@ import io.dashboard.dto.CsvIndicatorData;
 import io.dashboard.dto.IndicatorBatchRequest;
 import io.dashboard.dto.IndicatorBatchResponse;
 import io.dashboard.dto.IndicatorValue;
+import io.dashboard.model.DimLocation;
+import io.dashboard.model.DimTime;
 import io.dashboard.model.Direction;
 import io.dashboard.model.FactIndicatorValue;
 import io.dashboard.model.Indicator;
 import io.dashboard.model.Subarea;
-import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactBatchRepository;
 import io.dashboard.repository.IndicatorRepository;
 import io.dashboard.repository.SubareaRepository;
 import io.dashboard.repository.UnitRepository;
@@ -16,10 +18,10 @@ import io.dashboard.repository.DimTimeRepository;
 import io.dashboard.repository.DimLocationRepository;
 import io.dashboard.repository.DimGenericRepository;
 import io.dashboard.repository.DataTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -28,11 +30,20 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,7 +56,7 @@ class IndicatorBatchServiceTest {
     private SubareaRepository subareaRepository;
 
     @Mock
-    private FactIndicatorValueRepository factRepository;
+    private FactBatchRepository factBatchRepository;
 
     @Mock
     private UnitRepository unitRepository;
@@ -58,15 +69,31 @@ class IndicatorBatchServiceTest {
     private DimGenericRepository dimGenericRepository;
     @Mock
     private DataTypeRepository dataTypeRepository;
+    @Mock
+    private IndicatorFactCache indicatorFactCache;
 
-    @InjectMocks
     private IndicatorBatchService indicatorBatchService;
 
+    private final AtomicLong nextId = new AtomicLong(100);
+
     private Subarea testSubarea;
     private Indicator testIndicator;
 
     @BeforeEach
     void setUp() {
+        // Real dictionary on top of the mocked dimension repositories, starting empty
+        Object[] emptyTable = {0L, 0L, 0L};
+        lenient().when(dimTimeRepository.findVersionStamp(anyLong())).thenReturn(List.<Object[]>of(emptyTable));
+        lenient().when(dimLocationRepository.findVersionStamp(anyLong())).thenReturn(List.<Object[]>of(emptyTable));
+        lenient().when(dimGenericRepository.findVersionStamp(anyLong())).thenReturn(List.<Object[]>of(emptyTable));
+        DimensionDictionary dimensionDictionary = new DimensionDictionary(
+            dimTimeRepository, dimLocationRepository, dimGenericRepository, new SimpleMeterRegistry(), 1000);
+        lenient().when(dataTypeRepository.findAll()).thenReturn(List.of());
+        lenient().when(unitRepository.findAll()).thenReturn(List.of());
+        ReferenceDataRegistry referenceDataRegistry = new ReferenceDataRegistry(dataTypeRepository, unitRepository);
+        indicatorBatchService = new IndicatorBatchService(indicatorRepository, dimensionDictionary,
+            factBatchRepository, unitRepository, subareaRepository, referenceDataRegistry, indicatorFactCache);
+
         testSubarea = new Subarea();
         testSubarea.setId(1L);
         testSubarea.setName("Test Subarea");
@@ -99,17 +126,16 @@ class IndicatorBatchServiceTest {
         when(indicatorRepository.findByName("Test Indicator")).thenReturn(java.util.Optional.empty());
         when(indicatorRepository.save(any(Indicator.class))).thenReturn(testIndicator);
         when(subareaRepository.findById(1L)).thenReturn(java.util.Optional.of(testSubarea));
-        when(factRepository.save(any(FactIndicatorValue.class))).thenAnswer(invocation -> {
-            FactIndicatorValue fact = invocation.getArgument(0);
-            fact.setId(1L);
-            return fact;
+        when(factBatchRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<FactIndicatorValue> facts = invocation.getArgument(0);
+            return facts.size();
         });
         when(unitRepository.findByCode(anyString())).thenReturn(java.util.Optional.empty());
         when(unitRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(dimTimeRepository.findByValue(anyString())).thenReturn(java.util.Optional.empty());
-        when(dimTimeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(dimLocationRepository.findByName(anyString())).thenReturn(java.util.Optional.empty());
-        when(dimLocationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(dimTimeRepository.findByValueIn(anyCollection())).thenReturn(List.of());
+        when(dimTimeRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimTime>>getArgument(0), DimTime::setId));
+        when(dimLocationRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+        when(dimLocationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimLocation>>getArgument(0), DimLocation::setId));
 
         // When
         IndicatorBatchResponse response = indicatorBatchService.createFromCsvData(request);
@@ -158,17 +184,16 @@ class IndicatorBatchServiceTest {
         when(indicatorRepository.save(any(Indicator.class))).thenReturn(testIndicator);
         when(subareaRepository.findById(1L)).thenReturn(java.util.Optional.of(testSubarea));
         when(subareaRepository.findById(2L)).thenReturn(java.util.Optional.of(testSubarea2));
-        when(factRepository.save(any(FactIndicatorValue.class))).thenAnswer(invocation -> {
-            FactIndicatorValue fact = invocation.getArgument(0);
-            fact.setId(1L);
-            return fact;
+        when(factBatchRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<FactIndicatorValue> facts = invocation.getArgument(0);
+            return facts.size();
         });
         when(unitRepository.findByCode(anyString())).thenReturn(java.util.Optional.empty());
         when(unitRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(dimTimeRepository.findByValue(anyString())).thenReturn(java.util.Optional.empty());
-        when(dimTimeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(dimLocationRepository.findByName(anyString())).thenReturn(java.util.Optional.empty());
-        when(dimLocationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(dimTimeRepository.findByValueIn(anyCollection())).thenReturn(List.of());
+        when(dimTimeRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimTime>>getArgument(0), DimTime::setId));
+        when(dimLocationRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+        when(dimLocationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimLocation>>getArgument(0), DimLocation::setId));
 
         // When
         IndicatorBatchResponse response = indicatorBatchService.createFromCsvData(request);
@@ -198,17 +223,16 @@ class IndicatorBatchServiceTest {
         when(indicatorRepository.findByName("Test Indicator")).thenReturn(java.util.Optional.empty());
         when(indicatorRepository.save(any(Indicator.class))).thenReturn(testIndicator);
         when(subareaRepository.findById(1L)).thenReturn(java.util.Optional.of(testSubarea));
-        when(factRepository.save(any(FactIndicatorValue.class))).thenAnswer(invocation -> {
-            FactIndicatorValue fact = invocation.getArgument(0);
-            fact.setId(1L);
-            return fact;
+        when(factBatchRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<FactIndicatorValue> facts = invocation.getArgument(0);
+            return facts.size();
         });
         when(unitRepository.findByCode(anyString())).thenReturn(java.util.Optional.empty());
         when(unitRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(dimTimeRepository.findByValue(anyString())).thenReturn(java.util.Optional.empty());
-        when(dimTimeRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-        when(dimLocationRepository.findByName(anyString())).thenReturn(java.util.Optional.empty());
-        when(dimLocationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(dimTimeRepository.findByValueIn(anyCollection())).thenReturn(List.of());
+        when(dimTimeRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimTime>>getArgument(0), DimTime::setId));
+        when(dimLocationRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+        when(dimLocationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimLocation>>getArgument(0), DimLocation::setId));
 
         // When
         IndicatorBatchResponse response = indicatorBatchService.createFromCsvData(request);
@@ -220,6 +244,55 @@ class IndicatorBatchServiceTest {
         // Should not throw exception even with null direction
     }
 
+    @Test
+    void testCreateFromCsvData_ResolvesDimensionMembersOnce() {
+        // Given - three rows sharing time and location values, one time value already stored
+        CsvIndicatorData csvIndicator = CsvIndicatorData.builder()
+            .name("Test Indicator")
+            .subareaId(1L)
+            .direction(Direction.INPUT)
+            .values(Arrays.asList(
+                createIndicatorValue("2023", "Location1", 100.0),
+                createIndicatorValue("2023", "Location2", 200.0),
+                createIndicatorValue("2024", "Location1", 300.0)
+            ))
+            .build();
+
+        IndicatorBatchRequest request = new IndicatorBatchRequest();
+        request.setIndicators(Arrays.asList(csvIndicator));
+
+        DimTime existingTime = DimTime.builder().id(5L).value("2023").build();
+
+        when(indicatorRepository.findByName("Test Indicator")).thenReturn(Optional.empty());
+        when(indicatorRepository.save(any(Indicator.class))).thenReturn(testIndicator);
+        when(subareaRepository.findById(1L)).thenReturn(Optional.of(testSubarea));
+        when(factBatchRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            List<FactIndicatorValue> facts = invocation.getArgument(0);
+            return facts.size();
+        });
+        when(dimTimeRepository.findByValueIn(anyCollection())).thenReturn(List.of(existingTime));
+        when(dimTimeRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimTime>>getArgument(0), DimTime::setId));
+        when(dimLocationRepository.findByNameIn(anyCollection())).thenReturn(List.of());
+        when(dimLocationRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> withIds(invocation.<List<DimLocation>>getArgument(0), DimLocation::setId));
+
+        // When
+        IndicatorBatchResponse response = indicatorBatchService.createFromCsvData(request);
+
+        // Then
+        assertThat(response.getTotalFactRecords()).isEqualTo(3);
+        assertThat(response.getDurationMs()).isNotNull();
+        verify(dimTimeRepository, times(1)).findByValueIn(anyCollection());
+        verify(dimTimeRepository).saveAllAndFlush(argThat((List<DimTime> saved) ->
+            saved.size() == 1 && "2024".equals(saved.get(0).getValue())));
+        verify(dimLocationRepository).saveAllAndFlush(argThat((List<DimLocation> saved) -> saved.size() == 2));
+        verify(dimTimeRepository, never()).findByValue(anyString());
+    }
+
+    private <T> List<T> withIds(List<T> members, BiConsumer<T, Long> setId) {
+        members.forEach(member -> setId.accept(member, nextId.incrementAndGet()));
+        return members;
+    }
+
     private IndicatorValue createIndicatorValue(String timeValue, String locationValue, Double value) {
         IndicatorValue indicatorValue = new IndicatorValue();
         indicatorValue.setTimeValue(timeValue);
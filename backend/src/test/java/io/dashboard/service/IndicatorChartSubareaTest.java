@@ -0,0 +1,227 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorChartResponse;
+import io.dashboard.dto.IndicatorDimensionsResponse;
+import io.dashboard.model.Area;
+import io.dashboard.model.DimGeneric;
+import io.dashboard.model.DimLocation;
+import io.dashboard.model.DimTime;
+import io.dashboard.model.FactIndicatorValue;
+import io.dashboard.model.Indicator;
+import io.dashboard.model.Subarea;
+import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.DimGenericRepository;
+import io.dashboard.repository.DimLocationRepository;
+import io.dashboard.repository.DimTimeRepository;
+import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.FactRollupBatchRepository;
+import io.dashboard.repository.IndicatorFactSnapshot;
+import io.dashboard.repository.IndicatorRepository;
+import io.dashboard.repository.SubareaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks that the subarea path of {@code getIndicatorChart}, grouped in the database over the
+ * rollups, returns the averages the indicator's in-memory snapshot computes for the same subarea,
+ * without building the snapshot or loading any fact entity itself.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class IndicatorChartSubareaTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Autowired private IndicatorService indicatorService;
+    @Autowired private IndicatorFactCache indicatorFactCache;
+    @Autowired private FactIndicatorValueRepository factIndicatorValueRepository;
+    @Autowired private FactRollupBatchRepository factRollupBatchRepository;
+    @Autowired private AreaRepository areaRepository;
+    @Autowired private SubareaRepository subareaRepository;
+    @Autowired private IndicatorRepository indicatorRepository;
+    @Autowired private DimTimeRepository dimTimeRepository;
+    @Autowired private DimLocationRepository dimLocationRepository;
+    @Autowired private DimGenericRepository dimGenericRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final List<Subarea> subareas = new ArrayList<>();
+    private final List<Indicator> indicators = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        Random random = new Random(7);
+
+        Area area = new Area();
+        area.setCode("CHT_" + run);
+        area.setName("Chart Area");
+        area = areaRepository.save(area);
+        for (int i = 0; i < 2; i++) {
+            Subarea subarea = new Subarea();
+            subarea.setCode("CHT_SUB_" + run + "_" + i);
+            subarea.setName("Chart Subarea " + i);
+            subarea.setArea(area);
+            subareas.add(subareaRepository.save(subarea));
+        }
+
+        List<DimTime> times = new ArrayList<>();
+        for (int year = 2020; year < 2024; year++) {
+            times.add(DimTime.builder().value(run + "-" + year).year(year).build());
+        }
+        times = dimTimeRepository.saveAll(times);
+        List<DimLocation> locations = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            locations.add(DimLocation.builder().name(run + " location " + i).build());
+        }
+        locations = dimLocationRepository.saveAll(locations);
+        List<DimGeneric> sectors = new ArrayList<>();
+        for (String value : List.of("Agriculture", "Industry", "Services")) {
+            sectors.add(generic("Sector", run + " " + value));
+        }
+        sectors = dimGenericRepository.saveAll(sectors);
+        DimGeneric female = dimGenericRepository.save(generic("Gender", run + " Female"));
+
+        for (int i = 0; i < 4; i++) {
+            Indicator indicator = new Indicator();
+            indicator.setCode("CHT_IND_" + run + "_" + i);
+            indicator.setName("Chart Indicator " + i);
+            indicator.setIsComposite(false);
+            indicators.add(indicatorRepository.save(indicator));
+        }
+
+        int row = 0;
+        for (Indicator indicator : indicators) {
+            for (int n = 0; n < 40; n++) {
+                FactIndicatorValue fact = new FactIndicatorValue();
+                fact.setIndicator(indicator);
+                fact.setSubarea(subareas.get(random.nextInt(subareas.size())));
+                if (random.nextInt(8) > 0) {
+                    fact.setTime(times.get(random.nextInt(times.size())));
+                }
+                if (random.nextInt(4) > 0) {
+                    fact.setLocation(locations.get(random.nextInt(locations.size())));
+                }
+                // Some facts carry two sectors, which both the snapshot and the rollups count for each
+                if (random.nextBoolean()) {
+                    fact.getGenerics().add(sectors.get(random.nextInt(sectors.size())));
+                }
+                if (random.nextInt(4) == 0) {
+                    fact.getGenerics().add(sectors.get(random.nextInt(sectors.size())));
+                }
+                if (random.nextInt(3) == 0) {
+                    fact.getGenerics().add(female);
+                }
+                fact.setValue(BigDecimal.valueOf(random.nextInt(1_000_000) - 250_000, 3));
+                fact.setSourceRowHash(run + "-" + row++);
+                factIndicatorValueRepository.save(fact);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // Saved one by one through JPA, which does not maintain the rollups
+        factRollupBatchRepository.rebuildAll();
+    }
+
+    @Test
+    void subareaChart_matchesSnapshotAveragesOfThatSubarea() {
+        for (Indicator indicator : indicators) {
+            IndicatorFactSnapshot snapshot = indicatorFactCache.get(indicator.getId());
+            for (Subarea subarea : subareas) {
+                Map<String, IndicatorFactSnapshot.Column> columns = Map.of(
+                    "time", snapshot.time(),
+                    "location", snapshot.location(),
+                    "Sector", snapshot.generics().getOrDefault("Sector", IndicatorFactSnapshot.Column.empty(snapshot.size())),
+                    "Gender", snapshot.generics().getOrDefault("Gender", IndicatorFactSnapshot.Column.empty(snapshot.size())));
+                columns.forEach((dimension, column) -> {
+                    IndicatorChartResponse chart = indicatorService.getIndicatorChart(indicator.getId(), dimension, subarea.getId());
+                    Map<String, Double> expected = snapshot.averageBy(column, subarea.getId());
+
+                    assertThat(chart.getAggregationType()).isEqualTo(dimension);
+                    assertThat(chart.getDataPoints())
+                        .extracting(IndicatorChartResponse.ChartDataPoint::getLabel)
+                        .containsExactlyElementsOf(expected.keySet().stream().sorted(String::compareToIgnoreCase).toList());
+                    chart.getDataPoints().forEach(point ->
+                        assertThat(point.getValue().doubleValue()).as("%s %s", dimension, point.getLabel())
+                            .isCloseTo(expected.get(point.getLabel()), within(TOLERANCE)));
+                });
+            }
+        }
+    }
+
+    @Test
+    void subareaChart_groupsRollupRowsWithoutTouchingTheSnapshot() {
+        Indicator indicator = indicators.get(0);
+        Subarea subarea = subareas.get(0);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        double snapshotLookups = meterRegistry.get("fact.cache.lookups").counters().stream()
+            .mapToDouble(Counter::count).sum();
+
+        IndicatorChartResponse chart = indicatorService.getIndicatorChart(indicator.getId(), "time", subarea.getId());
+
+        assertThat(statistics.getQueries()).anyMatch(query -> query.contains("FROM FactRollupTime r"));
+        assertThat(meterRegistry.get("fact.cache.lookups").counters().stream().mapToDouble(Counter::count).sum())
+            .as("snapshot lookups").isEqualTo(snapshotLookups);
+        assertThat(statistics.getEntityStatistics(FactIndicatorValue.class.getName()).getLoadCount()).isZero();
+        assertThat(chart.getAvailableDimensions()).containsExactlyInAnyOrderElementsOf(
+            factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(indicator.getId(), subarea.getId()));
+    }
+
+    @Test
+    void dimensions_listEveryLinkedMemberOfMultiValuedFacts() {
+        for (Indicator indicator : indicators) {
+            IndicatorDimensionsResponse fromSnapshot = indicatorService.getIndicatorDimensions(indicator.getId());
+            IndicatorDimensionsResponse grouped = indicatorService.getIndicatorDimensions(List.of(indicator.getId())).get(0);
+
+            assertThat(fromSnapshot.getAvailableDimensions())
+                .extracting(IndicatorDimensionsResponse.DimensionInfo::getType)
+                .containsExactlyInAnyOrderElementsOf(grouped.getAvailableDimensions().stream()
+                    .map(IndicatorDimensionsResponse.DimensionInfo::getType).toList());
+            grouped.getAvailableDimensions().forEach(dimension ->
+                assertThat(fromSnapshot.getAvailableDimensions())
+                    .filteredOn(info -> info.getType().equals(dimension.getType()))
+                    .singleElement()
+                    .satisfies(info -> assertThat(info.getValues()).as(dimension.getType())
+                        .containsExactlyInAnyOrderElementsOf(dimension.getValues())));
+        }
+    }
+
+    @Test
+    void subareaChart_unknownDimensionHasNoDataPoints() {
+        IndicatorChartResponse chart = indicatorService.getIndicatorChart(indicators.get(0).getId(), "unknown", subareas.get(0).getId());
+
+        assertThat(chart.getDataPoints()).isEmpty();
+    }
+
+    private static DimGeneric generic(String dimensionName, String value) {
+        DimGeneric generic = new DimGeneric();
+        generic.setName(dimensionName);
+        generic.setDimensionName(dimensionName);
+        generic.setValue(value);
+        return generic;
+    }
+}
@@ -0,0 +1,322 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.IndicatorResponse;
+import io.dashboard.dto.IndicatorValue;
+import io.dashboard.exception.BadRequestException;
+import io.dashboard.model.Direction;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndicatorCsvImportServiceTest {
+
+    @Mock
+    private IndicatorBatchService indicatorBatchService;
+
+    @Mock
+    private ParallelIndicatorIngestService parallelIndicatorIngestService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private IndicatorCsvImportService indicatorCsvImportService;
+
+    @BeforeEach
+    void setUp() {
+        indicatorCsvImportService = new IndicatorCsvImportService(indicatorBatchService,
+            parallelIndicatorIngestService, new TransactionTemplate(transactionManager), entityManager);
+        ReflectionTestUtils.setField(indicatorCsvImportService, "batchSize", 2);
+    }
+
+    @Test
+    void importCsv_HandsRowsToBatchServiceInBoundedChunks() throws Exception {
+        when(indicatorBatchService.createFromCsvData(any(IndicatorBatchRequest.class))).thenAnswer(invocation -> {
+            IndicatorBatchRequest chunk = invocation.getArgument(0);
+            int rows = chunk.getIndicators().stream().mapToInt(i -> i.getValues().size()).sum();
+            return IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(rows)
+                .warnings(List.of())
+                .build();
+        });
+
+        IndicatorBatchResponse response = indicatorCsvImportService.importCsv(csv(
+            "Indicator,Value,Time,Location,Sector\n"
+                + "Broadband,1.5,2022,Vienna,Private\n"
+                + "Broadband,2.5,2023,Vienna,Private\n"
+                + "Broadband,3.5,2024,Tyrol,\n"), 7L, Direction.INPUT);
+
+        ArgumentCaptor<IndicatorBatchRequest> chunks = ArgumentCaptor.forClass(IndicatorBatchRequest.class);
+        verify(indicatorBatchService, times(2)).createFromCsvData(chunks.capture());
+        var first = chunks.getAllValues().get(0).getIndicators().get(0);
+        assertThat(first.getName()).isEqualTo("Broadband");
+        assertThat(first.getSubareaId()).isEqualTo(7L);
+        assertThat(first.getDirection()).isEqualTo(Direction.INPUT);
+        assertThat(first.getValues()).hasSize(2);
+        assertThat(first.getValues().get(0).getCustomDimensions()).containsEntry("Sector", "Private");
+        assertThat(chunks.getAllValues().get(1).getIndicators().get(0).getValues().get(0).getCustomDimensions()).isNull();
+
+        assertThat(response.getTotalFactRecords()).isEqualTo(3);
+        assertThat(response.getCreatedIndicators()).hasSize(1);
+        assertThat(response.getWarnings()).isEmpty();
+    }
+
+    @Test
+    void importCsv_ReportsInvalidRowsAsWarnings() throws Exception {
+        when(indicatorBatchService.createFromCsvData(any(IndicatorBatchRequest.class))).thenReturn(
+            IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(1)
+                .warnings(List.of())
+                .build());
+
+        IndicatorBatchResponse response = indicatorCsvImportService.importCsv(csv(
+            "indicator,value,direction\n"
+                + "Broadband,abc,INPUT\n"
+                + "Broadband,4,sideways\n"
+                + "Broadband,5,OUTPUT\n"), 7L, null);
+
+        assertThat(response.getTotalFactRecords()).isEqualTo(1);
+        assertThat(response.getWarnings()).hasSize(2);
+        assertThat(response.getWarnings().get(0)).contains("invalid numeric value 'abc'");
+        assertThat(response.getWarnings().get(1)).contains("invalid direction 'sideways'");
+    }
+
+    @Test
+    void importBatch_SplitsIndicatorValuesAcrossChunks() {
+        when(indicatorBatchService.createFromCsvData(any(IndicatorBatchRequest.class))).thenAnswer(invocation -> {
+            IndicatorBatchRequest chunk = invocation.getArgument(0);
+            int rows = chunk.getIndicators().stream().mapToInt(i -> i.getValues().size()).sum();
+            return IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(rows)
+                .warnings(List.of())
+                .build();
+        });
+        CsvIndicatorData indicator = CsvIndicatorData.builder()
+            .name("Broadband")
+            .subareaId(7L)
+            .direction(Direction.INPUT)
+            .values(List.of(value(1), value(2), value(3)))
+            .build();
+
+        IndicatorBatchResponse response = indicatorCsvImportService.importBatch(
+            IndicatorBatchRequest.builder().indicators(List.of(indicator)).build(), ImportProgress.NONE);
+
+        ArgumentCaptor<IndicatorBatchRequest> chunks = ArgumentCaptor.forClass(IndicatorBatchRequest.class);
+        verify(indicatorBatchService, times(2)).createFromCsvData(chunks.capture());
+        assertThat(chunks.getAllValues().get(0).getIndicators().get(0).getValues()).hasSize(2);
+        assertThat(chunks.getAllValues().get(1).getIndicators().get(0).getValues()).hasSize(1);
+        assertThat(chunks.getAllValues().get(1).getIndicators().get(0).getSubareaId()).isEqualTo(7L);
+        assertThat(response.getTotalFactRecords()).isEqualTo(3);
+    }
+
+    @Test
+    void importCsv_StopsWithoutWritingPendingChunkWhenRequested() throws Exception {
+        ImportProgress stopAfterFirstRow = new ImportProgress() {
+            private long rows;
+
+            @Override
+            public void onRowsRead(long rows) {
+                this.rows = rows;
+            }
+
+            @Override
+            public boolean isStopRequested() {
+                return rows >= 1;
+            }
+        };
+
+        IndicatorBatchResponse response = indicatorCsvImportService.importCsv(csv(
+            "indicator,value\nBroadband,1\nBroadband,2\n"), 7L, Direction.INPUT, stopAfterFirstRow);
+
+        verify(indicatorBatchService, never()).createFromCsvData(any());
+        assertThat(response.getMessage()).isEqualTo("Import stopped after 1 rows");
+    }
+
+    @Test
+    void importCsv_CheckpointsEachChunkInsideItsTransaction() throws Exception {
+        when(indicatorBatchService.createFromCsvData(any(IndicatorBatchRequest.class))).thenReturn(
+            IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(1)
+                .warnings(List.of())
+                .build());
+        List<Long> checkpoints = new ArrayList<>();
+        ImportProgress progress = new ImportProgress() {
+            @Override
+            public void onChunkWriting(long rowsThrough) {
+                checkpoints.add(rowsThrough);
+            }
+        };
+
+        indicatorCsvImportService.importCsv(csv(
+            "indicator,value\nBroadband,1\nBroadband,2\nBroadband,3\n"), 7L, Direction.INPUT, progress);
+
+        assertThat(checkpoints).containsExactly(2L, 3L);
+        verify(transactionManager, times(2)).commit(any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importCsv_SkipsRowsCommittedByEarlierAttempt() throws Exception {
+        when(indicatorBatchService.createFromCsvData(any(IndicatorBatchRequest.class))).thenReturn(
+            IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(1)
+                .warnings(List.of())
+                .build());
+        ImportProgress resumeAfterTwo = new ImportProgress() {
+            @Override
+            public long resumeAfterRows() {
+                return 2;
+            }
+        };
+
+        indicatorCsvImportService.importCsv(csv(
+            "indicator,value\nBroadband,1\nBroadband,2\nBroadband,3\n"), 7L, Direction.INPUT, resumeAfterTwo);
+
+        ArgumentCaptor<IndicatorBatchRequest> chunks = ArgumentCaptor.forClass(IndicatorBatchRequest.class);
+        verify(indicatorBatchService).createFromCsvData(chunks.capture());
+        assertThat(chunks.getValue().getIndicators().get(0).getValues())
+            .extracting(IndicatorValue::getValue)
+            .containsExactly(new BigDecimal("3"));
+    }
+
+    @Test
+    void importCsv_StopsAtRolledBackChunkWithoutCheckpointingIt() throws Exception {
+        when(indicatorBatchService.createFromCsvData(any(IndicatorBatchRequest.class)))
+            .thenReturn(IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(2)
+                .warnings(List.of())
+                .build())
+            .thenThrow(new IllegalStateException("deadlock detected"));
+        List<Long> checkpoints = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        ImportProgress progress = new ImportProgress() {
+            @Override
+            public void onChunkWriting(long rowsThrough) {
+                checkpoints.add(rowsThrough);
+            }
+
+            @Override
+            public void onChunkFailed(String message) {
+                failures.add(message);
+            }
+        };
+
+        IndicatorBatchResponse response = indicatorCsvImportService.importCsv(csv(
+            "indicator,value\nBroadband,1\nBroadband,2\nBroadband,3\nBroadband,4\nBroadband,5\n"),
+            7L, Direction.INPUT, progress);
+
+        verify(indicatorBatchService, times(2)).createFromCsvData(any());
+        verify(transactionManager).rollback(any());
+        assertThat(checkpoints).containsExactly(2L);
+        assertThat(failures).singleElement().asString().contains("ending at row 4", "deadlock detected");
+        assertThat(response.getTotalFactRecords()).isEqualTo(2);
+        assertThat(response.getMessage()).startsWith("Import stopped: Chunk of 2 rows ending at row 4");
+    }
+
+    @Test
+    void importCsv_ParallelModeCheckpointsAfterWorkersFinish() throws Exception {
+        ReflectionTestUtils.setField(indicatorCsvImportService, "parallel", true);
+        when(parallelIndicatorIngestService.createFromCsvData(any(IndicatorBatchRequest.class))).thenReturn(
+            IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(2)
+                .warnings(List.of())
+                .build());
+        List<Long> checkpoints = new ArrayList<>();
+        ImportProgress progress = new ImportProgress() {
+            @Override
+            public void onChunkWriting(long rowsThrough) {
+                checkpoints.add(rowsThrough);
+            }
+        };
+
+        IndicatorBatchResponse response = indicatorCsvImportService.importCsv(csv(
+            "indicator,value\nBroadband,1\nCoverage,2\n"), 7L, Direction.INPUT, progress);
+
+        verify(indicatorBatchService, never()).createFromCsvData(any());
+        assertThat(checkpoints).containsExactly(2L);
+        assertThat(response.getTotalFactRecords()).isEqualTo(2);
+    }
+
+    @Test
+    void importCsv_ParallelModeDoesNotCheckpointPartlyWrittenChunk() throws Exception {
+        ReflectionTestUtils.setField(indicatorCsvImportService, "parallel", true);
+        when(parallelIndicatorIngestService.createFromCsvData(any(IndicatorBatchRequest.class))).thenThrow(
+            new ParallelIndicatorIngestService.IncompleteImportException(1, IndicatorBatchResponse.builder()
+                .createdIndicators(List.of(indicator(1L)))
+                .totalFactRecords(1)
+                .warnings(List.of("Failed to process indicator 'Coverage': boom"))
+                .build()));
+        List<Long> checkpoints = new ArrayList<>();
+        ImportProgress progress = new ImportProgress() {
+            @Override
+            public void onChunkWriting(long rowsThrough) {
+                checkpoints.add(rowsThrough);
+            }
+        };
+
+        IndicatorBatchResponse response = indicatorCsvImportService.importCsv(csv(
+            "indicator,value\nBroadband,1\nCoverage,2\nBroadband,3\n"), 7L, Direction.INPUT, progress);
+
+        verify(parallelIndicatorIngestService, times(1)).createFromCsvData(any());
+        assertThat(checkpoints).isEmpty();
+        assertThat(response.getTotalFactRecords()).isEqualTo(1);
+        assertThat(response.getWarnings()).first().asString().contains("Coverage");
+        assertThat(response.getMessage()).contains("was only partly written");
+    }
+
+    @Test
+    void importCsv_RejectsHeaderWithoutRequiredColumns() {
+        assertThatThrownBy(() -> indicatorCsvImportService.importCsv(csv("name,amount\nBroadband,1\n"), 7L, Direction.INPUT))
+            .isInstanceOf(BadRequestException.class);
+        verify(indicatorBatchService, never()).createFromCsvData(any());
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static IndicatorValue value(double value) {
+        return IndicatorValue.builder().value(BigDecimal.valueOf(value)).timeValue("2023").build();
+    }
+
+    private static IndicatorResponse indicator(Long id) {
+        IndicatorResponse response = new IndicatorResponse();
+        response.setId(id);
+        return response;
+    }
+}
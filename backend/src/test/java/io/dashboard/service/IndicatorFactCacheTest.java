@@ -0,0 +1,200 @@
+package io.dashboard.service;
+
+import io.dashboard.repository.FactSnapshotRepository;
+import io.dashboard.repository.IndicatorDimensionValues;
+import io.dashboard.repository.IndicatorFactSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndicatorFactCacheTest {
+
+    @Mock
+    private FactSnapshotRepository factSnapshotRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private IndicatorFactCache cache;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(factSnapshotRepository.load(anyLong())).thenAnswer(invocation -> snapshot(invocation.getArgument(0), 10));
+        long oneSnapshot = snapshot(0L, 10).estimatedBytes();
+        cache = new IndicatorFactCache(factSnapshotRepository, entityManager, new SimpleMeterRegistry(), oneSnapshot * 2, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_LoadsOnceAndEvictsLeastRecentlyUsedWhenOverBudget() {
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(1L);
+        cache.get(3L);
+
+        verify(factSnapshotRepository, times(1)).load(1L);
+        assertThat(cache.cachedIndicatorIds()).containsExactly(1L, 3L);
+        assertThat(cache.cachedBytes()).isEqualTo(2 * snapshot(0L, 10).estimatedBytes());
+    }
+
+    @Test
+    void evict_DropsEntryAndReloadsOnNextGet() {
+        cache.get(1L);
+        cache.evict(List.of(1L));
+        assertThat(cache.cachedIndicatorIds()).isEmpty();
+
+        cache.get(1L);
+        verify(factSnapshotRepository, times(2)).load(1L);
+    }
+
+    @Test
+    void get_ReloadsEntryOlderThanTtl() {
+        // Writes through other nodes never evict here, only the TTL bounds how stale a snapshot gets
+        cache = new IndicatorFactCache(factSnapshotRepository, entityManager, new SimpleMeterRegistry(), 1 << 20, 0);
+        when(factSnapshotRepository.loadDimensionValues(List.of(1L))).thenReturn(dimensionValues(1L));
+
+        cache.get(1L);
+        cache.get(1L);
+        cache.getDimensionValues(List.of(1L));
+        cache.getDimensionValues(List.of(1L));
+
+        verify(factSnapshotRepository, times(2)).load(1L);
+        verify(factSnapshotRepository, times(2)).loadDimensionValues(List.of(1L));
+        assertThat(cache.cachedBytes()).isEqualTo(snapshot(1L, 10).estimatedBytes() + dimensionValues(1L).get(1L).estimatedBytes());
+    }
+
+    @Test
+    void evict_InsideTransactionBypassesCacheUntilCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(List.of(1L));
+
+        cache.get(1L);
+        cache.get(1L);
+        verify(entityManager, times(2)).flush();
+        verify(factSnapshotRepository, times(2)).load(1L);
+        assertThat(cache.cachedIndicatorIds()).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        cache.get(1L);
+        assertThat(cache.cachedIndicatorIds()).containsExactly(1L);
+    }
+
+    @Test
+    void get_DoesNotCacheSnapshotLoadedWhileAWriterInvalidated() {
+        when(factSnapshotRepository.load(5L)).thenAnswer(invocation -> {
+            // A writer commits while the snapshot is being read
+            cache.evict(List.of(5L));
+            return snapshot(5L, 10);
+        });
+
+        cache.get(5L);
+
+        assertThat(cache.cachedIndicatorIds()).isEmpty();
+    }
+
+    @Test
+    void get_DoesNotCacheSnapshotLargerThanBudget() {
+        when(factSnapshotRepository.load(9L)).thenReturn(snapshot(9L, 1000));
+
+        assertThat(cache.get(9L).size()).isEqualTo(1000);
+        assertThat(cache.cachedIndicatorIds()).isEmpty();
+    }
+
+    @Test
+    void getDimensionValues_LoadsMissesTogetherAndServesHitsFromCache() {
+        cache = new IndicatorFactCache(factSnapshotRepository, entityManager, new SimpleMeterRegistry(), 1 << 20, 60);
+        when(factSnapshotRepository.loadDimensionValues(List.of(1L, 2L)))
+            .thenReturn(dimensionValues(1L, 2L));
+        when(factSnapshotRepository.loadDimensionValues(List.of(3L)))
+            .thenReturn(dimensionValues(3L));
+
+        cache.getDimensionValues(List.of(1L, 2L));
+        Map<Long, IndicatorDimensionValues> values = cache.getDimensionValues(List.of(3L, 1L, 2L));
+
+        assertThat(values.keySet()).containsExactly(3L, 1L, 2L);
+        assertThat(values.get(1L).factCounts().get("time")).containsExactly(Map.entry("2024", 3L));
+        verify(factSnapshotRepository, times(1)).loadDimensionValues(List.of(1L, 2L));
+        verify(factSnapshotRepository, times(1)).loadDimensionValues(List.of(3L));
+        assertThat(cache.cachedDimensionIndicatorIds()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void evict_DropsDimensionValuesToo() {
+        when(factSnapshotRepository.loadDimensionValues(List.of(1L))).thenReturn(dimensionValues(1L));
+        cache.getDimensionValues(List.of(1L));
+        long cachedBytes = cache.cachedBytes();
+
+        cache.evict(List.of(1L));
+
+        assertThat(cachedBytes).isPositive();
+        assertThat(cache.cachedDimensionIndicatorIds()).isEmpty();
+        assertThat(cache.cachedBytes()).isZero();
+    }
+
+    @Test
+    void get_EvictsSnapshotsBeforeDimensionValues() {
+        when(factSnapshotRepository.loadDimensionValues(List.of(7L))).thenReturn(dimensionValues(7L));
+        cache.getDimensionValues(List.of(7L));
+
+        cache.get(1L);
+        cache.get(2L);
+
+        assertThat(cache.cachedIndicatorIds()).containsExactly(2L);
+        assertThat(cache.cachedDimensionIndicatorIds()).containsExactly(7L);
+    }
+
+    @Test
+    void averageBy_GroupsByDictionaryCodeAndFiltersSubarea() {
+        IndicatorFactSnapshot snapshot = new IndicatorFactSnapshot(1L,
+            new double[] {1, 3, 10, 7},
+            new long[] {4, 4, 5, IndicatorFactSnapshot.NO_SUBAREA},
+            new IndicatorFactSnapshot.Column(new String[] {"2023", "2024"}, new int[] {0, 0, 1, IndicatorFactSnapshot.ABSENT}),
+            IndicatorFactSnapshot.Column.empty(4),
+            Map.of());
+
+        assertThat(snapshot.averageBy(snapshot.time(), null)).containsExactly(Map.entry("2023", 2.0), Map.entry("2024", 10.0));
+        assertThat(snapshot.averageBy(snapshot.time(), 5L)).containsExactly(Map.entry("2024", 10.0));
+        assertThat(snapshot.dimensionNames()).containsExactly("time");
+    }
+
+    private static Map<Long, IndicatorDimensionValues> dimensionValues(Long... indicatorIds) {
+        Map<Long, IndicatorDimensionValues> values = new LinkedHashMap<>();
+        for (Long indicatorId : indicatorIds) {
+            values.put(indicatorId, new IndicatorDimensionValues(indicatorId, Map.of("time", Map.of("2024", 3L))));
+        }
+        return values;
+    }
+
+    private static IndicatorFactSnapshot snapshot(Long indicatorId, int rows) {
+        return new IndicatorFactSnapshot(indicatorId, new double[rows], new long[rows],
+            IndicatorFactSnapshot.Column.empty(rows), IndicatorFactSnapshot.Column.empty(rows), Map.of());
+    }
+}
@@ -1,10 +1,11 @@
 package io.dashboard.service;
 
 import io.dashboard.dto.IndicatorResponse;
-import io.dashboard.model.FactIndicatorValue;
 import io.dashboard.model.Indicator;
 import io.dashboard.model.Subarea;
 import io.dashboard.repository.FactIndicatorValueRepository;
+import io.dashboard.repository.IndicatorDimensionView;
+import io.dashboard.repository.IndicatorFactCountView;
 import io.dashboard.repository.IndicatorRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,12 +14,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,16 +57,12 @@ class IndicatorServiceDirectionTest {
     @Test
     void testFindByFactSubareaId_WithInputDirection() {
         // Given
-        List<FactIndicatorValue> facts = Arrays.asList(
-            createFactIndicatorValue("input"),
-            createFactIndicatorValue("input"),
-            createFactIndicatorValue("input")
+        List<IndicatorFactCountView> counts = Arrays.asList(
+            count("input", testSubarea1, 3)
         );
 
         when(indicatorRepository.findByFactSubareaId(1L)).thenReturn(Arrays.asList(testIndicator));
-        when(factIndicatorValueRepository.countByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(3L);
-        when(factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(Arrays.asList("time", "location"));
-        when(factIndicatorValueRepository.findByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(facts);
+        when(factIndicatorValueRepository.countByIndicatorIdsGrouped(List.of(1L), 1L)).thenReturn(counts);
 
         // When
         List<IndicatorResponse> responses = indicatorService.findByFactSubareaId(1L);
@@ -80,16 +77,12 @@ class IndicatorServiceDirectionTest {
     @Test
     void testFindByFactSubareaId_WithOutputDirection() {
         // Given
-        List<FactIndicatorValue> facts = Arrays.asList(
-            createFactIndicatorValue("output"),
-            createFactIndicatorValue("output"),
-            createFactIndicatorValue("output")
+        List<IndicatorFactCountView> counts = Arrays.asList(
+            count("output", testSubarea1, 3)
         );
 
         when(indicatorRepository.findByFactSubareaId(1L)).thenReturn(Arrays.asList(testIndicator));
-        when(factIndicatorValueRepository.countByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(3L);
-        when(factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(Arrays.asList("time", "location"));
-        when(factIndicatorValueRepository.findByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(facts);
+        when(factIndicatorValueRepository.countByIndicatorIdsGrouped(List.of(1L), 1L)).thenReturn(counts);
 
         // When
         List<IndicatorResponse> responses = indicatorService.findByFactSubareaId(1L);
@@ -104,18 +97,13 @@ class IndicatorServiceDirectionTest {
     @Test
     void testFindByFactSubareaId_WithMixedDirections_ShouldReturnMostCommon() {
         // Given - More input than output
-        List<FactIndicatorValue> facts = Arrays.asList(
-            createFactIndicatorValue("input"),
-            createFactIndicatorValue("input"),
-            createFactIndicatorValue("input"),
-            createFactIndicatorValue("output"),
-            createFactIndicatorValue("output")
+        List<IndicatorFactCountView> counts = Arrays.asList(
+            count("input", testSubarea1, 3),
+            count("output", testSubarea1, 2)
         );
 
         when(indicatorRepository.findByFactSubareaId(1L)).thenReturn(Arrays.asList(testIndicator));
-        when(factIndicatorValueRepository.countByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(5L);
-        when(factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(Arrays.asList("time", "location"));
-        when(factIndicatorValueRepository.findByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(facts);
+        when(factIndicatorValueRepository.countByIndicatorIdsGrouped(List.of(1L), 1L)).thenReturn(counts);
 
         // When
         List<IndicatorResponse> responses = indicatorService.findByFactSubareaId(1L);
@@ -130,16 +118,12 @@ class IndicatorServiceDirectionTest {
     @Test
     void testFindByFactSubareaId_WithNullDirections() {
         // Given
-        List<FactIndicatorValue> facts = Arrays.asList(
-            createFactIndicatorValue(null),
-            createFactIndicatorValue(null),
-            createFactIndicatorValue(null)
+        List<IndicatorFactCountView> counts = Arrays.asList(
+            count(null, testSubarea1, 3)
         );
 
         when(indicatorRepository.findByFactSubareaId(1L)).thenReturn(Arrays.asList(testIndicator));
-        when(factIndicatorValueRepository.countByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(3L);
-        when(factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(Arrays.asList("time", "location"));
-        when(factIndicatorValueRepository.findByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(facts);
+        when(factIndicatorValueRepository.countByIndicatorIdsGrouped(List.of(1L), 1L)).thenReturn(counts);
 
         // When
         List<IndicatorResponse> responses = indicatorService.findByFactSubareaId(1L);
@@ -154,17 +138,13 @@ class IndicatorServiceDirectionTest {
     @Test
     void testFindByFactSubareaId_WithMixedNullAndValidDirections() {
         // Given - Some null, some valid directions
-        List<FactIndicatorValue> facts = Arrays.asList(
-            createFactIndicatorValue(null),
-            createFactIndicatorValue("input"),
-            createFactIndicatorValue("input"),
-            createFactIndicatorValue(null)
+        List<IndicatorFactCountView> counts = Arrays.asList(
+            count(null, testSubarea1, 2),
+            count("input", testSubarea1, 2)
         );
 
         when(indicatorRepository.findByFactSubareaId(1L)).thenReturn(Arrays.asList(testIndicator));
-        when(factIndicatorValueRepository.countByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(4L);
-        when(factIndicatorValueRepository.findDimensionsByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(Arrays.asList("time", "location"));
-        when(factIndicatorValueRepository.findByIndicatorIdAndSubareaId(1L, 1L)).thenReturn(facts);
+        when(factIndicatorValueRepository.countByIndicatorIdsGrouped(List.of(1L), 1L)).thenReturn(counts);
 
         // When
         List<IndicatorResponse> responses = indicatorService.findByFactSubareaId(1L);
@@ -179,18 +159,13 @@ class IndicatorServiceDirectionTest {
     @Test
     void testFindAll_WithMixedDirectionsAcrossSubareas() {
         // Given - Same indicator with different directions in different subareas
-        List<FactIndicatorValue> allFacts = Arrays.asList(
-            createFactIndicatorValue("input", testSubarea1),
-            createFactIndicatorValue("input", testSubarea1),
-            createFactIndicatorValue("output", testSubarea2),
-            createFactIndicatorValue("output", testSubarea2),
-            createFactIndicatorValue("output", testSubarea2)
+        List<IndicatorFactCountView> counts = Arrays.asList(
+            count("input", testSubarea1, 2),
+            count("output", testSubarea2, 3)
         );
 
         when(indicatorRepository.findAll()).thenReturn(Arrays.asList(testIndicator));
-        when(factIndicatorValueRepository.countByIndicatorId(1L)).thenReturn(5L);
-        when(factIndicatorValueRepository.findDimensionsByIndicatorId(1L)).thenReturn(Arrays.asList("time", "location"));
-        when(factIndicatorValueRepository.findByIndicatorId(1L)).thenReturn(allFacts);
+        when(factIndicatorValueRepository.countByIndicatorIdsGrouped(List.of(1L), null)).thenReturn(counts);
 
         // When
         List<IndicatorResponse> responses = indicatorService.findAll();
@@ -202,17 +177,65 @@ class IndicatorServiceDirectionTest {
         assertThat(response.getValueCount()).isEqualTo(5L);
     }
 
-    private FactIndicatorValue createFactIndicatorValue(String direction) {
-        return createFactIndicatorValue(direction, testSubarea1);
+    @Test
+    void testFindAll_SummarizesAllIndicatorsInFixedNumberOfQueries() {
+        // Given - Two indicators, one of them without facts
+        Indicator empty = new Indicator();
+        empty.setId(2L);
+        empty.setCode("EMPTY");
+
+        when(indicatorRepository.findAll()).thenReturn(Arrays.asList(testIndicator, empty));
+        when(factIndicatorValueRepository.countByIndicatorIdsGrouped(List.of(1L, 2L), null)).thenReturn(Arrays.asList(
+            count("input", testSubarea2, 2),
+            count("input", testSubarea1, 1),
+            count(null, null, 4)
+        ));
+        when(factIndicatorValueRepository.findGenericDimensionsByIndicatorIds(List.of(1L, 2L))).thenReturn(Arrays.asList(
+            dimension("age"),
+            dimension("sex")
+        ));
+
+        // When
+        List<IndicatorResponse> responses = indicatorService.findAll();
+
+        // Then
+        assertThat(responses).hasSize(2);
+        IndicatorResponse response = responses.get(0);
+        assertThat(response.getValueCount()).isEqualTo(7L);
+        assertThat(response.getDimensions()).containsExactly("time", "location", "age", "sex");
+        assertThat(response.getSubareaIds()).containsExactly(1L, 2L);
+        assertThat(response.getSubareaNames()).containsExactly("Subarea 1", "Subarea 2");
+        assertThat(response.getDirection()).isEqualTo("input");
+        IndicatorResponse emptyResponse = responses.get(1);
+        assertThat(emptyResponse.getValueCount()).isZero();
+        assertThat(emptyResponse.getDimensions()).isEmpty();
+        assertThat(emptyResponse.getSubareaIds()).isEmpty();
+        assertThat(emptyResponse.getDirection()).isNull();
+
+        verify(indicatorRepository).findAll();
+        verify(factIndicatorValueRepository).countByIndicatorIdsGrouped(List.of(1L, 2L), null);
+        verify(factIndicatorValueRepository).findGenericDimensionsByIndicatorIds(List.of(1L, 2L));
+        verifyNoMoreInteractions(indicatorRepository, factIndicatorValueRepository);
+    }
+
+    // One grouped count row: facts of the test indicator with the given direction and subarea,
+    // all of them with a time and a location member
+    private IndicatorFactCountView count(String direction, Subarea subarea, long facts) {
+        return new IndicatorFactCountView() {
+            public Long getIndicatorId() { return testIndicator.getId(); }
+            public Long getSubareaId() { return subarea != null ? subarea.getId() : null; }
+            public String getSubareaName() { return subarea != null ? subarea.getName() : null; }
+            public String getDirection() { return direction; }
+            public Long getFactCount() { return facts; }
+            public Long getTimeCount() { return facts; }
+            public Long getLocationCount() { return facts; }
+        };
     }
 
-    private FactIndicatorValue createFactIndicatorValue(String direction, Subarea subarea) {
-        FactIndicatorValue fact = new FactIndicatorValue();
-        fact.setId(1L);
-        fact.setIndicator(testIndicator);
-        fact.setSubarea(subarea);
-        fact.setValue(BigDecimal.valueOf(100.0));
-        fact.setDirection(direction);
-        return fact;
+    private IndicatorDimensionView dimension(String name) {
+        return new IndicatorDimensionView() {
+            public Long getIndicatorId() { return testIndicator.getId(); }
+            public String getDimension() { return name; }
+        };
     }
-} 
\ No newline at end of file
+}
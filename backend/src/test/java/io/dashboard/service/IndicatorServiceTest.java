@@ -43,6 +43,8 @@ class IndicatorServiceTest {
     private FactIndicatorValueRepository factIndicatorValueRepository;
     @Mock
     private AggregationService aggregationService;
+    @Mock
+    private FactGenericResolver factGenericResolver;
     @InjectMocks
     private IndicatorService indicatorService;
 
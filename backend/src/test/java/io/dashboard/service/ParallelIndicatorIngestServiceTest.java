@@ -0,0 +1,142 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorBatchResponse;
+import io.dashboard.dto.IndicatorResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelIndicatorIngestServiceTest {
+
+    @Mock
+    private IndicatorBatchService indicatorBatchService;
+
+    @Mock
+    private DimensionDictionary dimensionDictionary;
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void createFromCsvData_ReportsIndicatorsInRequestOrder() {
+        ParallelIndicatorIngestService service = service(4, 3);
+        when(indicatorBatchService.createIndicatorFromCsvData(any(CsvIndicatorData.class))).thenAnswer(invocation -> {
+            CsvIndicatorData indicator = invocation.getArgument(0);
+            long id = Long.parseLong(indicator.getName().substring(1));
+            // Later indicators finish first
+            Thread.sleep((10 - id) * 5);
+            return result(id, (int) id, List.of("warning " + id));
+        });
+
+        IndicatorBatchResponse response = service.createFromCsvData(request("i1", "i2", "i3", "i4", "i5"));
+
+        assertThat(response.getCreatedIndicators()).extracting(IndicatorResponse::getId)
+            .containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(response.getWarnings())
+            .containsExactly("warning 1", "warning 2", "warning 3", "warning 4", "warning 5");
+        assertThat(response.getTotalFactRecords()).isEqualTo(15);
+        verify(dimensionDictionary).verifyCoherence();
+    }
+
+    @Test
+    void createFromCsvData_ImportsIndicatorsSharingANameSequentially() {
+        ParallelIndicatorIngestService service = service(4, 3);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        when(indicatorBatchService.createIndicatorFromCsvData(any(CsvIndicatorData.class))).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            return result(1L, 1, List.of());
+        });
+
+        IndicatorBatchResponse response = service.createFromCsvData(request("i1", "i1", "i1"));
+
+        assertThat(threads).hasSize(3).containsOnly(threads.get(0));
+        assertThat(response.getCreatedIndicators()).hasSize(1);
+        assertThat(response.getTotalFactRecords()).isEqualTo(3);
+    }
+
+    @Test
+    void createFromCsvData_RetriesIndicatorThatLostAUniqueConstraintRace() {
+        ParallelIndicatorIngestService service = service(2, 3);
+        DataIntegrityViolationException conflict = new DataIntegrityViolationException("duplicate",
+            new SQLException("duplicate key value violates unique constraint", "23505"));
+        when(indicatorBatchService.createIndicatorFromCsvData(any(CsvIndicatorData.class)))
+            .thenThrow(conflict)
+            .thenReturn(result(1L, 4, List.of()));
+
+        IndicatorBatchResponse response = service.createFromCsvData(request("i1"));
+
+        verify(indicatorBatchService, times(2)).createIndicatorFromCsvData(any(CsvIndicatorData.class));
+        assertThat(response.getTotalFactRecords()).isEqualTo(4);
+        assertThat(response.getWarnings()).isEmpty();
+    }
+
+    @Test
+    void createFromCsvData_ReportsOtherFailuresWithoutRetryOnceAllWorkersFinish() {
+        ParallelIndicatorIngestService service = service(2, 3);
+        when(indicatorBatchService.createIndicatorFromCsvData(any(CsvIndicatorData.class))).thenAnswer(invocation -> {
+            CsvIndicatorData indicator = invocation.getArgument(0);
+            if (indicator.getName().equals("i1")) {
+                throw new IllegalStateException("Subarea with ID 9 not found");
+            }
+            return result(2L, 3, List.of());
+        });
+
+        assertThatThrownBy(() -> service.createFromCsvData(request("i1", "i2")))
+            .isInstanceOfSatisfying(ParallelIndicatorIngestService.IncompleteImportException.class, e -> {
+                assertThat(e.getPartialResult().getCreatedIndicators()).extracting(IndicatorResponse::getId)
+                    .containsExactly(2L);
+                assertThat(e.getPartialResult().getTotalFactRecords()).isEqualTo(3);
+                assertThat(e.getPartialResult().getWarnings())
+                    .containsExactly("Failed to process indicator 'i1': Subarea with ID 9 not found");
+            });
+        verify(indicatorBatchService, times(2)).createIndicatorFromCsvData(any(CsvIndicatorData.class));
+    }
+
+    private ParallelIndicatorIngestService service(int threads, int maxRetries) {
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.initialize();
+        return new ParallelIndicatorIngestService(indicatorBatchService, dimensionDictionary, executor, maxRetries);
+    }
+
+    private static IndicatorBatchRequest request(String... names) {
+        List<CsvIndicatorData> indicators = new ArrayList<>();
+        for (String name : names) {
+            indicators.add(CsvIndicatorData.builder().name(name).values(List.of()).build());
+        }
+        return IndicatorBatchRequest.builder().indicators(indicators).build();
+    }
+
+    private static IndicatorBatchResponse result(Long id, int factRecords, List<String> warnings) {
+        IndicatorResponse indicator = new IndicatorResponse();
+        indicator.setId(id);
+        return IndicatorBatchResponse.builder()
+            .createdIndicators(List.of(indicator))
+            .totalFactRecords(factRecords)
+            .warnings(warnings)
+            .build();
+    }
+}
@@ -0,0 +1,90 @@
+package io.dashboard.service;
+
+import io.dashboard.model.DataType;
+import io.dashboard.model.Unit;
+import io.dashboard.repository.DataTypeRepository;
+import io.dashboard.repository.UnitRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataRegistryTest {
+
+    @Mock
+    private DataTypeRepository dataTypeRepository;
+
+    @Mock
+    private UnitRepository unitRepository;
+
+    @InjectMocks
+    private ReferenceDataRegistry referenceDataRegistry;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lookupsAreCaseInsensitiveAndLoadOnce() {
+        when(dataTypeRepository.findAll()).thenReturn(List.of(dataType(1L, "decimal")));
+        when(unitRepository.findAll()).thenReturn(List.of(unit(1L, "EUR")));
+
+        assertThat(referenceDataRegistry.findDataType("Decimal")).map(DataType::getId).contains(1L);
+        assertThat(referenceDataRegistry.findDataType("DECIMAL")).map(DataType::getId).contains(1L);
+        assertThat(referenceDataRegistry.findUnit("eur")).map(Unit::getId).contains(1L);
+        assertThat(referenceDataRegistry.findUnit("USD")).isEmpty();
+        assertThat(referenceDataRegistry.findUnit(null)).isEmpty();
+
+        verify(dataTypeRepository, times(1)).findAll();
+        verify(unitRepository, times(1)).findAll();
+    }
+
+    @Test
+    void exactMatchWinsOverCaseInsensitiveMatch() {
+        when(dataTypeRepository.findAll()).thenReturn(List.of());
+        when(unitRepository.findAll()).thenReturn(List.of(unit(1L, "t"), unit(2L, "T")));
+
+        assertThat(referenceDataRegistry.findUnit("T")).map(Unit::getId).contains(2L);
+        assertThat(referenceDataRegistry.findUnit("t")).map(Unit::getId).contains(1L);
+    }
+
+    @Test
+    void refreshAfterCommit_WaitsForCommit() {
+        when(dataTypeRepository.findAll()).thenReturn(List.of(), List.of(dataType(5L, "index")));
+        when(unitRepository.findAll()).thenReturn(List.of());
+        referenceDataRegistry.refresh();
+
+        TransactionSynchronizationManager.initSynchronization();
+        referenceDataRegistry.refreshAfterCommit();
+        assertThat(referenceDataRegistry.findDataType("index")).isEmpty();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(referenceDataRegistry.findDataType("index")).map(DataType::getId).contains(5L);
+    }
+
+    private static DataType dataType(Long id, String name) {
+        DataType dataType = new DataType();
+        dataType.setId(id);
+        dataType.setName(name);
+        return dataType;
+    }
+
+    private static Unit unit(Long id, String code) {
+        return Unit.builder().id(id).code(code).build();
+    }
+}
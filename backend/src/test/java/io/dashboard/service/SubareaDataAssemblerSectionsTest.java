@@ -0,0 +1,97 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.IndicatorResponse;
+import io.dashboard.dto.SubareaDataResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SubareaDataAssemblerSectionsTest {
+
+    private static final long TIMEOUT_MS = 200;
+
+    @Mock
+    private SubareaFacts facts;
+
+    private ThreadPoolTaskExecutor executor;
+    private SubareaDataAssembler assembler;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(6);
+        executor.setMaxPoolSize(6);
+        executor.setThreadNamePrefix("section-test-");
+        executor.initialize();
+        assembler = new SubareaDataAssembler(null, null, executor, TIMEOUT_MS);
+
+        IndicatorResponse indicator = new IndicatorResponse();
+        indicator.setId(1L);
+        when(facts.indicators()).thenReturn(List.of(indicator));
+        when(facts.aggregatedData()).thenReturn(Map.of("time", Map.of("2023", 1.0)));
+        when(facts.dimensionMetadata()).thenReturn(Map.of());
+        when(facts.indicatorTimeSeriesData()).thenReturn(Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void assemble_reportsSlowAndFailingSectionsAndKeepsTheRest() {
+        when(facts.timeSeriesData()).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        when(facts.indicatorDimensionData()).thenThrow(new IllegalStateException("broken section"));
+
+        SubareaDataResponse.SubareaDataResponseBuilder builder = SubareaDataResponse.builder();
+        Map<String, String> errors = new HashMap<>();
+        long start = System.nanoTime();
+        assembler.assemble(facts, builder, errors);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        SubareaDataResponse response = builder.build();
+        assertThat(elapsedMs).isLessThan(5_000);
+        assertThat(errors).containsOnlyKeys("timeSeriesData", "indicatorDimensionData");
+        assertThat(errors.get("timeSeriesData")).isEqualTo("Timed out after " + TIMEOUT_MS + " ms");
+        assertThat(errors.get("indicatorDimensionData")).isEqualTo("broken section");
+        assertThat(response.getIndicators()).hasSize(1);
+        assertThat(response.getAggregatedData()).containsKey("time");
+        assertThat(response.getDimensionMetadata()).isEmpty();
+        assertThat(response.getIndicatorTimeSeriesData()).isEmpty();
+        assertThat(response.getTimeSeriesData()).isNull();
+        assertThat(response.getIndicatorDimensionData()).isNull();
+    }
+
+    @Test
+    void assemble_computesInlineWhenTheExecutorRejects() {
+        executor.shutdown();
+        when(facts.timeSeriesData()).thenReturn(List.of());
+        when(facts.indicatorDimensionData()).thenReturn(Map.of());
+
+        SubareaDataResponse.SubareaDataResponseBuilder builder = SubareaDataResponse.builder();
+        Map<String, String> errors = new HashMap<>();
+        assembler.assemble(facts, builder, errors);
+
+        assertThat(errors).isEmpty();
+        assertThat(builder.build().getIndicators()).hasSize(1);
+    }
+}
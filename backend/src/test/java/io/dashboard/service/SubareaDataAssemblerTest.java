@@ -0,0 +1,172 @@
+package io.dashboard.service;
+
+import io.dashboard.dto.CsvIndicatorData;
+import io.dashboard.dto.IndicatorBatchRequest;
+import io.dashboard.dto.IndicatorResponse;
+import io.dashboard.dto.IndicatorValue;
+import io.dashboard.dto.SubareaDataResponse;
+import io.dashboard.model.Area;
+import io.dashboard.model.Direction;
+import io.dashboard.model.Subarea;
+import io.dashboard.repository.AreaRepository;
+import io.dashboard.repository.SubareaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Counts the statements {@code getSubareaData} prepares, through Hibernate statistics, for a
+ * subarea with one plain indicator and one with many indicators and custom dimensions.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+class SubareaDataAssemblerTest {
+
+    private static final double TOLERANCE = 1e-9;
+
+    @Autowired private IndicatorBatchService indicatorBatchService;
+    @Autowired private SubareaService subareaService;
+    @Autowired private AggregationService aggregationService;
+    @Autowired private AreaRepository areaRepository;
+    @Autowired private SubareaRepository subareaRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private String run;
+    private Subarea small;
+    private Subarea large;
+
+    @BeforeEach
+    void setUp() {
+        run = UUID.randomUUID().toString().substring(0, 8);
+        Area area = new Area();
+        area.setCode("ASM_" + run);
+        area.setName("Assembler Area");
+        area = areaRepository.save(area);
+        small = subarea(area, "SMALL");
+        large = subarea(area, "LARGE");
+
+        importIndicator(small, "Plain", Map.of());
+        for (int i = 0; i < 6; i++) {
+            importIndicator(large, "Rich " + i, Map.of("Sector", List.of("Public", "Private"), "Gender", List.of("F", "M")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getSubareaData_preparesSameNumberOfStatementsWhateverTheIndicatorsAndDimensions() {
+        long smallStatements = statementsFor(small);
+        long largeStatements = statementsFor(large);
+
+        // Subarea, its area, the fact projection and the indicators
+        assertThat(smallStatements).isLessThanOrEqualTo(4);
+        assertThat(largeStatements).isEqualTo(smallStatements);
+    }
+
+    @Test
+    void getSubareaData_buildsEverySectionFromTheLoadedFacts() {
+        SubareaDataResponse response = subareaService.getSubareaData(large.getId());
+
+        assertThat(response.getErrors()).isEmpty();
+        assertThat(response.getIndicators()).hasSize(6);
+        IndicatorResponse indicator = response.getIndicators().get(0);
+        assertThat(indicator.getValueCount()).isEqualTo(12L);
+        assertThat(indicator.getDimensions()).containsExactly("time", "location", "Gender", "Sector");
+        assertThat(indicator.getDirection()).isEqualTo("input");
+        assertThat(indicator.getSubareaIds()).containsExactly(large.getId());
+
+        assertThat(response.getDimensionMetadata()).hasSize(6);
+        assertThat(response.getDimensionMetadata().get(indicator.getId().toString()).getAvailableDimensions())
+            .extracting(info -> info.getType() + "=" + info.getValues().size())
+            .containsExactly("time=3", "location=1", "Gender=2", "Sector=2");
+        assertThat(response.getTimeSeriesData()).hasSize(3);
+        assertThat(response.getIndicatorTimeSeriesData().get(indicator.getId().toString())).hasSize(12);
+        assertThat(response.getIndicatorDimensionData().get(indicator.getId().toString()))
+            .containsOnlyKeys("time", "location", "Gender", "Sector");
+
+        // Same aggregates as the rollup tables
+        assertThat(response.getAggregatedData()).containsOnlyKeys("time", "location", "Sector", "Gender");
+        response.getAggregatedData().forEach((dimension, groups) -> {
+            Map<String, Double> expected = aggregationService.getSubareaAggregatedByDimension(large.getId(), dimension);
+            assertThat(groups).containsOnlyKeys(expected.keySet());
+            expected.forEach((member, value) ->
+                assertThat(groups.get(member)).as("%s %s", dimension, member).isCloseTo(value, within(TOLERANCE)));
+        });
+    }
+
+    private long statementsFor(Subarea subarea) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+        SubareaDataResponse response = subareaService.getSubareaData(subarea.getId());
+        assertThat(response.getErrors()).isEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void importIndicator(Subarea subarea, String name, Map<String, List<String>> customDimensions) {
+        List<Map<String, String>> combinations = new ArrayList<>();
+        combinations.add(Map.of());
+        customDimensions.forEach((dimension, members) -> {
+            List<Map<String, String>> expanded = new ArrayList<>();
+            for (Map<String, String> combination : combinations) {
+                for (String member : members) {
+                    Map<String, String> next = new HashMap<>(combination);
+                    next.put(dimension, member);
+                    expanded.add(next);
+                }
+            }
+            combinations.clear();
+            combinations.addAll(expanded);
+        });
+
+        List<IndicatorValue> values = new ArrayList<>();
+        for (int year = 2020; year < 2023; year++) {
+            for (Map<String, String> combination : combinations) {
+                values.add(IndicatorValue.builder()
+                    .value(BigDecimal.valueOf(year % 10 + values.size()))
+                    .timeValue(String.valueOf(year))
+                    .timeType("year")
+                    .locationValue("Assembler " + run)
+                    .locationType("state")
+                    .customDimensions(combination.isEmpty() ? null : combination)
+                    .build());
+            }
+        }
+        CsvIndicatorData indicator = CsvIndicatorData.builder()
+            .name(name + " " + run)
+            .unit("EUR")
+            .subareaId(subarea.getId())
+            .direction(Direction.INPUT)
+            .values(values)
+            .build();
+        assertThat(indicatorBatchService.createFromCsvData(IndicatorBatchRequest.builder().indicators(List.of(indicator)).build())
+            .getWarnings()).isEmpty();
+    }
+
+    private Subarea subarea(Area area, String suffix) {
+        Subarea subarea = new Subarea();
+        subarea.setCode("ASM_SUB_" + suffix + "_" + run);
+        subarea.setName("Assembler Subarea " + suffix);
+        subarea.setArea(area);
+        return subareaRepository.save(subarea);
+    }
+}
@@ -3,6 +3,7 @@ package io.dashboard.service;
 import io.dashboard.dto.SubareaCreateRequest;
 import io.dashboard.dto.SubareaResponse;
 import io.dashboard.dto.SubareaUpdateRequest;
+import io.dashboard.dto.DeleteWithDataResponse;
 import io.dashboard.dto.IndicatorValuesResponse;
 import io.dashboard.dto.SubareaDataResponse;
 import io.dashboard.exception.BadRequestException;
@@ -45,6 +46,10 @@ class SubareaServiceTest {
     private AggregationService aggregationService;
     @Mock
     private IndicatorService indicatorService;
+    @Mock
+    private FactDeletionService factDeletionService;
+    @Mock
+    private SubareaDataAssembler subareaDataAssembler;
     
     @InjectMocks
     private SubareaService subareaService;
@@ -234,11 +239,11 @@ class SubareaServiceTest {
     void deleteWithData_success() {
         Subarea sub = new Subarea();
         sub.setId(9L);
-        FactIndicatorValue fact = new FactIndicatorValue();
+        DeleteWithDataResponse deleted = DeleteWithDataResponse.builder().id(9L).deletedFactValues(3L).build();
         when(subareaRepository.findById(9L)).thenReturn(Optional.of(sub));
-        when(factIndicatorValueRepository.findBySubareaId(9L)).thenReturn(List.of(fact));
-        subareaService.deleteWithData(9L);
-        verify(factIndicatorValueRepository).deleteAll(List.of(fact));
+        when(factDeletionService.deleteBySubarea(9L)).thenReturn(deleted);
+        assertThat(subareaService.deleteWithData(9L)).isSameAs(deleted);
+        verify(factIndicatorValueRepository, never()).findBySubareaId(anyLong());
         verify(subareaRepository).delete(sub);
     }
 
@@ -387,9 +392,23 @@ class SubareaServiceTest {
         subarea.setId(1L);
         subarea.setName("Test Subarea");
         when(subareaRepository.findById(1L)).thenReturn(Optional.of(subarea));
-        when(factIndicatorValueRepository.findBySubareaIdWithEagerLoading(1L)).thenReturn(List.of());
+        when(subareaDataAssembler.load(any(SubareaResponse.class))).thenReturn(new SubareaFacts(List.of()));
         SubareaDataResponse result = subareaService.getSubareaData(1L);
         assertThat(result).isNotNull();
+        assertThat(result.getErrors()).isEmpty();
+        verify(subareaDataAssembler).assemble(any(SubareaFacts.class), any(), any());
+    }
+
+    @Test
+    void getSubareaData_reportsEverySectionWhenFactsFailToLoad() {
+        Subarea subarea = new Subarea();
+        subarea.setId(1L);
+        when(subareaRepository.findById(1L)).thenReturn(Optional.of(subarea));
+        when(subareaDataAssembler.load(any(SubareaResponse.class))).thenThrow(new RuntimeException("boom"));
+        SubareaDataResponse result = subareaService.getSubareaData(1L);
+        assertThat(result.getSubarea().getId()).isEqualTo(1L);
+        assertThat(result.getErrors()).containsOnlyKeys("indicators", "aggregatedData", "dimensionMetadata",
+                "timeSeriesData", "indicatorTimeSeriesData", "indicatorDimensionData");
     }
 
     @Test
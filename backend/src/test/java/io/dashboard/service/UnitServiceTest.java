@@ -24,6 +24,8 @@ import static org.mockito.Mockito.*;
 class UnitServiceTest {
     @Mock
     private UnitRepository unitRepository;
+    @Mock
+    private ReferenceDataRegistry referenceDataRegistry;
     @InjectMocks
     private UnitService unitService;
 
@@ -74,6 +76,7 @@ class UnitServiceTest {
         UnitResponse resp = unitService.create(req);
         assertThat(resp.getId()).isEqualTo(11L);
         assertThat(resp.getCode()).isEqualTo("UNIT1");
+        verify(referenceDataRegistry).refreshAfterCommit();
     }
 
     @Test
@@ -0,0 +1,47 @@
+package io.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GroupedStatsTest {
+
+    @Test
+    void add_AccumulatesPerGroupAndGrowsPastInitialCapacity() {
+        GroupedStats stats = new GroupedStats(1);
+        stats.add(0, 2);
+        stats.add(0, 4);
+        stats.add(40, -1);
+        stats.addPartial(40, 9, 2);
+
+        assertThat(stats.groups()).isEqualTo(41);
+        assertThat(stats.mean(0)).isEqualTo(3.0);
+        assertThat(stats.min(0)).isEqualTo(2.0);
+        assertThat(stats.max(0)).isEqualTo(4.0);
+        assertThat(stats.count(40)).isEqualTo(3);
+        assertThat(stats.sum(40)).isEqualTo(8.0);
+        assertThat(stats.max(40)).isEqualTo(-1.0);
+    }
+
+    @Test
+    void emptyGroups_HaveZeroMeanAndNoExtremes() {
+        GroupedStats stats = new GroupedStats();
+        stats.add(3, 1);
+
+        assertThat(stats.count(1)).isZero();
+        assertThat(stats.mean(1)).isZero();
+        assertThat(stats.min(1)).isNaN();
+        assertThat(stats.mean(99)).isZero();
+        assertThat(stats.max(99)).isNaN();
+    }
+
+    @Test
+    void groupIndex_AssignsCodesInFirstAppearanceOrder() {
+        GroupIndex<String> index = new GroupIndex<>();
+
+        assertThat(index.codeOf("b")).isZero();
+        assertThat(index.codeOf("a")).isEqualTo(1);
+        assertThat(index.codeOf("b")).isZero();
+        assertThat(index.keys()).containsExactly("b", "a");
+    }
+}
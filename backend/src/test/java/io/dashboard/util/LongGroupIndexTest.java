@@ -0,0 +1,42 @@
+package io.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongGroupIndexTest {
+
+    @Test
+    void codeOf_AssignsDenseCodesInFirstAppearanceOrder() {
+        LongGroupIndex index = new LongGroupIndex();
+
+        assertThat(index.codeOf(42L)).isZero();
+        assertThat(index.codeOf(-7L)).isEqualTo(1);
+        assertThat(index.codeOf(42L)).isZero();
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.keyAt(1)).isEqualTo(-7L);
+    }
+
+    @Test
+    void find_ReturnsMinusOneForUnseenKeys() {
+        LongGroupIndex index = new LongGroupIndex();
+        index.codeOf(1L);
+
+        assertThat(index.find(1L)).isZero();
+        assertThat(index.find(2L)).isEqualTo(-1);
+    }
+
+    @Test
+    void codeOf_KeepsCodesAcrossRehashes() {
+        LongGroupIndex index = new LongGroupIndex(2);
+        for (long key = 0; key < 10_000; key++) {
+            index.codeOf(key * 1024);
+        }
+
+        assertThat(index.size()).isEqualTo(10_000);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(index.find(key * 1024)).isEqualTo((int) key);
+        }
+        assertThat(index.find(1L)).isEqualTo(-1);
+    }
+}
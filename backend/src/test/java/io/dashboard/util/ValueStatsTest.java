@@ -0,0 +1,58 @@
+package io.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValueStatsTest {
+
+    @Test
+    void of_ComputesCountSumMinMaxAndMean() {
+        ValueStats stats = ValueStats.of(new double[] {4, -2, 10, 0});
+
+        assertThat(stats.count()).isEqualTo(4);
+        assertThat(stats.sum()).isEqualTo(12.0);
+        assertThat(stats.min()).isEqualTo(-2.0);
+        assertThat(stats.max()).isEqualTo(10.0);
+        assertThat(stats.mean()).isEqualTo(3.0);
+    }
+
+    @Test
+    void empty_HasZeroMeanAndNoExtremes() {
+        ValueStats stats = new ValueStats();
+
+        assertThat(stats.count()).isZero();
+        assertThat(stats.mean()).isZero();
+        assertThat(stats.min()).isNaN();
+        assertThat(stats.max()).isNaN();
+    }
+
+    @Test
+    void add_CompensatesRoundingOfSmallValuesAfterLargeOne() {
+        double[] values = new double[1_000_001];
+        values[0] = 1e16;
+        Arrays.fill(values, 1, values.length, 1.0);
+
+        double naive = 0.0;
+        for (double value : values) {
+            naive += value;
+        }
+
+        assertThat(naive).isEqualTo(1e16);
+        assertThat(ValueStats.of(values).sum()).isEqualTo(1e16 + 1_000_000);
+    }
+
+    @Test
+    void addPartial_PoolsPreAggregatedGroupsWithoutTouchingExtremes() {
+        ValueStats stats = new ValueStats();
+        stats.add(5);
+        stats.addPartial(30, 3);
+
+        assertThat(stats.count()).isEqualTo(4);
+        assertThat(stats.mean()).isEqualTo(8.75);
+        assertThat(stats.min()).isEqualTo(5.0);
+        assertThat(stats.max()).isEqualTo(5.0);
+    }
+}